@@ -1,5 +1,8 @@
 package com.mycompany.app.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +16,96 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final ProductImage productImage = new ProductImage();
+
+    private final ProductImport productImport = new ProductImport();
+
+    private final ProductRepricing productRepricing = new ProductRepricing();
+
+    private final ActiveCart activeCart = new ActiveCart();
+
+    private final Inventory inventory = new Inventory();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final Outbox outbox = new Outbox();
+
+    private final AbandonedCart abandonedCart = new AbandonedCart();
+
+    private final Trending trending = new Trending();
+
+    private final JwtCache jwtCache = new JwtCache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final LoginThrottle loginThrottle = new LoginThrottle();
+
+    private final RefreshToken refreshToken = new RefreshToken();
+
+    private final UserCache userCache = new UserCache();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public ProductImage getProductImage() {
+        return productImage;
+    }
+
+    public ProductImport getProductImport() {
+        return productImport;
+    }
+
+    public ProductRepricing getProductRepricing() {
+        return productRepricing;
+    }
+
+    public ActiveCart getActiveCart() {
+        return activeCart;
+    }
+
+    public Inventory getInventory() {
+        return inventory;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public AbandonedCart getAbandonedCart() {
+        return abandonedCart;
+    }
+
+    public Trending getTrending() {
+        return trending;
+    }
+
+    public JwtCache getJwtCache() {
+        return jwtCache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public LoginThrottle getLoginThrottle() {
+        return loginThrottle;
+    }
+
+    public RefreshToken getRefreshToken() {
+        return refreshToken;
+    }
+
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +120,563 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class ProductImage {
+
+        /**
+         * Width in pixels of each generated variant, by variant name.
+         */
+        private Map<String, Integer> variants = new LinkedHashMap<>();
+
+        private float jpegQuality = 0.85f;
+
+        private int threads = 2;
+
+        private int queueCapacity = 1000;
+
+        /**
+         * Most pixels of an image decoded to generate its variants, bounding the memory taken by each decoding.
+         */
+        private long maxPixels = 25_000_000;
+
+        private String backfillCron = "0 30 2 * * ?";
+
+        public Map<String, Integer> getVariants() {
+            return variants;
+        }
+
+        public void setVariants(Map<String, Integer> variants) {
+            this.variants = variants;
+        }
+
+        public float getJpegQuality() {
+            return jpegQuality;
+        }
+
+        public void setJpegQuality(float jpegQuality) {
+            this.jpegQuality = jpegQuality;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getMaxPixels() {
+            return maxPixels;
+        }
+
+        public void setMaxPixels(long maxPixels) {
+            this.maxPixels = maxPixels;
+        }
+
+        public String getBackfillCron() {
+            return backfillCron;
+        }
+
+        public void setBackfillCron(String backfillCron) {
+            this.backfillCron = backfillCron;
+        }
+    }
+
+    public static class ProductImport {
+
+        /**
+         * Number of rows written per transaction.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Number of row errors reported per import; further errors are only counted.
+         */
+        private int maxReportedErrors = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+
+    public static class ProductRepricing {
+
+        /**
+         * Number of products repriced per transaction.
+         */
+        private int chunkSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class ActiveCart {
+
+        /**
+         * Number of independently locked shards the carts are spread over, by customer.
+         */
+        private int shards = 16;
+
+        /**
+         * Number of carts held in memory; the least recently used ones are flushed and dropped beyond it.
+         */
+        private int maxCarts = 10000;
+
+        /**
+         * Number of lines a cart can have.
+         */
+        private int maxLines = 100;
+
+        /**
+         * Interval between two flushes of the changed carts, which bounds the changes lost on a crash.
+         */
+        private Duration flushInterval = Duration.ofSeconds(5);
+
+        public int getShards() {
+            return shards;
+        }
+
+        public void setShards(int shards) {
+            this.shards = shards;
+        }
+
+        public int getMaxCarts() {
+            return maxCarts;
+        }
+
+        public void setMaxCarts(int maxCarts) {
+            this.maxCarts = maxCarts;
+        }
+
+        public int getMaxLines() {
+            return maxLines;
+        }
+
+        public void setMaxLines(int maxLines) {
+            this.maxLines = maxLines;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    public static class Inventory {
+
+        /**
+         * Time after the last change of a pending cart's reservation when its units are made available again.
+         */
+        private Duration reservationTimeout = Duration.ofMinutes(30);
+
+        /**
+         * Interval between two writes of the changed stock counters, which bounds the changes lost on a crash.
+         */
+        private Duration persistInterval = Duration.ofSeconds(5);
+
+        /**
+         * Interval between two reconciliations with the inventory table, and two releases of expired reservations.
+         */
+        private Duration reconcileInterval = Duration.ofMinutes(1);
+
+        public Duration getReservationTimeout() {
+            return reservationTimeout;
+        }
+
+        public void setReservationTimeout(Duration reservationTimeout) {
+            this.reservationTimeout = reservationTimeout;
+        }
+
+        public Duration getPersistInterval() {
+            return persistInterval;
+        }
+
+        public void setPersistInterval(Duration persistInterval) {
+            this.persistInterval = persistInterval;
+        }
+
+        public Duration getReconcileInterval() {
+            return reconcileInterval;
+        }
+
+        public void setReconcileInterval(Duration reconcileInterval) {
+            this.reconcileInterval = reconcileInterval;
+        }
+    }
+
+    public static class Idempotency {
+
+        /**
+         * Time during which the response to a request sent with an {@code Idempotency-Key} is replayed.
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * Responses held in memory; older ones are read back from the database.
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * Time a duplicate waits for the request in flight, after which a request left unfinished is executed again.
+         */
+        private Duration inFlightTimeout = Duration.ofSeconds(30);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public Duration getInFlightTimeout() {
+            return inFlightTimeout;
+        }
+
+        public void setInFlightTimeout(Duration inFlightTimeout) {
+            this.inFlightTimeout = inFlightTimeout;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Interval between two polls of the events waiting to be delivered.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Events locked and delivered per transaction.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Threads delivering the events of different carts in parallel.
+         */
+        private int threads = 4;
+
+        /**
+         * Deliveries of an event failing before it is dropped.
+         */
+        private int maxAttempts = 10;
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    public static class AbandonedCart {
+
+        /**
+         * Time after being placed when a cart still pending is cancelled.
+         */
+        private Duration maxAge = Duration.ofDays(7);
+
+        /**
+         * Carts cancelled per transaction.
+         */
+        private int chunkSize = 500;
+
+        private String cron = "0 30 1 * * ?";
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+    }
+
+    public static class Trending {
+
+        /**
+         * Products counted per category and window; the counts of the top products are overestimated by at most
+         * the units sold in the category over the window divided by this.
+         */
+        private int capacity = 100;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    public static class JwtCache {
+
+        /**
+         * Verified tokens kept in memory until they expire, {@code 0} to verify every token on every request.
+         */
+        private int maxEntries = 10_000;
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Threads hashing passwords, {@code 0} for one per available processor.
+         */
+        private int threads = 0;
+
+        /**
+         * Passwords waiting to be hashed, past which logins and registrations are refused until the queue drains.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Log2 of the BCrypt rounds; passwords hashed with fewer are hashed again when their user logs in.
+         */
+        private int bcryptStrength = 10;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBcryptStrength() {
+            return bcryptStrength;
+        }
+
+        public void setBcryptStrength(int bcryptStrength) {
+            this.bcryptStrength = bcryptStrength;
+        }
+    }
+
+    public static class LoginThrottle {
+
+        /**
+         * Login attempts allowed at once for the same account.
+         */
+        private int loginBurst = 5;
+
+        /**
+         * Time after which an attempt is given back to an account.
+         */
+        private Duration loginRefillPeriod = Duration.ofMinutes(1);
+
+        /**
+         * Login attempts allowed at once from the same client address, whatever the account.
+         */
+        private int addressBurst = 20;
+
+        /**
+         * Time after which an attempt is given back to a client address.
+         */
+        private Duration addressRefillPeriod = Duration.ofSeconds(3);
+
+        /**
+         * Longest wait imposed once the attempts are used up, each refused attempt doubling the previous wait.
+         */
+        private Duration maxBackoff = Duration.ofMinutes(15);
+
+        /**
+         * Accounts and client addresses tracked in memory, the least recently seen being forgotten first.
+         */
+        private int maxEntries = 100000;
+
+        public int getLoginBurst() {
+            return loginBurst;
+        }
+
+        public void setLoginBurst(int loginBurst) {
+            this.loginBurst = loginBurst;
+        }
+
+        public Duration getLoginRefillPeriod() {
+            return loginRefillPeriod;
+        }
+
+        public void setLoginRefillPeriod(Duration loginRefillPeriod) {
+            this.loginRefillPeriod = loginRefillPeriod;
+        }
+
+        public int getAddressBurst() {
+            return addressBurst;
+        }
+
+        public void setAddressBurst(int addressBurst) {
+            this.addressBurst = addressBurst;
+        }
+
+        public Duration getAddressRefillPeriod() {
+            return addressRefillPeriod;
+        }
+
+        public void setAddressRefillPeriod(Duration addressRefillPeriod) {
+            this.addressRefillPeriod = addressRefillPeriod;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class RefreshToken {
+
+        /**
+         * Time after login during which the access token can be refreshed, however often it is.
+         */
+        private Duration validity = Duration.ofDays(1);
+
+        /**
+         * Time after a login with remember-me during which the access token can be refreshed.
+         */
+        private Duration rememberMeValidity = Duration.ofDays(30);
+
+        private String purgeCron = "0 45 2 * * ?";
+
+        public Duration getValidity() {
+            return validity;
+        }
+
+        public void setValidity(Duration validity) {
+            this.validity = validity;
+        }
+
+        public Duration getRememberMeValidity() {
+            return rememberMeValidity;
+        }
+
+        public void setRememberMeValidity(Duration rememberMeValidity) {
+            this.rememberMeValidity = rememberMeValidity;
+        }
+
+        public String getPurgeCron() {
+            return purgeCron;
+        }
+
+        public void setPurgeCron(String purgeCron) {
+            this.purgeCron = purgeCron;
+        }
+    }
+
+    public static class UserCache {
+
+        /**
+         * Time for which a login or an email not found is remembered as such, shorter than the time users are cached.
+         */
+        private Duration notFoundTtl = Duration.ofSeconds(30);
+
+        public Duration getNotFoundTtl() {
+            return notFoundTtl;
+        }
+
+        public void setNotFoundTtl(Duration notFoundTtl) {
+            this.notFoundTtl = notFoundTtl;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
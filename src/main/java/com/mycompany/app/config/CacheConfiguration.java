@@ -1,7 +1,9 @@
 package com.mycompany.app.config;
 
 import java.time.Duration;
+import java.util.function.Supplier;
 import org.ehcache.config.builders.*;
+import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,7 @@ import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.support.NullValue;
 import org.springframework.context.annotation.*;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
@@ -22,8 +25,10 @@ public class CacheConfiguration {
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> idempotentResponsesConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> usersConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
         jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
@@ -35,6 +40,34 @@ public class CacheConfiguration {
                 .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                 .build()
         );
+
+        // Responses are replayed for a longer time than entities are cached, and written to the database anyway
+        ApplicationProperties.Idempotency idempotency = applicationProperties.getIdempotency();
+        idempotentResponsesConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class,
+                Object.class,
+                ResourcePoolsBuilder.heap(idempotency.getMaxEntries())
+            )
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(idempotency.getTtl()))
+                .build()
+        );
+
+        // Users not found are cached as null values, which only live for a short time
+        usersConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class,
+                Object.class,
+                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
+            )
+                .withExpiry(
+                    new NotFoundExpiry(
+                        Duration.ofSeconds(ehcache.getTimeToLiveSeconds()),
+                        applicationProperties.getUserCache().getNotFoundTtl()
+                    )
+                )
+                .build()
+        );
     }
 
     @Bean
@@ -45,8 +78,8 @@ public class CacheConfiguration {
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
-            createCache(cm, com.mycompany.app.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.mycompany.app.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.mycompany.app.repository.UserRepository.USERS_BY_LOGIN_CACHE, usersConfiguration);
+            createCache(cm, com.mycompany.app.repository.UserRepository.USERS_BY_EMAIL_CACHE, usersConfiguration);
             createCache(cm, com.mycompany.app.domain.User.class.getName());
             createCache(cm, com.mycompany.app.domain.Authority.class.getName());
             createCache(cm, com.mycompany.app.domain.User.class.getName() + ".authorities");
@@ -58,16 +91,56 @@ public class CacheConfiguration {
             createCache(cm, com.mycompany.app.domain.ShoppingCart.class.getName());
             createCache(cm, com.mycompany.app.domain.ShoppingCart.class.getName() + ".orders");
             createCache(cm, com.mycompany.app.domain.ProductOrder.class.getName());
+            createCache(cm, com.mycompany.app.service.IdempotencyService.RESPONSES_CACHE, idempotentResponsesConfiguration);
             // jhipster-needle-ehcache-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
+        }
+    }
+
+    /**
+     * Expiry of cached values, from their creation or their last update, which is shorter for the null values standing
+     * for the results not found.
+     */
+    private static final class NotFoundExpiry implements ExpiryPolicy<Object, Object> {
+
+        private final Duration ttl;
+
+        private final Duration notFoundTtl;
+
+        private NotFoundExpiry(Duration ttl, Duration notFoundTtl) {
+            this.ttl = ttl;
+            this.notFoundTtl = notFoundTtl;
+        }
+
+        @Override
+        public Duration getExpiryForCreation(Object key, Object value) {
+            return value instanceof NullValue ? notFoundTtl : ttl;
+        }
+
+        @Override
+        public Duration getExpiryForAccess(Object key, Supplier<?> value) {
+            return null;
+        }
+
+        @Override
+        public Duration getExpiryForUpdate(Object key, Supplier<?> oldValue, Object newValue) {
+            return getExpiryForCreation(key, newValue);
         }
     }
 
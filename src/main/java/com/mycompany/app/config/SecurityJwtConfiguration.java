@@ -4,8 +4,10 @@ import static com.mycompany.app.security.SecurityUtils.AUTHORITIES_KEY;
 import static com.mycompany.app.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.mycompany.app.management.SecurityMetersService;
+import com.mycompany.app.security.jwt.CachingJwtDecoder;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
+import java.time.Clock;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
@@ -29,9 +31,9 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
+        JwtDecoder verifyingDecoder = token -> {
             try {
                 return jwtDecoder.decode(token);
             } catch (Exception e) {
@@ -51,6 +53,8 @@ public class SecurityJwtConfiguration {
                 throw e;
             }
         };
+        int maxEntries = applicationProperties.getJwtCache().getMaxEntries();
+        return maxEntries > 0 ? new CachingJwtDecoder(verifyingDecoder, maxEntries, metersService, Clock.systemUTC()) : verifyingDecoder;
     }
 
     @Bean
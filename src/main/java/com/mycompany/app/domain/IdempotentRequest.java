@@ -0,0 +1,169 @@
+package com.mycompany.app.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A request sent with an {@code Idempotency-Key} header, and the response it got once it completed.
+ * <p>
+ * The key is a digest of the key sent and of the user who sent it. A request without a response status is
+ * still executing.
+ */
+@Entity
+@Table(name = "idempotent_request")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class IdempotentRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Size(max = 64)
+    @Column(name = "request_key", length = 64)
+    private String requestKey;
+
+    @NotNull
+    @Size(max = 64)
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Size(max = 255)
+    @Column(name = "response_content_type", length = 255)
+    private String responseContentType;
+
+    @Size(max = 2048)
+    @Column(name = "response_headers", length = 2048)
+    private String responseHeaders;
+
+    @Lob
+    @Column(name = "response_body")
+    private byte[] responseBody;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    public String getRequestKey() {
+        return this.requestKey;
+    }
+
+    public IdempotentRequest requestKey(String requestKey) {
+        this.setRequestKey(requestKey);
+        return this;
+    }
+
+    public void setRequestKey(String requestKey) {
+        this.requestKey = requestKey;
+    }
+
+    public String getRequestHash() {
+        return this.requestHash;
+    }
+
+    public IdempotentRequest requestHash(String requestHash) {
+        this.setRequestHash(requestHash);
+        return this;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public Integer getResponseStatus() {
+        return this.responseStatus;
+    }
+
+    public IdempotentRequest responseStatus(Integer responseStatus) {
+        this.setResponseStatus(responseStatus);
+        return this;
+    }
+
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+
+    public String getResponseContentType() {
+        return this.responseContentType;
+    }
+
+    public IdempotentRequest responseContentType(String responseContentType) {
+        this.setResponseContentType(responseContentType);
+        return this;
+    }
+
+    public void setResponseContentType(String responseContentType) {
+        this.responseContentType = responseContentType;
+    }
+
+    public String getResponseHeaders() {
+        return this.responseHeaders;
+    }
+
+    public IdempotentRequest responseHeaders(String responseHeaders) {
+        this.setResponseHeaders(responseHeaders);
+        return this;
+    }
+
+    public void setResponseHeaders(String responseHeaders) {
+        this.responseHeaders = responseHeaders;
+    }
+
+    public byte[] getResponseBody() {
+        return this.responseBody;
+    }
+
+    public IdempotentRequest responseBody(byte[] responseBody) {
+        this.setResponseBody(responseBody);
+        return this;
+    }
+
+    public void setResponseBody(byte[] responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public IdempotentRequest createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdempotentRequest)) {
+            return false;
+        }
+        return getRequestKey() != null && getRequestKey().equals(((IdempotentRequest) o).getRequestKey());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IdempotentRequest{" +
+            "requestKey='" + getRequestKey() + "'" +
+            ", requestHash='" + getRequestHash() + "'" +
+            ", responseStatus=" + getResponseStatus() +
+            ", responseContentType='" + getResponseContentType() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,97 @@
+package com.mycompany.app.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * The stock of a {@link Product}: the units on hand, of which some are reserved by pending carts.
+ * <p>
+ * The counters are kept in memory and written behind, so a row may lag the current stock by a few seconds.
+ * Products without a row are not stock-managed.
+ */
+@Entity
+@Table(name = "inventory")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class Inventory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @NotNull
+    @Column(name = "on_hand", nullable = false)
+    private Integer onHand;
+
+    @NotNull
+    @Column(name = "reserved", nullable = false)
+    private Integer reserved;
+
+    public Long getProductId() {
+        return this.productId;
+    }
+
+    public Inventory productId(Long productId) {
+        this.setProductId(productId);
+        return this;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getOnHand() {
+        return this.onHand;
+    }
+
+    public Inventory onHand(Integer onHand) {
+        this.setOnHand(onHand);
+        return this;
+    }
+
+    public void setOnHand(Integer onHand) {
+        this.onHand = onHand;
+    }
+
+    public Integer getReserved() {
+        return this.reserved;
+    }
+
+    public Inventory reserved(Integer reserved) {
+        this.setReserved(reserved);
+        return this;
+    }
+
+    public void setReserved(Integer reserved) {
+        this.reserved = reserved;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Inventory)) {
+            return false;
+        }
+        return getProductId() != null && getProductId().equals(((Inventory) o).getProductId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "Inventory{" +
+            "productId=" + getProductId() +
+            ", onHand=" + getOnHand() +
+            ", reserved=" + getReserved() +
+            "}";
+    }
+}
@@ -1,6 +1,8 @@
 package com.mycompany.app.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mycompany.app.domain.enumeration.Size;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
@@ -45,13 +47,19 @@ public class Product implements Serializable {
     @Column(name = "product_size", nullable = false)
     private Size productSize;
 
-    @Lob
-    @Column(name = "image")
+    /**
+     * Uploaded image bytes, only set on writes: the content is stored as a {@link ProductImage}
+     * and served by {@code GET /api/products/{id}/image}, so it is never loaded with the product.
+     */
+    @Transient
     private byte[] image;
 
     @Column(name = "image_content_type")
     private String imageContentType;
 
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
     @ManyToOne(optional = false)
     @NotNull
     @JsonIgnoreProperties(value = { "products" }, allowSetters = true)
@@ -124,6 +132,8 @@ public class Product implements Serializable {
         this.productSize = productSize;
     }
 
+    @JsonProperty("image")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public byte[] getImage() {
         return this.image;
     }
@@ -150,6 +160,19 @@ public class Product implements Serializable {
         this.imageContentType = imageContentType;
     }
 
+    public String getImageHash() {
+        return this.imageHash;
+    }
+
+    public Product imageHash(String imageHash) {
+        this.setImageHash(imageHash);
+        return this;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
     public ProductCategory getProductCategory() {
         return this.productCategory;
     }
@@ -191,8 +214,8 @@ public class Product implements Serializable {
             ", description='" + getDescription() + "'" +
             ", price=" + getPrice() +
             ", productSize='" + getProductSize() + "'" +
-            ", image='" + getImage() + "'" +
             ", imageContentType='" + getImageContentType() + "'" +
+            ", imageHash='" + getImageHash() + "'" +
             "}";
     }
 }
@@ -0,0 +1,144 @@
+package com.mycompany.app.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Binary content of a product image, addressed by the SHA-256 of its bytes.
+ * <p>
+ * Kept out of the {@link Product} row and out of the second-level cache so that catalog
+ * reads never load image data; the bytes are only read when streamed by the image endpoint.
+ */
+@Entity
+@Table(name = "product_image")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ProductImage implements Serializable, Persistable<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(min = 64, max = 64)
+    @Id
+    @Column(name = "hash", length = 64, nullable = false)
+    private String hash;
+
+    @NotNull
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @NotNull
+    @Column(name = "content_length", nullable = false)
+    private Long contentLength;
+
+    @NotNull
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    @Transient
+    private boolean isPersisted;
+
+    public String getHash() {
+        return this.hash;
+    }
+
+    public ProductImage hash(String hash) {
+        this.setHash(hash);
+        return this;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public ProductImage contentType(String contentType) {
+        this.setContentType(contentType);
+        return this;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getContentLength() {
+        return this.contentLength;
+    }
+
+    public ProductImage contentLength(Long contentLength) {
+        this.setContentLength(contentLength);
+        return this;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public byte[] getData() {
+        return this.data;
+    }
+
+    public ProductImage data(byte[] data) {
+        this.setData(data);
+        return this;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.setIsPersisted();
+    }
+
+    @Override
+    public String getId() {
+        return this.hash;
+    }
+
+    @Transient
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    public ProductImage setIsPersisted() {
+        this.isPersisted = true;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductImage)) {
+            return false;
+        }
+        return getHash() != null && getHash().equals(((ProductImage) o).getHash());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductImage{" +
+            "hash='" + getHash() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", contentLength=" + getContentLength() +
+            "}";
+    }
+}
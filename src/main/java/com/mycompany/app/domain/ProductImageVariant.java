@@ -0,0 +1,156 @@
+package com.mycompany.app.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * A resized rendition of a {@link ProductImage}, such as a thumbnail.
+ * <p>
+ * Maps the hash of the original image and a variant name to the hash of the rendition, whose bytes
+ * are stored as a {@link ProductImage} themselves, so identical renditions share one row.
+ */
+@Entity
+@Table(name = "product_image_variant")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ProductImageVariant implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(min = 64, max = 64)
+    @Column(name = "source_hash", length = 64, nullable = false)
+    private String sourceHash;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "name", length = 50, nullable = false)
+    private String name;
+
+    @NotNull
+    @Size(min = 64, max = 64)
+    @Column(name = "hash", length = 64, nullable = false)
+    private String hash;
+
+    @NotNull
+    @Column(name = "width", nullable = false)
+    private Integer width;
+
+    @NotNull
+    @Column(name = "height", nullable = false)
+    private Integer height;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ProductImageVariant id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSourceHash() {
+        return this.sourceHash;
+    }
+
+    public ProductImageVariant sourceHash(String sourceHash) {
+        this.setSourceHash(sourceHash);
+        return this;
+    }
+
+    public void setSourceHash(String sourceHash) {
+        this.sourceHash = sourceHash;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public ProductImageVariant name(String name) {
+        this.setName(name);
+        return this;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getHash() {
+        return this.hash;
+    }
+
+    public ProductImageVariant hash(String hash) {
+        this.setHash(hash);
+        return this;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public Integer getWidth() {
+        return this.width;
+    }
+
+    public ProductImageVariant width(Integer width) {
+        this.setWidth(width);
+        return this;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return this.height;
+    }
+
+    public ProductImageVariant height(Integer height) {
+        this.setHeight(height);
+        return this;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductImageVariant)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((ProductImageVariant) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductImageVariant{" +
+            "id=" + getId() +
+            ", sourceHash='" + getSourceHash() + "'" +
+            ", name='" + getName() + "'" +
+            ", hash='" + getHash() + "'" +
+            ", width=" + getWidth() +
+            ", height=" + getHeight() +
+            "}";
+    }
+}
@@ -0,0 +1,79 @@
+package com.mycompany.app.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * A paid {@link ShoppingCart} whose lines are counted in the sales rollups, and the day they are counted on.
+ * <p>
+ * The rollup tables themselves are only written and read through JDBC.
+ */
+@Entity
+@Table(name = "sales_rollup_cart")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class SalesRollupCart implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "shopping_cart_id")
+    private Long shoppingCartId;
+
+    @NotNull
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    public Long getShoppingCartId() {
+        return this.shoppingCartId;
+    }
+
+    public SalesRollupCart shoppingCartId(Long shoppingCartId) {
+        this.setShoppingCartId(shoppingCartId);
+        return this;
+    }
+
+    public void setShoppingCartId(Long shoppingCartId) {
+        this.shoppingCartId = shoppingCartId;
+    }
+
+    public LocalDate getSalesDate() {
+        return this.salesDate;
+    }
+
+    public SalesRollupCart salesDate(LocalDate salesDate) {
+        this.setSalesDate(salesDate);
+        return this;
+    }
+
+    public void setSalesDate(LocalDate salesDate) {
+        this.salesDate = salesDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SalesRollupCart)) {
+            return false;
+        }
+        return getShoppingCartId() != null && getShoppingCartId().equals(((SalesRollupCart) o).getShoppingCartId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesRollupCart{" +
+            "shoppingCartId=" + getShoppingCartId() +
+            ", salesDate='" + getSalesDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,153 @@
+package com.mycompany.app.domain;
+
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A status change of a {@link ShoppingCart}, written in the transaction making it and deleted once delivered to the
+ * listeners of the order lifecycle.
+ */
+@Entity
+@Table(name = "shopping_cart_outbox_event")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ShoppingCartOutboxEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "shopping_cart_id", nullable = false)
+    private Long shoppingCartId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private OrderStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private OrderStatus status;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ShoppingCartOutboxEvent id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getShoppingCartId() {
+        return this.shoppingCartId;
+    }
+
+    public ShoppingCartOutboxEvent shoppingCartId(Long shoppingCartId) {
+        this.setShoppingCartId(shoppingCartId);
+        return this;
+    }
+
+    public void setShoppingCartId(Long shoppingCartId) {
+        this.shoppingCartId = shoppingCartId;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return this.previousStatus;
+    }
+
+    public ShoppingCartOutboxEvent previousStatus(OrderStatus previousStatus) {
+        this.setPreviousStatus(previousStatus);
+        return this;
+    }
+
+    public void setPreviousStatus(OrderStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public OrderStatus getStatus() {
+        return this.status;
+    }
+
+    public ShoppingCartOutboxEvent status(OrderStatus status) {
+        this.setStatus(status);
+        return this;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public ShoppingCartOutboxEvent createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public ShoppingCartOutboxEvent attempts(Integer attempts) {
+        this.setAttempts(attempts);
+        return this;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ShoppingCartOutboxEvent)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((ShoppingCartOutboxEvent) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ShoppingCartOutboxEvent{" +
+            "id=" + getId() +
+            ", shoppingCartId=" + getShoppingCartId() +
+            ", previousStatus='" + getPreviousStatus() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", attempts=" + getAttempts() +
+            "}";
+    }
+}
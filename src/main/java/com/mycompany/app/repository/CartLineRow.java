@@ -0,0 +1,8 @@
+package com.mycompany.app.repository;
+
+import java.time.Instant;
+
+/**
+ * The quantity of a product in a {@link com.mycompany.app.domain.ShoppingCart}, with the date the cart was placed.
+ */
+public record CartLineRow(Long cartId, Instant placedDate, Long productId, Integer quantity) {}
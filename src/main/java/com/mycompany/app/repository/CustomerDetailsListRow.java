@@ -0,0 +1,18 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.enumeration.Gender;
+
+/**
+ * The fields of a {@link com.mycompany.app.domain.CustomerDetails} shown in listings, with the id and login of its user.
+ */
+public record CustomerDetailsListRow(
+    Long id,
+    Gender gender,
+    String phone,
+    String addressLine1,
+    String addressLine2,
+    String city,
+    String country,
+    Long userId,
+    String userLogin
+) {}
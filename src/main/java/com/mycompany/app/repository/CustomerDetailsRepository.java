@@ -13,7 +13,7 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the CustomerDetails entity.
  */
 @Repository
-public interface CustomerDetailsRepository extends JpaRepository<CustomerDetails, Long> {
+public interface CustomerDetailsRepository extends JpaRepository<CustomerDetails, Long>, CustomerDetailsRepositoryWithListRows {
     default Optional<CustomerDetails> findOneWithEagerRelationships(Long id) {
         return this.findOneWithToOneRelationships(id);
     }
@@ -32,9 +32,22 @@ public interface CustomerDetailsRepository extends JpaRepository<CustomerDetails
     )
     Page<CustomerDetails> findAllWithToOneRelationships(Pageable pageable);
 
+    @Query(
+        value = "select new com.mycompany.app.repository.CustomerDetailsListRow(customerDetails.id, customerDetails.gender, " +
+        "customerDetails.phone, customerDetails.addressLine1, customerDetails.addressLine2, customerDetails.city, " +
+        "customerDetails.country, user.id, user.login) from CustomerDetails customerDetails left join customerDetails.user user",
+        countQuery = "select count(customerDetails) from CustomerDetails customerDetails"
+    )
+    Page<CustomerDetailsListRow> findAllListRows(Pageable pageable);
+
     @Query("select customerDetails from CustomerDetails customerDetails left join fetch customerDetails.user")
     List<CustomerDetails> findAllWithToOneRelationships();
 
+    Optional<CustomerDetails> findOneByUserLogin(String login);
+
+    @Query("select customerDetails.id from CustomerDetails customerDetails where customerDetails.user.login = :login")
+    Optional<Long> findIdByUserLogin(@Param("login") String login);
+
     @Query("select customerDetails from CustomerDetails customerDetails left join fetch customerDetails.user where customerDetails.id =:id")
     Optional<CustomerDetails> findOneWithToOneRelationships(@Param("id") Long id);
 }
@@ -0,0 +1,18 @@
+package com.mycompany.app.repository;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+public interface CustomerDetailsRepositoryWithListRows {
+    /**
+     * Find the window of customer rows after a position, without counting them.
+     *
+     * @param position the keyset position to continue from.
+     * @param sort the sort of the customers; the id is always the last sort key.
+     * @param limit the maximum number of customers.
+     * @return the window of rows.
+     */
+    Window<CustomerDetailsListRow> findListRows(KeysetScrollPosition position, Sort sort, Limit limit);
+}
@@ -0,0 +1,47 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.CustomerDetails_;
+import com.mycompany.app.domain.User;
+import com.mycompany.app.domain.User_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import java.util.List;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+public class CustomerDetailsRepositoryWithListRowsImpl implements CustomerDetailsRepositoryWithListRows {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<CustomerDetailsListRow> findListRows(KeysetScrollPosition position, Sort sort, Limit limit) {
+        return KeysetQueries.findWindow(
+            entityManager,
+            CustomerDetails.class,
+            CustomerDetailsListRow.class,
+            root -> {
+                Join<CustomerDetails, User> user = root.join(CustomerDetails_.user, JoinType.LEFT);
+                return List.of(
+                    root.get(CustomerDetails_.id),
+                    root.get(CustomerDetails_.gender),
+                    root.get(CustomerDetails_.phone),
+                    root.get(CustomerDetails_.addressLine1),
+                    root.get(CustomerDetails_.addressLine2),
+                    root.get(CustomerDetails_.city),
+                    root.get(CustomerDetails_.country),
+                    user.get(User_.id),
+                    user.get(User_.login)
+                );
+            },
+            position,
+            sort,
+            limit
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.IdempotentRequest;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the IdempotentRequest entity.
+ */
+@Repository
+public interface IdempotentRequestRepository extends JpaRepository<IdempotentRequest, String> {
+    /**
+     * Insert a request still executing. Unlike {@link #save}, which would overwrite it, this fails with a
+     * {@link org.springframework.dao.DataIntegrityViolationException} if the key is already taken.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = "insert into idempotent_request (request_key, request_hash, created_date) values (:requestKey, :requestHash, :createdDate)",
+        nativeQuery = true
+    )
+    int insertExecuting(
+        @Param("requestKey") String requestKey,
+        @Param("requestHash") String requestHash,
+        @Param("createdDate") Instant createdDate
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from IdempotentRequest r where r.createdDate < :createdDate")
+    int deleteByCreatedDateBefore(@Param("createdDate") Instant createdDate);
+}
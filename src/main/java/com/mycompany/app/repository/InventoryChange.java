@@ -0,0 +1,7 @@
+package com.mycompany.app.repository;
+
+/**
+ * A change of a {@link com.mycompany.app.domain.Inventory} row: units added on hand, or removed if negative, and
+ * the units now reserved.
+ */
+public record InventoryChange(Long productId, long onHandDelta, long reserved) {}
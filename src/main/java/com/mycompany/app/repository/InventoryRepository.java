@@ -0,0 +1,11 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.Inventory;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the Inventory entity.
+ */
+@Repository
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryRepositoryWithBatchUpdates {}
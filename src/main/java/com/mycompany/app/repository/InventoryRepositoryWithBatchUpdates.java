@@ -0,0 +1,16 @@
+package com.mycompany.app.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface InventoryRepositoryWithBatchUpdates {
+    /**
+     * Apply changes to the inventory of many products, as a single JDBC batch of updates.
+     * <p>
+     * The units on hand are changed by a delta, so that changes made to a row by other means in between are kept.
+     *
+     * @param changes the changes.
+     * @return the ids of the products that have no inventory row, which are left without one.
+     */
+    Set<Long> applyChanges(Collection<InventoryChange> changes);
+}
@@ -0,0 +1,44 @@
+package com.mycompany.app.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Changes are written through JDBC rather than through entities, so that writing them neither loads the rows
+ * nor competes with the persistence context for them.
+ */
+public class InventoryRepositoryWithBatchUpdatesImpl implements InventoryRepositoryWithBatchUpdates {
+
+    private static final String APPLY_CHANGE = "update inventory set on_hand = on_hand + ?, reserved = ? where product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventoryRepositoryWithBatchUpdatesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<Long> applyChanges(Collection<InventoryChange> changes) {
+        if (changes.isEmpty()) {
+            return Set.of();
+        }
+        List<InventoryChange> list = new ArrayList<>(changes);
+        int[][] updated = jdbcTemplate.batchUpdate(APPLY_CHANGE, list, list.size(), (statement, row) -> {
+            statement.setLong(1, row.onHandDelta());
+            statement.setLong(2, row.reserved());
+            statement.setLong(3, row.productId());
+        });
+        Set<Long> missing = new HashSet<>();
+        // Drivers may report Statement.SUCCESS_NO_INFO instead of a count, only 0 means that there is no row
+        for (int i = 0; i < updated[0].length; i++) {
+            if (updated[0][i] == 0) {
+                missing.add(list.get(i).productId());
+            }
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,147 @@
+package com.mycompany.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Keyset (seek) queries returning windows of projection rows.
+ * <p>
+ * Spring Data derived window queries return entities; these select a record of a few columns instead, with a
+ * constructor expression. The components of the record must include the sort properties and {@code id}, named
+ * after the entity attributes, as the position of each row is read from them.
+ */
+final class KeysetQueries {
+
+    private static final String ID_PROPERTY = "id";
+
+    private KeysetQueries() {}
+
+    /**
+     * Find the window of rows after a position.
+     *
+     * @param entityManager the entity manager.
+     * @param entityClass the class of the queried entity.
+     * @param rowClass the class of the rows, constructed from the selected columns.
+     * @param columns the columns to select from the entity, in the order of the row constructor parameters.
+     * @param position the forward position to continue from.
+     * @param sort the sort of the rows, on direct attributes of the entity; the id is added as the last sort key.
+     * @param limit the maximum number of rows.
+     * @return the window of rows.
+     */
+    static <T, R extends Record> Window<R> findWindow(
+        EntityManager entityManager,
+        Class<T> entityClass,
+        Class<R> rowClass,
+        Function<Root<T>, List<Selection<?>>> columns,
+        KeysetScrollPosition position,
+        Sort sort,
+        Limit limit
+    ) {
+        return findWindow(entityManager, entityClass, rowClass, columns, Specification.where(null), position, sort, limit);
+    }
+
+    /**
+     * Find the window of rows matching a specification after a position.
+     *
+     * @param entityManager the entity manager.
+     * @param entityClass the class of the queried entity.
+     * @param rowClass the class of the rows, constructed from the selected columns.
+     * @param columns the columns to select from the entity, in the order of the row constructor parameters.
+     * @param specification the specification the entities must match.
+     * @param position the forward position to continue from.
+     * @param sort the sort of the rows, on direct attributes of the entity; the id is added as the last sort key.
+     * @param limit the maximum number of rows.
+     * @return the window of rows.
+     */
+    static <T, R extends Record> Window<R> findWindow(
+        EntityManager entityManager,
+        Class<T> entityClass,
+        Class<R> rowClass,
+        Function<Root<T>, List<Selection<?>>> columns,
+        Specification<T> specification,
+        KeysetScrollPosition position,
+        Sort sort,
+        Limit limit
+    ) {
+        Sort keysetSort = sort.getOrderFor(ID_PROPERTY) == null ? sort.and(Sort.by(ID_PROPERTY)) : sort;
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = builder.createQuery(rowClass);
+        Root<T> root = query.from(entityClass);
+        query.select(builder.construct(rowClass, columns.apply(root).toArray(Selection[]::new)));
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate matching = specification.toPredicate(root, query, builder);
+        if (matching != null) {
+            predicates.add(matching);
+        }
+        if (!position.isInitial()) {
+            predicates.add(after(builder, root, keysetSort, position.getKeys()));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(
+            keysetSort
+                .stream()
+                .map(order -> {
+                    Expression<?> path = root.get(order.getProperty());
+                    return order.isAscending() ? builder.asc(path) : builder.desc(path);
+                })
+                .toList()
+        );
+        TypedQuery<R> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            // One more row tells whether there is a next window
+            typedQuery.setMaxResults(limit.max() + 1);
+        }
+        List<R> rows = typedQuery.getResultList();
+        boolean hasNext = limit.isLimited() && rows.size() > limit.max();
+        List<R> content = hasNext ? rows.subList(0, limit.max()) : rows;
+        return Window.from(content, index -> ScrollPosition.forward(keys(content.get(index), keysetSort)), hasNext);
+    }
+
+    /**
+     * The rows sorting after the keys: those equal on the first sort keys and beyond on the next one.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate after(CriteriaBuilder builder, Root<?> root, Sort sort, Map<String, Object> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable> path = root.get(order.getProperty());
+            Comparable key = (Comparable) keys.get(order.getProperty());
+            List<Predicate> alternative = new ArrayList<>(equalities);
+            alternative.add(order.isAscending() ? builder.greaterThan(path, key) : builder.lessThan(path, key));
+            alternatives.add(builder.and(alternative.toArray(Predicate[]::new)));
+            equalities.add(builder.equal(path, key));
+        }
+        return builder.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private static Map<String, Object> keys(Record row, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            try {
+                keys.put(order.getProperty(), row.getClass().getMethod(order.getProperty()).invoke(row));
+            } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalArgumentException("No " + order.getProperty() + " in " + row.getClass().getSimpleName(), e);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,115 @@
+package com.mycompany.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Queries of projection rows matching a specification, by page or as a stream.
+ * <p>
+ * {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor} returns entities; these select a record
+ * of a few columns instead, with a constructor expression, as {@link KeysetQueries} does for windows.
+ */
+final class ListRowQueries {
+
+    private static final String ID_PROPERTY = "id";
+
+    private ListRowQueries() {}
+
+    /**
+     * Find a page of rows matching a specification.
+     *
+     * @param entityManager the entity manager.
+     * @param entityClass the class of the queried entity.
+     * @param rowClass the class of the rows, constructed from the selected columns.
+     * @param columns the columns to select from the entity, in the order of the row constructor parameters.
+     * @param specification the specification the entities must match.
+     * @param pageable the pagination information, sorting on attributes of the entity.
+     * @return the page of rows, only counted when it is not the last one.
+     */
+    static <T, R extends Record> Page<R> findPage(
+        EntityManager entityManager,
+        Class<T> entityClass,
+        Class<R> rowClass,
+        Function<Root<T>, List<Selection<?>>> columns,
+        Specification<T> specification,
+        Pageable pageable
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = builder.createQuery(rowClass);
+        Root<T> root = query.from(entityClass);
+        query.select(builder.construct(rowClass, columns.apply(root).toArray(Selection[]::new)));
+        where(query, specification.toPredicate(root, query, builder));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        TypedQuery<R> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<R> content = typedQuery.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(entityManager, entityClass, specification));
+    }
+
+    private static <T> long count(EntityManager entityManager, Class<T> entityClass, Specification<T> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+        query.select(builder.count(root));
+        where(query, specification.toPredicate(root, query, builder));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Stream the rows matching a specification in id order, fetching them from the database a few at a time.
+     * <p>
+     * The rows are not managed, so reading the stream to the end holds no more than {@code fetchSize} of them in
+     * memory; it must be read and closed within the transaction.
+     *
+     * @param entityManager the entity manager.
+     * @param entityClass the class of the queried entity.
+     * @param rowClass the class of the rows, constructed from the selected columns.
+     * @param columns the columns to select from the entity, in the order of the row constructor parameters.
+     * @param specification the specification the entities must match.
+     * @param fetchSize the number of rows fetched by each round trip of the JDBC driver.
+     * @return the stream of rows, to be closed.
+     */
+    static <T, R extends Record> Stream<R> stream(
+        EntityManager entityManager,
+        Class<T> entityClass,
+        Class<R> rowClass,
+        Function<Root<T>, List<Selection<?>>> columns,
+        Specification<T> specification,
+        int fetchSize
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = builder.createQuery(rowClass);
+        Root<T> root = query.from(entityClass);
+        query.select(builder.construct(rowClass, columns.apply(root).toArray(Selection[]::new)));
+        where(query, specification.toPredicate(root, query, builder));
+        query.orderBy(builder.asc(root.get(ID_PROPERTY)));
+        return entityManager
+            .createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    private static void where(CriteriaQuery<?> query, Predicate predicate) {
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
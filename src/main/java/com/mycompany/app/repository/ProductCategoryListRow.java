@@ -0,0 +1,6 @@
+package com.mycompany.app.repository;
+
+/**
+ * The fields of a {@link com.mycompany.app.domain.ProductCategory} shown in listings.
+ */
+public record ProductCategoryListRow(Long id, String name, String description) {}
@@ -1,6 +1,10 @@
 package com.mycompany.app.repository;
 
 import com.mycompany.app.domain.ProductCategory;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +13,13 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ProductCategoryRepository extends JpaRepository<ProductCategory, Long> {}
+public interface ProductCategoryRepository extends JpaRepository<ProductCategory, Long> {
+    List<ProductCategory> findAllByNameInOrderById(Collection<String> names);
+
+    @Query(
+        value = "select new com.mycompany.app.repository.ProductCategoryListRow(productCategory.id, productCategory.name, " +
+        "productCategory.description) from ProductCategory productCategory",
+        countQuery = "select count(productCategory) from ProductCategory productCategory"
+    )
+    Page<ProductCategoryListRow> findAllListRows(Pageable pageable);
+}
@@ -0,0 +1,28 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.enumeration.Size;
+import java.util.List;
+
+/**
+ * Number of matching products sharing a size and a category.
+ *
+ * @param productSize the size of the products.
+ * @param productCategoryId the id of the category of the products.
+ * @param productCategoryName the name of the category of the products.
+ * @param count the number of products matching every filter.
+ * @param countIgnoringSize the number of products matching every filter but the one on the size.
+ * @param countIgnoringCategory the number of products matching every filter but the one on the category.
+ * @param countIgnoringPrice the number of products matching every filter but the one on the price.
+ * @param countsBelowPriceBreaks for each price break, the number of products matching every filter but the one on
+ * the price, priced below it.
+ */
+public record ProductFacetRow(
+    Size productSize,
+    Long productCategoryId,
+    String productCategoryName,
+    long count,
+    long countIgnoringSize,
+    long countIgnoringCategory,
+    long countIgnoringPrice,
+    List<Long> countsBelowPriceBreaks
+) {}
@@ -0,0 +1,10 @@
+package com.mycompany.app.repository;
+
+/**
+ * Projection of a {@link com.mycompany.app.domain.ProductImage} without its binary content.
+ *
+ * @param hash the SHA-256 of the image bytes, in lowercase hex.
+ * @param contentType the media type of the image.
+ * @param contentLength the size of the image in bytes.
+ */
+public record ProductImageMetadata(String hash, String contentType, Long contentLength) {}
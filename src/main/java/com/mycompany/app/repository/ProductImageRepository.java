@@ -0,0 +1,37 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.ProductImage;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ProductImage entity.
+ * <p>
+ * Image bytes are never read through the entity: metadata is selected as a projection and the
+ * content is streamed with {@link ProductImageRepositoryWithStreaming#writeData}.
+ */
+@Repository
+public interface ProductImageRepository extends JpaRepository<ProductImage, String>, ProductImageRepositoryWithStreaming {
+    @Query(
+        "select new com.mycompany.app.repository.ProductImageMetadata(image.hash, image.contentType, image.contentLength) " +
+        "from ProductImage image, Product product where product.id = :productId and image.hash = product.imageHash"
+    )
+    Optional<ProductImageMetadata> findMetadataByProductId(@Param("productId") Long productId);
+
+    @Query(
+        "select new com.mycompany.app.repository.ProductImageMetadata(image.hash, image.contentType, image.contentLength) " +
+        "from ProductImage image, ProductImageVariant variant, Product product where product.id = :productId " +
+        "and variant.sourceHash = product.imageHash and variant.name = :name and image.hash = variant.hash"
+    )
+    Optional<ProductImageMetadata> findVariantMetadataByProductId(@Param("productId") Long productId, @Param("name") String name);
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        "delete from ProductImage image where image.hash = :hash " +
+        "and not exists (select product.id from Product product where product.imageHash = :hash) " +
+        "and not exists (select variant.id from ProductImageVariant variant where variant.hash = :hash)"
+    )
+    int deleteByHashIfUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,38 @@
+package com.mycompany.app.repository;
+
+import java.io.OutputStream;
+import java.util.function.Function;
+
+public interface ProductImageRepositoryWithStreaming {
+    /**
+     * Copy the content of an image to the given stream, without loading it as an entity.
+     *
+     * @param hash the hash of the image.
+     * @param out the stream to write to.
+     * @return {@code true} if the image exists and was written, {@code false} otherwise.
+     */
+    default boolean writeData(String hash, OutputStream out) {
+        return writeData(hash, metadata -> out);
+    }
+
+    /**
+     * Copy the content of an image to a stream opened from its metadata, both read with the same query, without
+     * loading it as an entity.
+     *
+     * @param hash the hash of the image.
+     * @param open opens the stream to write to; only called if the image exists.
+     * @return {@code true} if the image exists and was written, {@code false} otherwise.
+     */
+    boolean writeData(String hash, Function<ProductImageMetadata, OutputStream> open);
+
+    /**
+     * Insert image content, unless an image with the same hash is stored meanwhile. Must be called within a
+     * transaction: a conflicting insert is rolled back to a savepoint, leaving the transaction usable.
+     *
+     * @param hash the hash of the image.
+     * @param contentType the media type of the image.
+     * @param data the image bytes.
+     * @return {@code true} if the image was inserted, {@code false} if it was already stored.
+     */
+    boolean insertDataIfAbsent(String hash, String contentType, byte[] data);
+}
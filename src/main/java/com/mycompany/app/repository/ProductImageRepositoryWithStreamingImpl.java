@@ -0,0 +1,78 @@
+package com.mycompany.app.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.function.Function;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Streams image content straight from the JDBC result set to the caller's stream, so the
+ * bytes are copied in buffer-sized chunks instead of being materialized as a {@code byte[]}.
+ */
+public class ProductImageRepositoryWithStreamingImpl implements ProductImageRepositoryWithStreaming {
+
+    private static final String SELECT_DATA = "select content_type, content_length, data from product_image where hash = ?";
+
+    private static final String INSERT_DATA = "insert into product_image (hash, content_type, content_length, data) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductImageRepositoryWithStreamingImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean writeData(String hash, Function<ProductImageMetadata, OutputStream> open) {
+        Boolean written = jdbcTemplate.query(
+            SELECT_DATA,
+            rs -> {
+                if (!rs.next()) {
+                    return false;
+                }
+                OutputStream out = open.apply(new ProductImageMetadata(hash, rs.getString(1), rs.getLong(2)));
+                try (InputStream in = rs.getBinaryStream(3)) {
+                    in.transferTo(out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            },
+            hash
+        );
+        return Boolean.TRUE.equals(written);
+    }
+
+    @Override
+    public boolean insertDataIfAbsent(String hash, String contentType, byte[] data) {
+        Boolean inserted = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_DATA)) {
+                ps.setString(1, hash);
+                ps.setString(2, contentType);
+                ps.setLong(3, data.length);
+                ps.setBinaryStream(4, new ByteArrayInputStream(data), data.length);
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                // Stored meanwhile by a concurrent transaction, once it committed
+                DataAccessException translated = jdbcTemplate.getExceptionTranslator().translate("insertDataIfAbsent", INSERT_DATA, e);
+                if (translated instanceof DuplicateKeyException) {
+                    return false;
+                }
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        });
+        return Boolean.TRUE.equals(inserted);
+    }
+}
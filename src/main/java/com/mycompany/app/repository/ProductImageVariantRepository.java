@@ -0,0 +1,41 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.ProductImageVariant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ProductImageVariant entity.
+ */
+@Repository
+public interface ProductImageVariantRepository extends JpaRepository<ProductImageVariant, Long> {
+    boolean existsBySourceHashAndName(String sourceHash, String name);
+
+    @Query("select variant.name from ProductImageVariant variant where variant.sourceHash = :sourceHash")
+    List<String> findNamesBySourceHash(@Param("sourceHash") String sourceHash);
+
+    @Query("select variant.hash from ProductImageVariant variant where variant.sourceHash = :sourceHash")
+    List<String> findHashesBySourceHash(@Param("sourceHash") String sourceHash);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ProductImageVariant variant where variant.sourceHash = :sourceHash")
+    int deleteBySourceHash(@Param("sourceHash") String sourceHash);
+
+    /**
+     * Find the hashes of product images that have fewer than {@code variantCount} variants, in hash order.
+     *
+     * @param after only return hashes greater than this one, to page through the result.
+     * @param variantCount the number of configured variants.
+     * @param pageable the page size.
+     * @return the image hashes.
+     */
+    @Query(
+        "select distinct product.imageHash from Product product where product.imageHash > :after " +
+        "and (select count(variant) from ProductImageVariant variant where variant.sourceHash = product.imageHash) < :variantCount " +
+        "order by product.imageHash"
+    )
+    List<String> findImageHashesMissingVariants(@Param("after") String after, @Param("variantCount") long variantCount, Pageable pageable);
+}
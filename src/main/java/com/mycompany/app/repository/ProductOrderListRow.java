@@ -0,0 +1,9 @@
+package com.mycompany.app.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of a {@link com.mycompany.app.domain.ProductOrder} shown in listings, with the id and name of
+ * its product and the id of its cart.
+ */
+public record ProductOrderListRow(Long id, Integer quantity, BigDecimal totalPrice, Long productId, String productName, Long cartId) {}
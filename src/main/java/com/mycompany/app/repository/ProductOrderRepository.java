@@ -1,6 +1,9 @@
 package com.mycompany.app.repository;
 
 import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -13,7 +16,7 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the ProductOrder entity.
  */
 @Repository
-public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long> {
+public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long>, ProductOrderRepositoryWithListRows {
     default Optional<ProductOrder> findOneWithEagerRelationships(Long id) {
         return this.findOneWithToOneRelationships(id);
     }
@@ -35,6 +38,37 @@ public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long
     @Query("select productOrder from ProductOrder productOrder left join fetch productOrder.product")
     List<ProductOrder> findAllWithToOneRelationships();
 
+    @Query(
+        "select new com.mycompany.app.repository.ProductOrderListRow(productOrder.id, productOrder.quantity, productOrder.totalPrice, " +
+        "product.id, product.name, productOrder.cart.id) from ProductOrder productOrder left join productOrder.product product " +
+        "where productOrder.cart.id in :cartIds order by productOrder.id"
+    )
+    List<ProductOrderListRow> findListRowsByCartIdIn(@Param("cartIds") Collection<Long> cartIds);
+
+    @Query(
+        "select productOrder from ProductOrder productOrder join fetch productOrder.product " +
+        "where productOrder.cart.id = :cartId order by productOrder.id"
+    )
+    List<ProductOrder> findAllWithProductByCartId(@Param("cartId") Long cartId);
+
+    @Query(
+        "select new com.mycompany.app.repository.CartLineRow(cart.id, cart.placedDate, productOrder.product.id, productOrder.quantity) " +
+        "from ProductOrder productOrder join productOrder.cart cart where cart.status = :status and cart.placedDate > :placedAfter"
+    )
+    List<CartLineRow> findCartLineRows(@Param("status") OrderStatus status, @Param("placedAfter") Instant placedAfter);
+
+    @Query(
+        "select new com.mycompany.app.repository.CartLineRow(cart.id, cart.placedDate, productOrder.product.id, productOrder.quantity) " +
+        "from ProductOrder productOrder join productOrder.cart cart where cart.id = :cartId"
+    )
+    List<CartLineRow> findCartLineRowsByCartId(@Param("cartId") Long cartId);
+
+    @Query(
+        "select new com.mycompany.app.repository.SalesLineRow(product.id, product.productCategory.id, productOrder.quantity, " +
+        "productOrder.totalPrice) from ProductOrder productOrder join productOrder.product product where productOrder.cart.id = :cartId"
+    )
+    List<SalesLineRow> findSalesLineRowsByCartId(@Param("cartId") Long cartId);
+
     @Query("select productOrder from ProductOrder productOrder left join fetch productOrder.product where productOrder.id =:id")
     Optional<ProductOrder> findOneWithToOneRelationships(@Param("id") Long id);
 }
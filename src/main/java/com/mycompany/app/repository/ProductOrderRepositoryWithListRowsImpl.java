@@ -0,0 +1,88 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ProductOrder_;
+import com.mycompany.app.domain.Product_;
+import com.mycompany.app.domain.ShoppingCart_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+public class ProductOrderRepositoryWithListRowsImpl implements ProductOrderRepositoryWithListRows {
+
+    /**
+     * Rows fetched by each round trip of a stream, so that exporting does not depend on the number of orders.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductOrderListRow> findListRows(Specification<ProductOrder> specification, Pageable pageable) {
+        return ListRowQueries.findPage(
+            entityManager,
+            ProductOrder.class,
+            ProductOrderListRow.class,
+            ProductOrderRepositoryWithListRowsImpl::columns,
+            specification,
+            pageable
+        );
+    }
+
+    @Override
+    public Window<ProductOrderListRow> findListRows(
+        Specification<ProductOrder> specification,
+        KeysetScrollPosition position,
+        Sort sort,
+        Limit limit
+    ) {
+        return KeysetQueries.findWindow(
+            entityManager,
+            ProductOrder.class,
+            ProductOrderListRow.class,
+            ProductOrderRepositoryWithListRowsImpl::columns,
+            specification,
+            position,
+            sort,
+            limit
+        );
+    }
+
+    @Override
+    public Stream<ProductOrderListRow> streamListRows(Specification<ProductOrder> specification) {
+        return ListRowQueries.stream(
+            entityManager,
+            ProductOrder.class,
+            ProductOrderListRow.class,
+            ProductOrderRepositoryWithListRowsImpl::columns,
+            specification,
+            STREAM_FETCH_SIZE
+        );
+    }
+
+    private static List<Selection<?>> columns(Root<ProductOrder> root) {
+        Join<ProductOrder, Product> product = root.join(ProductOrder_.product, JoinType.LEFT);
+        return List.of(
+            root.get(ProductOrder_.id),
+            root.get(ProductOrder_.quantity),
+            root.get(ProductOrder_.totalPrice),
+            product.get(Product_.id),
+            product.get(Product_.name),
+            root.get(ProductOrder_.cart).get(ShoppingCart_.id)
+        );
+    }
+}
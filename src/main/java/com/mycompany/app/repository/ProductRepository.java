@@ -1,10 +1,12 @@
 package com.mycompany.app.repository;
 
 import com.mycompany.app.domain.Product;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +15,8 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the Product entity.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository
+    extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductRepositoryWithFacets, ProductRepositoryWithBulkUpdates {
     default Optional<Product> findOneWithEagerRelationships(Long id) {
         return this.findOneWithToOneRelationships(id);
     }
@@ -26,6 +29,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         return this.findAllWithToOneRelationships(pageable);
     }
 
+    @Override
+    @EntityGraph(attributePaths = "productCategory")
+    Page<Product> findAll(Specification<Product> specification, Pageable pageable);
+
     @Query(
         value = "select product from Product product left join fetch product.productCategory",
         countQuery = "select count(product) from Product product"
@@ -37,4 +44,40 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @Query("select product from Product product left join fetch product.productCategory where product.id =:id")
     Optional<Product> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query("select product from Product product left join fetch product.productCategory where product.id in :ids")
+    List<Product> findAllWithToOneRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select product.id from Product product where product.productCategory.id = :productCategoryId")
+    List<Long> findIdsByProductCategoryId(@Param("productCategoryId") Long productCategoryId);
+
+    @Query("select max(product.id) from Product product")
+    Optional<Long> findMaxId();
+
+    @Query(
+        "select new com.mycompany.app.repository.ProductSearchRow(product.id, product.name, product.description, category.name) " +
+        "from Product product left join product.productCategory category where product.id = :id"
+    )
+    Optional<ProductSearchRow> findSearchRowById(@Param("id") Long id);
+
+    @Query(
+        "select new com.mycompany.app.repository.ProductSearchRow(product.id, product.name, product.description, category.name) " +
+        "from Product product left join product.productCategory category where product.id in :ids"
+    )
+    List<ProductSearchRow> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the searchable fields of the products whose id is in {@code (after, to]}, in id order.
+     *
+     * @param after the exclusive lower bound of the ids.
+     * @param to the inclusive upper bound of the ids.
+     * @param pageable the page size.
+     * @return the searchable fields.
+     */
+    @Query(
+        "select new com.mycompany.app.repository.ProductSearchRow(product.id, product.name, product.description, category.name) " +
+        "from Product product left join product.productCategory category where product.id > :after and product.id <= :to " +
+        "order by product.id"
+    )
+    List<ProductSearchRow> findSearchRows(@Param("after") long after, @Param("to") long to, Pageable pageable);
 }
@@ -0,0 +1,41 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.Product;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ProductRepositoryWithBulkUpdates {
+    /**
+     * Find the ids of the products matching a specification, in id order.
+     *
+     * @param specification the specification the products must match.
+     * @param after the exclusive lower bound of the ids.
+     * @param limit the maximum number of ids.
+     * @return the ids.
+     */
+    List<Long> findIdsAfter(Specification<Product> specification, long after, int limit);
+
+    /**
+     * Set the prices of products to {@code price * factor + amount}, rounded to cents and at least zero,
+     * with a single statement that loads no entity.
+     * <p>
+     * Unlike a JPQL bulk update, this does not clear the whole {@code Product} second-level cache region:
+     * the updated products must be evicted with {@link #evictFromCache} before the update, and again once the
+     * transaction has committed.
+     *
+     * @param ids the ids of the products.
+     * @param factor the factor applied to the prices.
+     * @param amount the amount added to the prices.
+     * @return the number of updated products.
+     */
+    int updatePrices(Collection<Long> ids, BigDecimal factor, BigDecimal amount);
+
+    /**
+     * Evict products from the second-level cache, leaving the other cached products in place.
+     *
+     * @param ids the ids of the products.
+     */
+    void evictFromCache(Collection<Long> ids);
+}
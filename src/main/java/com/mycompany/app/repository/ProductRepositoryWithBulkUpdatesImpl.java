@@ -0,0 +1,60 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.Product_;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Prices are updated with a native statement declaring a query space that no entity uses: Hibernate
+ * otherwise invalidates every cache region the statement may affect, which for a native statement
+ * without query spaces is every region.
+ */
+public class ProductRepositoryWithBulkUpdatesImpl implements ProductRepositoryWithBulkUpdates {
+
+    private static final String PRICE_QUERY_SPACE = "product_price_update";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIdsAfter(Specification<Product> specification, long after, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root.get(Product_.id));
+        Predicate predicate = builder.greaterThan(root.get(Product_.id), after);
+        Predicate matching = specification.toPredicate(root, query, builder);
+        query.where(matching == null ? predicate : builder.and(predicate, matching));
+        query.orderBy(builder.asc(root.get(Product_.id)));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int updatePrices(Collection<Long> ids, BigDecimal factor, BigDecimal amount) {
+        return entityManager
+            .createNativeQuery("update product set price = greatest(round(price * :factor + :amount, 2), 0) where id in (:ids)")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(PRICE_QUERY_SPACE)
+            .setParameter("factor", factor)
+            .setParameter("amount", amount)
+            .setParameterList("ids", ids)
+            .executeUpdate();
+    }
+
+    @Override
+    public void evictFromCache(Collection<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(Product.class, id));
+    }
+}
@@ -0,0 +1,29 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.Product;
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ProductRepositoryWithFacets {
+    /**
+     * Count the products matching a specification by size, category and price range, in a single grouped query.
+     * <p>
+     * The counts of each dimension leave out the filter on that dimension, so that the other options of a dimension
+     * being filtered on still get their counts.
+     *
+     * @param specification the specification the products must match, besides the filters on the dimensions.
+     * @param productSize the filter on the size, {@code null} if none.
+     * @param productCategory the filter on the category, {@code null} if none.
+     * @param price the filter on the price, {@code null} if none.
+     * @param priceBreaks the ascending bounds of the price ranges.
+     * @return one row per size and category having products matching the specification and all filters but one.
+     */
+    List<ProductFacetRow> countFacets(
+        Specification<Product> specification,
+        Specification<Product> productSize,
+        Specification<Product> productCategory,
+        Specification<Product> price,
+        List<BigDecimal> priceBreaks
+    );
+}
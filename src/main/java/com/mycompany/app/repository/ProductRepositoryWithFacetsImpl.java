@@ -0,0 +1,109 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductCategory;
+import com.mycompany.app.domain.ProductCategory_;
+import com.mycompany.app.domain.Product_;
+import com.mycompany.app.domain.enumeration.Size;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Price ranges are counted with conditional sums rather than grouped on, so that the number of rows
+ * only depends on the number of sizes and categories. The counts leaving out the filter of a dimension
+ * are conditional sums too, keeping the facets to a single query.
+ */
+public class ProductRepositoryWithFacetsImpl implements ProductRepositoryWithFacets {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductFacetRow> countFacets(
+        Specification<Product> specification,
+        Specification<Product> productSize,
+        Specification<Product> productCategory,
+        Specification<Product> price,
+        List<BigDecimal> priceBreaks
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Join<Product, ProductCategory> category = root.join(Product_.productCategory);
+
+        Predicate sizeFilter = toPredicate(productSize, root, query, builder);
+        Predicate categoryFilter = toPredicate(productCategory, root, query, builder);
+        Predicate priceFilter = toPredicate(price, root, query, builder);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(Product_.productSize));
+        selections.add(category.get(ProductCategory_.id));
+        selections.add(category.get(ProductCategory_.name));
+        selections.add(countWhere(builder, builder.and(sizeFilter, categoryFilter, priceFilter)));
+        selections.add(countWhere(builder, builder.and(categoryFilter, priceFilter)));
+        selections.add(countWhere(builder, builder.and(sizeFilter, priceFilter)));
+        selections.add(countWhere(builder, builder.and(sizeFilter, categoryFilter)));
+        for (BigDecimal priceBreak : priceBreaks) {
+            Predicate belowBreak = builder.lessThan(root.get(Product_.price), priceBreak);
+            selections.add(countWhere(builder, builder.and(sizeFilter, categoryFilter, belowBreak)));
+        }
+        query.multiselect(selections);
+
+        // A product counts in some dimension as long as it matches two of the three filters
+        Predicate predicate = builder.or(
+            builder.and(categoryFilter, priceFilter),
+            builder.and(sizeFilter, priceFilter),
+            builder.and(sizeFilter, categoryFilter)
+        );
+        Predicate specificationPredicate = specification.toPredicate(root, query, builder);
+        query.where(specificationPredicate != null ? builder.and(specificationPredicate, predicate) : predicate);
+        query.groupBy(root.get(Product_.productSize), category.get(ProductCategory_.id), category.get(ProductCategory_.name));
+
+        return entityManager
+            .createQuery(query)
+            .getResultStream()
+            .map(tuple -> {
+                List<Long> countsBelowPriceBreaks = new ArrayList<>(priceBreaks.size());
+                for (int i = 0; i < priceBreaks.size(); i++) {
+                    countsBelowPriceBreaks.add(tuple.get(7 + i, Number.class).longValue());
+                }
+                return new ProductFacetRow(
+                    tuple.get(0, Size.class),
+                    tuple.get(1, Long.class),
+                    tuple.get(2, String.class),
+                    tuple.get(3, Number.class).longValue(),
+                    tuple.get(4, Number.class).longValue(),
+                    tuple.get(5, Number.class).longValue(),
+                    tuple.get(6, Number.class).longValue(),
+                    countsBelowPriceBreaks
+                );
+            })
+            .toList();
+    }
+
+    private static Predicate toPredicate(
+        Specification<Product> specification,
+        Root<Product> root,
+        CriteriaQuery<?> query,
+        CriteriaBuilder builder
+    ) {
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, builder) : null;
+        return predicate != null ? predicate : builder.conjunction();
+    }
+
+    private static Expression<Long> countWhere(CriteriaBuilder builder, Predicate predicate) {
+        return builder.sumAsLong(builder.<Integer>selectCase().when(predicate, 1).otherwise(0));
+    }
+}
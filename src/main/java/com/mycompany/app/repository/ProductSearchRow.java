@@ -0,0 +1,6 @@
+package com.mycompany.app.repository;
+
+/**
+ * The fields of a {@link com.mycompany.app.domain.Product} that are full-text indexed.
+ */
+public record ProductSearchRow(Long id, String name, String description, String categoryName) {}
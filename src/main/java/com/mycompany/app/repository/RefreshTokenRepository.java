@@ -0,0 +1,45 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.RefreshToken;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the RefreshToken entity.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    /**
+     * Find a token with its user and their authorities, in a single lookup of the unique index on the hash.
+     */
+    @Query(
+        "select token from RefreshToken token join fetch token.user user left join fetch user.authorities " +
+        "where token.tokenHash = :tokenHash"
+    )
+    Optional<RefreshToken> findOneWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Mark a token as used, unless it already is: the row lock taken makes a concurrent use of the same token wait,
+     * then update nothing.
+     *
+     * @return {@code 1} if the token was not used yet, {@code 0} otherwise.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update RefreshToken token set token.usedDate = :usedDate where token.id = :id and token.usedDate is null")
+    int markUsed(@Param("id") Long id, @Param("usedDate") Instant usedDate);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RefreshToken token where token.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RefreshToken token where token.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RefreshToken token where token.expiresAt < :expiresAt")
+    int deleteByExpiresAtBefore(@Param("expiresAt") Instant expiresAt);
+}
@@ -0,0 +1,8 @@
+package com.mycompany.app.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * A line of a {@link com.mycompany.app.domain.ShoppingCart} as counted in the sales rollups.
+ */
+public record SalesLineRow(Long productId, Long productCategoryId, Integer quantity, BigDecimal totalPrice) {}
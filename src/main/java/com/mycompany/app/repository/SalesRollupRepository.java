@@ -0,0 +1,11 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.SalesRollupCart;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the SalesRollupCart entity, and the sales rollup tables.
+ */
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollupCart, Long>, SalesRollupRepositoryWithAggregates {}
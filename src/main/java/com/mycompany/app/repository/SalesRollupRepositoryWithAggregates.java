@@ -0,0 +1,34 @@
+package com.mycompany.app.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface SalesRollupRepositoryWithAggregates {
+    /**
+     * Add the lines of a cart to the rollups of a day, or take them off, as JDBC batches of updates.
+     *
+     * @param salesDate the day.
+     * @param lines the lines of the cart.
+     * @param sign {@code 1} to add the lines, {@code -1} to take them off.
+     */
+    void addLines(LocalDate salesDate, Collection<SalesLineRow> lines, int sign);
+
+    /**
+     * Recompute the rollups of a day, and the carts counted in them, from the paid carts placed on that day.
+     *
+     * @param salesDate the day, in UTC.
+     * @return the number of carts counted.
+     */
+    int rebuild(LocalDate salesDate);
+
+    /**
+     * @return the rollups by day and product between two days, both included, by day then product id.
+     */
+    List<SalesRollupRow> findDailyByProduct(LocalDate from, LocalDate to);
+
+    /**
+     * @return the rollups by day and category between two days, both included, by day then category id.
+     */
+    List<SalesRollupRow> findDailyByCategory(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,174 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Rollups are changed by deltas through JDBC, updating the rows of a cart in one batch and inserting the missing
+ * ones in another, so that carts paid at the same time only contend on the rows they share.
+ * <p>
+ * Days are UTC days, matching the timestamps written by Hibernate.
+ */
+public class SalesRollupRepositoryWithAggregatesImpl implements SalesRollupRepositoryWithAggregates {
+
+    private static final String PAID_CARTS =
+        "from shopping_cart sc where sc.status in (?, ?) and sc.placed_date >= ? and sc.placed_date < ?";
+
+    private static final String PAID_LINES =
+        "from product_order po join shopping_cart sc on sc.id = po.cart_id join product p on p.id = po.product_id " +
+        "where sc.status in (?, ?) and sc.placed_date >= ? and sc.placed_date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesRollupRepositoryWithAggregatesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private record Delta(Long id, long units, BigDecimal revenue) {
+        Delta plus(long units, BigDecimal revenue) {
+            return new Delta(id, this.units + units, this.revenue.add(revenue));
+        }
+    }
+
+    @Override
+    public void addLines(LocalDate salesDate, Collection<SalesLineRow> lines, int sign) {
+        addDeltas("sales_daily_product", "product_id", salesDate, sum(lines, SalesLineRow::productId, sign));
+        addDeltas("sales_daily_category", "product_category_id", salesDate, sum(lines, SalesLineRow::productCategoryId, sign));
+    }
+
+    private static List<Delta> sum(Collection<SalesLineRow> lines, Function<SalesLineRow, Long> id, int sign) {
+        Map<Long, Delta> deltas = new LinkedHashMap<>();
+        for (SalesLineRow line : lines) {
+            BigDecimal revenue = line.totalPrice().multiply(BigDecimal.valueOf(sign));
+            deltas.merge(
+                id.apply(line),
+                new Delta(id.apply(line), (long) sign * line.quantity(), revenue),
+                (sum, delta) -> sum.plus(delta.units(), delta.revenue())
+            );
+        }
+        return new ArrayList<>(deltas.values());
+    }
+
+    private void addDeltas(String table, String idColumn, LocalDate salesDate, List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int[][] updated = jdbcTemplate.batchUpdate(
+            "update " + table + " set units = units + ?, revenue = revenue + ? where sales_date = ? and " + idColumn + " = ?",
+            deltas,
+            deltas.size(),
+            (statement, delta) -> {
+                statement.setLong(1, delta.units());
+                statement.setBigDecimal(2, delta.revenue());
+                statement.setObject(3, salesDate);
+                statement.setLong(4, delta.id());
+            }
+        );
+        List<Delta> missing = new ArrayList<>();
+        // Drivers may report Statement.SUCCESS_NO_INFO instead of a count, only 0 means that there is no row
+        for (int i = 0; i < updated[0].length; i++) {
+            if (updated[0][i] == 0) {
+                missing.add(deltas.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        // A row inserted by another transaction in between fails this one, which is then retried
+        jdbcTemplate.batchUpdate(
+            "insert into " + table + " (sales_date, " + idColumn + ", units, revenue) values (?, ?, ?, ?)",
+            missing,
+            missing.size(),
+            (statement, delta) -> {
+                statement.setObject(1, salesDate);
+                statement.setLong(2, delta.id());
+                statement.setLong(3, delta.units());
+                statement.setBigDecimal(4, delta.revenue());
+            }
+        );
+    }
+
+    @Override
+    public int rebuild(LocalDate salesDate) {
+        Object[] range = {
+            OrderStatus.PAID.name(),
+            OrderStatus.COMPLETED.name(),
+            salesDate.atStartOfDay(),
+            salesDate.plusDays(1).atStartOfDay(),
+        };
+        Object[] dayAndRange = { salesDate, range[0], range[1], range[2], range[3] };
+        jdbcTemplate.update("delete from sales_daily_product where sales_date = ?", salesDate);
+        jdbcTemplate.update("delete from sales_daily_category where sales_date = ?", salesDate);
+        jdbcTemplate.update("delete from sales_rollup_cart where sales_date = ?", salesDate);
+        jdbcTemplate.update(
+            "delete from sales_rollup_cart where shopping_cart_id in (select sc.id from shopping_cart sc " +
+            "where sc.placed_date >= ? and sc.placed_date < ?)",
+            range[2],
+            range[3]
+        );
+        jdbcTemplate.update(
+            "insert into sales_daily_product (sales_date, product_id, units, revenue) " +
+            "select ?, po.product_id, sum(po.quantity), sum(po.total_price) " +
+            PAID_LINES +
+            " group by po.product_id",
+            dayAndRange
+        );
+        jdbcTemplate.update(
+            "insert into sales_daily_category (sales_date, product_category_id, units, revenue) " +
+            "select ?, p.product_category_id, sum(po.quantity), sum(po.total_price) " +
+            PAID_LINES +
+            " group by p.product_category_id",
+            dayAndRange
+        );
+        return jdbcTemplate.update(
+            "insert into sales_rollup_cart (shopping_cart_id, sales_date) select sc.id, ? " + PAID_CARTS,
+            dayAndRange
+        );
+    }
+
+    @Override
+    public List<SalesRollupRow> findDailyByProduct(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+            "select r.sales_date, r.product_id, p.name, r.units, r.revenue from sales_daily_product r " +
+            "left join product p on p.id = r.product_id " +
+            "where r.sales_date >= ? and r.sales_date <= ? and (r.units <> 0 or r.revenue <> 0) " +
+            "order by r.sales_date, r.product_id",
+            SalesRollupRepositoryWithAggregatesImpl::toRow,
+            from,
+            to
+        );
+    }
+
+    @Override
+    public List<SalesRollupRow> findDailyByCategory(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+            "select r.sales_date, r.product_category_id, c.name, r.units, r.revenue from sales_daily_category r " +
+            "left join product_category c on c.id = r.product_category_id " +
+            "where r.sales_date >= ? and r.sales_date <= ? and (r.units <> 0 or r.revenue <> 0) " +
+            "order by r.sales_date, r.product_category_id",
+            SalesRollupRepositoryWithAggregatesImpl::toRow,
+            from,
+            to
+        );
+    }
+
+    private static SalesRollupRow toRow(ResultSet resultSet, int rowNum) throws SQLException {
+        return new SalesRollupRow(
+            resultSet.getObject(1, LocalDate.class),
+            resultSet.getLong(2),
+            resultSet.getString(3),
+            resultSet.getLong(4),
+            resultSet.getBigDecimal(5)
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.mycompany.app.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The sales of a product, or of the products of a category, on a day.
+ *
+ * @param salesDate the day, in UTC.
+ * @param id the id of the product or of the category.
+ * @param name the name of the product or of the category, {@code null} if it no longer exists.
+ * @param units the units sold.
+ * @param revenue the revenue of the units sold.
+ */
+public record SalesRollupRow(LocalDate salesDate, Long id, String name, long units, BigDecimal revenue) {}
@@ -0,0 +1,19 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The fields of a {@link com.mycompany.app.domain.ShoppingCart} shown in listings, with the id of its customer.
+ */
+public record ShoppingCartListRow(
+    Long id,
+    Instant placedDate,
+    OrderStatus status,
+    BigDecimal totalPrice,
+    PaymentMethod paymentMethod,
+    String paymentReference,
+    Long customerDetailsId
+) {}
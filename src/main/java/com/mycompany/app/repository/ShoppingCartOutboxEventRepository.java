@@ -0,0 +1,37 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.ShoppingCartOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ShoppingCartOutboxEvent entity.
+ */
+@Repository
+public interface ShoppingCartOutboxEventRepository extends JpaRepository<ShoppingCartOutboxEvent, Long> {
+    /**
+     * Lock the oldest events that are first of their cart, skipping those locked by another dispatcher
+     * ({@code for update skip locked}). A cart whose first event is locked is thus skipped as a whole.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select event from ShoppingCartOutboxEvent event where not exists (" +
+        "select older from ShoppingCartOutboxEvent older where older.shoppingCartId = event.shoppingCartId and older.id < event.id" +
+        ") order by event.id"
+    )
+    List<ShoppingCartOutboxEvent> findNextBatchForUpdate(Pageable pageable);
+
+    /**
+     * Lock the events of carts whose first event is locked by the caller, which no other dispatcher can lock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select event from ShoppingCartOutboxEvent event where event.shoppingCartId in :shoppingCartIds order by event.id")
+    List<ShoppingCartOutboxEvent> findAllByShoppingCartIdInForUpdate(@Param("shoppingCartIds") Collection<Long> shoppingCartIds);
+}
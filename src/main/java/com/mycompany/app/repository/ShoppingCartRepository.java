@@ -1,7 +1,18 @@
 package com.mycompany.app.repository;
 
 import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +20,41 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {}
+public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long>, ShoppingCartRepositoryWithListRows {
+    @Query(
+        value = "select new com.mycompany.app.repository.ShoppingCartListRow(shoppingCart.id, shoppingCart.placedDate, shoppingCart.status, " +
+        "shoppingCart.totalPrice, shoppingCart.paymentMethod, shoppingCart.paymentReference, shoppingCart.customerDetails.id) " +
+        "from ShoppingCart shoppingCart where shoppingCart.customerDetails.id = :customerDetailsId",
+        countQuery = "select count(shoppingCart) from ShoppingCart shoppingCart where shoppingCart.customerDetails.id = :customerDetailsId"
+    )
+    Page<ShoppingCartListRow> findListRowsByCustomerDetailsId(
+        @Param("customerDetailsId") Long customerDetailsId,
+        Pageable pageable
+    );
+
+    Optional<ShoppingCart> findFirstByCustomerDetailsIdAndStatusOrderByIdDesc(Long customerDetailsId, OrderStatus status);
+
+    @Query("select shoppingCart.placedDate from ShoppingCart shoppingCart where shoppingCart.id = :id")
+    Optional<Instant> findPlacedDateById(@Param("id") Long id);
+
+    /**
+     * Lock the ids of the carts with a status placed before a date, in id order after a given id, skipping those
+     * locked by another transaction ({@code for update skip locked}).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select shoppingCart.id from ShoppingCart shoppingCart where shoppingCart.status = :status " +
+        "and shoppingCart.placedDate < :placedBefore and shoppingCart.id > :afterId order by shoppingCart.id"
+    )
+    List<Long> findIdsForUpdateByStatusAndPlacedDateBefore(
+        @Param("status") OrderStatus status,
+        @Param("placedBefore") Instant placedBefore,
+        @Param("afterId") Long afterId,
+        Limit limit
+    );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ShoppingCart shoppingCart set shoppingCart.status = :status where shoppingCart.id in :ids")
+    int updateStatusByIdIn(@Param("status") OrderStatus status, @Param("ids") Collection<Long> ids);
+}
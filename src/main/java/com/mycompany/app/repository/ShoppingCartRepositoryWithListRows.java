@@ -0,0 +1,46 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.ShoppingCart;
+import java.util.stream.Stream;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ShoppingCartRepositoryWithListRows {
+    /**
+     * Find a page of the rows of the carts matching a specification.
+     *
+     * @param specification the specification the carts must match.
+     * @param pageable the pagination information.
+     * @return the page of rows.
+     */
+    Page<ShoppingCartListRow> findListRows(Specification<ShoppingCart> specification, Pageable pageable);
+
+    /**
+     * Find the window of the rows of the carts matching a specification after a position, without counting them.
+     *
+     * @param specification the specification the carts must match.
+     * @param position the keyset position to continue from.
+     * @param sort the sort of the carts; the id is always the last sort key.
+     * @param limit the maximum number of carts.
+     * @return the window of rows.
+     */
+    Window<ShoppingCartListRow> findListRows(
+        Specification<ShoppingCart> specification,
+        KeysetScrollPosition position,
+        Sort sort,
+        Limit limit
+    );
+
+    /**
+     * Stream the rows of all the carts matching a specification in id order, a batch of rows at a time.
+     *
+     * @param specification the specification the carts must match.
+     * @return the stream of rows, to be read and closed within the transaction.
+     */
+    Stream<ShoppingCartListRow> streamListRows(Specification<ShoppingCart> specification);
+}
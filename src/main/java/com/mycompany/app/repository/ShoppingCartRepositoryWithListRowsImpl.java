@@ -0,0 +1,85 @@
+package com.mycompany.app.repository;
+
+import com.mycompany.app.domain.CustomerDetails_;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.ShoppingCart_;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+public class ShoppingCartRepositoryWithListRowsImpl implements ShoppingCartRepositoryWithListRows {
+
+    /**
+     * Rows fetched by each round trip of a stream, so that exporting does not depend on the number of carts.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ShoppingCartListRow> findListRows(Specification<ShoppingCart> specification, Pageable pageable) {
+        return ListRowQueries.findPage(
+            entityManager,
+            ShoppingCart.class,
+            ShoppingCartListRow.class,
+            ShoppingCartRepositoryWithListRowsImpl::columns,
+            specification,
+            pageable
+        );
+    }
+
+    @Override
+    public Window<ShoppingCartListRow> findListRows(
+        Specification<ShoppingCart> specification,
+        KeysetScrollPosition position,
+        Sort sort,
+        Limit limit
+    ) {
+        return KeysetQueries.findWindow(
+            entityManager,
+            ShoppingCart.class,
+            ShoppingCartListRow.class,
+            ShoppingCartRepositoryWithListRowsImpl::columns,
+            specification,
+            position,
+            sort,
+            limit
+        );
+    }
+
+    @Override
+    public Stream<ShoppingCartListRow> streamListRows(Specification<ShoppingCart> specification) {
+        return ListRowQueries.stream(
+            entityManager,
+            ShoppingCart.class,
+            ShoppingCartListRow.class,
+            ShoppingCartRepositoryWithListRowsImpl::columns,
+            specification,
+            STREAM_FETCH_SIZE
+        );
+    }
+
+    private static List<Selection<?>> columns(Root<ShoppingCart> root) {
+        // The id of the customer is the foreign key column, read without joining the customer
+        return List.of(
+            root.get(ShoppingCart_.id),
+            root.get(ShoppingCart_.placedDate),
+            root.get(ShoppingCart_.status),
+            root.get(ShoppingCart_.totalPrice),
+            root.get(ShoppingCart_.paymentMethod),
+            root.get(ShoppingCart_.paymentReference),
+            root.get(ShoppingCart_.customerDetails).get(CustomerDetails_.id)
+        );
+    }
+}
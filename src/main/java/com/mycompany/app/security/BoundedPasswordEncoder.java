@@ -0,0 +1,120 @@
+package com.mycompany.app.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Hashes and checks passwords on a dedicated pool, so that the requests doing it cannot take all the CPU from the
+ * others.
+ * <p>
+ * The calling thread waits for the hash, but at most {@code threads} hashes are computed at once, and at most
+ * {@code queueCapacity} wait for a thread: past that, {@link PasswordHashingUnavailableException} is thrown at once
+ * rather than queueing more requests behind ones which would time out anyway. Whether a hash needs upgrading only
+ * reads it, so it is checked on the calling thread.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    public static final String METER_PREFIX = "security.password-hashing";
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer waitTimer;
+
+    private final Timer hashTimer;
+
+    private final Counter rejectedCounter;
+
+    /**
+     * @param delegate the encoder hashing the passwords.
+     * @param threads the most passwords hashed at once.
+     * @param queueCapacity the most passwords waiting to be hashed.
+     * @param registry the registry of the queue, wait and hash time meters.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("password-hashing-")
+        );
+        Gauge.builder(METER_PREFIX + ".queue", executor, e -> e.getQueue().size())
+            .description("Number of passwords waiting to be hashed")
+            .register(registry);
+        this.waitTimer = Timer.builder(METER_PREFIX + ".wait")
+            .description("Time a password spends in the queue before it is hashed")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.hashTimer = Timer.builder(METER_PREFIX + ".hash")
+            .description("Time taken to hash a password")
+            .publishPercentileHistogram()
+            .register(registry);
+        this.rejectedCounter = Counter.builder(METER_PREFIX + ".rejected")
+            .description("Number of passwords not hashed because the queue was full")
+            .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingUnavailableException("Too many passwords are being hashed, try again later", e);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            // The hash is of no use once nobody waits for it
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for a password to be hashed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
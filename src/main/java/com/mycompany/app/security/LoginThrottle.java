@@ -0,0 +1,85 @@
+package com.mycompany.app.security;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.management.SecurityMetersService;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits the login attempts for each account and from each client address, before the user is looked up or their
+ * password hashed, so that a burst of attempts costs neither.
+ * <p>
+ * The client address is checked first, so that an address refused does not use up the attempts of the accounts it
+ * tries. A successful login gives the account all its attempts back. Behind a proxy, the client address is taken
+ * from the forwarded headers, as set up by {@code server.forward-headers-strategy}.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private final TokenBucketLimiter byLogin;
+
+    private final TokenBucketLimiter byAddress;
+
+    private final SecurityMetersService metersService;
+
+    public LoginThrottle(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+        ApplicationProperties.LoginThrottle properties = applicationProperties.getLoginThrottle();
+        this.byLogin = new TokenBucketLimiter(
+            properties.getLoginBurst(),
+            properties.getLoginRefillPeriod(),
+            properties.getMaxBackoff(),
+            properties.getMaxEntries()
+        );
+        this.byAddress = new TokenBucketLimiter(
+            properties.getAddressBurst(),
+            properties.getAddressRefillPeriod(),
+            properties.getMaxBackoff(),
+            properties.getMaxEntries()
+        );
+        this.metersService = metersService;
+    }
+
+    /**
+     * Take an attempt for an account and a client address.
+     *
+     * @param login the login or email the user authenticates with.
+     * @param address the address of the client.
+     * @throws LoginThrottledException if the account or the address has no attempt left.
+     */
+    public void acquire(String login, String address) {
+        long now = System.currentTimeMillis();
+        long wait = byAddress.tryAcquire(address, now);
+        if (wait > 0) {
+            log.debug("Login attempt from {} throttled for {} ms", address, wait);
+            metersService.trackLoginThrottledByAddress();
+            throw new LoginThrottledException("Too many login attempts from this address", toSeconds(wait));
+        }
+        wait = byLogin.tryAcquire(key(login), now);
+        if (wait > 0) {
+            log.debug("Login attempt for {} throttled for {} ms", login, wait);
+            metersService.trackLoginThrottledByLogin();
+            throw new LoginThrottledException("Too many login attempts for this account", toSeconds(wait));
+        }
+    }
+
+    /**
+     * Give an account all its attempts back, once its user has logged in.
+     *
+     * @param login the login or email the user authenticated with.
+     */
+    public void reset(String login) {
+        byLogin.reset(key(login));
+    }
+
+    private static String key(String login) {
+        return login.toLowerCase(Locale.ENGLISH);
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+}
@@ -0,0 +1,24 @@
+package com.mycompany.app.security;
+
+/**
+ * Thrown when a login attempt is refused before the credentials are checked, because too many were made for the
+ * same account or from the same client address.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return the seconds to wait before the next attempt.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
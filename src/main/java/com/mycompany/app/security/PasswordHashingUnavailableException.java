@@ -0,0 +1,18 @@
+package com.mycompany.app.security;
+
+/**
+ * Thrown when a password cannot be hashed now, because too many are waiting to be: the request can be sent again
+ * later.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingUnavailableException(String message, Throwable t) {
+        super(message, t);
+    }
+}
@@ -0,0 +1,150 @@
+package com.mycompany.app.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets by key, held in memory: each key may take {@code burst} tokens at once, and gets one back every
+ * {@code refillPeriod}.
+ * <p>
+ * Once a key has no token left, it is refused for a wait which doubles with each refused attempt, from
+ * {@code refillPeriod} up to {@code maxBackoff}; attempts made during the wait are refused without making it longer.
+ * The waits are forgotten once the key has made no attempt for as long as its bucket takes to fill after the last
+ * one.
+ * <p>
+ * The buckets are split among stripes by the hash of their key, each stripe locked on its own for the few
+ * arithmetic operations of an attempt. Each stripe keeps at most its share of {@code maxEntries} buckets, forgetting
+ * the least recently used: a forgotten key starts again with a full bucket.
+ */
+public final class TokenBucketLimiter {
+
+    private static final int STRIPES = 16;
+
+    /**
+     * Doublings of the wait past which it is at its longest anyway, keeping the shift from overflowing.
+     */
+    private static final int MAX_DOUBLINGS = 30;
+
+    private static final class Bucket {
+
+        private double tokens;
+
+        private long refilledAt;
+
+        private long blockedUntil;
+
+        private int strikes;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        private Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    private final int burst;
+
+    private final long refillPeriodMillis;
+
+    private final long maxBackoffMillis;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param burst the tokens of a full bucket.
+     * @param refillPeriod the time after which a token is given back.
+     * @param maxBackoff the longest wait of a key without tokens.
+     * @param maxEntries the most keys tracked.
+     */
+    public TokenBucketLimiter(int burst, Duration refillPeriod, Duration maxBackoff, int maxEntries) {
+        if (burst < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("The burst and the refill period must be positive");
+        }
+        this.burst = burst;
+        this.refillPeriodMillis = refillPeriod.toMillis();
+        this.maxBackoffMillis = Math.max(maxBackoff.toMillis(), refillPeriodMillis);
+        int stripeEntries = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(stripeEntries);
+        }
+    }
+
+    /**
+     * Take a token for a key.
+     *
+     * @param key the key.
+     * @param now the current time, in milliseconds.
+     * @return {@code 0} if a token was taken, otherwise the milliseconds to wait before the next attempt.
+     */
+    public long tryAcquire(String key, long now) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket();
+                bucket.tokens = burst;
+                bucket.refilledAt = now;
+                stripe.put(key, bucket);
+            }
+            if (now < bucket.blockedUntil) {
+                return bucket.blockedUntil - now;
+            }
+            // A wait refills the bucket by itself, so only a key left alone as long again has its waits forgotten
+            if (now - bucket.blockedUntil >= burst * refillPeriodMillis) {
+                bucket.strikes = 0;
+            }
+            bucket.tokens = Math.min(burst, bucket.tokens + (double) (now - bucket.refilledAt) / refillPeriodMillis);
+            bucket.refilledAt = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            long backoff = Math.min(maxBackoffMillis, refillPeriodMillis << Math.min(bucket.strikes, MAX_DOUBLINGS));
+            bucket.strikes++;
+            bucket.blockedUntil = now + backoff;
+            return backoff;
+        }
+    }
+
+    /**
+     * Forget a key, giving it a full bucket.
+     *
+     * @param key the key.
+     */
+    public void reset(String key) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    /**
+     * @return the number of keys tracked.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+}
@@ -0,0 +1,106 @@
+package com.mycompany.app.security.jwt;
+
+import com.mycompany.app.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Keeps the tokens verified by another decoder, so that a client sending the same token on every request is only
+ * parsed and verified once.
+ * <p>
+ * Tokens are kept by the SHA-256 hash of their serialization, and only until their {@code exp}, checked on every
+ * read: a token is never accepted from the cache once it has expired. Tokens without an expiry are not kept. At most
+ * {@code maxEntries} tokens are kept: when the cache is full, the expired tokens are dropped at most once a second,
+ * and new tokens are verified without being kept until there is room again. Tokens that fail verification are never
+ * kept, so that they are counted by the other decoder every time.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private record VerifiedJwt(Jwt jwt, long expiresAtMillis) {}
+
+    private final JwtDecoder delegate;
+
+    private final int maxEntries;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    private final ConcurrentMap<String, VerifiedJwt> verified = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweepMillis = new AtomicLong();
+
+    /**
+     * @param delegate the decoder verifying the tokens which are not cached.
+     * @param maxEntries the most tokens kept.
+     * @param metersService the service counting the hits and misses.
+     * @param clock the clock the expiry of the tokens is checked against.
+     */
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, SecurityMetersService metersService, Clock clock) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.metersService = metersService;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        long now = clock.millis();
+        VerifiedJwt cached = verified.get(key);
+        // Comparing the tokens rules out hash collisions, at the cost of a string comparison
+        if (cached != null && now < cached.expiresAtMillis() && cached.jwt().getTokenValue().equals(token)) {
+            metersService.trackTokenCacheHit();
+            return cached.jwt();
+        }
+        metersService.trackTokenCacheMiss();
+        if (cached != null) {
+            verified.remove(key, cached);
+        }
+        Jwt jwt = delegate.decode(token);
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && now < expiresAt.toEpochMilli() && hasRoom(now)) {
+            verified.put(key, new VerifiedJwt(jwt, expiresAt.toEpochMilli()));
+        }
+        return jwt;
+    }
+
+    private boolean hasRoom(long now) {
+        if (verified.size() < maxEntries) {
+            return true;
+        }
+        long nextSweep = nextSweepMillis.get();
+        if (now >= nextSweep && nextSweepMillis.compareAndSet(nextSweep, now + SWEEP_INTERVAL_MILLIS)) {
+            verified.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        }
+        return verified.size() < maxEntries;
+    }
+
+    /**
+     * @return the number of tokens kept, including those which have expired but were not dropped yet.
+     */
+    public int size() {
+        return verified.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.repository.ShoppingCartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Cancels the shopping carts left pending for more than {@code application.abandoned-cart.max-age}.
+ * <p>
+ * The carts are walked in id order, {@code application.abandoned-cart.chunk-size} at a time, each chunk in its own
+ * transaction: its rows are locked, skipping those locked by a request, cancelled with a single update, and a
+ * {@link ShoppingCartStatusChangedEvent} is published for each of them, which releases their reserved stock.
+ */
+@Service
+public class AbandonedCartService {
+
+    public static final String METER_PREFIX = "abandoned.carts";
+
+    private final Logger log = LoggerFactory.getLogger(AbandonedCartService.class);
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    private final ActiveCartService activeCartService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.AbandonedCart properties;
+
+    private final Counter cancelledCounter;
+
+    private final Timer sweepTimer;
+
+    public AbandonedCartService(
+        ShoppingCartRepository shoppingCartRepository,
+        ActiveCartService activeCartService,
+        ApplicationEventPublisher applicationEventPublisher,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.activeCartService = activeCartService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getAbandonedCart();
+        this.cancelledCounter = Counter.builder(METER_PREFIX + ".cancelled")
+            .description("Number of abandoned carts cancelled")
+            .register(registry);
+        this.sweepTimer = Timer.builder(METER_PREFIX + ".sweep").description("Time taken to cancel the abandoned carts").register(registry);
+    }
+
+    /**
+     * Abandoned carts should be cancelled after {@code application.abandoned-cart.max-age}.
+     * <p>
+     * This is scheduled to get fired every day, after the removal of the users not activated.
+     *
+     * @return the number of cancelled carts.
+     */
+    @Scheduled(cron = "${application.abandoned-cart.cron}")
+    public int cancelAbandonedCarts() {
+        Instant placedBefore = Instant.now().minus(properties.getMaxAge());
+        int cancelled = sweepTimer.record(() -> {
+            int count = 0;
+            Long afterId = 0L;
+            List<Long> ids;
+            do {
+                Long from = afterId;
+                ids = transactionTemplate.execute(status -> cancelChunk(placedBefore, from));
+                if (!ids.isEmpty()) {
+                    count += ids.size();
+                    afterId = ids.get(ids.size() - 1);
+                }
+            } while (ids.size() == properties.getChunkSize());
+            return count;
+        });
+        if (cancelled > 0) {
+            log.info("Cancelled {} abandoned shopping carts placed before {}", cancelled, placedBefore);
+        }
+        return cancelled;
+    }
+
+    private List<Long> cancelChunk(Instant placedBefore, Long afterId) {
+        List<Long> ids = shoppingCartRepository.findIdsForUpdateByStatusAndPlacedDateBefore(
+            OrderStatus.PENDING,
+            placedBefore,
+            afterId,
+            Limit.of(properties.getChunkSize())
+        );
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        // Written before the update, so that a cart held in memory does not overwrite its cancellation later
+        ids.forEach(activeCartService::release);
+        shoppingCartRepository.updateStatusByIdIn(OrderStatus.CANCELLED, ids);
+        ids.forEach(id ->
+            applicationEventPublisher.publishEvent(new ShoppingCartStatusChangedEvent(id, OrderStatus.PENDING, OrderStatus.CANCELLED))
+        );
+        cancelledCounter.increment(ids.size());
+        return ids;
+    }
+}
@@ -0,0 +1,533 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.repository.CustomerDetailsRepository;
+import com.mycompany.app.repository.ProductOrderRepository;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.repository.ShoppingCartRepository;
+import com.mycompany.app.security.SecurityUtils;
+import com.mycompany.app.service.dto.ActiveCartDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service holding the pending carts shoppers are filling in memory, and writing their changes to the
+ * database behind them.
+ * <p>
+ * Each customer has at most one active cart: its most recent {@link OrderStatus#PENDING} cart, read from
+ * the database on first use. Line changes only update the cart in memory; changed carts are written every
+ * {@code application.active-cart.flush-interval}, each in its own transaction, so that any number of changes
+ * made in between cost a single write. Carts are spread over shards by customer, each shard being an
+ * access-ordered map locked on its own and holding at most its share of {@code application.active-cart.max-carts}
+ * carts: the least recently used cart is written and dropped to make room. With at most
+ * {@code application.active-cart.max-lines} lines per cart, this bounds the memory used. Changing a line reserves
+ * or releases the difference of units through the {@link InventoryService}.
+ * <p>
+ * A shard is only locked to look up and put carts: carts are read and written without it, so that a slow database
+ * does not hold up the other customers of the shard. A cart that cannot be written to make room stays held as
+ * changed, to be written by the next flush.
+ * <p>
+ * The database stays the reference. A held cart is written and dropped, within the same transaction, before
+ * {@link ShoppingCartService} or {@link ProductOrderService} change it or its orders, so that a status change
+ * always sees the latest lines; reads through those services see the cart as last written. Every changed cart
+ * is written on shutdown. After a crash, the changes made since the last flush are lost and the carts are read
+ * back as last written; the same goes for the changes of a cart whose releasing transaction rolls back.
+ */
+@Service
+public class ActiveCartService {
+
+    public static final String METER_PREFIX = "active.cart";
+
+    private final Logger log = LoggerFactory.getLogger(ActiveCartService.class);
+
+    private final CustomerDetailsRepository customerDetailsRepository;
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final ProductRepository productRepository;
+
+    private final ProductCatalogService productCatalogService;
+
+    private final InventoryService inventoryService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.ActiveCart properties;
+
+    private final Shard[] shards;
+
+    private final int shardCapacity;
+
+    /**
+     * Customer ids of the held carts, by cart id.
+     */
+    private final Map<Long, Long> customerIds = new ConcurrentHashMap<>();
+
+    private final AtomicInteger dirtyCount = new AtomicInteger();
+
+    private final Timer flushTimer;
+
+    private final Counter spillCounter;
+
+    public ActiveCartService(
+        CustomerDetailsRepository customerDetailsRepository,
+        ShoppingCartRepository shoppingCartRepository,
+        ProductOrderRepository productOrderRepository,
+        ProductRepository productRepository,
+        ProductCatalogService productCatalogService,
+        InventoryService inventoryService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.customerDetailsRepository = customerDetailsRepository;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.productOrderRepository = productOrderRepository;
+        this.productRepository = productRepository;
+        this.productCatalogService = productCatalogService;
+        this.inventoryService = inventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getActiveCart();
+        this.shards = new Shard[properties.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardCapacity = Math.max(1, (properties.getMaxCarts() + shards.length - 1) / shards.length);
+        Gauge.builder(METER_PREFIX + ".carts", customerIds, Map::size)
+            .description("Number of pending carts held in memory")
+            .register(registry);
+        Gauge.builder(METER_PREFIX + ".dirty", dirtyCount, AtomicInteger::get)
+            .description("Number of carts held in memory with changes not written yet")
+            .register(registry);
+        this.flushTimer = Timer.builder(METER_PREFIX + ".flush")
+            .description("Time taken to write the changes of a cart")
+            .register(registry);
+        this.spillCounter = Counter.builder(METER_PREFIX + ".spills")
+            .description("Number of carts written and dropped to make room for others")
+            .register(registry);
+    }
+
+    private record Line(Long productId, String productName, BigDecimal price, int quantity) {
+        private BigDecimal totalPrice() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+
+    /**
+     * A cart held in memory. Its lines, flags and writes are guarded by its monitor, which is never held
+     * together with the monitor of a shard.
+     */
+    private static final class ActiveCart {
+
+        private final Long id;
+
+        private final Long customerId;
+
+        private final Map<Long, Line> lines;
+
+        private boolean dirty;
+
+        /**
+         * Set while the cart is written to make room, guarded by the monitor of the shard.
+         */
+        private boolean spilling;
+
+        /**
+         * Set once the cart is no longer held: it must then be read again from the database.
+         */
+        private volatile boolean dropped;
+
+        private ActiveCart(Long id, Long customerId, Map<Long, Line> lines) {
+            this.id = id;
+            this.customerId = customerId;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * Carts of some customers, from the least to the most recently used, guarded by the monitor of the shard.
+     */
+    private static final class Shard {
+
+        private final LinkedHashMap<Long, ActiveCart> carts = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * Number of carts being written to make room.
+         */
+        private int spilling;
+
+        /**
+         * Number of releases so far: a cart read while a cart of the shard was released may be stale.
+         */
+        private long releases;
+    }
+
+    /**
+     * Get the pending cart of the current user.
+     *
+     * @return the cart, or empty if the current user has no pending cart.
+     * @throws CheckoutRejectedException if the current user has no customer details.
+     */
+    public Optional<ActiveCartDTO> findCurrent() {
+        Long customerId = currentCustomerId();
+        while (true) {
+            Optional<ActiveCart> cart = acquire(customerId);
+            if (cart.isEmpty()) {
+                return Optional.empty();
+            }
+            synchronized (cart.orElseThrow()) {
+                if (!cart.orElseThrow().dropped) {
+                    return cart.map(ActiveCartService::toDTO);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the quantity of a product in the pending cart of the current user, in memory.
+     *
+     * @param productId the id of the product.
+     * @param quantity the quantity of the product, {@code 0} to remove it.
+     * @return the cart.
+     * @throws CheckoutRejectedException if the current user has no pending cart, the product does not exist, the
+     * cart already has as many lines as allowed, or not enough units of the product are available.
+     */
+    public ActiveCartDTO setLine(Long productId, int quantity) {
+        log.debug("Request to set the quantity of Product {} in the active cart to {}", productId, quantity);
+        Long customerId = currentCustomerId();
+        Line line = null;
+        if (quantity > 0) {
+            Product product = productCatalogService
+                .getSnapshot()
+                .flatMap(snapshot -> snapshot.findProduct(productId))
+                .or(() -> productRepository.findById(productId))
+                .orElseThrow(() -> new CheckoutRejectedException("Unknown product: " + productId, "productnotfound"));
+            line = new Line(productId, product.getName(), product.getPrice(), quantity);
+        }
+        while (true) {
+            ActiveCart cart = acquire(customerId).orElseThrow(() ->
+                new CheckoutRejectedException("The current user has no pending cart", "nopendingcart")
+            );
+            synchronized (cart) {
+                if (cart.dropped) {
+                    continue;
+                }
+                if (line == null) {
+                    if (!cart.lines.containsKey(productId)) {
+                        return toDTO(cart);
+                    }
+                    inventoryService.changeReservation(cart.id, productId, 0);
+                    cart.lines.remove(productId);
+                } else {
+                    if (!cart.lines.containsKey(productId) && cart.lines.size() >= properties.getMaxLines()) {
+                        throw new CheckoutRejectedException(
+                            "A cart cannot have more than " + properties.getMaxLines() + " lines",
+                            "toomanylines"
+                        );
+                    }
+                    inventoryService.changeReservation(cart.id, productId, quantity);
+                    cart.lines.put(productId, line);
+                }
+                if (!cart.dirty) {
+                    cart.dirty = true;
+                    dirtyCount.incrementAndGet();
+                }
+                return toDTO(cart);
+            }
+        }
+    }
+
+    /**
+     * Write and drop a cart if it is held, joining the current transaction if any.
+     *
+     * @param cartId the id of the cart.
+     */
+    public void release(Long cartId) {
+        Long customerId = customerIds.get(cartId);
+        if (customerId != null) {
+            releaseCustomer(customerId);
+        }
+    }
+
+    /**
+     * Write and drop the cart of a customer if it is held, joining the current transaction if any.
+     *
+     * @param customerId the id of the customer.
+     */
+    public void releaseCustomer(Long customerId) {
+        Shard shard = shard(customerId);
+        ActiveCart cart;
+        synchronized (shard) {
+            shard.releases++;
+            cart = shard.carts.get(customerId);
+        }
+        if (cart == null) {
+            return;
+        }
+        try {
+            drop(cart);
+        } finally {
+            synchronized (shard) {
+                shard.carts.remove(customerId, cart);
+            }
+        }
+    }
+
+    /**
+     * Write every changed cart, each in its own transaction.
+     * <p>
+     * A cart that cannot be written stays changed and is written again by the next flush.
+     *
+     * @return the number of carts written.
+     */
+    @Scheduled(fixedDelayString = "${application.active-cart.flush-interval}")
+    public int flush() {
+        int written = 0;
+        for (Shard shard : shards) {
+            List<ActiveCart> carts;
+            synchronized (shard) {
+                carts = new ArrayList<>(shard.carts.values());
+            }
+            for (ActiveCart cart : carts) {
+                synchronized (cart) {
+                    if (cart.dropped || !cart.dirty) {
+                        continue;
+                    }
+                    try {
+                        write(cart);
+                        written++;
+                    } catch (RuntimeException e) {
+                        log.warn("Could not write ShoppingCart {}, it will be written by the next flush: {}", cart.id, e.getMessage());
+                    }
+                }
+                if (cart.dropped) {
+                    synchronized (shard) {
+                        shard.carts.remove(cart.customerId, cart);
+                    }
+                }
+            }
+        }
+        if (written > 0) {
+            log.debug("Flushed {} active carts", written);
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing active carts");
+        flush();
+    }
+
+    private Long currentCustomerId() {
+        return SecurityUtils.getCurrentUserLogin()
+            .flatMap(customerDetailsRepository::findOneByUserLogin)
+            .map(CustomerDetails::getId)
+            .orElseThrow(() -> new CheckoutRejectedException("The current user has no customer details", "nocustomerdetails"));
+    }
+
+    private Shard shard(Long customerId) {
+        return shards[Math.floorMod(customerId.hashCode(), shards.length)];
+    }
+
+    /**
+     * Get the held cart of a customer, reading it and making room for it if it is not held yet.
+     */
+    private Optional<ActiveCart> acquire(Long customerId) {
+        Shard shard = shard(customerId);
+        while (true) {
+            long releases;
+            synchronized (shard) {
+                ActiveCart cart = shard.carts.get(customerId);
+                if (cart != null && !cart.dropped) {
+                    return Optional.of(cart);
+                }
+                releases = shard.releases;
+            }
+            Optional<ActiveCart> loaded = load(customerId);
+            List<ActiveCart> spilled = new ArrayList<>();
+            synchronized (shard) {
+                // Another request of the customer may have read the cart meanwhile, this read is then discarded
+                ActiveCart cart = shard.carts.get(customerId);
+                if (cart != null && !cart.dropped) {
+                    return Optional.of(cart);
+                }
+                if (shard.releases != releases) {
+                    continue;
+                }
+                if (loaded.isEmpty()) {
+                    shard.carts.remove(customerId);
+                    return loaded;
+                }
+                shard.carts.put(customerId, loaded.orElseThrow());
+                customerIds.put(loaded.orElseThrow().id, customerId);
+                int held = shard.carts.size() - shard.spilling;
+                Iterator<ActiveCart> eldest = shard.carts.values().iterator();
+                while (held > shardCapacity && eldest.hasNext()) {
+                    ActiveCart candidate = eldest.next();
+                    if (!candidate.spilling && candidate != loaded.orElseThrow()) {
+                        candidate.spilling = true;
+                        shard.spilling++;
+                        spilled.add(candidate);
+                        held--;
+                    }
+                }
+            }
+            spilled.forEach(cart -> spill(shard, cart));
+            return loaded;
+        }
+    }
+
+    private Optional<ActiveCart> load(Long customerId) {
+        return transactionTemplate.execute(status ->
+            shoppingCartRepository
+                .findFirstByCustomerDetailsIdAndStatusOrderByIdDesc(customerId, OrderStatus.PENDING)
+                .map(cart -> {
+                    Map<Long, Line> lines = new LinkedHashMap<>();
+                    for (ProductOrder order : productOrderRepository.findAllWithProductByCartId(cart.getId())) {
+                        // Orders of the same product are merged, and written back as one
+                        Product product = order.getProduct();
+                        Line previous = lines.get(product.getId());
+                        int quantity = order.getQuantity() + (previous == null ? 0 : previous.quantity());
+                        lines.put(product.getId(), new Line(product.getId(), product.getName(), product.getPrice(), quantity));
+                    }
+                    return new ActiveCart(cart.getId(), customerId, lines);
+                })
+        );
+    }
+
+    /**
+     * Write a cart spilled to make room and stop holding it, or keep holding it as changed if it cannot be written.
+     */
+    private void spill(Shard shard, ActiveCart cart) {
+        spillCounter.increment();
+        synchronized (cart) {
+            try {
+                write(cart);
+                cart.dropped = true;
+                customerIds.remove(cart.id, cart.customerId);
+            } catch (RuntimeException e) {
+                log.warn("Could not write ShoppingCart {}, it will be written by the next flush: {}", cart.id, e.getMessage());
+            }
+        }
+        synchronized (shard) {
+            cart.spilling = false;
+            shard.spilling--;
+            if (cart.dropped) {
+                shard.carts.remove(cart.customerId, cart);
+            }
+        }
+    }
+
+    /**
+     * Write a cart and stop holding it, whether the write succeeds or not.
+     */
+    private void drop(ActiveCart cart) {
+        synchronized (cart) {
+            try {
+                write(cart);
+            } finally {
+                if (cart.dirty) {
+                    cart.dirty = false;
+                    dirtyCount.decrementAndGet();
+                }
+                cart.dropped = true;
+                customerIds.remove(cart.id, cart.customerId);
+            }
+        }
+    }
+
+    /**
+     * Write the changes of a cart, dropping it if it is no longer pending. Must hold the monitor of the cart.
+     */
+    private void write(ActiveCart cart) {
+        if (!cart.dirty) {
+            return;
+        }
+        List<Line> lines = List.copyOf(cart.lines.values());
+        Timer.Sample sample = Timer.start();
+        Boolean pending = transactionTemplate.execute(status -> writeLines(cart.id, lines));
+        sample.stop(flushTimer);
+        cart.dirty = false;
+        dirtyCount.decrementAndGet();
+        if (!Boolean.TRUE.equals(pending)) {
+            log.warn("ShoppingCart {} is no longer pending, its unwritten changes are discarded", cart.id);
+            cart.dropped = true;
+            customerIds.remove(cart.id, cart.customerId);
+        }
+    }
+
+    /**
+     * Make the orders of a cart match its lines: orders of removed products are deleted, the others updated
+     * and the missing ones inserted in a batch.
+     */
+    private boolean writeLines(Long cartId, List<Line> lines) {
+        Optional<ShoppingCart> cart = shoppingCartRepository.findById(cartId);
+        if (cart.isEmpty() || cart.orElseThrow().getStatus() != OrderStatus.PENDING) {
+            return false;
+        }
+        Map<Long, Line> remaining = new LinkedHashMap<>();
+        lines.forEach(line -> remaining.put(line.productId(), line));
+        List<ProductOrder> removed = new ArrayList<>();
+        for (ProductOrder order : productOrderRepository.findAllWithProductByCartId(cartId)) {
+            Line line = remaining.remove(order.getProduct().getId());
+            if (line == null) {
+                removed.add(order);
+            } else {
+                order.setQuantity(line.quantity());
+                order.setTotalPrice(line.totalPrice());
+            }
+        }
+        productOrderRepository.deleteAll(removed);
+        productOrderRepository.saveAll(
+            remaining
+                .values()
+                .stream()
+                .map(line ->
+                    new ProductOrder()
+                        .quantity(line.quantity())
+                        .totalPrice(line.totalPrice())
+                        .product(productRepository.getReferenceById(line.productId()))
+                        .cart(cart.orElseThrow())
+                )
+                .toList()
+        );
+        cart.orElseThrow().setTotalPrice(lines.stream().map(Line::totalPrice).reduce(BigDecimal.ZERO, BigDecimal::add));
+        return true;
+    }
+
+    private static ActiveCartDTO toDTO(ActiveCart cart) {
+        List<ActiveCartDTO.Line> lines = cart.lines
+            .values()
+            .stream()
+            .map(line -> new ActiveCartDTO.Line(line.productId(), line.productName(), line.quantity(), line.totalPrice()))
+            .toList();
+        BigDecimal totalPrice = lines.stream().map(ActiveCartDTO.Line::totalPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new ActiveCartDTO(cart.id, totalPrice, lines);
+    }
+}
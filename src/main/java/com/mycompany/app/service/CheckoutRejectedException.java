@@ -0,0 +1,20 @@
+package com.mycompany.app.service;
+
+/**
+ * Thrown when a checkout cannot be placed.
+ */
+public class CheckoutRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public CheckoutRejectedException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
@@ -0,0 +1,157 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.repository.CustomerDetailsRepository;
+import com.mycompany.app.repository.ProductOrderRepository;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.repository.ShoppingCartRepository;
+import com.mycompany.app.security.SecurityUtils;
+import com.mycompany.app.service.dto.CheckoutDTO;
+import com.mycompany.app.service.dto.CheckoutReceiptDTO;
+import com.mycompany.app.service.dto.ProductOrderDTO;
+import com.mycompany.app.service.dto.ShoppingCartDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service placing the cart of the current user and its order lines in one request.
+ * <p>
+ * The products of all the lines are read with a single {@code IN} query, and the totals are computed from
+ * their current prices, whatever the client believes them to be. The units of stock-managed products are
+ * reserved by the {@link InventoryService}, all of them or none. The cart and its lines are then written
+ * in one transaction, the lines being sent as JDBC batch inserts at commit.
+ */
+@Service
+@Transactional
+public class CheckoutService {
+
+    private final Logger log = LoggerFactory.getLogger(CheckoutService.class);
+
+    private final CustomerDetailsRepository customerDetailsRepository;
+
+    private final ProductRepository productRepository;
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final ActiveCartService activeCartService;
+
+    private final InventoryService inventoryService;
+
+    public CheckoutService(
+        CustomerDetailsRepository customerDetailsRepository,
+        ProductRepository productRepository,
+        ShoppingCartRepository shoppingCartRepository,
+        ProductOrderRepository productOrderRepository,
+        ActiveCartService activeCartService,
+        InventoryService inventoryService
+    ) {
+        this.customerDetailsRepository = customerDetailsRepository;
+        this.productRepository = productRepository;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.productOrderRepository = productOrderRepository;
+        this.activeCartService = activeCartService;
+        this.inventoryService = inventoryService;
+    }
+
+    /**
+     * Place a pending cart for the current user.
+     *
+     * @param checkout the payment and lines of the cart.
+     * @return the placed cart and its order lines.
+     * @throws CheckoutRejectedException if the current user has no customer details, a product does not exist or
+     * more than {@link CheckoutDTO.Line#MAX_QUANTITY} units of a product are ordered or not enough units of a product are
+     * available.
+     */
+    public CheckoutReceiptDTO checkout(CheckoutDTO checkout) {
+        log.debug("Request to checkout : {}", checkout);
+        CustomerDetails customerDetails = SecurityUtils.getCurrentUserLogin()
+            .flatMap(customerDetailsRepository::findOneByUserLogin)
+            .orElseThrow(() -> new CheckoutRejectedException("The current user has no customer details", "nocustomerdetails"));
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        checkout.lines().forEach(line -> quantities.merge(line.productId(), line.quantity(), Integer::sum));
+        // The lines being bounded in number and quantity, their sum cannot overflow
+        List<Long> excessive = quantities
+            .entrySet()
+            .stream()
+            .filter(entry -> entry.getValue() > CheckoutDTO.Line.MAX_QUANTITY)
+            .map(Map.Entry::getKey)
+            .toList();
+        if (!excessive.isEmpty()) {
+            throw new CheckoutRejectedException(
+                "More than " + CheckoutDTO.Line.MAX_QUANTITY + " units of products: " + excessive,
+                "quantitytoolarge"
+            );
+        }
+        Map<Long, Product> products = productRepository
+            .findAllById(quantities.keySet())
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Long> unknown = quantities.keySet().stream().filter(id -> !products.containsKey(id)).toList();
+        if (!unknown.isEmpty()) {
+            throw new CheckoutRejectedException("Unknown products: " + unknown, "productnotfound");
+        }
+
+        ShoppingCart cart = new ShoppingCart()
+            .placedDate(Instant.now())
+            .status(OrderStatus.PENDING)
+            .paymentMethod(checkout.paymentMethod())
+            .paymentReference(checkout.paymentReference())
+            .customerDetails(customerDetails);
+        List<ProductOrder> orders = new ArrayList<>(quantities.size());
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            BigDecimal lineTotal = product.getPrice().multiply(BigDecimal.valueOf(entry.getValue()));
+            orders.add(new ProductOrder().quantity(entry.getValue()).totalPrice(lineTotal).product(product).cart(cart));
+            totalPrice = totalPrice.add(lineTotal);
+        }
+        cart.setTotalPrice(totalPrice);
+        // The placed cart becomes the active cart of the customer, instead of the one held so far
+        activeCartService.releaseCustomer(customerDetails.getId());
+        shoppingCartRepository.save(cart);
+        inventoryService.reserve(cart.getId(), quantities);
+        productOrderRepository.saveAll(orders);
+        log.info("Checked out cart {} with {} lines", cart.getId(), orders.size());
+
+        return new CheckoutReceiptDTO(
+            new ShoppingCartDTO(
+                cart.getId(),
+                cart.getPlacedDate(),
+                cart.getStatus(),
+                cart.getTotalPrice(),
+                cart.getPaymentMethod(),
+                cart.getPaymentReference(),
+                new ShoppingCartDTO.CustomerDetailsRef(customerDetails.getId())
+            ),
+            orders
+                .stream()
+                .map(order ->
+                    new ProductOrderDTO(
+                        order.getId(),
+                        order.getQuantity(),
+                        order.getTotalPrice(),
+                        new ProductOrderDTO.ProductRef(order.getProduct().getId(), order.getProduct().getName()),
+                        new ProductOrderDTO.CartRef(cart.getId())
+                    )
+                )
+                .toList()
+        );
+    }
+}
@@ -2,11 +2,16 @@ package com.mycompany.app.service;
 
 import com.mycompany.app.domain.CustomerDetails;
 import com.mycompany.app.repository.CustomerDetailsRepository;
+import com.mycompany.app.service.dto.CustomerDetailsDTO;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -87,12 +92,26 @@ public class CustomerDetailsService {
      * Get all the customerDetails.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of customerDetails with the id and login of their user, selecting only their listed columns.
      */
     @Transactional(readOnly = true)
-    public Page<CustomerDetails> findAll(Pageable pageable) {
+    public Page<CustomerDetailsDTO> findAll(Pageable pageable) {
         log.debug("Request to get all CustomerDetails");
-        return customerDetailsRepository.findAll(pageable);
+        return customerDetailsRepository.findAllListRows(pageable).map(CustomerDetailsDTO::of);
+    }
+
+    /**
+     * Get the window of customerDetails after a position, without counting them.
+     *
+     * @param position the keyset position to continue from.
+     * @param sort the sort of the customerDetails; the id is always the last sort key.
+     * @param limit the maximum number of customerDetails to return.
+     * @return the window of customerDetails with the id and login of their user, selecting only their listed columns.
+     */
+    @Transactional(readOnly = true)
+    public Window<CustomerDetailsDTO> findAll(KeysetScrollPosition position, Sort sort, Limit limit) {
+        log.debug("Request to get a window of CustomerDetails");
+        return customerDetailsRepository.findListRows(position, sort, limit).map(CustomerDetailsDTO::of);
     }
 
     /**
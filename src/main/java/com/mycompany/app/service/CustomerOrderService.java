@@ -0,0 +1,75 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.repository.CustomerDetailsRepository;
+import com.mycompany.app.repository.ProductOrderListRow;
+import com.mycompany.app.repository.ProductOrderRepository;
+import com.mycompany.app.repository.ShoppingCartListRow;
+import com.mycompany.app.repository.ShoppingCartRepository;
+import com.mycompany.app.security.SecurityUtils;
+import com.mycompany.app.service.dto.CustomerOrderDTO;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service reading the order history of the current user.
+ * <p>
+ * A page is read with a fixed number of statements, whatever the number of carts and lines: the id of the
+ * customer, the page of carts and its count, then the lines of all the carts of the page with a single {@code IN}
+ * query. The lines of the pending cart being filled are written behind by the {@link ActiveCartService}, and may
+ * lag by {@code application.active-cart.flush-interval}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CustomerOrderService {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerOrderService.class);
+
+    private final CustomerDetailsRepository customerDetailsRepository;
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    private final ProductOrderRepository productOrderRepository;
+
+    public CustomerOrderService(
+        CustomerDetailsRepository customerDetailsRepository,
+        ShoppingCartRepository shoppingCartRepository,
+        ProductOrderRepository productOrderRepository
+    ) {
+        this.customerDetailsRepository = customerDetailsRepository;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.productOrderRepository = productOrderRepository;
+    }
+
+    /**
+     * Get a page of the carts of the current user, with their lines.
+     *
+     * @param pageable the pagination information.
+     * @return the page of carts, empty if the current user has no customer details.
+     */
+    public Page<CustomerOrderDTO> findCurrentUserOrders(Pageable pageable) {
+        log.debug("Request to get the orders of the current user");
+        Optional<Long> customerDetailsId = SecurityUtils.getCurrentUserLogin().flatMap(customerDetailsRepository::findIdByUserLogin);
+        if (customerDetailsId.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        Page<ShoppingCartListRow> carts = shoppingCartRepository.findListRowsByCustomerDetailsId(customerDetailsId.orElseThrow(), pageable);
+        if (carts.isEmpty()) {
+            return carts.map(cart -> CustomerOrderDTO.of(cart, List.of()));
+        }
+        Map<Long, List<CustomerOrderDTO.Line>> lines = productOrderRepository
+            .findListRowsByCartIdIn(carts.map(ShoppingCartListRow::id).toList())
+            .stream()
+            .collect(
+                Collectors.groupingBy(ProductOrderListRow::cartId, Collectors.mapping(CustomerOrderDTO.Line::of, Collectors.toList()))
+            );
+        return carts.map(cart -> CustomerOrderDTO.of(cart, lines.getOrDefault(cart.id(), List.of())));
+    }
+}
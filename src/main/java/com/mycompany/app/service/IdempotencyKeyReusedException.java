@@ -0,0 +1,13 @@
+package com.mycompany.app.service;
+
+/**
+ * Thrown when an {@code Idempotency-Key} is sent again with a different request.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyReusedException() {
+        super("The idempotency key was already used for a different request");
+    }
+}
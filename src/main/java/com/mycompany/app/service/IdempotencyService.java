@@ -0,0 +1,288 @@
+package com.mycompany.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.domain.IdempotentRequest;
+import com.mycompany.app.repository.IdempotentRequestRepository;
+import com.mycompany.app.service.dto.IdempotentResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service replaying the response to a request sent with an {@code Idempotency-Key} header to its duplicates, instead
+ * of executing them again.
+ * <p>
+ * Keys are scoped by user. The caller of {@link #begin} either gets the response to replay, or executes the request
+ * and hands its response to {@link #complete}. Responses are held in a bounded cache expiring after
+ * {@code application.idempotency.ttl}, and written to the idempotent request table, which other instances and a
+ * restarted one read back. Duplicates arriving while the request executes on this instance wait for its response;
+ * on another instance, they are rejected until it completes. A request left unfinished for longer than
+ * {@code application.idempotency.in-flight-timeout}, by an instance that stopped, is executed again. Server errors
+ * are not stored, so that the request can be retried.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String RESPONSES_CACHE = "idempotentResponses";
+
+    public static final String METER_PREFIX = "idempotency";
+
+    private static final TypeReference<Map<String, List<String>>> HEADERS_TYPE = new TypeReference<>() {};
+
+    private static final int MAX_HEADERS_LENGTH = 2048;
+
+    private final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotentRequestRepository idempotentRequestRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Idempotency properties;
+
+    private final Cache responses;
+
+    /**
+     * Requests executing on this instance, by key, completed with their response.
+     */
+    private final ConcurrentMap<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter replayCounter;
+
+    public IdempotencyService(
+        IdempotentRequestRepository idempotentRequestRepository,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        CacheManager cacheManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.idempotentRequestRepository = idempotentRequestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getIdempotency();
+        this.responses = Objects.requireNonNull(cacheManager.getCache(RESPONSES_CACHE));
+        Gauge.builder(METER_PREFIX + ".in.flight", inFlight, Map::size)
+            .description("Number of requests with an idempotency key executing")
+            .register(registry);
+        this.replayCounter = Counter.builder(METER_PREFIX + ".replays")
+            .description("Number of responses replayed to duplicate requests")
+            .register(registry);
+    }
+
+    /**
+     * Start a request sent with an idempotency key, unless it was already executed.
+     *
+     * @param scope the user who sent the request.
+     * @param idempotencyKey the idempotency key.
+     * @param requestHash the digest of the method, path and body of the request.
+     * @return the response to replay, or empty if the caller must execute the request, then {@link #complete} or
+     * {@link #abandon} it.
+     * @throws IdempotencyKeyReusedException if the key was used for a different request.
+     * @throws IdempotentRequestInProgressException if the request is executing on another instance, or its execution
+     * on this instance failed or is taking too long.
+     */
+    public Optional<IdempotentResponse> begin(String scope, String idempotencyKey, String requestHash) {
+        String key = key(scope, idempotencyKey);
+        IdempotentResponse response = responses.get(key, IdempotentResponse.class);
+        if (response != null) {
+            return Optional.of(replay(response, requestHash));
+        }
+
+        CompletableFuture<IdempotentResponse> execution = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            return Optional.of(replay(await(running), requestHash));
+        }
+        Optional<IdempotentResponse> stored;
+        try {
+            stored = transactionTemplate.execute(status -> findOrInsert(key, requestHash));
+        } catch (DataIntegrityViolationException e) {
+            // Inserted meanwhile by another instance
+            end(key, execution, null);
+            throw new IdempotentRequestInProgressException("The request with this idempotency key is being executed");
+        } catch (RuntimeException e) {
+            end(key, execution, null);
+            throw e;
+        }
+        if (stored.isPresent()) {
+            responses.put(key, stored.orElseThrow());
+            end(key, execution, stored.orElseThrow());
+            return Optional.of(replay(stored.orElseThrow(), requestHash));
+        }
+        log.debug("Executing request with idempotency key {} of {}", idempotencyKey, scope);
+        return Optional.empty();
+    }
+
+    /**
+     * Store the response to a request started by {@link #begin}, and hand it to the duplicates waiting for it.
+     *
+     * @param scope the user who sent the request.
+     * @param idempotencyKey the idempotency key.
+     * @param response the response to the request.
+     */
+    public void complete(String scope, String idempotencyKey, IdempotentResponse response) {
+        String key = key(scope, idempotencyKey);
+        CompletableFuture<IdempotentResponse> execution = inFlight.get(key);
+        try {
+            String headers = objectMapper.writeValueAsString(response.headers());
+            if (response.status() >= 500 || headers.length() > MAX_HEADERS_LENGTH) {
+                transactionTemplate.executeWithoutResult(status -> idempotentRequestRepository.deleteById(key));
+            } else {
+                transactionTemplate.executeWithoutResult(status ->
+                    idempotentRequestRepository
+                        .findById(key)
+                        .ifPresent(request ->
+                            request
+                                .responseStatus(response.status())
+                                .responseContentType(response.contentType())
+                                .responseHeaders(headers)
+                                .responseBody(response.body())
+                        )
+                );
+                responses.put(key, response);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot write the headers of the response", e);
+        } finally {
+            end(key, execution, response);
+        }
+    }
+
+    /**
+     * Forget a request started by {@link #begin} that did not complete, so that it can be sent again.
+     *
+     * @param scope the user who sent the request.
+     * @param idempotencyKey the idempotency key.
+     */
+    public void abandon(String scope, String idempotencyKey) {
+        String key = key(scope, idempotencyKey);
+        CompletableFuture<IdempotentResponse> execution = inFlight.get(key);
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotentRequestRepository.deleteById(key));
+        } finally {
+            end(key, execution, null);
+        }
+    }
+
+    /**
+     * Expired requests are deleted every hour.
+     *
+     * @return the number of deleted requests.
+     */
+    @Scheduled(cron = "0 15 * * * ?")
+    public int removeExpired() {
+        Integer removed = transactionTemplate.execute(status ->
+            idempotentRequestRepository.deleteByCreatedDateBefore(Instant.now().minus(properties.getTtl()))
+        );
+        log.debug("Removed {} expired idempotent requests", removed);
+        return removed;
+    }
+
+    private Optional<IdempotentResponse> findOrInsert(String key, String requestHash) {
+        Instant now = Instant.now();
+        Optional<IdempotentRequest> existing = idempotentRequestRepository.findById(key);
+        if (existing.isPresent()) {
+            IdempotentRequest request = existing.orElseThrow();
+            if (request.getResponseStatus() != null && request.getCreatedDate().isAfter(now.minus(properties.getTtl()))) {
+                return Optional.of(toResponse(request));
+            }
+            if (request.getResponseStatus() == null && request.getCreatedDate().isAfter(now.minus(properties.getInFlightTimeout()))) {
+                if (!request.getRequestHash().equals(requestHash)) {
+                    throw new IdempotencyKeyReusedException();
+                }
+                throw new IdempotentRequestInProgressException("The request with this idempotency key is being executed");
+            }
+            // Expired, or left unfinished by an instance that stopped
+            idempotentRequestRepository.delete(request);
+        }
+        idempotentRequestRepository.insertExecuting(key, requestHash, now);
+        return Optional.empty();
+    }
+
+    private IdempotentResponse toResponse(IdempotentRequest request) {
+        try {
+            return new IdempotentResponse(
+                request.getRequestHash(),
+                request.getResponseStatus(),
+                request.getResponseContentType(),
+                objectMapper.readValue(request.getResponseHeaders(), HEADERS_TYPE),
+                request.getResponseBody() != null ? request.getResponseBody() : new byte[0]
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read the headers of the response to " + request, e);
+        }
+    }
+
+    private IdempotentResponse replay(IdempotentResponse response, String requestHash) {
+        if (!response.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        replayCounter.increment();
+        return response;
+    }
+
+    private IdempotentResponse await(CompletableFuture<IdempotentResponse> execution) {
+        try {
+            IdempotentResponse response = execution.get(properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (response == null) {
+                throw new IdempotentRequestInProgressException("The request with this idempotency key did not complete");
+            }
+            return response;
+        } catch (TimeoutException | ExecutionException e) {
+            throw new IdempotentRequestInProgressException("The request with this idempotency key is being executed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException("Interrupted while waiting for the request with this idempotency key");
+        }
+    }
+
+    /**
+     * End the execution of a request on this instance, handing its response, if any, to the duplicates waiting for it.
+     */
+    private void end(String key, CompletableFuture<IdempotentResponse> execution, IdempotentResponse response) {
+        if (execution != null) {
+            inFlight.remove(key, execution);
+            execution.complete(response);
+        }
+    }
+
+    private static String key(String scope, String idempotencyKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(idempotencyKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.mycompany.app.service;
+
+/**
+ * Thrown when the request sent with an {@code Idempotency-Key} is still executing, or did not complete: it can be
+ * sent again later.
+ */
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
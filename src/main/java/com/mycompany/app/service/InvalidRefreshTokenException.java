@@ -0,0 +1,14 @@
+package com.mycompany.app.service;
+
+/**
+ * Thrown when a refresh token is unknown, expired, already used, or its user was deactivated: the user has to log in
+ * again.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
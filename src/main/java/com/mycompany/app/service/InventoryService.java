@@ -0,0 +1,471 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.domain.Inventory;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.repository.CartLineRow;
+import com.mycompany.app.repository.InventoryChange;
+import com.mycompany.app.repository.InventoryRepository;
+import com.mycompany.app.repository.ProductOrderRepository;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.service.dto.InventoryDTO;
+import com.mycompany.app.service.inventory.StockLedger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service reserving the stock of the products in pending carts, without locking any row.
+ * <p>
+ * The stock of the stock-managed products, those having an inventory row, is held by a {@link StockLedger}
+ * loaded when the application starts, along with the reservations of the pending carts placed within
+ * {@code application.inventory.reservation-timeout}. A checkout reserves the units of all its lines or of none,
+ * and changing a line of the active cart reserves or releases the difference. Reserved units are taken off hand
+ * once their cart is paid or completed, and made available again once it is cancelled, refunded or deleted, or
+ * once its reservation has not changed for {@code application.inventory.reservation-timeout}; a cart paid after
+ * that takes its units off hand without reserving them. Order lines written through the entity API reserve nothing.
+ * <p>
+ * The counters are written behind every {@code application.inventory.persist-interval}, in one JDBC batch.
+ * Every {@code application.inventory.reconcile-interval} they are reconciled with the inventory table: units on
+ * hand changed there by other means are added to the counters, and rows added or removed start or stop the
+ * tracking of their product. After a crash, the counters are rebuilt from the table and the pending carts.
+ */
+@Service
+public class InventoryService {
+
+    public static final String METER_PREFIX = "inventory";
+
+    private final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private final InventoryRepository inventoryRepository;
+
+    private final ProductRepository productRepository;
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Inventory properties;
+
+    private final StockLedger ledger = new StockLedger();
+
+    /**
+     * Reservations of the pending carts, by cart id.
+     */
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes the writes and reads of the inventory table, and guards {@link #persistedOnHand}.
+     */
+    private final Object persistLock = new Object();
+
+    /**
+     * Units on hand of each tracked product as last written to or read from its row, by product id.
+     */
+    private final Map<Long, Long> persistedOnHand = new HashMap<>();
+
+    private final Counter rejectionCounter;
+
+    private final Timer persistTimer;
+
+    public InventoryService(
+        InventoryRepository inventoryRepository,
+        ProductRepository productRepository,
+        ProductOrderRepository productOrderRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.inventoryRepository = inventoryRepository;
+        this.productRepository = productRepository;
+        this.productOrderRepository = productOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getInventory();
+        Gauge.builder(METER_PREFIX + ".reservations", reservations, Map::size)
+            .description("Number of pending carts holding reserved units")
+            .register(registry);
+        this.rejectionCounter = Counter.builder(METER_PREFIX + ".rejections")
+            .description("Number of reservations rejected for lack of available units")
+            .register(registry);
+        this.persistTimer = Timer.builder(METER_PREFIX + ".persist")
+            .description("Time taken to write the changed stock counters")
+            .register(registry);
+    }
+
+    /**
+     * Units of stock-managed products reserved by a cart. Its quantities and end are guarded by its monitor.
+     */
+    private static final class Reservation {
+
+        private final Map<Long, Integer> quantities = new HashMap<>();
+
+        private volatile Instant changedAt;
+
+        /**
+         * Set once the reservation is released or consumed: it must then no longer change.
+         */
+        private boolean ended;
+
+        private Reservation(Instant changedAt) {
+            this.changedAt = changedAt;
+        }
+
+        private synchronized Map<Long, Integer> end() {
+            ended = true;
+            return Map.copyOf(quantities);
+        }
+    }
+
+    /**
+     * Get the stock of a product.
+     *
+     * @param productId the id of the product.
+     * @return the stock, or empty if the product is not stock-managed.
+     */
+    public Optional<InventoryDTO> findOne(Long productId) {
+        log.debug("Request to get Inventory : {}", productId);
+        return ledger.findCounts(productId).map(counts -> toDTO(productId, counts));
+    }
+
+    /**
+     * Set the units of a product on hand, making it stock-managed if it was not.
+     *
+     * @param productId the id of the product.
+     * @param onHand the units on hand, counting those already reserved.
+     * @return the stock, or empty if the product does not exist.
+     */
+    public Optional<InventoryDTO> setOnHand(Long productId, int onHand) {
+        log.debug("Request to set the units on hand of Product {} to {}", productId, onHand);
+        synchronized (persistLock) {
+            return transactionTemplate.execute(status -> {
+                if (!productRepository.existsById(productId)) {
+                    return Optional.empty();
+                }
+                Optional<Long> previous = ledger.setOnHand(productId, onHand);
+                if (previous.isEmpty()) {
+                    ledger.track(productId, onHand, 0);
+                }
+                Long previousPersisted = persistedOnHand.put(productId, (long) onHand);
+                onRollback(() -> {
+                    synchronized (persistLock) {
+                        previous.ifPresentOrElse(units -> ledger.adjust(productId, units - onHand), () -> ledger.untrack(productId));
+                        if (previousPersisted == null) {
+                            persistedOnHand.remove(productId);
+                        } else {
+                            persistedOnHand.put(productId, previousPersisted);
+                        }
+                    }
+                });
+                StockLedger.Counts counts = ledger.findCounts(productId).orElseThrow();
+                Inventory inventory = inventoryRepository.findById(productId).orElseGet(() -> new Inventory().productId(productId));
+                inventoryRepository.saveAndFlush(inventory.onHand(onHand).reserved((int) counts.reserved()));
+                return Optional.of(toDTO(productId, counts));
+            });
+        }
+    }
+
+    /**
+     * Reserve the units of a newly placed cart, all of them or none. The reservation is released if the current
+     * transaction rolls back.
+     *
+     * @param cartId the id of the cart.
+     * @param quantities the quantities of the cart, by product id.
+     * @throws CheckoutRejectedException if not enough units of a stock-managed product are available.
+     */
+    public void reserve(Long cartId, Map<Long, Integer> quantities) {
+        Reservation reservation = new Reservation(Instant.now());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (!ledger.isTracked(entry.getKey())) {
+                continue;
+            }
+            if (!ledger.reserve(entry.getKey(), entry.getValue())) {
+                reservation.quantities.forEach(ledger::release);
+                rejectionCounter.increment();
+                throw new CheckoutRejectedException("Not enough units of product " + entry.getKey(), "outofstock");
+            }
+            reservation.quantities.put(entry.getKey(), entry.getValue());
+        }
+        if (!reservation.quantities.isEmpty()) {
+            reservations.put(cartId, reservation);
+            onRollback(() -> release(cartId));
+        }
+    }
+
+    /**
+     * Change the units of a product reserved by a pending cart, reserving or releasing the difference.
+     *
+     * @param cartId the id of the cart.
+     * @param productId the id of the product.
+     * @param quantity the quantity of the product in the cart, {@code 0} if it was removed.
+     * @throws CheckoutRejectedException if not enough units of the product are available.
+     */
+    public void changeReservation(Long cartId, Long productId, int quantity) {
+        if (!ledger.isTracked(productId)) {
+            Reservation reservation = reservations.get(cartId);
+            if (reservation != null) {
+                synchronized (reservation) {
+                    reservation.quantities.remove(productId);
+                }
+            }
+            return;
+        }
+        while (true) {
+            Reservation reservation = reservations.computeIfAbsent(cartId, id -> new Reservation(Instant.now()));
+            synchronized (reservation) {
+                if (reservation.ended) {
+                    continue;
+                }
+                int previous = reservation.quantities.getOrDefault(productId, 0);
+                if (quantity > previous && !ledger.reserve(productId, quantity - previous)) {
+                    rejectionCounter.increment();
+                    throw new CheckoutRejectedException("Not enough units of product " + productId, "outofstock");
+                }
+                if (quantity < previous) {
+                    ledger.release(productId, previous - quantity);
+                }
+                if (quantity == 0) {
+                    reservation.quantities.remove(productId);
+                } else {
+                    reservation.quantities.put(productId, quantity);
+                }
+                reservation.changedAt = Instant.now();
+                return;
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onShoppingCartStatusChanged(ShoppingCartStatusChangedEvent event) {
+        if (event.previousStatus() != OrderStatus.PENDING) {
+            return;
+        }
+        if (event.status() == OrderStatus.PAID || event.status() == OrderStatus.COMPLETED) {
+            consume(event.shoppingCartId());
+        } else {
+            release(event.shoppingCartId());
+        }
+    }
+
+    /**
+     * Make the units reserved by a cart available again.
+     *
+     * @param cartId the id of the cart.
+     */
+    public void release(Long cartId) {
+        Reservation reservation = reservations.remove(cartId);
+        if (reservation != null) {
+            reservation.end().forEach(ledger::release);
+        }
+    }
+
+    /**
+     * Take the units of a sold cart off hand, reserved or not.
+     *
+     * @param cartId the id of the cart.
+     */
+    public void consume(Long cartId) {
+        Reservation reservation = reservations.remove(cartId);
+        if (reservation != null) {
+            reservation.end().forEach(ledger::consume);
+            return;
+        }
+        // The reservation expired, or the cart never reserved its units
+        for (CartLineRow line : productOrderRepository.findCartLineRowsByCartId(cartId)) {
+            ledger.sell(line.productId(), line.quantity());
+        }
+    }
+
+    /**
+     * Release the reservations that have not changed for {@code application.inventory.reservation-timeout}.
+     *
+     * @return the number of released reservations.
+     */
+    @Scheduled(fixedDelayString = "${application.inventory.reconcile-interval}")
+    public int releaseExpired() {
+        Instant expired = Instant.now().minus(properties.getReservationTimeout());
+        int released = 0;
+        for (Map.Entry<Long, Reservation> entry : reservations.entrySet()) {
+            if (entry.getValue().changedAt.isBefore(expired) && reservations.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().end().forEach(ledger::release);
+                released++;
+            }
+        }
+        if (released > 0) {
+            log.info("Released {} expired stock reservations", released);
+        }
+        return released;
+    }
+
+    /**
+     * Write the counters changed since the last write, in one transaction.
+     * <p>
+     * Counters that cannot be written are written again next time; products whose inventory row was removed stop
+     * being tracked.
+     *
+     * @return the number of rows written.
+     */
+    @Scheduled(fixedDelayString = "${application.inventory.persist-interval}")
+    public int persist() {
+        synchronized (persistLock) {
+            Map<Long, StockLedger.Counts> changes = ledger.drainChanges();
+            if (changes.isEmpty()) {
+                return 0;
+            }
+            List<InventoryChange> rows = changes
+                .entrySet()
+                .stream()
+                .map(entry ->
+                    new InventoryChange(
+                        entry.getKey(),
+                        entry.getValue().onHand() - persistedOnHand.getOrDefault(entry.getKey(), entry.getValue().onHand()),
+                        entry.getValue().reserved()
+                    )
+                )
+                .toList();
+            Timer.Sample sample = Timer.start();
+            try {
+                Set<Long> missing = transactionTemplate.execute(status -> inventoryRepository.applyChanges(rows));
+                changes.forEach((productId, counts) -> {
+                    if (missing.contains(productId)) {
+                        ledger.untrack(productId);
+                        persistedOnHand.remove(productId);
+                    } else {
+                        persistedOnHand.put(productId, counts.onHand());
+                    }
+                });
+                if (!missing.isEmpty()) {
+                    log.info("Stopped tracking the stock of Products {}, which have no inventory row", missing);
+                }
+                return changes.size() - missing.size();
+            } catch (RuntimeException e) {
+                ledger.markChanged(changes.keySet());
+                log.warn("Could not write the stock of {} Products, it will be written next time: {}", changes.size(), e.getMessage());
+                return 0;
+            } finally {
+                sample.stop(persistTimer);
+            }
+        }
+    }
+
+    /**
+     * Reconcile the counters with the inventory table: units on hand changed in a row since it was last written
+     * are added to the counters of its product, and products whose row was added or removed start or stop being
+     * tracked.
+     *
+     * @return the number of reconciled products.
+     */
+    @Scheduled(fixedDelayString = "${application.inventory.reconcile-interval}")
+    public int reconcile() {
+        synchronized (persistLock) {
+            List<Inventory> rows = transactionTemplate.execute(status -> inventoryRepository.findAll());
+            Set<Long> productIds = new HashSet<>();
+            int reconciled = 0;
+            for (Inventory row : rows) {
+                Long productId = row.getProductId();
+                productIds.add(productId);
+                Long persisted = persistedOnHand.put(productId, (long) row.getOnHand());
+                if (!ledger.isTracked(productId)) {
+                    ledger.track(productId, row.getOnHand(), 0);
+                    reconciled++;
+                } else if (persisted != null && persisted != row.getOnHand().longValue()) {
+                    ledger.adjust(productId, row.getOnHand() - persisted);
+                    reconciled++;
+                }
+            }
+            for (Long productId : ledger.getProductIds()) {
+                if (!productIds.contains(productId)) {
+                    ledger.untrack(productId);
+                    persistedOnHand.remove(productId);
+                    reconciled++;
+                }
+            }
+            if (reconciled > 0) {
+                log.info("Reconciled the stock of {} Products with the inventory table", reconciled);
+            }
+            return reconciled;
+        }
+    }
+
+    /**
+     * Load the counters from the inventory table, and the reservations of the pending carts that have not expired.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (persistLock) {
+            long start = System.currentTimeMillis();
+            Instant placedAfter = Instant.now().minus(properties.getReservationTimeout());
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Inventory> rows = inventoryRepository.findAll();
+                Set<Long> productIds = new HashSet<>();
+                rows.forEach(row -> productIds.add(row.getProductId()));
+                Map<Long, Reservation> pending = new HashMap<>();
+                Map<Long, Long> reserved = new HashMap<>();
+                for (CartLineRow line : productOrderRepository.findCartLineRows(OrderStatus.PENDING, placedAfter)) {
+                    if (productIds.contains(line.productId())) {
+                        pending
+                            .computeIfAbsent(line.cartId(), id -> new Reservation(line.placedDate()))
+                            .quantities.merge(line.productId(), line.quantity(), Integer::sum);
+                        reserved.merge(line.productId(), (long) line.quantity(), Long::sum);
+                    }
+                }
+                for (Inventory row : rows) {
+                    ledger.track(row.getProductId(), row.getOnHand(), reserved.getOrDefault(row.getProductId(), 0L));
+                    persistedOnHand.put(row.getProductId(), (long) row.getOnHand());
+                }
+                reservations.putAll(pending);
+            });
+            log.info(
+                "Inventory loaded with {} products and {} reservations in {} ms",
+                persistedOnHand.size(),
+                reservations.size(),
+                System.currentTimeMillis() - start
+            );
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Writing the stock counters");
+        persist();
+    }
+
+    private static InventoryDTO toDTO(Long productId, StockLedger.Counts counts) {
+        return new InventoryDTO(productId, counts.onHand(), counts.reserved(), counts.available());
+    }
+
+    private static void onRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            action.run();
+                        }
+                    }
+                }
+            );
+        }
+    }
+}
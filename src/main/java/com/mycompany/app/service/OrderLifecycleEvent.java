@@ -0,0 +1,15 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import java.time.Instant;
+
+/**
+ * A committed status change of a shopping cart, delivered to the {@link OrderLifecycleListener}s at least once.
+ *
+ * @param eventId the id of the event, the same for every delivery of it.
+ * @param shoppingCartId the id of the cart.
+ * @param previousStatus the status the cart had, or {@code null} if it was created.
+ * @param status the status the cart has, or {@code null} if it is deleted.
+ * @param createdDate when the status changed.
+ */
+public record OrderLifecycleEvent(Long eventId, Long shoppingCartId, OrderStatus previousStatus, OrderStatus status, Instant createdDate) {}
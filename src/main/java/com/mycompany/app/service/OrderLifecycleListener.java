@@ -0,0 +1,18 @@
+package com.mycompany.app.service;
+
+/**
+ * Downstream work on the status changes of shopping carts, such as emails, analytics or fulfilment, run by the
+ * {@link ShoppingCartOutboxService} outside of the requests making them.
+ * <p>
+ * An event may be delivered more than once, so handling it must be idempotent. The events of a cart are delivered
+ * in order, and those of different carts concurrently.
+ */
+public interface OrderLifecycleListener {
+    /**
+     * Handle a status change.
+     *
+     * @param event the status change.
+     * @throws RuntimeException if it could not be handled: it is delivered again later.
+     */
+    void onOrderLifecycleEvent(OrderLifecycleEvent event);
+}
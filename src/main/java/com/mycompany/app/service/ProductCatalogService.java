@@ -0,0 +1,144 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.repository.ProductCategoryRepository;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.service.catalog.CatalogSnapshot;
+import java.util.Collection;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service serving catalog reads from an in-memory {@link CatalogSnapshot}.
+ * <p>
+ * The snapshot is loaded from the database when the application starts, then replaced by a new version
+ * each time a {@link ProductChangedEvent}, {@link ProductsChangedEvent} or {@link ProductCategoryChangedEvent}
+ * is committed. Replacing it is serialized, while reads only dereference the current snapshot and never wait.
+ */
+@Service
+public class ProductCatalogService {
+
+    private final Logger log = LoggerFactory.getLogger(ProductCatalogService.class);
+
+    private final ProductRepository productRepository;
+
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private final Object writeLock = new Object();
+
+    private volatile CatalogSnapshot snapshot;
+
+    public ProductCatalogService(ProductRepository productRepository, ProductCategoryRepository productCategoryRepository) {
+        this.productRepository = productRepository;
+        this.productCategoryRepository = productCategoryRepository;
+    }
+
+    /**
+     * Get the current snapshot of the catalog.
+     * <p>
+     * The snapshot only has committed changes, so it is not available within a transaction, which must
+     * read its own changes from the database.
+     *
+     * @return the current snapshot, or empty if it is not loaded yet or a transaction is active.
+     */
+    public Optional<CatalogSnapshot> getSnapshot() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * @return the version of the current snapshot of the catalog, or {@code 0} if it is not loaded yet.
+     */
+    public long getVersion() {
+        CatalogSnapshot current = snapshot;
+        return current == null ? 0 : current.getVersion();
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        refreshProduct(event.productId());
+    }
+
+    @TransactionalEventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        refreshProducts(event.productIds());
+    }
+
+    @TransactionalEventListener
+    public void onProductCategoryChanged(ProductCategoryChangedEvent event) {
+        refreshProductCategory(event.productCategoryId());
+    }
+
+    /**
+     * Replace the snapshot by one with a product as currently in the database.
+     *
+     * @param id the id of the product.
+     */
+    public void refreshProduct(Long id) {
+        synchronized (writeLock) {
+            // Not loaded yet: the load will read the product
+            if (snapshot != null) {
+                snapshot = productRepository
+                    .findOneWithToOneRelationships(id)
+                    .map(snapshot::withProduct)
+                    .orElseGet(() -> snapshot.withoutProduct(id));
+            }
+        }
+    }
+
+    /**
+     * Replace the snapshot by one with many products as currently in the database, read with a single query.
+     *
+     * @param ids the ids of the products.
+     */
+    public void refreshProducts(Collection<Long> ids) {
+        synchronized (writeLock) {
+            if (snapshot != null) {
+                snapshot = snapshot.withProducts(ids, productRepository.findAllWithToOneRelationshipsByIdIn(ids));
+            }
+        }
+    }
+
+    /**
+     * Replace the snapshot by one with a product category as currently in the database.
+     *
+     * @param id the id of the product category.
+     */
+    public void refreshProductCategory(Long id) {
+        synchronized (writeLock) {
+            if (snapshot != null) {
+                snapshot = productCategoryRepository
+                    .findById(id)
+                    .map(snapshot::withCategory)
+                    .orElseGet(() -> snapshot.withoutCategory(id));
+            }
+        }
+    }
+
+    /**
+     * Replace the snapshot by one loaded from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        synchronized (writeLock) {
+            long start = System.currentTimeMillis();
+            // Versions start from the clock so that they keep increasing across restarts
+            long version = Math.max(start, getVersion() + 1);
+            snapshot = CatalogSnapshot.of(
+                version,
+                productCategoryRepository.findAll(),
+                productRepository.findAllWithToOneRelationships()
+            );
+            log.info("Product catalog loaded with {} products in {} ms", snapshot.size(), System.currentTimeMillis() - start);
+        }
+    }
+}
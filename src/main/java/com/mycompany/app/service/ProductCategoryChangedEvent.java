@@ -0,0 +1,9 @@
+package com.mycompany.app.service;
+
+/**
+ * Published when a product category is created, updated or deleted. Listeners that keep derived
+ * state must react once the transaction has committed.
+ *
+ * @param productCategoryId the id of the product category.
+ */
+public record ProductCategoryChangedEvent(Long productCategoryId) {}
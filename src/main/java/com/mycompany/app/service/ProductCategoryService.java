@@ -2,9 +2,11 @@ package com.mycompany.app.service;
 
 import com.mycompany.app.domain.ProductCategory;
 import com.mycompany.app.repository.ProductCategoryRepository;
+import com.mycompany.app.service.dto.ProductCategoryDTO;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,8 +23,14 @@ public class ProductCategoryService {
 
     private final ProductCategoryRepository productCategoryRepository;
 
-    public ProductCategoryService(ProductCategoryRepository productCategoryRepository) {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ProductCategoryService(
+        ProductCategoryRepository productCategoryRepository,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
         this.productCategoryRepository = productCategoryRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -33,7 +41,7 @@ public class ProductCategoryService {
      */
     public ProductCategory save(ProductCategory productCategory) {
         log.debug("Request to save ProductCategory : {}", productCategory);
-        return productCategoryRepository.save(productCategory);
+        return publishChanged(productCategoryRepository.save(productCategory));
     }
 
     /**
@@ -44,7 +52,7 @@ public class ProductCategoryService {
      */
     public ProductCategory update(ProductCategory productCategory) {
         log.debug("Request to update ProductCategory : {}", productCategory);
-        return productCategoryRepository.save(productCategory);
+        return publishChanged(productCategoryRepository.save(productCategory));
     }
 
     /**
@@ -68,19 +76,20 @@ public class ProductCategoryService {
 
                 return existingProductCategory;
             })
-            .map(productCategoryRepository::save);
+            .map(productCategoryRepository::save)
+            .map(this::publishChanged);
     }
 
     /**
      * Get all the productCategories.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of productCategories, selecting only their listed columns.
      */
     @Transactional(readOnly = true)
-    public Page<ProductCategory> findAll(Pageable pageable) {
+    public Page<ProductCategoryDTO> findAll(Pageable pageable) {
         log.debug("Request to get all ProductCategories");
-        return productCategoryRepository.findAll(pageable);
+        return productCategoryRepository.findAllListRows(pageable).map(ProductCategoryDTO::of);
     }
 
     /**
@@ -103,5 +112,11 @@ public class ProductCategoryService {
     public void delete(Long id) {
         log.debug("Request to delete ProductCategory : {}", id);
         productCategoryRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(new ProductCategoryChangedEvent(id));
+    }
+
+    private ProductCategory publishChanged(ProductCategory productCategory) {
+        applicationEventPublisher.publishEvent(new ProductCategoryChangedEvent(productCategory.getId()));
+        return productCategory;
     }
 }
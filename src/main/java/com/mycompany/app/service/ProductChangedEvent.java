@@ -0,0 +1,9 @@
+package com.mycompany.app.service;
+
+/**
+ * Published when a product is created, updated or deleted. Listeners that keep derived state must
+ * react once the transaction has committed.
+ *
+ * @param productId the id of the product.
+ */
+public record ProductChangedEvent(Long productId) {}
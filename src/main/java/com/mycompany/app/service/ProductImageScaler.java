@@ -0,0 +1,122 @@
+package com.mycompany.app.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Optional;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.springframework.http.MediaType;
+
+/**
+ * Decodes product images and renders them at a smaller width with {@code javax.imageio}.
+ * <p>
+ * Opaque images are encoded as JPEG and images with transparency as PNG, the formats the JDK can
+ * write without extra plugins.
+ */
+final class ProductImageScaler {
+
+    record Rendition(byte[] data, String contentType, int width, int height) {}
+
+    private ProductImageScaler() {}
+
+    /**
+     * Decode image bytes, unless their header declares more pixels than allowed: a small upload may declare
+     * dimensions whose decoding would take gigabytes.
+     *
+     * @param data the encoded image.
+     * @param maxPixels the most pixels, width times height, of an image decoded.
+     * @return the decoded image, or empty if the bytes are not in a format the JDK can read, or the image is too large.
+     * @throws IOException if the image is corrupt.
+     */
+    static Optional<BufferedImage> decode(byte[] data, long maxPixels) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    return Optional.empty();
+                }
+                return Optional.of(reader.read(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Render an image at a given width, keeping its aspect ratio. Images are never enlarged.
+     *
+     * @param source the decoded image.
+     * @param targetWidth the maximum width of the rendition.
+     * @param jpegQuality the JPEG compression quality, between 0 and 1.
+     * @return the encoded rendition.
+     * @throws IOException if the rendition cannot be encoded.
+     */
+    static Rendition scale(BufferedImage source, int targetWidth, float jpegQuality) throws IOException {
+        boolean opaque = !source.getColorModel().hasAlpha();
+        int width = Math.min(targetWidth, source.getWidth());
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage scaled = resize(source, width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        return opaque
+            ? new Rendition(writeJpeg(scaled, jpegQuality), MediaType.IMAGE_JPEG_VALUE, width, height)
+            : new Rendition(writePng(scaled), MediaType.IMAGE_PNG_VALUE, width, height);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height, int type) {
+        // Halve the image until close to the target size: a single bilinear step that shrinks
+        // by more than half skips source pixels and produces aliasing.
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private static byte[] writeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,175 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.domain.ProductImageVariant;
+import com.mycompany.app.repository.ProductImageMetadata;
+import com.mycompany.app.repository.ProductImageRepository;
+import com.mycompany.app.repository.ProductImageVariantRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for managing {@link com.mycompany.app.domain.ProductImage}.
+ * <p>
+ * Images are content-addressed: identical uploads share one row, and a row is deleted once no
+ * product references its hash anymore. Storing a new image publishes a {@link ProductImageStoredEvent}
+ * so that {@link ProductImageVariantService} renders its variants.
+ * <p>
+ * Concurrent uploads of the same bytes may both find the hash missing: the image is inserted within a savepoint, and
+ * the upload losing the race uses the image stored by the other one.
+ */
+@Service
+@Transactional
+public class ProductImageService {
+
+    private static final String DEFAULT_CONTENT_TYPE = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+    private final Logger log = LoggerFactory.getLogger(ProductImageService.class);
+
+    private final ProductImageRepository productImageRepository;
+
+    private final ProductImageVariantRepository productImageVariantRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ProductImageService(
+        ProductImageRepository productImageRepository,
+        ProductImageVariantRepository productImageVariantRepository,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.productImageRepository = productImageRepository;
+        this.productImageVariantRepository = productImageVariantRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Store image content, unless an image with the same bytes is already stored.
+     *
+     * @param data the image bytes.
+     * @param contentType the media type of the image, if known.
+     * @return the hash addressing the stored image.
+     */
+    public String store(byte[] data, String contentType) {
+        String hash = hash(data);
+        if (storeContent(hash, data, contentType)) {
+            applicationEventPublisher.publishEvent(new ProductImageStoredEvent(hash));
+        }
+        return hash;
+    }
+
+    /**
+     * Store a variant of an image, unless the image is gone or already has a variant with that name.
+     *
+     * @param sourceHash the hash of the original image.
+     * @param name the name of the variant.
+     * @param data the encoded variant bytes.
+     * @param contentType the media type of the variant.
+     * @param width the width of the variant in pixels.
+     * @param height the height of the variant in pixels.
+     */
+    public void storeVariant(String sourceHash, String name, byte[] data, String contentType, int width, int height) {
+        if (!productImageRepository.existsById(sourceHash) || productImageVariantRepository.existsBySourceHashAndName(sourceHash, name)) {
+            return;
+        }
+        String hash = hash(data);
+        storeContent(hash, data, contentType);
+        log.debug("Request to save ProductImageVariant {} of ProductImage : {}", name, sourceHash);
+        productImageVariantRepository.save(
+            new ProductImageVariant().sourceHash(sourceHash).name(name).hash(hash).width(width).height(height)
+        );
+    }
+
+    /**
+     * Delete an image and its variants if no product references it anymore.
+     *
+     * @param hash the hash of the image, may be {@code null}.
+     */
+    public void release(String hash) {
+        if (hash != null && productImageRepository.deleteByHashIfUnreferenced(hash) > 0) {
+            log.debug("Deleted unreferenced ProductImage : {}", hash);
+            List<String> variantHashes = productImageVariantRepository.findHashesBySourceHash(hash);
+            if (!variantHashes.isEmpty()) {
+                productImageVariantRepository.deleteBySourceHash(hash);
+                variantHashes.forEach(this::release);
+            }
+        }
+    }
+
+    /**
+     * Get the metadata of the image of a product.
+     *
+     * @param productId the id of the product.
+     * @return the image metadata, if the product has an image.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductImageMetadata> findMetadataByProductId(Long productId) {
+        return productImageRepository.findMetadataByProductId(productId);
+    }
+
+    /**
+     * Get the metadata of a variant of the image of a product.
+     *
+     * @param productId the id of the product.
+     * @param name the name of the variant.
+     * @return the variant metadata, if the product has an image and that variant was generated.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductImageMetadata> findVariantMetadataByProductId(Long productId, String name) {
+        return productImageRepository.findVariantMetadataByProductId(productId, name);
+    }
+
+    /**
+     * Stream the content of an image, read along with its metadata.
+     *
+     * @param hash the hash of the image.
+     * @param open opens the stream to write to, from the metadata of the image; only called if the image is found.
+     * @return {@code true} if the image was found and written.
+     */
+    @Transactional(readOnly = true)
+    public boolean writeData(String hash, Function<ProductImageMetadata, OutputStream> open) {
+        return productImageRepository.writeData(hash, open);
+    }
+
+    /**
+     * Read the content of an image into memory.
+     *
+     * @param hash the hash of the image.
+     * @return the image bytes, if the image was found.
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> readData(String hash) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        return productImageRepository.writeData(hash, out) ? Optional.of(out.toByteArray()) : Optional.empty();
+    }
+
+    private boolean storeContent(String hash, byte[] data, String contentType) {
+        if (productImageRepository.existsById(hash)) {
+            return false;
+        }
+        log.debug("Request to store ProductImage : {}", hash);
+        if (!productImageRepository.insertDataIfAbsent(hash, contentType != null ? contentType : DEFAULT_CONTENT_TYPE, data)) {
+            log.debug("ProductImage {} was stored by a concurrent upload", hash);
+            return false;
+        }
+        return true;
+    }
+
+    static String hash(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.mycompany.app.service;
+
+/**
+ * Published when a new product image has been stored, so that its variants can be generated once the
+ * storing transaction has committed.
+ *
+ * @param hash the hash of the stored image.
+ */
+public record ProductImageStoredEvent(String hash) {}
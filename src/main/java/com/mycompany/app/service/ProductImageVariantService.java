@@ -0,0 +1,219 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.repository.ProductImageVariantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Generates the resized variants of product images in the background.
+ * <p>
+ * Generation is triggered once an uploaded image is committed, and runs on a dedicated executor
+ * whose queue is bounded by {@code application.product-image.queue-capacity}. When the queue is full
+ * the image is skipped rather than blocking the upload; the nightly {@link #backfill()} picks up
+ * every image that is still missing a variant.
+ */
+@Service
+public class ProductImageVariantService {
+
+    public static final String METER_PREFIX = "product.image.variants";
+
+    private static final int BACKFILL_BATCH_SIZE = 100;
+
+    private final Logger log = LoggerFactory.getLogger(ProductImageVariantService.class);
+
+    private final ProductImageService productImageService;
+
+    private final ProductImageVariantRepository productImageVariantRepository;
+
+    private final ApplicationProperties.ProductImage properties;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer waitTimer;
+
+    private final Timer generationTimer;
+
+    private final Counter rejectedCounter;
+
+    private final Counter unsupportedCounter;
+
+    private final Counter errorCounter;
+
+    public ProductImageVariantService(
+        ProductImageService productImageService,
+        ProductImageVariantRepository productImageVariantRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.productImageService = productImageService;
+        this.productImageVariantRepository = productImageVariantRepository;
+        this.properties = applicationProperties.getProductImage();
+        this.executor = new ThreadPoolExecutor(
+            properties.getThreads(),
+            properties.getThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            new CustomizableThreadFactory("product-image-")
+        );
+        Gauge.builder(METER_PREFIX + ".queue", executor, e -> e.getQueue().size())
+            .description("Number of images waiting for their variants to be generated")
+            .register(registry);
+        this.waitTimer = Timer.builder(METER_PREFIX + ".wait")
+            .description("Time an image spends in the queue before its variants are generated")
+            .register(registry);
+        this.generationTimer = Timer.builder(METER_PREFIX + ".generation")
+            .description("Time taken to generate the variants of an image")
+            .register(registry);
+        this.rejectedCounter = failureCounter("rejected", registry);
+        this.unsupportedCounter = failureCounter("unsupported", registry);
+        this.errorCounter = failureCounter("error", registry);
+    }
+
+    private static Counter failureCounter(String cause, MeterRegistry registry) {
+        return Counter.builder(METER_PREFIX + ".failures")
+            .description("Number of images whose variants could not be generated")
+            .tag("cause", cause)
+            .register(registry);
+    }
+
+    /**
+     * Check whether a variant name is configured.
+     *
+     * @param name the name of the variant.
+     * @return {@code true} if variants with this name are generated.
+     */
+    public boolean isVariant(String name) {
+        return properties.getVariants().containsKey(name);
+    }
+
+    @TransactionalEventListener
+    public void onImageStored(ProductImageStoredEvent event) {
+        enqueue(event.hash());
+    }
+
+    /**
+     * Enqueue every product image that is missing one of the configured variants.
+     * <p>
+     * Stops once the queue is half full, so that uploads made meanwhile still get a slot; the
+     * remaining images are enqueued by the next run.
+     *
+     * @return the number of images enqueued.
+     */
+    @Scheduled(cron = "${application.product-image.backfill-cron}")
+    public int backfill() {
+        int variantCount = properties.getVariants().size();
+        int enqueued = 0;
+        if (variantCount == 0) {
+            return enqueued;
+        }
+        Pageable batch = PageRequest.ofSize(BACKFILL_BATCH_SIZE);
+        String after = "";
+        List<String> hashes;
+        do {
+            hashes = productImageVariantRepository.findImageHashesMissingVariants(after, variantCount, batch);
+            for (String hash : hashes) {
+                if (executor.getQueue().size() >= properties.getQueueCapacity() / 2 || !enqueue(hash)) {
+                    log.info("Product image variant queue is busy, {} images enqueued, the rest will be backfilled later", enqueued);
+                    return enqueued;
+                }
+                enqueued++;
+                after = hash;
+            }
+        } while (hashes.size() == BACKFILL_BATCH_SIZE);
+        log.debug("Enqueued {} product images missing variants", enqueued);
+        return enqueued;
+    }
+
+    /**
+     * Generate the configured variants that an image does not have yet, on the calling thread.
+     *
+     * @param hash the hash of the image.
+     */
+    public void generateVariants(String hash) {
+        Timer.Sample sample = Timer.start();
+        try {
+            List<String> existing = productImageVariantRepository.findNamesBySourceHash(hash);
+            Map<String, Integer> missing = properties
+                .getVariants()
+                .entrySet()
+                .stream()
+                .filter(variant -> !existing.contains(variant.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            if (missing.isEmpty()) {
+                return;
+            }
+            Optional<byte[]> data = productImageService.readData(hash);
+            if (data.isEmpty()) {
+                return;
+            }
+            Optional<BufferedImage> source = ProductImageScaler.decode(data.orElseThrow(), properties.getMaxPixels());
+            if (source.isEmpty()) {
+                log.debug("ProductImage {} is not in a supported format or too large, no variants generated", hash);
+                unsupportedCounter.increment();
+                return;
+            }
+            for (Map.Entry<String, Integer> variant : missing.entrySet()) {
+                ProductImageScaler.Rendition rendition = ProductImageScaler.scale(
+                    source.orElseThrow(),
+                    variant.getValue(),
+                    properties.getJpegQuality()
+                );
+                productImageService.storeVariant(
+                    hash,
+                    variant.getKey(),
+                    rendition.data(),
+                    rendition.contentType(),
+                    rendition.width(),
+                    rendition.height()
+                );
+            }
+        } catch (Exception e) {
+            log.warn("Could not generate the variants of ProductImage {}: {}", hash, e.toString());
+            errorCounter.increment();
+        } finally {
+            sample.stop(generationTimer);
+        }
+    }
+
+    private boolean enqueue(String hash) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                generateVariants(hash);
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.debug("Product image variant queue is full, ProductImage {} will be backfilled later", hash);
+            rejectedCounter.increment();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,295 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductCategory;
+import com.mycompany.app.domain.enumeration.Size;
+import com.mycompany.app.repository.ProductCategoryRepository;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.service.bulk.ImportRow;
+import com.mycompany.app.service.dto.ProductImportReportDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing {@link Product}s in bulk.
+ * <p>
+ * Rows are read one at a time and written in chunks of {@code application.product-import.chunk-size}
+ * rows, each in its own transaction, so that memory use does not depend on the size of the import and
+ * inserts and updates are sent in JDBC batches. A row with an {@code id} updates that product, a row
+ * without one creates a product; its category is designated by name, and each name is looked up once
+ * per import. Invalid rows are skipped and reported without failing the rest of the import.
+ */
+@Service
+public class ProductImportService {
+
+    private static final String ID = "id";
+
+    private static final String NAME = "name";
+
+    private static final String DESCRIPTION = "description";
+
+    private static final String PRICE = "price";
+
+    private static final String PRODUCT_SIZE = "productSize";
+
+    private static final String PRODUCT_CATEGORY = "productCategory";
+
+    private static final Set<String> FIELDS = Set.of(ID, NAME, DESCRIPTION, PRICE, PRODUCT_SIZE, PRODUCT_CATEGORY);
+
+    private final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private final ProductRepository productRepository;
+
+    private final ProductCategoryRepository productCategoryRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.ProductImport properties;
+
+    public ProductImportService(
+        ProductRepository productRepository,
+        ProductCategoryRepository productCategoryRepository,
+        ApplicationEventPublisher applicationEventPublisher,
+        Validator validator,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productRepository = productRepository;
+        this.productCategoryRepository = productCategoryRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getProductImport();
+    }
+
+    private record Candidate(long line, Product product, String categoryName) {}
+
+    /**
+     * Outcome of writing a chunk, only added to the report once its transaction has committed.
+     */
+    private record ChunkResult(long created, long updated, List<ProductImportReportDTO.RowError> errors) {}
+
+    /**
+     * State of one import.
+     */
+    private final class Import {
+
+        /**
+         * Category ids by name, {@code null} for names having no category.
+         */
+        private final Map<String, Long> categoryIds = new HashMap<>();
+
+        private final List<ProductImportReportDTO.RowError> errors = new ArrayList<>();
+
+        private long created;
+
+        private long updated;
+
+        private long failed;
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(new ProductImportReportDTO.RowError(line, message));
+            }
+        }
+
+        private void add(ChunkResult result) {
+            created += result.created();
+            updated += result.updated();
+            result.errors().forEach(error -> fail(error.line(), error.message()));
+        }
+    }
+
+    /**
+     * Import products.
+     *
+     * @param rows the rows to import, read as the import progresses.
+     * @return the report of the import.
+     */
+    public ProductImportReportDTO importProducts(Iterator<ImportRow> rows) {
+        log.debug("Request to import Products");
+        long start = System.currentTimeMillis();
+        Import current = new Import();
+        List<Candidate> chunk = new ArrayList<>(properties.getChunkSize());
+        while (rows.hasNext()) {
+            ImportRow row = rows.next();
+            String error = row.error();
+            if (error == null) {
+                try {
+                    chunk.add(toCandidate(row));
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                current.fail(row.line(), error);
+            }
+            if (chunk.size() == properties.getChunkSize()) {
+                write(chunk, current);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, current);
+        }
+        log.info(
+            "Imported Products in {} ms: {} created, {} updated, {} failed",
+            System.currentTimeMillis() - start,
+            current.created,
+            current.updated,
+            current.failed
+        );
+        current.errors.sort(Comparator.comparingLong(ProductImportReportDTO.RowError::line));
+        return new ProductImportReportDTO(current.created, current.updated, current.failed, List.copyOf(current.errors));
+    }
+
+    private Candidate toCandidate(ImportRow row) {
+        Map<String, String> fields = row.fields();
+        for (String field : fields.keySet()) {
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field " + field);
+            }
+        }
+        Product product = new Product()
+            .id(parse(fields, ID, Long::valueOf))
+            .name(fields.get(NAME))
+            .description(fields.get(DESCRIPTION))
+            .price(parse(fields, PRICE, BigDecimal::new))
+            .productSize(parse(fields, PRODUCT_SIZE, Size::valueOf));
+        String categoryName = fields.get(PRODUCT_CATEGORY);
+        if (categoryName != null) {
+            // Stands for the category until it is resolved, so that the product can be validated
+            product.setProductCategory(new ProductCategory().name(categoryName));
+        }
+        Set<ConstraintViolation<Product>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(
+                violations
+                    .stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "))
+            );
+        }
+        return new Candidate(row.line(), product, categoryName);
+    }
+
+    private static <T> T parse(Map<String, String> fields, String field, Function<String, T> parser) {
+        String value = fields.get(field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    /**
+     * Write a chunk in one transaction; if it fails, write each of its rows in its own transaction so
+     * that only the failing rows are rejected.
+     */
+    private void write(List<Candidate> chunk, Import current) {
+        try {
+            current.add(transactionTemplate.execute(status -> writeChunk(chunk, current)));
+        } catch (DataAccessException | TransactionException e) {
+            if (chunk.size() == 1) {
+                log.warn("Could not import Product at line {}: {}", chunk.get(0).line(), e.getMessage());
+                current.fail(chunk.get(0).line(), "Could not be saved");
+                return;
+            }
+            chunk.forEach(candidate -> write(List.of(candidate), current));
+        }
+    }
+
+    private ChunkResult writeChunk(List<Candidate> chunk, Import current) {
+        resolveCategories(chunk, current);
+        List<Long> ids = chunk.stream().map(candidate -> candidate.product().getId()).filter(Objects::nonNull).toList();
+        Map<Long, Product> existing = ids.isEmpty()
+            ? Map.of()
+            : productRepository.findAllById(ids).stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductImportReportDTO.RowError> errors = new ArrayList<>();
+        List<Product> created = new ArrayList<>();
+        List<Long> changed = new ArrayList<>();
+        for (Candidate candidate : chunk) {
+            Long categoryId = current.categoryIds.get(candidate.categoryName());
+            if (categoryId == null) {
+                errors.add(new ProductImportReportDTO.RowError(candidate.line(), "Unknown productCategory: " + candidate.categoryName()));
+                continue;
+            }
+            // The candidate is left untouched, as the chunk is written again row by row if it fails
+            Product product = candidate.product();
+            Product target = product.getId() == null ? new Product() : existing.get(product.getId());
+            if (target == null) {
+                errors.add(new ProductImportReportDTO.RowError(candidate.line(), "Unknown id: " + product.getId()));
+                continue;
+            }
+            target
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .productSize(product.getProductSize())
+                .productCategory(productCategoryRepository.getReferenceById(categoryId));
+            if (target.getId() == null) {
+                created.add(target);
+            } else {
+                changed.add(target.getId());
+            }
+        }
+        long updated = changed.size();
+        productRepository.saveAll(created).forEach(product -> changed.add(product.getId()));
+        if (!changed.isEmpty()) {
+            applicationEventPublisher.publishEvent(new ProductsChangedEvent(changed));
+        }
+        return new ChunkResult(created.size(), updated, errors);
+    }
+
+    /**
+     * Look up the categories of a chunk that were not looked up yet during the import, with a single query.
+     */
+    private void resolveCategories(List<Candidate> chunk, Import current) {
+        Set<String> names = chunk
+            .stream()
+            .map(Candidate::categoryName)
+            .filter(name -> !current.categoryIds.containsKey(name))
+            .collect(Collectors.toSet());
+        if (names.isEmpty()) {
+            return;
+        }
+        names.forEach(name -> current.categoryIds.put(name, null));
+        // Names are not unique: the oldest category of a name is used
+        productCategoryRepository
+            .findAllByNameInOrderById(names)
+            .forEach(category -> {
+                if (current.categoryIds.get(category.getName()) == null) {
+                    current.categoryIds.put(category.getName(), category.getId());
+                }
+            });
+    }
+}
@@ -0,0 +1,134 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.domain.*; // for static metamodels
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.repository.ProductOrderListRow;
+import com.mycompany.app.repository.ProductOrderRepository;
+import com.mycompany.app.service.criteria.ProductOrderCriteria;
+import com.mycompany.app.service.dto.ProductOrderDTO;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link ProductOrder} entities in the database.
+ * The main input is a {@link ProductOrderCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns the orders as listed, selecting only their listed columns, by page, by window or as a stream.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductOrderQueryService extends QueryService<ProductOrder> {
+
+    private final Logger log = LoggerFactory.getLogger(ProductOrderQueryService.class);
+
+    private final ProductOrderRepository productOrderRepository;
+
+    public ProductOrderQueryService(ProductOrderRepository productOrderRepository) {
+        this.productOrderRepository = productOrderRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link ProductOrderDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductOrderDTO> findByCriteria(ProductOrderCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<ProductOrder> specification = createSpecification(criteria);
+        return productOrderRepository.findListRows(specification, page).map(ProductOrderDTO::of);
+    }
+
+    /**
+     * Return a {@link Window} of {@link ProductOrderDTO} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position the position to continue from.
+     * @param sort the sort, to which the id is appended.
+     * @param limit the maximum number of entities.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<ProductOrderDTO> findByCriteria(ProductOrderCriteria criteria, KeysetScrollPosition position, Sort sort, Limit limit) {
+        log.debug("find by criteria : {}, position: {}", criteria, position);
+        final Specification<ProductOrder> specification = createSpecification(criteria);
+        return productOrderRepository.findListRows(specification, position, sort, limit).map(ProductOrderDTO::of);
+    }
+
+    /**
+     * Pass every {@link ProductOrderDTO} which matches the criteria to a consumer, in id order, reading them from the
+     * database a batch at a time so that the memory used does not depend on their number.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param consumer the consumer of the matching entities, called within the transaction.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long exportByCriteria(ProductOrderCriteria criteria, Consumer<? super ProductOrderDTO> consumer) {
+        log.debug("export by criteria : {}", criteria);
+        final Specification<ProductOrder> specification = createSpecification(criteria);
+        long count = 0;
+        try (Stream<ProductOrderListRow> rows = productOrderRepository.streamListRows(specification)) {
+            for (ProductOrderListRow row : (Iterable<ProductOrderListRow>) rows::iterator) {
+                consumer.accept(ProductOrderDTO.of(row));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Function to convert {@link ProductOrderCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<ProductOrder> createSpecification(ProductOrderCriteria criteria) {
+        Specification<ProductOrder> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), ProductOrder_.id));
+            }
+            // Compares the foreign key columns, without joining the product or the cart
+            if (criteria.getProductId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getProductId(), root -> root.get(ProductOrder_.product).get(Product_.id))
+                );
+            }
+            if (criteria.getCartId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getCartId(), root -> root.get(ProductOrder_.cart).get(ShoppingCart_.id))
+                );
+            }
+            if (criteria.getStatus() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getStatus(), root -> root.get(ProductOrder_.cart).get(ShoppingCart_.status))
+                );
+            }
+            if (criteria.getPlacedDate() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getPlacedDate(), root -> root.get(ProductOrder_.cart).get(ShoppingCart_.placedDate))
+                );
+            }
+            if (criteria.getCustomerDetailsId() != null) {
+                specification = specification.and(
+                    buildSpecification(
+                        criteria.getCustomerDetailsId(),
+                        root -> root.get(ProductOrder_.cart).get(ShoppingCart_.customerDetails).get(CustomerDetails_.id)
+                    )
+                );
+            }
+        }
+        return specification;
+    }
+}
@@ -1,8 +1,8 @@
 package com.mycompany.app.service;
 
 import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
 import com.mycompany.app.repository.ProductOrderRepository;
-import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +13,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.mycompany.app.domain.ProductOrder}.
+ * <p>
+ * Carts held by the {@link ActiveCartService} are written and released before their orders are changed.
  */
 @Service
 @Transactional
@@ -22,8 +24,11 @@ public class ProductOrderService {
 
     private final ProductOrderRepository productOrderRepository;
 
-    public ProductOrderService(ProductOrderRepository productOrderRepository) {
+    private final ActiveCartService activeCartService;
+
+    public ProductOrderService(ProductOrderRepository productOrderRepository, ActiveCartService activeCartService) {
         this.productOrderRepository = productOrderRepository;
+        this.activeCartService = activeCartService;
     }
 
     /**
@@ -34,6 +39,7 @@ public class ProductOrderService {
      */
     public ProductOrder save(ProductOrder productOrder) {
         log.debug("Request to save ProductOrder : {}", productOrder);
+        releaseCart(productOrder.getCart());
         return productOrderRepository.save(productOrder);
     }
 
@@ -45,6 +51,7 @@ public class ProductOrderService {
      */
     public ProductOrder update(ProductOrder productOrder) {
         log.debug("Request to update ProductOrder : {}", productOrder);
+        releaseCart(productOrder.getCart());
         return productOrderRepository.save(productOrder);
     }
 
@@ -60,6 +67,7 @@ public class ProductOrderService {
         return productOrderRepository
             .findById(productOrder.getId())
             .map(existingProductOrder -> {
+                releaseCart(existingProductOrder.getCart());
                 if (productOrder.getQuantity() != null) {
                     existingProductOrder.setQuantity(productOrder.getQuantity());
                 }
@@ -72,17 +80,6 @@ public class ProductOrderService {
             .map(productOrderRepository::save);
     }
 
-    /**
-     * Get all the productOrders.
-     *
-     * @return the list of entities.
-     */
-    @Transactional(readOnly = true)
-    public List<ProductOrder> findAll() {
-        log.debug("Request to get all ProductOrders");
-        return productOrderRepository.findAll();
-    }
-
     /**
      * Get all the productOrders with eager load of many-to-many relationships.
      *
@@ -111,6 +108,13 @@ public class ProductOrderService {
      */
     public void delete(Long id) {
         log.debug("Request to delete ProductOrder : {}", id);
+        productOrderRepository.findById(id).map(ProductOrder::getCart).ifPresent(this::releaseCart);
         productOrderRepository.deleteById(id);
     }
+
+    private void releaseCart(ShoppingCart cart) {
+        if (cart != null && cart.getId() != null) {
+            activeCartService.release(cart.getId());
+        }
+    }
 }
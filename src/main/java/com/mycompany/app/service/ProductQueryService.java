@@ -0,0 +1,196 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.domain.*; // for static metamodels
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.enumeration.Size;
+import com.mycompany.app.repository.ProductFacetRow;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.service.criteria.ProductCriteria;
+import com.mycompany.app.service.dto.ProductFacetsDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Product} entities in the database.
+ * The main input is a {@link ProductCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} of {@link Product} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductQueryService extends QueryService<Product> {
+
+    private final Logger log = LoggerFactory.getLogger(ProductQueryService.class);
+
+    private final ProductRepository productRepository;
+
+    public ProductQueryService(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link Product} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Product> findByCriteria(ProductCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Product> specification = createSpecification(criteria);
+        return productRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return a {@link Window} of {@link Product} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position the position to continue from.
+     * @param sort the sort, to which the id is appended.
+     * @param limit the maximum number of entities.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<Product> findByCriteria(ProductCriteria criteria, ScrollPosition position, Sort sort, Limit limit) {
+        log.debug("find by criteria : {}, position: {}", criteria, position);
+        final Specification<Product> specification = createSpecification(criteria);
+        return productRepository.findBy(
+            specification,
+            query -> query.project("productCategory").sortBy(sort).limit(limit.max()).scroll(position)
+        );
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(ProductCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Product> specification = createSpecification(criteria);
+        return productRepository.count(specification);
+    }
+
+    /**
+     * Return the number of matching entities in the database by size, category and price range.
+     * <p>
+     * All the counts come from a single grouped query. The counts of a dimension are computed with every filter
+     * applied but the one on that dimension, so that filtering on a size, a category or a price still shows the
+     * number of products the other options of that dimension would give.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param priceBreaks the ascending bounds of the price ranges.
+     * @return the facet counts of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public ProductFacetsDTO countFacetsByCriteria(ProductCriteria criteria, List<BigDecimal> priceBreaks) {
+        log.debug("count facets by criteria : {}, price breaks: {}", criteria, priceBreaks);
+        ProductCriteria otherCriteria = criteria.copy();
+        otherCriteria.setPrice(null);
+        otherCriteria.setProductSize(null);
+        otherCriteria.setProductCategoryId(null);
+        final Specification<Product> specification = createSpecification(otherCriteria);
+        List<ProductFacetRow> rows = productRepository.countFacets(
+            specification,
+            criteria.getProductSize() != null ? buildSpecification(criteria.getProductSize(), Product_.productSize) : null,
+            criteria.getProductCategoryId() != null
+                ? buildSpecification(criteria.getProductCategoryId(), root -> root.get(Product_.productCategory).get(ProductCategory_.id))
+                : null,
+            criteria.getPrice() != null ? buildRangeSpecification(criteria.getPrice(), Product_.price) : null,
+            priceBreaks
+        );
+
+        long total = 0;
+        Map<Size, Long> sizeCounts = new EnumMap<>(Size.class);
+        for (Size size : Size.values()) {
+            sizeCounts.put(size, 0L);
+        }
+        Map<Long, ProductFacetsDTO.CategoryCount> categoryCounts = new LinkedHashMap<>();
+        long priceTotal = 0;
+        long[] countsBelowPriceBreaks = new long[priceBreaks.size()];
+        for (ProductFacetRow row : rows) {
+            total += row.count();
+            sizeCounts.merge(row.productSize(), row.countIgnoringSize(), Long::sum);
+            if (row.countIgnoringCategory() > 0) {
+                categoryCounts.merge(
+                    row.productCategoryId(),
+                    new ProductFacetsDTO.CategoryCount(row.productCategoryId(), row.productCategoryName(), row.countIgnoringCategory()),
+                    (a, b) -> new ProductFacetsDTO.CategoryCount(a.id(), a.name(), a.count() + b.count())
+                );
+            }
+            priceTotal += row.countIgnoringPrice();
+            for (int i = 0; i < countsBelowPriceBreaks.length; i++) {
+                countsBelowPriceBreaks[i] += row.countsBelowPriceBreaks().get(i);
+            }
+        }
+
+        List<ProductFacetsDTO.CategoryCount> categories = new ArrayList<>(categoryCounts.values());
+        categories.sort(
+            Comparator.comparingLong(ProductFacetsDTO.CategoryCount::count).reversed().thenComparing(ProductFacetsDTO.CategoryCount::id)
+        );
+        List<ProductFacetsDTO.PriceRangeCount> priceRanges = new ArrayList<>(priceBreaks.size() + 1);
+        BigDecimal from = null;
+        long countBelowFrom = 0;
+        for (int i = 0; i < countsBelowPriceBreaks.length; i++) {
+            priceRanges.add(new ProductFacetsDTO.PriceRangeCount(from, priceBreaks.get(i), countsBelowPriceBreaks[i] - countBelowFrom));
+            from = priceBreaks.get(i);
+            countBelowFrom = countsBelowPriceBreaks[i];
+        }
+        priceRanges.add(new ProductFacetsDTO.PriceRangeCount(from, null, priceTotal - countBelowFrom));
+
+        return new ProductFacetsDTO(total, sizeCounts, categories, priceRanges);
+    }
+
+    /**
+     * Function to convert {@link ProductCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Product> createSpecification(ProductCriteria criteria) {
+        Specification<Product> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Product_.id));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), Product_.name));
+            }
+            if (criteria.getDescription() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getDescription(), Product_.description));
+            }
+            if (criteria.getPrice() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getPrice(), Product_.price));
+            }
+            if (criteria.getProductSize() != null) {
+                specification = specification.and(buildSpecification(criteria.getProductSize(), Product_.productSize));
+            }
+            if (criteria.getProductCategoryId() != null) {
+                // Compares the foreign key column, without joining the category
+                specification = specification.and(
+                    buildSpecification(criteria.getProductCategoryId(), root -> root.get(Product_.productCategory).get(ProductCategory_.id))
+                );
+            }
+        }
+        return specification;
+    }
+}
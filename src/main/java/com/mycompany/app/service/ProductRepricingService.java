@@ -0,0 +1,212 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductCategory_;
+import com.mycompany.app.domain.Product_;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.service.dto.ProductRepricingDTO;
+import com.mycompany.app.service.dto.ProductRepricingJobDTO;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service changing the prices of many {@link Product}s at once.
+ * <p>
+ * Products are repriced in chunks of {@code application.product-repricing.chunk-size} ids, each with a
+ * single {@code UPDATE} in its own transaction, without loading any product. Only the products of a chunk
+ * are evicted from the second-level cache, before the update and once the chunk has committed. A repricing
+ * can run on the task executor, its progress being kept for an hour after it ends.
+ */
+@Service
+public class ProductRepricingService {
+
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final Logger log = LoggerFactory.getLogger(ProductRepricingService.class);
+
+    private final ProductRepository productRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor taskExecutor;
+
+    private final ApplicationProperties.ProductRepricing properties;
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    public ProductRepricingService(
+        ProductRepository productRepository,
+        ApplicationEventPublisher applicationEventPublisher,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productRepository = productRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.properties = applicationProperties.getProductRepricing();
+    }
+
+    private record Chunk(List<Long> ids, int updated) {}
+
+    private static final class Job {
+
+        private final UUID id = UUID.randomUUID();
+
+        private final Instant startedAt = Instant.now();
+
+        private final long total;
+
+        private final AtomicLong affected = new AtomicLong();
+
+        private volatile ProductRepricingJobDTO.Status status = ProductRepricingJobDTO.Status.RUNNING;
+
+        private volatile Instant endedAt;
+
+        private volatile String error;
+
+        private Job(long total) {
+            this.total = total;
+        }
+
+        private void end(ProductRepricingJobDTO.Status status, String error) {
+            this.error = error;
+            this.endedAt = Instant.now();
+            this.status = status;
+        }
+
+        private ProductRepricingJobDTO toDTO() {
+            Instant end = endedAt;
+            long durationMs = Duration.between(startedAt, end == null ? Instant.now() : end).toMillis();
+            return new ProductRepricingJobDTO(id, status, total, affected.get(), startedAt, durationMs, error);
+        }
+    }
+
+    /**
+     * Reprice products, returning once they are all repriced.
+     *
+     * @param repricing the price change and the scope of the products to reprice.
+     * @return the outcome of the repricing.
+     */
+    public ProductRepricingJobDTO reprice(ProductRepricingDTO repricing) {
+        log.debug("Request to reprice Products : {}", repricing);
+        Specification<Product> scope = scope(repricing);
+        Job job = start(scope);
+        run(job, scope, repricing);
+        return job.toDTO();
+    }
+
+    /**
+     * Start repricing products on the task executor.
+     *
+     * @param repricing the price change and the scope of the products to reprice.
+     * @return the progress of the repricing, which can then be followed with {@link #findJob}.
+     */
+    public ProductRepricingJobDTO repriceAsync(ProductRepricingDTO repricing) {
+        log.debug("Request to reprice Products asynchronously : {}", repricing);
+        Specification<Product> scope = scope(repricing);
+        Job job = start(scope);
+        try {
+            taskExecutor.execute(() -> run(job, scope, repricing));
+        } catch (TaskRejectedException e) {
+            log.warn("Could not start repricing {}", job.id, e);
+            job.end(ProductRepricingJobDTO.Status.FAILED, "The repricing could not be started");
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Get the progress of a repricing.
+     *
+     * @param id the id of the repricing.
+     * @return the progress of the repricing, or empty if it is unknown or ended more than an hour ago.
+     */
+    public Optional<ProductRepricingJobDTO> findJob(UUID id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::toDTO);
+    }
+
+    private Job start(Specification<Product> scope) {
+        Instant expired = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.endedAt != null && job.endedAt.isBefore(expired));
+        Job job = new Job(productRepository.count(scope));
+        jobs.put(job.id, job);
+        return job;
+    }
+
+    private void run(Job job, Specification<Product> scope, ProductRepricingDTO repricing) {
+        BigDecimal factor = repricing.percentage() == null
+            ? BigDecimal.ONE
+            : BigDecimal.ONE.add(repricing.percentage().divide(HUNDRED, MathContext.DECIMAL64));
+        BigDecimal amount = repricing.amount() == null ? BigDecimal.ZERO : repricing.amount();
+        try {
+            long after = 0;
+            Chunk chunk;
+            do {
+                long from = after;
+                chunk = transactionTemplate.execute(status -> {
+                    List<Long> ids = productRepository.findIdsAfter(scope, from, properties.getChunkSize());
+                    if (ids.isEmpty()) {
+                        return new Chunk(ids, 0);
+                    }
+                    // Evicted before the update as well, so that the cache does not keep serving the old prices
+                    // until the chunk has committed; evicted again afterwards, in case they were read back since
+                    productRepository.evictFromCache(ids);
+                    int updated = productRepository.updatePrices(ids, factor, amount);
+                    applicationEventPublisher.publishEvent(new ProductsChangedEvent(ids));
+                    return new Chunk(ids, updated);
+                });
+                if (!chunk.ids().isEmpty()) {
+                    productRepository.evictFromCache(chunk.ids());
+                    job.affected.addAndGet(chunk.updated());
+                    after = chunk.ids().get(chunk.ids().size() - 1);
+                }
+            } while (chunk.ids().size() == properties.getChunkSize());
+            job.end(ProductRepricingJobDTO.Status.COMPLETED, null);
+            ProductRepricingJobDTO result = job.toDTO();
+            log.info("Repriced {} Products in {} ms", result.affected(), result.durationMs());
+        } catch (RuntimeException e) {
+            log.error("Repricing {} failed after {} Products", job.id, job.affected.get(), e);
+            job.end(ProductRepricingJobDTO.Status.FAILED, "The repricing failed, the products repriced so far keep their new price");
+        }
+    }
+
+    private static Specification<Product> scope(ProductRepricingDTO repricing) {
+        Specification<Product> scope = Specification.where(null);
+        if (repricing.productCategoryId() != null) {
+            scope = scope.and((root, query, builder) ->
+                builder.equal(root.get(Product_.productCategory).get(ProductCategory_.id), repricing.productCategoryId())
+            );
+        }
+        if (repricing.productSize() != null) {
+            scope = scope.and((root, query, builder) -> builder.equal(root.get(Product_.productSize), repricing.productSize()));
+        }
+        if (repricing.ids() != null) {
+            scope = scope.and((root, query, builder) -> root.get(Product_.id).in(repricing.ids()));
+        }
+        return scope;
+    }
+}
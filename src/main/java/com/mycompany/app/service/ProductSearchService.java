@@ -0,0 +1,191 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.repository.ProductSearchRow;
+import com.mycompany.app.service.search.ProductSearchIndex;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service for full-text searching {@link com.mycompany.app.domain.Product}s.
+ * <p>
+ * Searches are answered from a {@link ProductSearchIndex} held in memory. The index is rebuilt from the
+ * database when the application starts, then kept current from {@link ProductChangedEvent}s,
+ * {@link ProductsChangedEvent}s and {@link ProductCategoryChangedEvent}s once their transaction has committed.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(ProductSearchService.class);
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    private final ProductRepository productRepository;
+
+    private final Executor taskExecutor;
+
+    /**
+     * Products changed while a rebuild is running, which are reindexed once it is done in case the
+     * rebuild read them before the change.
+     */
+    private volatile Set<Long> changedDuringRebuild;
+
+    public ProductSearchService(ProductRepository productRepository, @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.productRepository = productRepository;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Search products.
+     *
+     * @param query the query text.
+     * @param pageable the pagination information; results are always ordered by relevance.
+     * @return the matching products.
+     */
+    @Transactional(readOnly = true)
+    public Page<Product> search(String query, Pageable pageable) {
+        log.debug("Request to search Products for query : {}", query);
+        Page<Long> hits = index.search(query, pageable);
+        if (hits.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotalElements());
+        }
+        Map<Long, Product> products = productRepository
+            .findAllWithToOneRelationshipsByIdIn(hits.getContent())
+            .stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // A hit may have been deleted since it was found; the index catches up once the deletion commits
+        List<Product> content = hits.stream().map(products::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, hits.getTotalElements());
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        reindex(event.productId());
+    }
+
+    @TransactionalEventListener
+    public void onProductsChanged(ProductsChangedEvent event) {
+        reindex(event.productIds());
+    }
+
+    @TransactionalEventListener
+    public void onProductCategoryChanged(ProductCategoryChangedEvent event) {
+        reindex(productRepository.findIdsByProductCategoryId(event.productCategoryId()));
+    }
+
+    /**
+     * Reindex a product from the database, or remove it from the index if it no longer exists.
+     *
+     * @param id the id of the product.
+     */
+    public void reindex(Long id) {
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.add(id);
+        }
+        productRepository.findSearchRowById(id).ifPresentOrElse(this::index, () -> index.remove(id));
+    }
+
+    /**
+     * Reindex products from the database with one query per batch of ids, removing those that no longer exist.
+     *
+     * @param ids the ids of the products.
+     */
+    public void reindex(Collection<Long> ids) {
+        Set<Long> changed = changedDuringRebuild;
+        if (changed != null) {
+            changed.addAll(ids);
+        }
+        List<Long> idList = List.copyOf(ids);
+        for (int from = 0; from < idList.size(); from += REBUILD_BATCH_SIZE) {
+            List<Long> batch = idList.subList(from, Math.min(idList.size(), from + REBUILD_BATCH_SIZE));
+            Set<Long> removed = new HashSet<>(batch);
+            for (ProductSearchRow row : productRepository.findSearchRowsByIdIn(batch)) {
+                index(row);
+                removed.remove(row.id());
+            }
+            removed.forEach(index::remove);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Load every product into the index, splitting the id range into one partition per processor that
+     * are read and analyzed in parallel on the task executor.
+     *
+     * @return a future completed once every product is indexed.
+     */
+    public CompletableFuture<Void> rebuild() {
+        long maxId = productRepository.findMaxId().orElse(0L);
+        int partitions = Runtime.getRuntime().availableProcessors();
+        long partitionSize = Math.max(1, (maxId + partitions - 1) / partitions);
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+        long start = System.currentTimeMillis();
+        CompletableFuture<?>[] loads = LongStream
+            .range(0, partitions)
+            .mapToObj(partition ->
+                CompletableFuture.runAsync(
+                    () -> load(partition * partitionSize, Math.min(maxId, (partition + 1) * partitionSize)),
+                    taskExecutor
+                )
+            )
+            .toArray(CompletableFuture[]::new);
+        return CompletableFuture
+            .allOf(loads)
+            .whenComplete((result, error) -> {
+                changedDuringRebuild = null;
+                reindex(changed);
+                if (error != null) {
+                    log.error("Could not rebuild the product search index", error);
+                } else {
+                    log.info("Product search index rebuilt with {} products in {} ms", index.size(), System.currentTimeMillis() - start);
+                }
+            });
+    }
+
+    private void load(long after, long to) {
+        Pageable batch = PageRequest.ofSize(REBUILD_BATCH_SIZE);
+        List<ProductSearchRow> rows;
+        do {
+            rows = productRepository.findSearchRows(after, to, batch);
+            rows.forEach(this::index);
+            if (!rows.isEmpty()) {
+                after = rows.get(rows.size() - 1).id();
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+    }
+
+    private void index(ProductSearchRow row) {
+        index.index(row.id(), row.name(), row.description(), row.categoryName());
+    }
+}
@@ -5,6 +5,7 @@ import com.mycompany.app.repository.ProductRepository;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,8 +22,18 @@ public class ProductService {
 
     private final ProductRepository productRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    private final ProductImageService productImageService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ProductService(
+        ProductRepository productRepository,
+        ProductImageService productImageService,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
         this.productRepository = productRepository;
+        this.productImageService = productImageService;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -33,18 +44,31 @@ public class ProductService {
      */
     public Product save(Product product) {
         log.debug("Request to save Product : {}", product);
-        return productRepository.save(product);
+        storeImage(product);
+        return publishChanged(productRepository.save(product));
     }
 
     /**
      * Update a product.
+     * <p>
+     * The stored image is only replaced when new image bytes are provided.
      *
      * @param product the entity to save.
      * @return the persisted entity.
      */
     public Product update(Product product) {
         log.debug("Request to update Product : {}", product);
-        return productRepository.save(product);
+        Optional<Product> existingProduct = productRepository.findById(product.getId());
+        String previousImageHash = existingProduct.map(Product::getImageHash).orElse(null);
+        if (product.getImage() != null) {
+            storeImage(product);
+        } else {
+            product.setImageHash(previousImageHash);
+            product.setImageContentType(existingProduct.map(Product::getImageContentType).orElse(null));
+        }
+        Product result = productRepository.save(product);
+        releaseImage(previousImageHash, result);
+        return publishChanged(result);
     }
 
     /**
@@ -72,15 +96,18 @@ public class ProductService {
                     existingProduct.setProductSize(product.getProductSize());
                 }
                 if (product.getImage() != null) {
-                    existingProduct.setImage(product.getImage());
-                }
-                if (product.getImageContentType() != null) {
-                    existingProduct.setImageContentType(product.getImageContentType());
+                    String previousImageHash = existingProduct.getImageHash();
+                    if (product.getImageContentType() != null) {
+                        existingProduct.setImageContentType(product.getImageContentType());
+                    }
+                    existingProduct.setImageHash(productImageService.store(product.getImage(), existingProduct.getImageContentType()));
+                    releaseImage(previousImageHash, existingProduct);
                 }
 
                 return existingProduct;
             })
-            .map(productRepository::save);
+            .map(productRepository::save)
+            .map(this::publishChanged);
     }
 
     /**
@@ -123,6 +150,30 @@ public class ProductService {
      */
     public void delete(Long id) {
         log.debug("Request to delete Product : {}", id);
+        String imageHash = productRepository.findById(id).map(Product::getImageHash).orElse(null);
         productRepository.deleteById(id);
+        productImageService.release(imageHash);
+        applicationEventPublisher.publishEvent(new ProductChangedEvent(id));
+    }
+
+    private Product publishChanged(Product product) {
+        applicationEventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
+        return product;
+    }
+
+    private void storeImage(Product product) {
+        if (product.getImage() != null) {
+            product.setImageHash(productImageService.store(product.getImage(), product.getImageContentType()));
+            product.setImage(null);
+        } else {
+            product.setImageHash(null);
+            product.setImageContentType(null);
+        }
+    }
+
+    private void releaseImage(String previousImageHash, Product product) {
+        if (previousImageHash != null && !previousImageHash.equals(product.getImageHash())) {
+            productImageService.release(previousImageHash);
+        }
     }
 }
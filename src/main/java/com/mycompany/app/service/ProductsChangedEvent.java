@@ -0,0 +1,12 @@
+package com.mycompany.app.service;
+
+import java.util.Collection;
+
+/**
+ * Published when many products are created, updated or deleted at once, instead of one
+ * {@link ProductChangedEvent} per product. Listeners that keep derived state must react once the
+ * transaction has committed.
+ *
+ * @param productIds the ids of the products.
+ */
+public record ProductsChangedEvent(Collection<Long> productIds) {}
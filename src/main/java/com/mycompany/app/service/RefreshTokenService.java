@@ -0,0 +1,139 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.domain.Authority;
+import com.mycompany.app.domain.RefreshToken;
+import com.mycompany.app.domain.User;
+import com.mycompany.app.repository.RefreshTokenRepository;
+import com.mycompany.app.repository.UserRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service issuing the refresh tokens returned with the access tokens, and rotating them.
+ * <p>
+ * A token is 256 random bits, of which only the SHA-256 is stored, so that a refresh costs a lookup of a unique index
+ * instead of a password hash. Each refresh uses up the token presented and issues the next one of its family, which
+ * keeps the expiry of the login. Presenting a used token again means that it was stolen, or that the client lost the
+ * next one: its whole family is revoked, and the user has to log in again.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final ApplicationProperties.RefreshToken properties;
+
+    public RefreshTokenService(
+        RefreshTokenRepository refreshTokenRepository,
+        UserRepository userRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.properties = applicationProperties.getRefreshToken();
+    }
+
+    /**
+     * A refresh token exchanged for the next one.
+     *
+     * @param login the login of the user.
+     * @param authorities the authorities of the user.
+     * @param refreshToken the next refresh token.
+     */
+    public record Rotation(String login, List<String> authorities, String refreshToken) {}
+
+    /**
+     * Issue the first refresh token of a login.
+     *
+     * @param login the login of the user who logged in.
+     * @param rememberMe whether the login is remembered for longer.
+     * @return the token.
+     */
+    public String issue(String login, boolean rememberMe) {
+        User user = userRepository.findOneByLogin(login).orElseThrow(() -> new InvalidRefreshTokenException("User not found"));
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(rememberMe ? properties.getRememberMeValidity() : properties.getValidity());
+        return save(user, UUID.randomUUID().toString(), now, expiresAt);
+    }
+
+    /**
+     * Use up a refresh token, and issue the next one of its family.
+     *
+     * @param token the token presented.
+     * @return the user the token was issued to, and the next token.
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, already used, or its user deactivated.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = refreshTokenRepository
+            .findOneWithUserByTokenHash(hash(token))
+            .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        Instant now = Instant.now();
+        if (current.getUsedDate() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            // Kept by the rollback exclusion, so that the tokens issued from it cannot be used either
+            int revoked = refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            log.warn("Refresh token reused for user {}, revoked {} tokens of its family", current.getUser().getLogin(), revoked);
+            throw new InvalidRefreshTokenException("Refresh token already used");
+        }
+        User user = current.getUser();
+        if (!current.getExpiresAt().isAfter(now) || !user.isActivated()) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        String next = save(user, current.getFamilyId(), now, current.getExpiresAt());
+        List<String> authorities = user.getAuthorities().stream().map(Authority::getName).toList();
+        return new Rotation(user.getLogin(), authorities, next);
+    }
+
+    /**
+     * Expired tokens are deleted every night.
+     *
+     * @return the number of deleted tokens.
+     */
+    @Scheduled(cron = "${application.refresh-token.purge-cron}")
+    public int removeExpired() {
+        int removed = refreshTokenRepository.deleteByExpiresAtBefore(Instant.now());
+        log.debug("Removed {} expired refresh tokens", removed);
+        return removed;
+    }
+
+    private String save(User user, String familyId, Instant now, Instant expiresAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(
+            new RefreshToken().tokenHash(hash(token)).familyId(familyId).user(user).createdDate(now).expiresAt(expiresAt)
+        );
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.domain.SalesRollupCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.repository.ProductOrderRepository;
+import com.mycompany.app.repository.SalesRollupRepository;
+import com.mycompany.app.repository.SalesRollupRow;
+import com.mycompany.app.repository.ShoppingCartRepository;
+import com.mycompany.app.service.dto.SalesRollupDTO;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the sales rollups, the units sold and their revenue by day and product and by day and category, so that
+ * the sales can be reported without reading the orders.
+ * <p>
+ * The lines of a cart are added to the rollups of the day it was placed on when the outbox delivers its change to
+ * {@link OrderStatus#PAID} or {@link OrderStatus#COMPLETED}, and taken off when it leaves them, e.g. when it is
+ * {@link OrderStatus#REFUNDED}. The counted carts are recorded along with the rollups, so that an event delivered
+ * twice is only counted once. Lines changed after a cart was counted make the rollups drift, until the days are
+ * rebuilt from the orders.
+ */
+@Service
+public class SalesRollupService implements OrderLifecycleListener {
+
+    public enum Dimension {
+        PRODUCT,
+        CATEGORY,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesRollupService(
+        SalesRollupRepository salesRollupRepository,
+        ShoppingCartRepository shoppingCartRepository,
+        ProductOrderRepository productOrderRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.productOrderRepository = productOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void onOrderLifecycleEvent(OrderLifecycleEvent event) {
+        transactionTemplate.executeWithoutResult(status -> count(event.shoppingCartId(), event.status()));
+    }
+
+    private void count(Long cartId, OrderStatus status) {
+        boolean sold = status == OrderStatus.PAID || status == OrderStatus.COMPLETED;
+        Optional<SalesRollupCart> counted = salesRollupRepository.findById(cartId);
+        if (sold && counted.isEmpty()) {
+            Optional<LocalDate> salesDate = shoppingCartRepository
+                .findPlacedDateById(cartId)
+                .map(placedDate -> LocalDate.ofInstant(placedDate, ZoneOffset.UTC));
+            if (salesDate.isPresent()) {
+                log.debug("Adding ShoppingCart {} to the sales of {}", cartId, salesDate.orElseThrow());
+                salesRollupRepository.addLines(salesDate.orElseThrow(), productOrderRepository.findSalesLineRowsByCartId(cartId), 1);
+                salesRollupRepository.save(new SalesRollupCart().shoppingCartId(cartId).salesDate(salesDate.orElseThrow()));
+            }
+        } else if (!sold && counted.isPresent()) {
+            SalesRollupCart countedCart = counted.orElseThrow();
+            log.debug("Taking ShoppingCart {} off the sales of {}", cartId, countedCart.getSalesDate());
+            salesRollupRepository.addLines(countedCart.getSalesDate(), productOrderRepository.findSalesLineRowsByCartId(cartId), -1);
+            salesRollupRepository.delete(countedCart);
+        }
+    }
+
+    /**
+     * Recompute the rollups of a range of days from the orders, each day in its own transaction.
+     *
+     * @param from the first day, in UTC.
+     * @param to the last day, included.
+     * @return the number of carts counted.
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        int counted = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate salesDate = day;
+            counted += transactionTemplate.execute(status -> salesRollupRepository.rebuild(salesDate));
+        }
+        log.info("Rebuilt the sales rollups from {} to {}, counting {} carts", from, to, counted);
+        return counted;
+    }
+
+    /**
+     * Get the sales of each day of a range, by product or by category, from the rollups only.
+     *
+     * @param from the first day, in UTC.
+     * @param to the last day, included.
+     * @param dimension whether to get the sales by product or by category.
+     * @return the sales by day, then by id of product or category.
+     */
+    @Transactional(readOnly = true)
+    public List<SalesRollupDTO> findDaily(LocalDate from, LocalDate to, Dimension dimension) {
+        List<SalesRollupRow> rows = dimension == Dimension.PRODUCT
+            ? salesRollupRepository.findDailyByProduct(from, to)
+            : salesRollupRepository.findDailyByCategory(from, to);
+        return rows.stream().map(SalesRollupDTO::of).toList();
+    }
+}
@@ -0,0 +1,225 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.domain.ShoppingCartOutboxEvent;
+import com.mycompany.app.repository.ShoppingCartOutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transactional outbox of the status changes of shopping carts, delivering them to the {@link OrderLifecycleListener}s
+ * outside of the requests making them.
+ * <p>
+ * Every {@link ShoppingCartStatusChangedEvent} is written to the outbox table in the transaction publishing it, so
+ * that it is delivered if and only if the change commits. Every {@code application.outbox.poll-interval} the carts
+ * of the oldest events are locked in batches of {@code application.outbox.batch-size}, along with all their events,
+ * skipping the carts locked by other instances so that each cart is delivered by one instance at a time. The events
+ * are handed to the listeners on a pool of {@code application.outbox.threads} threads: the events of a cart in
+ * order, those of different carts in parallel. Delivered events are deleted in the transaction that locked them.
+ * An event a listener fails on, and the following events of its cart, are delivered again by the next polls, up to
+ * {@code application.outbox.max-attempts} times; listeners may thus get an event more than once.
+ */
+@Service
+public class ShoppingCartOutboxService {
+
+    public static final String METER_PREFIX = "outbox";
+
+    private final Logger log = LoggerFactory.getLogger(ShoppingCartOutboxService.class);
+
+    private final ShoppingCartOutboxEventRepository shoppingCartOutboxEventRepository;
+
+    private final ObjectProvider<OrderLifecycleListener> listeners;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Age of the oldest event found by the last poll, in milliseconds.
+     */
+    private final AtomicLong lag = new AtomicLong();
+
+    private final Timer deliveryTimer;
+
+    private final Counter failureCounter;
+
+    private final Counter droppedCounter;
+
+    public ShoppingCartOutboxService(
+        ShoppingCartOutboxEventRepository shoppingCartOutboxEventRepository,
+        ObjectProvider<OrderLifecycleListener> listeners,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.shoppingCartOutboxEventRepository = shoppingCartOutboxEventRepository;
+        this.listeners = listeners;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getOutbox();
+        // A poll waits for its batch, so the queue never holds more than a batch of carts
+        this.executor = new ThreadPoolExecutor(
+            properties.getThreads(),
+            properties.getThreads(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(properties.getBatchSize()),
+            new CustomizableThreadFactory("outbox-")
+        );
+        TimeGauge.builder(METER_PREFIX + ".lag", lag, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Age of the oldest status change waiting to be delivered, as of the last poll")
+            .register(registry);
+        this.deliveryTimer = Timer.builder(METER_PREFIX + ".delivery")
+            .description("Time between a status change and its delivery to the listeners")
+            .register(registry);
+        this.failureCounter = Counter.builder(METER_PREFIX + ".failures")
+            .description("Number of deliveries a listener failed on")
+            .register(registry);
+        this.droppedCounter = Counter.builder(METER_PREFIX + ".dropped")
+            .description("Number of status changes dropped after failing too many times")
+            .register(registry);
+    }
+
+    /**
+     * Write a status change to the outbox, in the transaction making it.
+     *
+     * @param event the status change.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onShoppingCartStatusChanged(ShoppingCartStatusChangedEvent event) {
+        shoppingCartOutboxEventRepository.save(
+            new ShoppingCartOutboxEvent()
+                .shoppingCartId(event.shoppingCartId())
+                .previousStatus(event.previousStatus())
+                .status(event.status())
+                .createdDate(Instant.now())
+        );
+    }
+
+    /**
+     * Deliver the events waiting in the outbox, batch after batch, until a batch is not full or not fully delivered.
+     *
+     * @return the number of events delivered.
+     */
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval}")
+    public int dispatch() {
+        int delivered = 0;
+        Batch batch;
+        do {
+            batch = transactionTemplate.execute(status -> dispatchBatch());
+            delivered += batch.delivered();
+        } while (batch.carts() == properties.getBatchSize() && batch.delivered() == batch.size());
+        if (delivered > 0) {
+            log.debug("Delivered {} shopping cart status changes", delivered);
+        }
+        return delivered;
+    }
+
+    private record Batch(int carts, int size, int delivered) {}
+
+    private Batch dispatchBatch() {
+        List<ShoppingCartOutboxEvent> firstEvents = shoppingCartOutboxEventRepository.findNextBatchForUpdate(
+            PageRequest.ofSize(properties.getBatchSize())
+        );
+        Instant polledAt = Instant.now();
+        lag.set(firstEvents.isEmpty() ? 0 : Duration.between(firstEvents.get(0).getCreatedDate(), polledAt).toMillis());
+        if (firstEvents.isEmpty()) {
+            return new Batch(0, 0, 0);
+        }
+        // Holding the first event of a cart, no other instance can lock the following ones
+        List<ShoppingCartOutboxEvent> events = shoppingCartOutboxEventRepository.findAllByShoppingCartIdInForUpdate(
+            firstEvents.stream().map(ShoppingCartOutboxEvent::getShoppingCartId).toList()
+        );
+
+        List<OrderLifecycleListener> targets = listeners.orderedStream().toList();
+        Map<Long, List<ShoppingCartOutboxEvent>> byCart = events
+            .stream()
+            .collect(Collectors.groupingBy(ShoppingCartOutboxEvent::getShoppingCartId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, CompletableFuture<Integer>> deliveries = new LinkedHashMap<>();
+        byCart.forEach((cartId, cartEvents) ->
+            deliveries.put(cartId, CompletableFuture.supplyAsync(() -> deliver(cartEvents, targets), executor))
+        );
+
+        List<ShoppingCartOutboxEvent> delivered = new ArrayList<>(events.size());
+        List<ShoppingCartOutboxEvent> dropped = new ArrayList<>();
+        byCart.forEach((cartId, cartEvents) -> {
+            int count = deliveries.get(cartId).join();
+            delivered.addAll(cartEvents.subList(0, count));
+            if (count < cartEvents.size()) {
+                ShoppingCartOutboxEvent failed = cartEvents.get(count);
+                failed.setAttempts(failed.getAttempts() + 1);
+                if (failed.getAttempts() >= properties.getMaxAttempts()) {
+                    log.error("Delivery of {} failed too many times, it is dropped", failed);
+                    dropped.add(failed);
+                }
+            }
+        });
+        Instant deliveredAt = Instant.now();
+        delivered.forEach(event -> deliveryTimer.record(Duration.between(event.getCreatedDate(), deliveredAt)));
+        droppedCounter.increment(dropped.size());
+        dropped.addAll(delivered);
+        shoppingCartOutboxEventRepository.deleteAllInBatch(dropped);
+        return new Batch(firstEvents.size(), events.size(), delivered.size());
+    }
+
+    /**
+     * Deliver the events of a cart in order, stopping at the first one a listener fails on.
+     *
+     * @return the number of events delivered.
+     */
+    private int deliver(List<ShoppingCartOutboxEvent> events, List<OrderLifecycleListener> targets) {
+        int delivered = 0;
+        for (ShoppingCartOutboxEvent event : events) {
+            OrderLifecycleEvent lifecycleEvent = new OrderLifecycleEvent(
+                event.getId(),
+                event.getShoppingCartId(),
+                event.getPreviousStatus(),
+                event.getStatus(),
+                event.getCreatedDate()
+            );
+            try {
+                targets.forEach(listener -> listener.onOrderLifecycleEvent(lifecycleEvent));
+            } catch (RuntimeException e) {
+                failureCounter.increment();
+                log.warn("Delivery of {} failed: {}", event, e.getMessage());
+                break;
+            }
+            delivered++;
+        }
+        return delivered;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
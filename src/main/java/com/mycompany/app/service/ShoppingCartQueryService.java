@@ -0,0 +1,120 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.domain.*; // for static metamodels
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.repository.ShoppingCartListRow;
+import com.mycompany.app.repository.ShoppingCartRepository;
+import com.mycompany.app.service.criteria.ShoppingCartCriteria;
+import com.mycompany.app.service.dto.ShoppingCartDTO;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link ShoppingCart} entities in the database.
+ * The main input is a {@link ShoppingCartCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns the carts as listed, selecting only their listed columns, by page, by window or as a stream.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ShoppingCartQueryService extends QueryService<ShoppingCart> {
+
+    private final Logger log = LoggerFactory.getLogger(ShoppingCartQueryService.class);
+
+    private final ShoppingCartRepository shoppingCartRepository;
+
+    public ShoppingCartQueryService(ShoppingCartRepository shoppingCartRepository) {
+        this.shoppingCartRepository = shoppingCartRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link ShoppingCartDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<ShoppingCartDTO> findByCriteria(ShoppingCartCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<ShoppingCart> specification = createSpecification(criteria);
+        return shoppingCartRepository.findListRows(specification, page).map(ShoppingCartDTO::of);
+    }
+
+    /**
+     * Return a {@link Window} of {@link ShoppingCartDTO} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position the position to continue from.
+     * @param sort the sort, to which the id is appended.
+     * @param limit the maximum number of entities.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<ShoppingCartDTO> findByCriteria(ShoppingCartCriteria criteria, KeysetScrollPosition position, Sort sort, Limit limit) {
+        log.debug("find by criteria : {}, position: {}", criteria, position);
+        final Specification<ShoppingCart> specification = createSpecification(criteria);
+        return shoppingCartRepository.findListRows(specification, position, sort, limit).map(ShoppingCartDTO::of);
+    }
+
+    /**
+     * Pass every {@link ShoppingCartDTO} which matches the criteria to a consumer, in id order, reading them from the
+     * database a batch at a time so that the memory used does not depend on their number.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param consumer the consumer of the matching entities, called within the transaction.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long exportByCriteria(ShoppingCartCriteria criteria, Consumer<? super ShoppingCartDTO> consumer) {
+        log.debug("export by criteria : {}", criteria);
+        final Specification<ShoppingCart> specification = createSpecification(criteria);
+        long count = 0;
+        try (Stream<ShoppingCartListRow> rows = shoppingCartRepository.streamListRows(specification)) {
+            for (ShoppingCartListRow row : (Iterable<ShoppingCartListRow>) rows::iterator) {
+                consumer.accept(ShoppingCartDTO.of(row));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Function to convert {@link ShoppingCartCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<ShoppingCart> createSpecification(ShoppingCartCriteria criteria) {
+        Specification<ShoppingCart> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), ShoppingCart_.id));
+            }
+            if (criteria.getPlacedDate() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getPlacedDate(), ShoppingCart_.placedDate));
+            }
+            if (criteria.getStatus() != null) {
+                specification = specification.and(buildSpecification(criteria.getStatus(), ShoppingCart_.status));
+            }
+            if (criteria.getCustomerDetailsId() != null) {
+                // Compares the foreign key column, without joining the customer
+                specification = specification.and(
+                    buildSpecification(
+                        criteria.getCustomerDetailsId(),
+                        root -> root.get(ShoppingCart_.customerDetails).get(CustomerDetails_.id)
+                    )
+                );
+            }
+        }
+        return specification;
+    }
+}
@@ -1,16 +1,21 @@
 package com.mycompany.app.service;
 
 import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
 import com.mycompany.app.repository.ShoppingCartRepository;
-import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.mycompany.app.domain.ShoppingCart}.
+ * <p>
+ * Carts held by the {@link ActiveCartService} are written and released before being changed, and a
+ * {@link ShoppingCartStatusChangedEvent} is published whenever a cart is created or its status changes, which the
+ * {@link ShoppingCartOutboxService} delivers downstream once committed.
  */
 @Service
 @Transactional
@@ -20,8 +25,18 @@ public class ShoppingCartService {
 
     private final ShoppingCartRepository shoppingCartRepository;
 
-    public ShoppingCartService(ShoppingCartRepository shoppingCartRepository) {
+    private final ActiveCartService activeCartService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ShoppingCartService(
+        ShoppingCartRepository shoppingCartRepository,
+        ActiveCartService activeCartService,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
         this.shoppingCartRepository = shoppingCartRepository;
+        this.activeCartService = activeCartService;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -32,7 +47,10 @@ public class ShoppingCartService {
      */
     public ShoppingCart save(ShoppingCart shoppingCart) {
         log.debug("Request to save ShoppingCart : {}", shoppingCart);
-        return shoppingCartRepository.save(shoppingCart);
+        ShoppingCart result = shoppingCartRepository.save(shoppingCart);
+        // A cart created in any status is a change from no status, so that listeners see carts created as paid too
+        publishStatusChange(result.getId(), null, result.getStatus());
+        return result;
     }
 
     /**
@@ -43,7 +61,11 @@ public class ShoppingCartService {
      */
     public ShoppingCart update(ShoppingCart shoppingCart) {
         log.debug("Request to update ShoppingCart : {}", shoppingCart);
-        return shoppingCartRepository.save(shoppingCart);
+        activeCartService.release(shoppingCart.getId());
+        OrderStatus previousStatus = findStatus(shoppingCart.getId());
+        ShoppingCart result = shoppingCartRepository.save(shoppingCart);
+        publishStatusChange(result.getId(), previousStatus, result.getStatus());
+        return result;
     }
 
     /**
@@ -54,6 +76,7 @@ public class ShoppingCartService {
      */
     public Optional<ShoppingCart> partialUpdate(ShoppingCart shoppingCart) {
         log.debug("Request to partially update ShoppingCart : {}", shoppingCart);
+        activeCartService.release(shoppingCart.getId());
 
         return shoppingCartRepository
             .findById(shoppingCart.getId())
@@ -62,6 +85,7 @@ public class ShoppingCartService {
                     existingShoppingCart.setPlacedDate(shoppingCart.getPlacedDate());
                 }
                 if (shoppingCart.getStatus() != null) {
+                    publishStatusChange(existingShoppingCart.getId(), existingShoppingCart.getStatus(), shoppingCart.getStatus());
                     existingShoppingCart.setStatus(shoppingCart.getStatus());
                 }
                 if (shoppingCart.getTotalPrice() != null) {
@@ -79,17 +103,6 @@ public class ShoppingCartService {
             .map(shoppingCartRepository::save);
     }
 
-    /**
-     * Get all the shoppingCarts.
-     *
-     * @return the list of entities.
-     */
-    @Transactional(readOnly = true)
-    public List<ShoppingCart> findAll() {
-        log.debug("Request to get all ShoppingCarts");
-        return shoppingCartRepository.findAll();
-    }
-
     /**
      * Get one shoppingCart by id.
      *
@@ -109,6 +122,19 @@ public class ShoppingCartService {
      */
     public void delete(Long id) {
         log.debug("Request to delete ShoppingCart : {}", id);
+        activeCartService.release(id);
+        OrderStatus previousStatus = findStatus(id);
         shoppingCartRepository.deleteById(id);
+        publishStatusChange(id, previousStatus, null);
+    }
+
+    private OrderStatus findStatus(Long id) {
+        return shoppingCartRepository.findById(id).map(ShoppingCart::getStatus).orElse(null);
+    }
+
+    private void publishStatusChange(Long id, OrderStatus previousStatus, OrderStatus status) {
+        if (previousStatus != status) {
+            applicationEventPublisher.publishEvent(new ShoppingCartStatusChangedEvent(id, previousStatus, status));
+        }
     }
 }
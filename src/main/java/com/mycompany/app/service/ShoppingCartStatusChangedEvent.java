@@ -0,0 +1,13 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.domain.enumeration.OrderStatus;
+
+/**
+ * Published when the status of a shopping cart changes, including when it is created or deleted. Listeners that keep
+ * derived state must react once the transaction has committed.
+ *
+ * @param shoppingCartId the id of the cart.
+ * @param previousStatus the status the cart had, or {@code null} if it is created.
+ * @param status the status the cart has, or {@code null} if it is deleted.
+ */
+public record ShoppingCartStatusChangedEvent(Long shoppingCartId, OrderStatus previousStatus, OrderStatus status) {}
@@ -0,0 +1,135 @@
+package com.mycompany.app.service;
+
+import com.mycompany.app.config.ApplicationProperties;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.repository.ProductOrderRepository;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.repository.ProductSearchRow;
+import com.mycompany.app.repository.SalesLineRow;
+import com.mycompany.app.service.catalog.CatalogSnapshot;
+import com.mycompany.app.service.dto.TrendingProductDTO;
+import com.mycompany.app.service.trending.DecayingSpaceSaving;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Tracks the trending products, overall and by category, from the units of the carts as they are paid.
+ * <p>
+ * Each {@link Window} has a {@link DecayingSpaceSaving} sketch overall and one per category, each counting at most
+ * {@code application.trending.capacity} products whatever the number sold, so the memory used is bounded per
+ * category. The units of a product are overestimated by at most the decayed units sold in its category, or overall,
+ * divided by the capacity. The sketches only see the carts paid through this instance since it started.
+ */
+@Service
+public class TrendingProductService {
+
+    /**
+     * The time constant of the decay of the sales, after which a sale weighs about a third.
+     */
+    public enum Window {
+        HOUR(Duration.ofHours(1)),
+        DAY(Duration.ofDays(1));
+
+        private final Duration timeConstant;
+
+        Window(Duration timeConstant) {
+            this.timeConstant = timeConstant;
+        }
+    }
+
+    private final ProductOrderRepository productOrderRepository;
+
+    private final ProductRepository productRepository;
+
+    private final ProductCatalogService productCatalogService;
+
+    private final int capacity;
+
+    private final Map<Window, DecayingSpaceSaving> overall = new EnumMap<>(Window.class);
+
+    private final Map<Window, ConcurrentMap<Long, DecayingSpaceSaving>> byCategory = new EnumMap<>(Window.class);
+
+    public TrendingProductService(
+        ProductOrderRepository productOrderRepository,
+        ProductRepository productRepository,
+        ProductCatalogService productCatalogService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.productOrderRepository = productOrderRepository;
+        this.productRepository = productRepository;
+        this.productCatalogService = productCatalogService;
+        this.capacity = applicationProperties.getTrending().getCapacity();
+        long now = System.currentTimeMillis();
+        for (Window window : Window.values()) {
+            overall.put(window, new DecayingSpaceSaving(capacity, window.timeConstant, now));
+            byCategory.put(window, new ConcurrentHashMap<>());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onShoppingCartStatusChanged(ShoppingCartStatusChangedEvent event) {
+        // Counted once, when leaving PENDING, whether it is paid then completed or completed at once
+        boolean sold = event.status() == OrderStatus.PAID || event.status() == OrderStatus.COMPLETED;
+        if (event.previousStatus() != OrderStatus.PENDING || !sold) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (SalesLineRow line : productOrderRepository.findSalesLineRowsByCartId(event.shoppingCartId())) {
+            for (Window window : Window.values()) {
+                overall.get(window).offer(line.productId(), line.quantity(), now);
+                byCategory
+                    .get(window)
+                    .computeIfAbsent(line.productCategoryId(), id -> new DecayingSpaceSaving(capacity, window.timeConstant, now))
+                    .offer(line.productId(), line.quantity(), now);
+            }
+        }
+    }
+
+    /**
+     * Get the products with the most units sold recently.
+     *
+     * @param window how fast older sales are forgotten.
+     * @param categoryId the id of the category of the products, or {@code null} for all the products.
+     * @param size the most products to get.
+     * @return the products by descending units.
+     */
+    public List<TrendingProductDTO> findTrending(Window window, Long categoryId, int size) {
+        DecayingSpaceSaving sketch = categoryId == null ? overall.get(window) : byCategory.get(window).get(categoryId);
+        if (sketch == null) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        List<DecayingSpaceSaving.Entry> entries = sketch.top(size, now);
+        Map<Long, String> names = findNames(entries);
+        return entries
+            .stream()
+            .map(entry -> new TrendingProductDTO(entry.productId(), names.get(entry.productId()), entry.count(), entry.error()))
+            .toList();
+    }
+
+    private Map<Long, String> findNames(List<DecayingSpaceSaving.Entry> entries) {
+        Map<Long, String> names = new HashMap<>();
+        Optional<CatalogSnapshot> snapshot = productCatalogService.getSnapshot();
+        if (snapshot.isPresent()) {
+            for (DecayingSpaceSaving.Entry entry : entries) {
+                Optional<Product> product = snapshot.orElseThrow().findProduct(entry.productId());
+                product.ifPresent(found -> names.put(found.getId(), found.getName()));
+            }
+        } else if (!entries.isEmpty()) {
+            List<Long> ids = entries.stream().map(DecayingSpaceSaving.Entry::productId).toList();
+            for (ProductSearchRow row : productRepository.findSearchRowsByIdIn(ids)) {
+                names.put(row.id(), row.name());
+            }
+        }
+        return names;
+    }
+}
@@ -4,6 +4,7 @@ import com.mycompany.app.config.Constants;
 import com.mycompany.app.domain.Authority;
 import com.mycompany.app.domain.User;
 import com.mycompany.app.repository.AuthorityRepository;
+import com.mycompany.app.repository.RefreshTokenRepository;
 import com.mycompany.app.repository.UserRepository;
 import com.mycompany.app.security.AuthoritiesConstants;
 import com.mycompany.app.security.SecurityUtils;
@@ -16,8 +17,12 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -41,16 +46,20 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final RefreshTokenRepository refreshTokenRepository;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        RefreshTokenRepository refreshTokenRepository
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.refreshTokenRepository = refreshTokenRepository;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -76,6 +85,8 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
+                // Whoever knew the old password has to log in again
+                refreshTokenRepository.deleteByUserId(user.getId());
                 this.clearUserCaches(user);
                 return user;
             });
@@ -94,6 +105,8 @@ public class UserService {
     }
 
     public User registerUser(AdminUserDTO userDTO, String password) {
+        // Hashed before the first query, so that no connection is held while waiting for the password hashing pool
+        String encryptedPassword = passwordEncoder.encode(password);
         userRepository
             .findOneByLogin(userDTO.getLogin().toLowerCase())
             .ifPresent(existingUser -> {
@@ -111,7 +124,6 @@ public class UserService {
                 }
             });
         User newUser = new User();
-        String encryptedPassword = passwordEncoder.encode(password);
         newUser.setLogin(userDTO.getLogin().toLowerCase());
         // new user gets initially a generated password
         newUser.setPassword(encryptedPassword);
@@ -265,6 +277,7 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                refreshTokenRepository.deleteByUserId(user.getId());
                 this.clearUserCaches(user);
                 log.debug("Changed password for User: {}", user);
             });
@@ -275,6 +288,11 @@ public class UserService {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    @Transactional(readOnly = true)
+    public Window<AdminUserDTO> getAllManagedUsers(ScrollPosition position, Sort sort, Limit limit) {
+        return userRepository.findWindowBy(position, sort, limit).map(AdminUserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
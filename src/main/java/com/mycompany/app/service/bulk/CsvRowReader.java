@@ -0,0 +1,194 @@
+package com.mycompany.app.service.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the rows of a CSV file (RFC 4180) one at a time, so that only the current row is held in memory.
+ * <p>
+ * The first record is the header naming the field of each column. Values may be quoted to contain
+ * separators, doubled quotes or line breaks; an empty unquoted value is absent. Blank lines are skipped.
+ */
+public class CsvRowReader implements Iterator<ImportRow> {
+
+    private static final char SEPARATOR = ',';
+
+    private static final char QUOTE = '"';
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    /**
+     * Longest record, in characters, beyond which a record is rejected; this bounds the memory used by a
+     * long line or an unterminated quote.
+     */
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final PushbackReader reader;
+
+    private List<String> header;
+
+    private long lineNumber = 1;
+
+    private boolean started;
+
+    private ImportRow next;
+
+    public CsvRowReader(BufferedReader reader) {
+        this.reader = new PushbackReader(reader, 2);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = read();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    private ImportRow read() {
+        try {
+            while (true) {
+                int c = readChar();
+                if (!started) {
+                    started = true;
+                    if (c == BYTE_ORDER_MARK) {
+                        c = readChar();
+                    }
+                }
+                if (c == -1) {
+                    return null;
+                }
+                long start = lineNumber;
+                List<String> values = new ArrayList<>();
+                String error = parse(c, values);
+                if (error != null) {
+                    return ImportRow.invalid(start, error);
+                }
+                if (values.isEmpty()) {
+                    continue;
+                }
+                if (header == null) {
+                    header = values.stream().map(value -> value == null ? "" : value.trim()).toList();
+                    continue;
+                }
+                if (values.size() != header.size()) {
+                    return ImportRow.invalid(start, "Expected " + header.size() + " values but found " + values.size());
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int i = 0; i < values.size(); i++) {
+                    fields.put(header.get(i), values.get(i));
+                }
+                return ImportRow.of(start, fields);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Split a record into its values, up to the line break ending it outside of quotes. An invalid record is still
+     * read up to its end, without keeping its values, so that the next record starts at a record boundary.
+     *
+     * @param first the first character of the record.
+     * @param values the values of the record, left empty if the record is blank.
+     * @return why the record is invalid, or {@code null} if it is valid.
+     */
+    private String parse(int first, List<String> values) throws IOException {
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        boolean blank = true;
+        String error = null;
+        int length = 0;
+        for (int c = first;; c = readChar()) {
+            if (c == '\n') {
+                lineNumber++;
+            }
+            if (c == -1 || (c == '\n' && !inQuotes)) {
+                if (error == null && inQuotes) {
+                    error = "Unterminated quoted value";
+                }
+                if (error == null && !blank) {
+                    values.add(quoted || !value.isEmpty() ? value.toString() : null);
+                }
+                return error;
+            }
+            if (error == null && ++length > MAX_RECORD_LENGTH) {
+                error = "Record is longer than " + MAX_RECORD_LENGTH + " characters";
+                value.setLength(0);
+                values.clear();
+            }
+            if (error != null) {
+                // Only the quotes matter in the rest of an invalid record, a line break within them not ending it
+                if (c == QUOTE) {
+                    inQuotes = !inQuotes;
+                }
+            } else if (inQuotes) {
+                if (c != QUOTE) {
+                    value.append((char) c);
+                } else {
+                    int following = readChar();
+                    if (following == QUOTE) {
+                        value.append(QUOTE);
+                    } else {
+                        unread(following);
+                        inQuotes = false;
+                    }
+                }
+            } else if (c == SEPARATOR) {
+                blank = false;
+                values.add(quoted || !value.isEmpty() ? value.toString() : null);
+                value.setLength(0);
+                quoted = false;
+            } else if (c == QUOTE && value.isEmpty() && !quoted) {
+                blank = false;
+                quoted = true;
+                inQuotes = true;
+            } else if (quoted) {
+                error = "Unexpected character after quoted value";
+            } else {
+                blank &= Character.isWhitespace(c);
+                value.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Read a character, any line break being read as {@code '\n'}.
+     */
+    private int readChar() throws IOException {
+        int c = reader.read();
+        if (c == '\r') {
+            int following = reader.read();
+            if (following != '\n') {
+                unread(following);
+            }
+            return '\n';
+        }
+        return c;
+    }
+
+    private void unread(int c) throws IOException {
+        if (c != -1) {
+            reader.unread(c);
+        }
+    }
+}
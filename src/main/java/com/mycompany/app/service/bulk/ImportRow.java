@@ -0,0 +1,20 @@
+package com.mycompany.app.service.bulk;
+
+import java.util.Map;
+
+/**
+ * A row read from a bulk import file.
+ *
+ * @param line the line the row starts on, counting from 1.
+ * @param fields the values of the row by field name, {@code null} for an absent value; empty if the row could not be read.
+ * @param error why the row could not be read, or {@code null} if it was.
+ */
+public record ImportRow(long line, Map<String, String> fields, String error) {
+    public static ImportRow of(long line, Map<String, String> fields) {
+        return new ImportRow(line, fields, null);
+    }
+
+    public static ImportRow invalid(long line, String error) {
+        return new ImportRow(line, Map.of(), error);
+    }
+}
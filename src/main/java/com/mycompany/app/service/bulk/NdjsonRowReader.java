@@ -0,0 +1,90 @@
+package com.mycompany.app.service.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the rows of a newline-delimited JSON file one at a time, so that only the current row is held in memory.
+ * <p>
+ * Each non-blank line is a JSON object whose members are the fields of the row; their values must be
+ * strings, numbers, booleans or {@code null}. A malformed line only invalidates its own row.
+ */
+public class NdjsonRowReader implements Iterator<ImportRow> {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS).build();
+
+    private final BufferedReader reader;
+
+    private long lineNumber;
+
+    private ImportRow next;
+
+    public NdjsonRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = read();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    private ImportRow read() {
+        try {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+            return parse(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ImportRow parse(String line) {
+        JsonNode node;
+        try {
+            node = JSON_MAPPER.readTree(line);
+        } catch (JsonProcessingException e) {
+            return ImportRow.invalid(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return ImportRow.invalid(lineNumber, "Expected a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> members = node.fields(); members.hasNext();) {
+            Map.Entry<String, JsonNode> member = members.next();
+            JsonNode value = member.getValue();
+            if (value.isContainerNode()) {
+                return ImportRow.invalid(lineNumber, "Field " + member.getKey() + " must be a string, a number or a boolean");
+            }
+            fields.put(member.getKey(), value.isNull() ? null : value.asText());
+        }
+        return ImportRow.of(lineNumber, fields);
+    }
+}
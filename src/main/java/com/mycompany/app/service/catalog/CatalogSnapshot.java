@@ -0,0 +1,280 @@
+package com.mycompany.app.service.catalog;
+
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductCategory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Immutable, versioned copy of the catalog: every product with its category, pre-sorted in each order
+ * the product listing can be served in.
+ * <p>
+ * Changes never modify a snapshot, they return a new one with the next version. The products and
+ * categories it holds are copies that are never attached to a persistence context nor modified once
+ * the snapshot is built, so a snapshot can be read from any thread without locking.
+ */
+public final class CatalogSnapshot {
+
+    private static final String ID_PROPERTY = "id";
+
+    /**
+     * Orders the listing can be served in, by sort property. Ties are broken by id so that every order is
+     * total, which lets changes locate products by binary search.
+     */
+    private static final Map<String, Comparator<Product>> ORDERS = Map.of(
+        ID_PROPERTY,
+        Comparator.comparing(Product::getId),
+        "name",
+        Comparator.comparing(Product::getName).thenComparing(Product::getId),
+        "price",
+        Comparator.comparing(Product::getPrice).thenComparing(Product::getId)
+    );
+
+    private final long version;
+
+    private final Map<Long, Product> products;
+
+    private final Map<Long, ProductCategory> categories;
+
+    private final Map<String, List<Product>> sorted;
+
+    private CatalogSnapshot(
+        long version,
+        Map<Long, Product> products,
+        Map<Long, ProductCategory> categories,
+        Map<String, List<Product>> sorted
+    ) {
+        this.version = version;
+        this.products = products;
+        this.categories = categories;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Build a snapshot.
+     *
+     * @param version the version of the snapshot.
+     * @param categories the categories.
+     * @param products the products, with their category.
+     * @return the snapshot of copies of the categories and products.
+     */
+    public static CatalogSnapshot of(long version, Collection<ProductCategory> categories, Collection<Product> products) {
+        Map<Long, ProductCategory> categoryCopies = new HashMap<>();
+        categories.forEach(category -> categoryCopies.put(category.getId(), copy(category)));
+        Map<Long, Product> productCopies = new HashMap<>();
+        for (Product product : products) {
+            ProductCategory category = categoryCopies.computeIfAbsent(product.getProductCategory().getId(), id ->
+                copy(product.getProductCategory())
+            );
+            productCopies.put(product.getId(), copy(product, category));
+        }
+        Map<String, List<Product>> sorted = new HashMap<>();
+        ORDERS.forEach((property, order) -> sorted.put(property, productCopies.values().stream().sorted(order).toList()));
+        return new CatalogSnapshot(version, productCopies, categoryCopies, sorted);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the number of products.
+     */
+    public int size() {
+        return products.size();
+    }
+
+    /**
+     * Find a product.
+     *
+     * @param id the id of the product.
+     * @return the product, which must not be modified.
+     */
+    public Optional<Product> findProduct(Long id) {
+        return Optional.ofNullable(products.get(id));
+    }
+
+    /**
+     * Get a page of products.
+     *
+     * @param pageable the pagination information.
+     * @return the page of products, which must not be modified, or empty if the snapshot is not sorted in the requested order.
+     */
+    public Optional<Page<Product>> findPage(Pageable pageable) {
+        String property = ID_PROPERTY;
+        Sort.Direction direction = Sort.Direction.ASC;
+        Iterator<Sort.Order> orders = pageable.getSort().iterator();
+        if (orders.hasNext()) {
+            Sort.Order order = orders.next();
+            property = order.getProperty();
+            direction = order.getDirection();
+            if (order.isIgnoreCase()) {
+                return Optional.empty();
+            }
+            // Products are already ordered by id within equal values
+            if (orders.hasNext()) {
+                Sort.Order then = orders.next();
+                if (orders.hasNext() || !ID_PROPERTY.equals(then.getProperty()) || then.getDirection() != direction) {
+                    return Optional.empty();
+                }
+            }
+        }
+        List<Product> list = sorted.get(property);
+        if (list == null) {
+            return Optional.empty();
+        }
+        if (pageable.isUnpaged()) {
+            return Optional.of(new PageImpl<>(ordered(list, 0, list.size(), direction)));
+        }
+        int from = (int) Math.min(pageable.getOffset(), list.size());
+        int to = Math.min(from + pageable.getPageSize(), list.size());
+        return Optional.of(new PageImpl<>(ordered(list, from, to, direction), pageable, list.size()));
+    }
+
+    private static List<Product> ordered(List<Product> list, int from, int to, Sort.Direction direction) {
+        if (direction.isAscending()) {
+            return list.subList(from, to);
+        }
+        List<Product> content = new ArrayList<>(to - from);
+        for (int i = list.size() - 1 - from; i >= list.size() - to; i--) {
+            content.add(list.get(i));
+        }
+        return Collections.unmodifiableList(content);
+    }
+
+    /**
+     * Add or replace a product.
+     * <p>
+     * The category of the product is added if the snapshot does not have it yet; changes of an existing
+     * category are applied by {@link #withCategory}.
+     *
+     * @param product the product, with its category.
+     * @return the snapshot of the next version with the product.
+     */
+    public CatalogSnapshot withProduct(Product product) {
+        Map<Long, ProductCategory> nextCategories = categories;
+        ProductCategory category = categories.get(product.getProductCategory().getId());
+        if (category == null) {
+            category = copy(product.getProductCategory());
+            nextCategories = new HashMap<>(categories);
+            nextCategories.put(category.getId(), category);
+        }
+        Product copy = copy(product, category);
+        Map<Long, Product> nextProducts = new HashMap<>(products);
+        Product previous = nextProducts.put(copy.getId(), copy);
+        Map<String, List<Product>> nextSorted = new HashMap<>();
+        ORDERS.forEach((property, order) -> {
+            List<Product> list = new ArrayList<>(sorted.get(property));
+            if (previous != null) {
+                list.remove(Collections.binarySearch(list, previous, order));
+            }
+            list.add(-Collections.binarySearch(list, copy, order) - 1, copy);
+            nextSorted.put(property, Collections.unmodifiableList(list));
+        });
+        return new CatalogSnapshot(version + 1, nextProducts, nextCategories, nextSorted);
+    }
+
+    /**
+     * Remove a product.
+     *
+     * @param id the id of the product.
+     * @return the snapshot of the next version without the product, or this snapshot if it does not have the product.
+     */
+    public CatalogSnapshot withoutProduct(Long id) {
+        Map<Long, Product> nextProducts = new HashMap<>(products);
+        Product previous = nextProducts.remove(id);
+        if (previous == null) {
+            return this;
+        }
+        Map<String, List<Product>> nextSorted = new HashMap<>();
+        ORDERS.forEach((property, order) -> {
+            List<Product> list = new ArrayList<>(sorted.get(property));
+            list.remove(Collections.binarySearch(list, previous, order));
+            nextSorted.put(property, Collections.unmodifiableList(list));
+        });
+        return new CatalogSnapshot(version + 1, nextProducts, categories, nextSorted);
+    }
+
+    /**
+     * Add, replace or remove many products at once, sorting each order once instead of once per product.
+     *
+     * @param ids the ids of the products.
+     * @param products the products of those ids that still exist, with their category.
+     * @return the snapshot of the next version with the products, and without those of the ids that no longer exist.
+     */
+    public CatalogSnapshot withProducts(Collection<Long> ids, Collection<Product> products) {
+        Map<Long, ProductCategory> nextCategories = new HashMap<>(categories);
+        Map<Long, Product> nextProducts = new HashMap<>(this.products);
+        ids.forEach(nextProducts::remove);
+        for (Product product : products) {
+            ProductCategory category = nextCategories.computeIfAbsent(product.getProductCategory().getId(), id ->
+                copy(product.getProductCategory())
+            );
+            nextProducts.put(product.getId(), copy(product, category));
+        }
+        Map<String, List<Product>> nextSorted = new HashMap<>();
+        ORDERS.forEach((property, order) -> nextSorted.put(property, nextProducts.values().stream().sorted(order).toList()));
+        return new CatalogSnapshot(version + 1, nextProducts, nextCategories, nextSorted);
+    }
+
+    /**
+     * Add or replace a category, updating the products it holds.
+     *
+     * @param category the category.
+     * @return the snapshot of the next version with the category.
+     */
+    public CatalogSnapshot withCategory(ProductCategory category) {
+        ProductCategory copy = copy(category);
+        Map<Long, ProductCategory> nextCategories = new HashMap<>(categories);
+        nextCategories.put(copy.getId(), copy);
+        Map<Long, Product> nextProducts = new HashMap<>(products);
+        nextProducts.replaceAll((id, product) ->
+            copy.getId().equals(product.getProductCategory().getId()) ? copy(product, copy) : product
+        );
+        // Categories are not sort keys, so every product keeps its position
+        Map<String, List<Product>> nextSorted = new HashMap<>();
+        sorted.forEach((property, list) ->
+            nextSorted.put(property, list.stream().map(product -> nextProducts.get(product.getId())).toList())
+        );
+        return new CatalogSnapshot(version + 1, nextProducts, nextCategories, nextSorted);
+    }
+
+    /**
+     * Remove a category, which no product may hold.
+     *
+     * @param id the id of the category.
+     * @return the snapshot of the next version without the category.
+     */
+    public CatalogSnapshot withoutCategory(Long id) {
+        Map<Long, ProductCategory> nextCategories = new HashMap<>(categories);
+        nextCategories.remove(id);
+        return new CatalogSnapshot(version + 1, products, nextCategories, sorted);
+    }
+
+    private static ProductCategory copy(ProductCategory category) {
+        return new ProductCategory().id(category.getId()).name(category.getName()).description(category.getDescription());
+    }
+
+    private static Product copy(Product product, ProductCategory category) {
+        return new Product()
+            .id(product.getId())
+            .name(product.getName())
+            .description(product.getDescription())
+            .price(product.getPrice())
+            .productSize(product.getProductSize())
+            .imageContentType(product.getImageContentType())
+            .imageHash(product.getImageHash())
+            .productCategory(category);
+    }
+}
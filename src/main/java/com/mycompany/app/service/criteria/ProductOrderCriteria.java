@@ -0,0 +1,230 @@
+package com.mycompany.app.service.criteria;
+
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.mycompany.app.domain.ProductOrder} entity. This class is used
+ * in {@link com.mycompany.app.web.rest.ProductOrderResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /product-orders?status.equals=PAID&placedDate.lessThan=2024-02-01T00:00:00Z&customerDetailsId.equals=1}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ProductOrderCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering OrderStatus
+     */
+    public static class OrderStatusFilter extends Filter<OrderStatus> {
+
+        public OrderStatusFilter() {}
+
+        public OrderStatusFilter(OrderStatusFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public OrderStatusFilter copy() {
+            return new OrderStatusFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private LongFilter productId;
+
+    private LongFilter cartId;
+
+    /**
+     * The status of the cart of the order.
+     */
+    private OrderStatusFilter status;
+
+    /**
+     * The date the cart of the order was placed on.
+     */
+    private InstantFilter placedDate;
+
+    /**
+     * The id of the customer of the cart of the order.
+     */
+    private LongFilter customerDetailsId;
+
+    public ProductOrderCriteria() {}
+
+    public ProductOrderCriteria(ProductOrderCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.productId = other.optionalProductId().map(LongFilter::copy).orElse(null);
+        this.cartId = other.optionalCartId().map(LongFilter::copy).orElse(null);
+        this.status = other.optionalStatus().map(OrderStatusFilter::copy).orElse(null);
+        this.placedDate = other.optionalPlacedDate().map(InstantFilter::copy).orElse(null);
+        this.customerDetailsId = other.optionalCustomerDetailsId().map(LongFilter::copy).orElse(null);
+    }
+
+    @Override
+    public ProductOrderCriteria copy() {
+        return new ProductOrderCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public LongFilter getProductId() {
+        return productId;
+    }
+
+    public Optional<LongFilter> optionalProductId() {
+        return Optional.ofNullable(productId);
+    }
+
+    public LongFilter productId() {
+        if (productId == null) {
+            setProductId(new LongFilter());
+        }
+        return productId;
+    }
+
+    public void setProductId(LongFilter productId) {
+        this.productId = productId;
+    }
+
+    public LongFilter getCartId() {
+        return cartId;
+    }
+
+    public Optional<LongFilter> optionalCartId() {
+        return Optional.ofNullable(cartId);
+    }
+
+    public LongFilter cartId() {
+        if (cartId == null) {
+            setCartId(new LongFilter());
+        }
+        return cartId;
+    }
+
+    public void setCartId(LongFilter cartId) {
+        this.cartId = cartId;
+    }
+
+    public OrderStatusFilter getStatus() {
+        return status;
+    }
+
+    public Optional<OrderStatusFilter> optionalStatus() {
+        return Optional.ofNullable(status);
+    }
+
+    public OrderStatusFilter status() {
+        if (status == null) {
+            setStatus(new OrderStatusFilter());
+        }
+        return status;
+    }
+
+    public void setStatus(OrderStatusFilter status) {
+        this.status = status;
+    }
+
+    public InstantFilter getPlacedDate() {
+        return placedDate;
+    }
+
+    public Optional<InstantFilter> optionalPlacedDate() {
+        return Optional.ofNullable(placedDate);
+    }
+
+    public InstantFilter placedDate() {
+        if (placedDate == null) {
+            setPlacedDate(new InstantFilter());
+        }
+        return placedDate;
+    }
+
+    public void setPlacedDate(InstantFilter placedDate) {
+        this.placedDate = placedDate;
+    }
+
+    public LongFilter getCustomerDetailsId() {
+        return customerDetailsId;
+    }
+
+    public Optional<LongFilter> optionalCustomerDetailsId() {
+        return Optional.ofNullable(customerDetailsId);
+    }
+
+    public LongFilter customerDetailsId() {
+        if (customerDetailsId == null) {
+            setCustomerDetailsId(new LongFilter());
+        }
+        return customerDetailsId;
+    }
+
+    public void setCustomerDetailsId(LongFilter customerDetailsId) {
+        this.customerDetailsId = customerDetailsId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ProductOrderCriteria that = (ProductOrderCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(productId, that.productId) &&
+            Objects.equals(cartId, that.cartId) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(placedDate, that.placedDate) &&
+            Objects.equals(customerDetailsId, that.customerDetailsId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, productId, cartId, status, placedDate, customerDetailsId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ProductOrderCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalProductId().map(f -> "productId=" + f + ", ").orElse("") +
+            optionalCartId().map(f -> "cartId=" + f + ", ").orElse("") +
+            optionalStatus().map(f -> "status=" + f + ", ").orElse("") +
+            optionalPlacedDate().map(f -> "placedDate=" + f + ", ").orElse("") +
+            optionalCustomerDetailsId().map(f -> "customerDetailsId=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,22 @@
+package com.mycompany.app.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The pending cart a shopper is filling, as held in memory.
+ *
+ * @param id the id of the cart.
+ * @param totalPrice the total price of the lines.
+ * @param lines the lines of the cart, in the order they were added.
+ */
+public record ActiveCartDTO(Long id, BigDecimal totalPrice, List<Line> lines) implements Serializable {
+    /**
+     * @param productId the id of the product.
+     * @param productName the name of the product.
+     * @param quantity the quantity of the product.
+     * @param totalPrice the price of the product when it was added, times the quantity.
+     */
+    public record Line(Long productId, String productName, int quantity, BigDecimal totalPrice) implements Serializable {}
+}
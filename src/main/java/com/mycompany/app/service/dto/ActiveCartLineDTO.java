@@ -0,0 +1,12 @@
+package com.mycompany.app.service.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * Change of the quantity of a product in the pending cart of the current user.
+ *
+ * @param quantity the new quantity of the product, {@code 0} to remove it from the cart.
+ */
+public record ActiveCartLineDTO(@NotNull @Min(0) Integer quantity) implements Serializable {}
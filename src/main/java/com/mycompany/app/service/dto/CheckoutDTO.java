@@ -0,0 +1,34 @@
+package com.mycompany.app.service.dto;
+
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Checkout of a cart by the current user.
+ *
+ * @param paymentMethod the payment method of the cart.
+ * @param paymentReference the payment reference of the cart.
+ * @param lines the lines of the cart; lines of the same product are merged, up to {@link Line#MAX_QUANTITY} units.
+ */
+public record CheckoutDTO(
+    @NotNull PaymentMethod paymentMethod,
+    String paymentReference,
+    @NotNull @Size(min = 1, max = 100) List<@NotNull @Valid Line> lines
+) implements Serializable {
+    /**
+     * @param productId the id of the product.
+     * @param quantity the quantity of the product.
+     */
+    public record Line(@NotNull Long productId, @NotNull @Min(1) @Max(Line.MAX_QUANTITY) Integer quantity) implements Serializable {
+        /**
+         * Most units of a product in a cart.
+         */
+        public static final int MAX_QUANTITY = 10_000;
+    }
+}
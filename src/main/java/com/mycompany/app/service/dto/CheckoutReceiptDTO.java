@@ -0,0 +1,12 @@
+package com.mycompany.app.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Outcome of a checkout.
+ *
+ * @param cart the placed cart, with the total price computed from its lines.
+ * @param orders the order lines of the cart, with their total price computed from the product prices.
+ */
+public record CheckoutReceiptDTO(ShoppingCartDTO cart, List<ProductOrderDTO> orders) implements Serializable {}
@@ -0,0 +1,40 @@
+package com.mycompany.app.service.dto;
+
+import com.mycompany.app.domain.enumeration.Gender;
+import com.mycompany.app.repository.CustomerDetailsListRow;
+import java.io.Serializable;
+
+/**
+ * A customer as listed, without its carts.
+ *
+ * @param user the user of the customer, only with its id and login.
+ */
+public record CustomerDetailsDTO(
+    Long id,
+    Gender gender,
+    String phone,
+    String addressLine1,
+    String addressLine2,
+    String city,
+    String country,
+    UserRef user
+) implements Serializable {
+    /**
+     * @param id the id of the user.
+     * @param login the login of the user.
+     */
+    public record UserRef(Long id, String login) implements Serializable {}
+
+    public static CustomerDetailsDTO of(CustomerDetailsListRow row) {
+        return new CustomerDetailsDTO(
+            row.id(),
+            row.gender(),
+            row.phone(),
+            row.addressLine1(),
+            row.addressLine2(),
+            row.city(),
+            row.country(),
+            row.userId() == null ? null : new UserRef(row.userId(), row.userLogin())
+        );
+    }
+}
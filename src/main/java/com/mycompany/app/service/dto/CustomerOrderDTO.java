@@ -0,0 +1,51 @@
+package com.mycompany.app.service.dto;
+
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import com.mycompany.app.repository.ProductOrderListRow;
+import com.mycompany.app.repository.ShoppingCartListRow;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A cart placed by the current user, with its lines.
+ *
+ * @param lines the lines of the cart, in the order they were written.
+ */
+public record CustomerOrderDTO(
+    Long id,
+    Instant placedDate,
+    OrderStatus status,
+    BigDecimal totalPrice,
+    PaymentMethod paymentMethod,
+    String paymentReference,
+    List<Line> lines
+) implements Serializable {
+    /**
+     * @param product the ordered product, only with its id and name.
+     */
+    public record Line(Long id, Integer quantity, BigDecimal totalPrice, ProductOrderDTO.ProductRef product) implements Serializable {
+        public static Line of(ProductOrderListRow row) {
+            return new Line(
+                row.id(),
+                row.quantity(),
+                row.totalPrice(),
+                row.productId() == null ? null : new ProductOrderDTO.ProductRef(row.productId(), row.productName())
+            );
+        }
+    }
+
+    public static CustomerOrderDTO of(ShoppingCartListRow row, List<Line> lines) {
+        return new CustomerOrderDTO(
+            row.id(),
+            row.placedDate(),
+            row.status(),
+            row.totalPrice(),
+            row.paymentMethod(),
+            row.paymentReference(),
+            lines
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.mycompany.app.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The response to a request sent with an {@code Idempotency-Key} header, replayed to its duplicates.
+ *
+ * @param requestHash the digest of the method, path and body of the request, which its duplicates must match.
+ * @param status the status of the response.
+ * @param contentType the content type of the response, if any.
+ * @param headers the headers set by the handler of the request, by name.
+ * @param body the body of the response.
+ */
+public record IdempotentResponse(String requestHash, int status, String contentType, Map<String, List<String>> headers, byte[] body)
+    implements Serializable {}
@@ -0,0 +1,13 @@
+package com.mycompany.app.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The current stock of a product.
+ *
+ * @param productId the id of the product.
+ * @param onHand the units on hand.
+ * @param reserved the units on hand reserved by pending carts.
+ * @param available the units that can still be reserved.
+ */
+public record InventoryDTO(Long productId, long onHand, long reserved, long available) implements Serializable {}
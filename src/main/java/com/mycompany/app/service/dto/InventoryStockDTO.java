@@ -0,0 +1,12 @@
+package com.mycompany.app.service.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * Change of the stock of a product.
+ *
+ * @param onHand the units on hand, counting those already reserved.
+ */
+public record InventoryStockDTO(@NotNull @Min(0) Integer onHand) implements Serializable {}
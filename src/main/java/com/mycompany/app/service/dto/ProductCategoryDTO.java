@@ -1,37 +1,17 @@
 package com.mycompany.app.service.dto;
 
-public class ProductCategoryDTO {
-
-    private long id;
-    private String name;
-    private String description;
-
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setNombre(String name) {
-        this.name = name;
-    }
-
-    public String getDescription() {
-        return description;
-    }
-
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
-    @Override
-    public String toString() {
-        return "UserDTO{" + "id='" + id + '\'' + ", name='" + name + '\'' + ", description='" + description + '\'' + "}";
+import com.mycompany.app.repository.ProductCategoryListRow;
+import java.io.Serializable;
+
+/**
+ * A product category as listed, without its products.
+ *
+ * @param id the id of the category.
+ * @param name the name of the category.
+ * @param description the description of the category.
+ */
+public record ProductCategoryDTO(Long id, String name, String description) implements Serializable {
+    public static ProductCategoryDTO of(ProductCategoryListRow row) {
+        return new ProductCategoryDTO(row.id(), row.name(), row.description());
     }
 }
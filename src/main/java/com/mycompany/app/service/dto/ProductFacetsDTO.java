@@ -0,0 +1,36 @@
+package com.mycompany.app.service.dto;
+
+import com.mycompany.app.domain.enumeration.Size;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Number of products matching a filter, by size, category and price range.
+ *
+ * @param total the number of matching products.
+ * @param productSize the number of matching products of each size.
+ * @param productCategory the number of matching products of each category having some, by decreasing count.
+ * @param price the number of matching products in each price range, in price order.
+ */
+public record ProductFacetsDTO(
+    long total,
+    Map<Size, Long> productSize,
+    List<CategoryCount> productCategory,
+    List<PriceRangeCount> price
+) implements Serializable {
+    /**
+     * @param id the id of the category.
+     * @param name the name of the category.
+     * @param count the number of matching products in the category.
+     */
+    public record CategoryCount(Long id, String name, long count) implements Serializable {}
+
+    /**
+     * @param from the inclusive lower bound of the range, {@code null} for the first range.
+     * @param to the exclusive upper bound of the range, {@code null} for the last range.
+     * @param count the number of matching products in the range.
+     */
+    public record PriceRangeCount(BigDecimal from, BigDecimal to, long count) implements Serializable {}
+}
@@ -0,0 +1,21 @@
+package com.mycompany.app.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import.
+ *
+ * @param created the number of products created.
+ * @param updated the number of products updated.
+ * @param failed the number of rows that were not imported.
+ * @param errors why rows were not imported, by line; only the first errors found are reported when
+ * {@code failed} is larger than their number.
+ */
+public record ProductImportReportDTO(long created, long updated, long failed, List<RowError> errors) implements Serializable {
+    /**
+     * @param line the line the row starts on, counting from 1.
+     * @param message why the row was not imported.
+     */
+    public record RowError(long line, String message) implements Serializable {}
+}
@@ -0,0 +1,34 @@
+package com.mycompany.app.service.dto;
+
+import com.mycompany.app.repository.ProductOrderListRow;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A product order as listed.
+ *
+ * @param product the ordered product, only with its id and name.
+ * @param cart the cart the order belongs to, only with its id.
+ */
+public record ProductOrderDTO(Long id, Integer quantity, BigDecimal totalPrice, ProductRef product, CartRef cart) implements Serializable {
+    /**
+     * @param id the id of the product.
+     * @param name the name of the product.
+     */
+    public record ProductRef(Long id, String name) implements Serializable {}
+
+    /**
+     * @param id the id of the cart.
+     */
+    public record CartRef(Long id) implements Serializable {}
+
+    public static ProductOrderDTO of(ProductOrderListRow row) {
+        return new ProductOrderDTO(
+            row.id(),
+            row.quantity(),
+            row.totalPrice(),
+            row.productId() == null ? null : new ProductRef(row.productId(), row.productName()),
+            row.cartId() == null ? null : new CartRef(row.cartId())
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.mycompany.app.service.dto;
+
+import com.mycompany.app.domain.enumeration.Size;
+import jakarta.validation.constraints.DecimalMin;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Change of the prices of the products of a scope: products of a category, of a size and of a list of
+ * ids, each part of the scope being optional but not all of them.
+ *
+ * @param percentage the percentage added to each price, negative to lower prices; exclusive with {@code amount}.
+ * @param amount the amount added to each price, negative to lower prices; exclusive with {@code percentage}.
+ * @param productCategoryId the id of the category of the products to reprice.
+ * @param productSize the size of the products to reprice.
+ * @param ids the ids of the products to reprice.
+ */
+public record ProductRepricingDTO(
+    @DecimalMin(value = "-100", inclusive = false) BigDecimal percentage,
+    BigDecimal amount,
+    Long productCategoryId,
+    Size productSize,
+    @jakarta.validation.constraints.Size(max = 10000) List<Long> ids
+) implements Serializable {}
@@ -0,0 +1,32 @@
+package com.mycompany.app.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of a repricing of products.
+ *
+ * @param id the id of the repricing.
+ * @param status the status of the repricing.
+ * @param total the number of products in the scope when the repricing started.
+ * @param affected the number of products repriced so far.
+ * @param startedAt when the repricing started.
+ * @param durationMs how long the repricing took, or has taken so far if it is running.
+ * @param error why the repricing failed, if it did.
+ */
+public record ProductRepricingJobDTO(
+    UUID id,
+    Status status,
+    long total,
+    long affected,
+    Instant startedAt,
+    long durationMs,
+    String error
+) implements Serializable {
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+}
@@ -0,0 +1,21 @@
+package com.mycompany.app.service.dto;
+
+import com.mycompany.app.repository.SalesRollupRow;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The sales of a product, or of the products of a category, on a day.
+ *
+ * @param date the day, in UTC.
+ * @param id the id of the product or of the category.
+ * @param name the name of the product or of the category, {@code null} if it no longer exists.
+ * @param units the units sold.
+ * @param revenue the revenue of the units sold.
+ */
+public record SalesRollupDTO(LocalDate date, Long id, String name, long units, BigDecimal revenue) implements Serializable {
+    public static SalesRollupDTO of(SalesRollupRow row) {
+        return new SalesRollupDTO(row.salesDate(), row.id(), row.name(), row.units(), row.revenue());
+    }
+}
@@ -0,0 +1,40 @@
+package com.mycompany.app.service.dto;
+
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import com.mycompany.app.repository.ShoppingCartListRow;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A shopping cart as listed, without its orders.
+ *
+ * @param customerDetails the customer the cart belongs to, only with its id.
+ */
+public record ShoppingCartDTO(
+    Long id,
+    Instant placedDate,
+    OrderStatus status,
+    BigDecimal totalPrice,
+    PaymentMethod paymentMethod,
+    String paymentReference,
+    CustomerDetailsRef customerDetails
+) implements Serializable {
+    /**
+     * @param id the id of the customer.
+     */
+    public record CustomerDetailsRef(Long id) implements Serializable {}
+
+    public static ShoppingCartDTO of(ShoppingCartListRow row) {
+        return new ShoppingCartDTO(
+            row.id(),
+            row.placedDate(),
+            row.status(),
+            row.totalPrice(),
+            row.paymentMethod(),
+            row.paymentReference(),
+            row.customerDetailsId() == null ? null : new CustomerDetailsRef(row.customerDetailsId())
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.mycompany.app.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A trending product: its units sold, each weighing less the longer ago it was sold.
+ *
+ * @param id the id of the product.
+ * @param name the name of the product, {@code null} if it no longer exists.
+ * @param units the estimated decayed units sold, never below the actual ones.
+ * @param maxOverestimate the most {@code units} may overestimate the actual decayed units by.
+ */
+public record TrendingProductDTO(Long id, String name, double units, double maxOverestimate) implements Serializable {}
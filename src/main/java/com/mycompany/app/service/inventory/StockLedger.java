@@ -0,0 +1,236 @@
+package com.mycompany.app.service.inventory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory stock counters of the stock-managed products, updated without locking.
+ * <p>
+ * Each product has the units on hand, the units available, and the units reserved, with
+ * {@code available = onHand - reserved}. A reservation is a compare-and-set loop on the available units, the
+ * only check needed not to sell a unit twice; the reserved units are only counted, in a striped counter that
+ * does not add a second contended word. The three counters are not updated atomically together, so a
+ * concurrent read may see them off by the units of the operations in flight; none is lost.
+ * <p>
+ * Products that are not tracked are not stock-managed: any quantity of them can be reserved.
+ */
+public final class StockLedger {
+
+    /**
+     * Counters of a product at some point.
+     *
+     * @param onHand the units on hand.
+     * @param reserved the units on hand reserved by pending carts.
+     * @param available the units that can still be reserved.
+     */
+    public record Counts(long onHand, long reserved, long available) {}
+
+    private static final class Stock {
+
+        private final AtomicLong onHand;
+
+        private final AtomicLong available;
+
+        private final LongAdder reserved = new LongAdder();
+
+        /**
+         * Set by every change, and cleared when the changes are drained to be written.
+         */
+        private volatile boolean changed = true;
+
+        private Stock(long onHand, long reserved) {
+            this.onHand = new AtomicLong(onHand);
+            this.available = new AtomicLong(onHand - reserved);
+            this.reserved.add(reserved);
+        }
+
+        private void changed() {
+            // Only written when it flips, so that a hot product does not keep invalidating the line for its readers
+            if (!changed) {
+                changed = true;
+            }
+        }
+
+        private Counts counts() {
+            return new Counts(onHand.get(), reserved.sum(), available.get());
+        }
+    }
+
+    private final ConcurrentMap<Long, Stock> stocks = new ConcurrentHashMap<>();
+
+    /**
+     * Start tracking a product, or replace its counters.
+     *
+     * @param productId the id of the product.
+     * @param onHand the units on hand.
+     * @param reserved the units on hand already reserved, which may exceed the units on hand.
+     */
+    public void track(Long productId, long onHand, long reserved) {
+        stocks.put(productId, new Stock(onHand, reserved));
+    }
+
+    /**
+     * Stop tracking a product, which is no longer stock-managed.
+     *
+     * @param productId the id of the product.
+     */
+    public void untrack(Long productId) {
+        stocks.remove(productId);
+    }
+
+    public boolean isTracked(Long productId) {
+        return stocks.containsKey(productId);
+    }
+
+    /**
+     * @return the ids of the tracked products.
+     */
+    public Set<Long> getProductIds() {
+        return Set.copyOf(stocks.keySet());
+    }
+
+    /**
+     * Get the counters of a product.
+     *
+     * @param productId the id of the product.
+     * @return the counters, or empty if the product is not tracked.
+     */
+    public Optional<Counts> findCounts(Long productId) {
+        return Optional.ofNullable(stocks.get(productId)).map(Stock::counts);
+    }
+
+    /**
+     * Reserve units of a product if enough of them are available.
+     *
+     * @param productId the id of the product.
+     * @param quantity the units to reserve.
+     * @return whether the units are reserved, always {@code true} if the product is not tracked.
+     */
+    public boolean reserve(Long productId, long quantity) {
+        Stock stock = stocks.get(productId);
+        if (stock == null) {
+            return true;
+        }
+        long available;
+        do {
+            available = stock.available.get();
+            if (available < quantity) {
+                return false;
+            }
+        } while (!stock.available.compareAndSet(available, available - quantity));
+        stock.reserved.add(quantity);
+        stock.changed();
+        return true;
+    }
+
+    /**
+     * Make reserved units of a product available again.
+     *
+     * @param productId the id of the product.
+     * @param quantity the reserved units.
+     */
+    public void release(Long productId, long quantity) {
+        Stock stock = stocks.get(productId);
+        if (stock != null) {
+            stock.reserved.add(-quantity);
+            stock.available.addAndGet(quantity);
+            stock.changed();
+        }
+    }
+
+    /**
+     * Take reserved units of a product off hand, once they are sold.
+     *
+     * @param productId the id of the product.
+     * @param quantity the reserved units.
+     */
+    public void consume(Long productId, long quantity) {
+        Stock stock = stocks.get(productId);
+        if (stock != null) {
+            stock.reserved.add(-quantity);
+            stock.onHand.addAndGet(-quantity);
+            stock.changed();
+        }
+    }
+
+    /**
+     * Take units of a product off hand that were sold without being reserved, even if fewer are available.
+     *
+     * @param productId the id of the product.
+     * @param quantity the units sold.
+     */
+    public void sell(Long productId, long quantity) {
+        adjust(productId, -quantity);
+    }
+
+    /**
+     * Add units of a product on hand, or remove some with a negative quantity.
+     *
+     * @param productId the id of the product.
+     * @param quantity the units to add.
+     */
+    public void adjust(Long productId, long quantity) {
+        Stock stock = stocks.get(productId);
+        if (stock != null) {
+            stock.onHand.addAndGet(quantity);
+            stock.available.addAndGet(quantity);
+            stock.changed();
+        }
+    }
+
+    /**
+     * Set the units of a product on hand, keeping its reservations.
+     *
+     * @param productId the id of the product.
+     * @param onHand the units on hand.
+     * @return the units that were on hand, or empty if the product is not tracked.
+     */
+    public Optional<Long> setOnHand(Long productId, long onHand) {
+        Stock stock = stocks.get(productId);
+        if (stock == null) {
+            return Optional.empty();
+        }
+        // The difference is applied as a delta, so that it composes with the changes made meanwhile
+        long previous = stock.onHand.getAndSet(onHand);
+        stock.available.addAndGet(onHand - previous);
+        stock.changed();
+        return Optional.of(previous);
+    }
+
+    /**
+     * Get the counters of the products changed since the last call, clearing their changes.
+     *
+     * @return the counters of the changed products, by product id.
+     */
+    public Map<Long, Counts> drainChanges() {
+        Map<Long, Counts> changes = new HashMap<>();
+        stocks.forEach((productId, stock) -> {
+            if (stock.changed) {
+                // Cleared before reading, so that a change made meanwhile is drained again next time
+                stock.changed = false;
+                changes.put(productId, stock.counts());
+            }
+        });
+        return changes;
+    }
+
+    /**
+     * Mark products as changed, so that their counters are drained again.
+     *
+     * @param productIds the ids of the products.
+     */
+    public void markChanged(Iterable<Long> productIds) {
+        for (Long productId : productIds) {
+            Stock stock = stocks.get(productId);
+            if (stock != null) {
+                stock.changed();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.mycompany.app.service.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * In-memory inverted index over the name, description and category name of products.
+ * <p>
+ * Every query term must match, the last one as a prefix so that results show up while typing.
+ * Results are ranked with BM25, counting a term in the name three times and in the category name
+ * twice. Searches run concurrently; updates are serialized by a read-write lock.
+ */
+public class ProductSearchIndex {
+
+    private static final float NAME_WEIGHT = 3f;
+
+    private static final float CATEGORY_WEIGHT = 2f;
+
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float K1 = 1.2f;
+
+    private static final float B = 0.75f;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final Comparator<Map.Entry<Long, Float>> RELEVANCE = Map.Entry.<Long, Float>comparingByValue()
+        .reversed()
+        .thenComparing(Map.Entry.comparingByKey());
+
+    private record Document(Map<String, Float> frequencies, float length) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Weighted frequency of each term in each product, by term then product id.
+     */
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private double totalLength;
+
+    /**
+     * Add a product to the index, replacing any previous version of it.
+     *
+     * @param id the id of the product.
+     * @param name the name of the product.
+     * @param description the description of the product, may be {@code null}.
+     * @param categoryName the name of the category of the product, may be {@code null}.
+     */
+    public void index(Long id, String name, String description, String categoryName) {
+        Map<String, Float> frequencies = new HashMap<>();
+        addTerms(frequencies, name, NAME_WEIGHT);
+        addTerms(frequencies, categoryName, CATEGORY_WEIGHT);
+        addTerms(frequencies, description, DESCRIPTION_WEIGHT);
+        float length = (float) frequencies.values().stream().mapToDouble(Float::doubleValue).sum();
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            documents.put(id, new Document(frequencies, length));
+            totalLength += length;
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product from the index.
+     *
+     * @param id the id of the product.
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed products.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search products.
+     *
+     * @param query the query text.
+     * @param pageable the page to return; sorting is ignored, results are ordered by relevance.
+     * @return the ids of the matching products.
+     */
+    public Page<Long> search(String query, Pageable pageable) {
+        List<String> terms = SearchAnalyzer.analyze(query);
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        boolean prefixLast = !Character.isWhitespace(query.charAt(query.length() - 1));
+        Map<Long, Float> scores;
+        lock.readLock().lock();
+        try {
+            scores = score(terms, prefixLast);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(top(scores, pageable), pageable, scores.size());
+    }
+
+    private Map<Long, Float> score(List<String> terms, boolean prefixLast) {
+        double averageLength = documents.isEmpty() ? 1 : totalLength / documents.size();
+        Map<Long, Float> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            Map<String, Map<Long, Float>> matches = prefixLast && i == terms.size() - 1 && term.length() >= MIN_PREFIX_LENGTH
+                ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+                : postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of();
+            Map<Long, Float> previousScores = scores;
+            Map<Long, Float> termScores = new HashMap<>();
+            for (Map<Long, Float> frequencies : matches.values()) {
+                double idf = Math.log(1 + (documents.size() - frequencies.size() + 0.5) / (frequencies.size() + 0.5));
+                frequencies.forEach((id, frequency) -> {
+                    if (previousScores == null || previousScores.containsKey(id)) {
+                        double norm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+                        termScores.merge(id, (float) (idf * frequency * (K1 + 1) / (frequency + norm)), Math::max);
+                    }
+                });
+            }
+            if (previousScores != null) {
+                termScores.replaceAll((id, score) -> score + previousScores.get(id));
+            }
+            scores = termScores;
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+
+    private static List<Long> top(Map<Long, Float> scores, Pageable pageable) {
+        if (pageable.getOffset() >= scores.size()) {
+            return List.of();
+        }
+        // Keep only the best offset + size hits instead of sorting every match
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        PriorityQueue<Map.Entry<Long, Float>> best = new PriorityQueue<>(RELEVANCE.reversed());
+        for (Map.Entry<Long, Float> hit : scores.entrySet()) {
+            best.offer(hit);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Long> ids = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ids.add(best.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids.subList((int) pageable.getOffset(), ids.size());
+    }
+
+    private void removeDocument(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length();
+        document
+            .frequencies()
+            .keySet()
+            .forEach(term -> {
+                Map<Long, Float> frequencies = postings.get(term);
+                frequencies.remove(id);
+                if (frequencies.isEmpty()) {
+                    postings.remove(term);
+                }
+            });
+    }
+
+    private static void addTerms(Map<String, Float> frequencies, String text, float weight) {
+        SearchAnalyzer.analyze(text).forEach(term -> frequencies.merge(term, weight, Float::sum));
+    }
+}
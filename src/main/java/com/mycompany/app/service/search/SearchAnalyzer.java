@@ -0,0 +1,52 @@
+package com.mycompany.app.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns text into search terms: splits it on anything that is not a letter or digit, lower-cases it,
+ * folds accents ({@code "Camión"} becomes {@code "camion"}) and drops the most common Spanish, English
+ * and Dutch stop words.
+ */
+public final class SearchAnalyzer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // prettier-ignore
+    private static final Set<String> STOP_WORDS = Set.of(
+        // en
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or", "the", "to", "with",
+        // es
+        "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los", "o", "para", "por", "que", "se", "su", "un", "una", "y",
+        // nl
+        "aan", "als", "dat", "die", "een", "het", "met", "niet", "op", "te", "van", "voor", "zijn"
+    );
+
+    private SearchAnalyzer() {}
+
+    /**
+     * Analyze a text.
+     *
+     * @param text the text to analyze, may be {@code null}.
+     * @return the terms of the text, in order, including duplicates.
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("").toLowerCase(Locale.ROOT);
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,198 @@
+package com.mycompany.app.service.trending;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Approximate top products by units sold, forgetting older sales over time: the Space-Saving algorithm over
+ * exponentially decayed units.
+ * <p>
+ * A unit sold {@code age} ago weighs {@code exp(-age / timeConstant)}, so a sale counts for about a third after one
+ * time constant and is all but forgotten after a few. The weights are kept relative to a landmark time (forward
+ * decay), so that an offer only touches one counter; they are rescaled to a new landmark before they could overflow.
+ * <p>
+ * At most {@code capacity} products are counted, in a min-heap of counters indexed by a primitive map, so the memory
+ * used does not depend on the number of products sold. When all counters are taken, a new product takes over the
+ * smallest one, inheriting its count as its error. With {@code N} the decayed units of all the products offered:
+ * <ul>
+ *     <li>the count of a product is never below its decayed units, and overestimates them by at most its error,
+ *     itself at most {@code N / capacity};</li>
+ *     <li>every product whose decayed units exceed {@code N / capacity} is counted.</li>
+ * </ul>
+ * The methods are synchronized, an offer costing {@code O(log capacity)}.
+ */
+public final class DecayingSpaceSaving {
+
+    /**
+     * The decayed units of a product at some point.
+     *
+     * @param productId the id of the product.
+     * @param count the estimated decayed units, never below the actual ones.
+     * @param error the most {@code count} may overestimate them by.
+     */
+    public record Entry(long productId, double count, double error) {}
+
+    /**
+     * Exponent of the decay past which the weights are rescaled, far below the 709 at which they would overflow.
+     */
+    private static final double MAX_EXPONENT = 64;
+
+    private final int capacity;
+
+    private final double timeConstantMillis;
+
+    /**
+     * The counters, ordered as a min-heap on their counts.
+     */
+    private final long[] productIds;
+
+    private final double[] counts;
+
+    private final double[] errors;
+
+    /**
+     * The position of each counted product in the heap.
+     */
+    private final LongIntHashMap positions;
+
+    private int size;
+
+    private double total;
+
+    private long landmark;
+
+    /**
+     * @param capacity the number of products counted.
+     * @param timeConstant the time after which a sale weighs {@code 1/e}.
+     * @param now the current time, in milliseconds.
+     */
+    public DecayingSpaceSaving(int capacity, Duration timeConstant, long now) {
+        if (capacity < 1 || timeConstant.isNegative() || timeConstant.isZero()) {
+            throw new IllegalArgumentException("The capacity and the time constant must be positive");
+        }
+        this.capacity = capacity;
+        this.timeConstantMillis = timeConstant.toMillis();
+        this.productIds = new long[capacity];
+        this.counts = new double[capacity];
+        this.errors = new double[capacity];
+        this.positions = new LongIntHashMap(capacity);
+        this.landmark = now;
+    }
+
+    /**
+     * Count units of a product sold.
+     *
+     * @param productId the id of the product.
+     * @param units the units sold.
+     * @param now the current time, in milliseconds.
+     */
+    public synchronized void offer(long productId, long units, long now) {
+        if (units <= 0) {
+            return;
+        }
+        rescale(now);
+        double weight = units * Math.exp((now - landmark) / timeConstantMillis);
+        total += weight;
+        int position = positions.getOrDefault(productId, -1);
+        if (position >= 0) {
+            counts[position] += weight;
+            siftDown(position);
+        } else if (size < capacity) {
+            set(size, productId, weight, 0);
+            siftUp(size++);
+        } else {
+            // The smallest counter goes to the new product, which may have sold as many units as it counted
+            positions.remove(productIds[0]);
+            set(0, productId, counts[0] + weight, counts[0]);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Get the products with the most decayed units.
+     *
+     * @param limit the most products to get.
+     * @param now the current time, in milliseconds.
+     * @return the products by descending count.
+     */
+    public synchronized List<Entry> top(int limit, long now) {
+        double scale = Math.exp(-(now - landmark) / timeConstantMillis);
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(productIds[i], counts[i] * scale, errors[i] * scale));
+        }
+        entries.sort(Comparator.comparingDouble(Entry::count).reversed());
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+    }
+
+    /**
+     * @param now the current time, in milliseconds.
+     * @return the most any count may overestimate the decayed units of its product by, {@code N / capacity}.
+     */
+    public synchronized double maxError(long now) {
+        return size < capacity ? 0 : (total * Math.exp(-(now - landmark) / timeConstantMillis)) / capacity;
+    }
+
+    private void rescale(long now) {
+        double exponent = (now - landmark) / timeConstantMillis;
+        if (exponent <= MAX_EXPONENT) {
+            return;
+        }
+        // Scaling all the counters alike keeps the heap ordered
+        double scale = Math.exp(-exponent);
+        for (int i = 0; i < size; i++) {
+            counts[i] *= scale;
+            errors[i] *= scale;
+        }
+        total *= scale;
+        landmark = now;
+    }
+
+    private void set(int position, long productId, double count, double error) {
+        productIds[position] = productId;
+        counts[position] = count;
+        errors[position] = error;
+        positions.put(productId, position);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (counts[parent] <= counts[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        long productId = productIds[i];
+        double count = counts[i];
+        double error = errors[i];
+        set(i, productIds[j], counts[j], errors[j]);
+        set(j, productId, count, error);
+    }
+}
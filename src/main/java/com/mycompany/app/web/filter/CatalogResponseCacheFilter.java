@@ -0,0 +1,148 @@
+package com.mycompany.app.web.filter;
+
+import com.mycompany.app.service.ProductCatalogService;
+import com.mycompany.app.service.catalog.CatalogSnapshot;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Caches the encoded JSON responses of product and product category reads, so that a repeated read is a
+ * memory copy instead of a query and a serialization.
+ * <p>
+ * Responses are cached by path, query parameters and locale under the current catalog version, which
+ * changes with every committed product or category change: entries of a previous version are never read
+ * again, and are dropped as soon as a response of a newer version is cached. Every cacheable response
+ * carries a strong {@code ETag}, and a matching {@code If-None-Match} is answered with
+ * {@code 304 (Not Modified)}.
+ */
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * The trending products change with the sales rather than with the catalog, so they are not cached.
+     */
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("/api/(products|product-categories)(/(?!trending$)[^/]+)?");
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private static final int MAX_BODY_SIZE = 1024 * 1024;
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private record CachedResponse(byte[] body, String contentType, Map<String, List<String>> headers, String eTag) {}
+
+    private record Generation(long version, ConcurrentMap<String, CachedResponse> responses) {}
+
+    private final ProductCatalogService productCatalogService;
+
+    private final AtomicReference<Generation> generation = new AtomicReference<>(new Generation(0, new ConcurrentHashMap<>()));
+
+    public CatalogResponseCacheFilter(ProductCatalogService productCatalogService) {
+        this.productCatalogService = productCatalogService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !HttpMethod.GET.matches(request.getMethod()) || !CACHEABLE_PATH.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        // Within a transaction the response may hold uncommitted changes that no version covers
+        Optional<CatalogSnapshot> snapshot = productCatalogService.getSnapshot();
+        if (snapshot.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // Read before the response is produced, so that it is at least as recent as the version
+        long version = snapshot.orElseThrow().getVersion();
+        String key = key(request);
+        Generation current = generation.get();
+        CachedResponse cached = current.version() == version ? current.responses().get(key) : null;
+        if (cached != null) {
+            cached.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            write(cached, request, response);
+            return;
+        }
+
+        Set<String> headersBefore = new HashSet<>(response.getHeaderNames());
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        if (
+            wrapper.getStatus() != HttpStatus.OK.value() ||
+            wrapper.getContentType() == null ||
+            !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(wrapper.getContentType())) ||
+            wrapper.getContentSize() > MAX_BODY_SIZE
+        ) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!headersBefore.contains(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        byte[] body = wrapper.getContentAsByteArray();
+        cached = new CachedResponse(body, wrapper.getContentType(), headers, "\"0" + DigestUtils.md5DigestAsHex(body) + "\"");
+        store(version, key, cached);
+        write(cached, request, response);
+    }
+
+    private void store(long version, String key, CachedResponse cached) {
+        Generation current = generation.updateAndGet(existing ->
+            existing.version() < version ? new Generation(version, new ConcurrentHashMap<>()) : existing
+        );
+        if (current.version() == version && current.responses().size() < MAX_ENTRIES) {
+            current.responses().putIfAbsent(key, cached);
+        }
+    }
+
+    private static void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(cached.eTag())) {
+            return;
+        }
+        response.setHeader(HttpHeaders.ETAG, cached.eTag());
+        response.setContentType(cached.contentType());
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI()).append('?');
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                key.append(UriUtils.encode(name, StandardCharsets.UTF_8)).append('=');
+                key.append(UriUtils.encode(value, StandardCharsets.UTF_8)).append('&');
+            }
+        });
+        return key.append('#').append(request.getLocale().toLanguageTag()).toString();
+    }
+}
@@ -0,0 +1,205 @@
+package com.mycompany.app.web.filter;
+
+import com.mycompany.app.security.SecurityUtils;
+import com.mycompany.app.service.IdempotencyKeyReusedException;
+import com.mycompany.app.service.IdempotencyService;
+import com.mycompany.app.service.IdempotentRequestInProgressException;
+import com.mycompany.app.service.dto.IdempotentResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Honors the {@code Idempotency-Key} header of the requests creating or updating carts and order lines, so that a
+ * client retrying one of them after a timeout gets the original response instead of a duplicate.
+ * <p>
+ * The body of such a request is read up front, and the {@link IdempotencyService} either replays the response to a
+ * previous request with the same key, marked by an {@code Idempotent-Replayed} header, or lets the request execute
+ * and stores its response. A key sent again with a different method, path or body is answered with
+ * {@code 422 (Unprocessable Entity)}, and a duplicate of a request that is still executing elsewhere with
+ * {@code 409 (Conflict)}.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final Pattern IDEMPOTENT_PATH = Pattern.compile("/api/((shopping-carts|product-orders)(/[^/]+)?|checkout)");
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of(HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name());
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final int MAX_BODY_SIZE = 1024 * 1024;
+
+    private final IdempotencyService idempotencyService;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService) {
+        this.idempotencyService = idempotencyService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return (
+            request.getHeader(IDEMPOTENCY_KEY) == null ||
+            !IDEMPOTENT_METHODS.contains(request.getMethod()) ||
+            !IDEMPOTENT_PATH.matcher(path).matches()
+        );
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + IDEMPOTENCY_KEY + " header");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_SIZE + 1);
+        if (body.length > MAX_BODY_SIZE) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String scope = SecurityUtils.getCurrentUserLogin().orElse("");
+        String requestHash = hash(request, body);
+
+        Optional<IdempotentResponse> replayed;
+        try {
+            replayed = idempotencyService.begin(scope, idempotencyKey, requestHash);
+        } catch (IdempotencyKeyReusedException e) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), e.getMessage());
+            return;
+        } catch (IdempotentRequestInProgressException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.CONFLICT.value(), e.getMessage());
+            return;
+        }
+        if (replayed.isPresent()) {
+            write(replayed.orElseThrow(), response);
+            return;
+        }
+
+        Set<String> headersBefore = new HashSet<>(response.getHeaderNames());
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), wrapper);
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : response.getHeaderNames()) {
+                if (!headersBefore.contains(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                    headers.put(name, List.copyOf(response.getHeaders(name)));
+                }
+            }
+            idempotencyService.complete(
+                scope,
+                idempotencyKey,
+                new IdempotentResponse(requestHash, wrapper.getStatus(), wrapper.getContentType(), headers, wrapper.getContentAsByteArray())
+            );
+            completed = true;
+        } finally {
+            if (!completed) {
+                idempotencyService.abandon(scope, idempotencyKey);
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static void write(IdempotentResponse replayed, HttpServletResponse response) throws IOException {
+        response.setStatus(replayed.status());
+        replayed.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (replayed.contentType() != null) {
+            response.setContentType(replayed.contentType());
+        }
+        response.setContentLength(replayed.body().length);
+        response.getOutputStream().write(replayed.body());
+    }
+
+    private static String hash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A request whose body was read up front, and is read again from memory.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.mycompany.app.web.rest;
+
+import com.mycompany.app.service.ActiveCartService;
+import com.mycompany.app.service.CheckoutRejectedException;
+import com.mycompany.app.service.dto.ActiveCartDTO;
+import com.mycompany.app.service.dto.ActiveCartLineDTO;
+import com.mycompany.app.web.rest.errors.BadRequestAlertException;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for the pending cart the current user is filling, held in memory by the {@link ActiveCartService}.
+ */
+@RestController
+@RequestMapping("/api/account/cart")
+public class ActiveCartResource {
+
+    private final Logger log = LoggerFactory.getLogger(ActiveCartResource.class);
+
+    private static final String ENTITY_NAME = "shoppingCart";
+
+    private final ActiveCartService activeCartService;
+
+    public ActiveCartResource(ActiveCartService activeCartService) {
+        this.activeCartService = activeCartService;
+    }
+
+    /**
+     * {@code GET  /account/cart} : get the pending cart of the current user.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cart, or with status {@code 404 (Not Found)}
+     * if the current user has no pending cart, or with status {@code 400 (Bad Request)} if the current user has no customer details.
+     */
+    @GetMapping("")
+    public ResponseEntity<ActiveCartDTO> getActiveCart() {
+        log.debug("REST request to get the active cart");
+        try {
+            return ResponseUtil.wrapOrNotFound(activeCartService.findCurrent());
+        } catch (CheckoutRejectedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        }
+    }
+
+    /**
+     * {@code PUT  /account/cart/lines/:productId} : set the quantity of a product in the pending cart of the current user.
+     *
+     * @param productId the id of the product.
+     * @param line the new quantity of the product, {@code 0} to remove it.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cart, or with status {@code 400 (Bad Request)}
+     * if the current user has no pending cart, the product does not exist or the cart has too many lines.
+     */
+    @PutMapping("/lines/{productId}")
+    public ResponseEntity<ActiveCartDTO> setActiveCartLine(
+        @PathVariable("productId") Long productId,
+        @Valid @RequestBody ActiveCartLineDTO line
+    ) {
+        log.debug("REST request to set the quantity of Product {} in the active cart : {}", productId, line);
+        try {
+            return ResponseEntity.ok(activeCartService.setLine(productId, line.quantity()));
+        } catch (CheckoutRejectedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.mycompany.app.web.rest;
+
+import com.mycompany.app.security.AuthoritiesConstants;
+import com.mycompany.app.service.SalesRollupService;
+import com.mycompany.app.service.dto.SalesRollupDTO;
+import com.mycompany.app.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the sales analytics, read from the rollups maintained by the {@link SalesRollupService}.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+public class AnalyticsResource {
+
+    private final Logger log = LoggerFactory.getLogger(AnalyticsResource.class);
+
+    private static final String ENTITY_NAME = "sales";
+
+    /**
+     * Longest range of days that can be read or rebuilt at once.
+     */
+    static final int MAX_DAYS = 366;
+
+    private final SalesRollupService salesRollupService;
+
+    public AnalyticsResource(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    /**
+     * {@code GET  /analytics/sales} : get the units sold and their revenue on each day of a range, by product or by category.
+     *
+     * @param from the first day, in UTC.
+     * @param to the last day, included.
+     * @param groupBy {@code product} or {@code category}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sales by day in body, or with status
+     * {@code 400 (Bad Request)} if the range or the grouping is invalid.
+     */
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesRollupDTO>> getSales(
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(name = "groupBy", defaultValue = "product") String groupBy
+    ) {
+        log.debug("REST request to get the sales from {} to {} by {}", from, to, groupBy);
+        checkRange(from, to);
+        SalesRollupService.Dimension dimension;
+        try {
+            dimension = SalesRollupService.Dimension.valueOf(groupBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid grouping", ENTITY_NAME, "invalidgroupby");
+        }
+        return ResponseEntity.ok(salesRollupService.findDaily(from, to, dimension));
+    }
+
+    /**
+     * {@code POST  /analytics/sales/rebuild} : recompute the sales of a range of days from the orders.
+     *
+     * @param from the first day, in UTC.
+     * @param to the last day, included.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of carts counted in body, or with
+     * status {@code 400 (Bad Request)} if the range is invalid.
+     */
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<Integer> rebuildSales(
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        log.debug("REST request to rebuild the sales from {} to {}", from, to);
+        checkRange(from, to);
+        return ResponseEntity.ok(salesRollupService.rebuild(from, to));
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new BadRequestAlertException("Invalid range of days", ENTITY_NAME, "invalidrange");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.mycompany.app.web.rest;
+
+import com.mycompany.app.service.CheckoutRejectedException;
+import com.mycompany.app.service.CheckoutService;
+import com.mycompany.app.service.dto.CheckoutDTO;
+import com.mycompany.app.service.dto.CheckoutReceiptDTO;
+import com.mycompany.app.web.rest.errors.BadRequestAlertException;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.net.URISyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for checking out a cart in a single request.
+ */
+@RestController
+@RequestMapping("/api/checkout")
+public class CheckoutResource {
+
+    private final Logger log = LoggerFactory.getLogger(CheckoutResource.class);
+
+    private static final String ENTITY_NAME = "shoppingCart";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final CheckoutService checkoutService;
+
+    public CheckoutResource(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    /**
+     * {@code POST  /checkout} : Place a cart of the current user with all its order lines, the totals being computed
+     * from the current product prices.
+     *
+     * @param checkout the payment and lines of the cart.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the placed cart and its order lines,
+     * or with status {@code 400 (Bad Request)} if the current user has no customer details or a product does not exist.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("")
+    public ResponseEntity<CheckoutReceiptDTO> checkout(@Valid @RequestBody CheckoutDTO checkout) throws URISyntaxException {
+        log.debug("REST request to checkout : {}", checkout);
+        CheckoutReceiptDTO receipt;
+        try {
+            receipt = checkoutService.checkout(checkout);
+        } catch (CheckoutRejectedException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, e.getErrorKey());
+        }
+        return ResponseEntity.created(new URI("/api/shopping-carts/" + receipt.cart().id()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, receipt.cart().id().toString()))
+            .body(receipt);
+    }
+}
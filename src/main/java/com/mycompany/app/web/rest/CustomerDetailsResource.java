@@ -3,7 +3,9 @@ package com.mycompany.app.web.rest;
 import com.mycompany.app.domain.CustomerDetails;
 import com.mycompany.app.repository.CustomerDetailsRepository;
 import com.mycompany.app.service.CustomerDetailsService;
+import com.mycompany.app.service.dto.CustomerDetailsDTO;
 import com.mycompany.app.web.rest.errors.BadRequestAlertException;
+import com.mycompany.app.web.rest.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -14,8 +16,11 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -35,6 +40,8 @@ public class CustomerDetailsResource {
 
     private static final String ENTITY_NAME = "customerDetails";
 
+    private static final List<String> KEYSET_SORT_PROPERTIES = List.of("id", "gender", "phone", "addressLine1", "city", "country");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -140,21 +147,40 @@ public class CustomerDetailsResource {
      * {@code GET  /customer-details} : get all the customerDetails.
      *
      * @param pageable the pagination information.
-     * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many); the id and
+     * login of the user are always listed, read with the same query.
+     * @param after the keyset pagination cursor, empty for the first page; when present the page number is ignored and no
+     * total count is returned.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customerDetails in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<CustomerDetails>> getAllCustomerDetails(
+    public ResponseEntity<List<CustomerDetailsDTO>> getAllCustomerDetails(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after
     ) {
-        log.debug("REST request to get a page of CustomerDetails");
-        Page<CustomerDetails> page;
-        if (eagerload) {
-            page = customerDetailsService.findAllWithEagerRelationships(pageable);
-        } else {
-            page = customerDetailsService.findAll(pageable);
+        if (after != null) {
+            log.debug("REST request to get a window of CustomerDetails");
+            KeysetScrollPosition position = KeysetPaginationUtil.decodeCursor(
+                after,
+                CustomerDetails.class,
+                pageable.getSort(),
+                KEYSET_SORT_PROPERTIES,
+                ENTITY_NAME
+            );
+            Window<CustomerDetailsDTO> window = customerDetailsService.findAll(
+                position,
+                pageable.getSort(),
+                Limit.of(pageable.getPageSize())
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
         }
+        log.debug("REST request to get a page of CustomerDetails");
+        Page<CustomerDetailsDTO> page = customerDetailsService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
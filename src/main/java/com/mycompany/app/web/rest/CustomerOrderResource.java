@@ -0,0 +1,51 @@
+package com.mycompany.app.web.rest;
+
+import com.mycompany.app.service.CustomerOrderService;
+import com.mycompany.app.service.dto.CustomerOrderDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * REST controller for the order history of the current user.
+ */
+@RestController
+@RequestMapping("/api/account/orders")
+public class CustomerOrderResource {
+
+    private final Logger log = LoggerFactory.getLogger(CustomerOrderResource.class);
+
+    private final CustomerOrderService customerOrderService;
+
+    public CustomerOrderResource(CustomerOrderService customerOrderService) {
+        this.customerOrderService = customerOrderService;
+    }
+
+    /**
+     * {@code GET  /account/orders} : get the carts of the current user with their lines, most recent first by default.
+     *
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of carts in body.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<CustomerOrderDTO>> getCurrentUserOrders(
+        @org.springdoc.core.annotations.ParameterObject @PageableDefault(
+            sort = { "placedDate", "id" },
+            direction = Sort.Direction.DESC
+        ) Pageable pageable
+    ) {
+        log.debug("REST request to get a page of the orders of the current user");
+        Page<CustomerOrderDTO> page = customerOrderService.findCurrentUserOrders(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+}
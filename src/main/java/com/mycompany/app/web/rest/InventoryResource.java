@@ -0,0 +1,67 @@
+package com.mycompany.app.web.rest;
+
+import com.mycompany.app.security.AuthoritiesConstants;
+import com.mycompany.app.service.InventoryService;
+import com.mycompany.app.service.dto.InventoryDTO;
+import com.mycompany.app.service.dto.InventoryStockDTO;
+import com.mycompany.app.web.rest.errors.BadRequestAlertException;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for the stock of the products, held in memory by the {@link InventoryService}.
+ */
+@RestController
+@RequestMapping("/api/inventory")
+public class InventoryResource {
+
+    private final Logger log = LoggerFactory.getLogger(InventoryResource.class);
+
+    private static final String ENTITY_NAME = "inventory";
+
+    private final InventoryService inventoryService;
+
+    public InventoryResource(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    /**
+     * {@code GET  /inventory/:productId} : get the stock of a product.
+     *
+     * @param productId the id of the product.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the stock, or with status {@code 404 (Not Found)}
+     * if the product is not stock-managed.
+     */
+    @GetMapping("/{productId}")
+    public ResponseEntity<InventoryDTO> getInventory(@PathVariable("productId") Long productId) {
+        log.debug("REST request to get Inventory : {}", productId);
+        return ResponseUtil.wrapOrNotFound(inventoryService.findOne(productId));
+    }
+
+    /**
+     * {@code PUT  /inventory/:productId} : set the units of a product on hand, making it stock-managed if it was not.
+     *
+     * @param productId the id of the product.
+     * @param stock the units on hand.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the stock, or with status {@code 400 (Bad Request)}
+     * if the product does not exist.
+     */
+    @PutMapping("/{productId}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<InventoryDTO> updateInventory(
+        @PathVariable("productId") Long productId,
+        @Valid @RequestBody InventoryStockDTO stock
+    ) {
+        log.debug("REST request to set Inventory : {}, {}", productId, stock);
+        return ResponseEntity.ok(
+            inventoryService
+                .setOnHand(productId, stock.onHand())
+                .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"))
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.mycompany.app.web.rest;
 import com.mycompany.app.domain.ProductCategory;
 import com.mycompany.app.repository.ProductCategoryRepository;
 import com.mycompany.app.service.ProductCategoryService;
+import com.mycompany.app.service.dto.ProductCategoryDTO;
 import com.mycompany.app.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -143,11 +144,11 @@ public class ProductCategoryResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productCategories in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<ProductCategory>> getAllProductCategories(
+    public ResponseEntity<List<ProductCategoryDTO>> getAllProductCategories(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get a page of ProductCategories");
-        Page<ProductCategory> page = productCategoryService.findAll(pageable);
+        Page<ProductCategoryDTO> page = productCategoryService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
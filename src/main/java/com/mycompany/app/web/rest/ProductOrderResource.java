@@ -1,9 +1,15 @@
 package com.mycompany.app.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.app.domain.ProductOrder;
 import com.mycompany.app.repository.ProductOrderRepository;
+import com.mycompany.app.service.ProductOrderQueryService;
 import com.mycompany.app.service.ProductOrderService;
+import com.mycompany.app.service.criteria.ProductOrderCriteria;
+import com.mycompany.app.service.dto.ProductOrderDTO;
 import com.mycompany.app.web.rest.errors.BadRequestAlertException;
+import com.mycompany.app.web.rest.util.KeysetPaginationUtil;
+import com.mycompany.app.web.rest.util.NdjsonExportUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -14,9 +20,19 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -30,6 +46,8 @@ public class ProductOrderResource {
 
     private static final String ENTITY_NAME = "productOrder";
 
+    private static final List<String> KEYSET_SORT_PROPERTIES = List.of("id", "quantity", "totalPrice");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -37,9 +55,20 @@ public class ProductOrderResource {
 
     private final ProductOrderRepository productOrderRepository;
 
-    public ProductOrderResource(ProductOrderService productOrderService, ProductOrderRepository productOrderRepository) {
+    private final ProductOrderQueryService productOrderQueryService;
+
+    private final ObjectMapper objectMapper;
+
+    public ProductOrderResource(
+        ProductOrderService productOrderService,
+        ProductOrderRepository productOrderRepository,
+        ProductOrderQueryService productOrderQueryService,
+        ObjectMapper objectMapper
+    ) {
         this.productOrderService = productOrderService;
         this.productOrderRepository = productOrderRepository;
+        this.productOrderQueryService = productOrderQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -133,15 +162,64 @@ public class ProductOrderResource {
     /**
      * {@code GET  /product-orders} : get all the productOrders.
      *
-     * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many); the id and
+     * name of the product are always listed, read with the same query.
+     * @param after the keyset pagination cursor, empty for the first page; when present the page number is ignored and no
+     * total count is returned.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of productOrders in body.
      */
     @GetMapping("")
-    public List<ProductOrder> getAllProductOrders(
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+    public ResponseEntity<List<ProductOrderDTO>> getAllProductOrders(
+        ProductOrderCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after
     ) {
-        log.debug("REST request to get all ProductOrders");
-        return productOrderService.findAll();
+        if (after != null) {
+            log.debug("REST request to get a window of ProductOrders by criteria: {}", criteria);
+            KeysetScrollPosition position = KeysetPaginationUtil.decodeCursor(
+                after,
+                ProductOrder.class,
+                pageable.getSort(),
+                KEYSET_SORT_PROPERTIES,
+                ENTITY_NAME
+            );
+            Window<ProductOrderDTO> window = productOrderQueryService.findByCriteria(
+                criteria,
+                position,
+                pageable.getSort(),
+                Limit.of(pageable.getPageSize())
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        log.debug("REST request to get a page of ProductOrders by criteria: {}", criteria);
+        Page<ProductOrderDTO> page = productOrderQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /product-orders/_export} : export all the productOrders, one JSON object per line.
+     * <p>
+     * The orders are streamed from the database as the response is written, whatever their number.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the productOrders in id order in body.
+     */
+    @GetMapping(value = "/_export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProductOrders(ProductOrderCriteria criteria) {
+        log.debug("REST request to export ProductOrders by criteria: {}", criteria);
+        return NdjsonExportUtil.exportResponse(
+            objectMapper,
+            "product-orders.ndjson",
+            consumer -> productOrderQueryService.exportByCriteria(criteria, consumer)
+        );
     }
 
     /**
@@ -2,23 +2,62 @@ package com.mycompany.app.web.rest;
 
 import com.mycompany.app.domain.Product;
 import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.repository.ProductImageMetadata;
+import com.mycompany.app.service.ProductCatalogService;
+import com.mycompany.app.service.ProductImageService;
+import com.mycompany.app.service.ProductImageVariantService;
+import com.mycompany.app.service.ProductImportService;
+import com.mycompany.app.service.ProductQueryService;
+import com.mycompany.app.service.ProductRepricingService;
 import com.mycompany.app.service.ProductService;
+import com.mycompany.app.service.TrendingProductService;
+import com.mycompany.app.service.bulk.CsvRowReader;
+import com.mycompany.app.service.bulk.ImportRow;
+import com.mycompany.app.service.bulk.NdjsonRowReader;
+import com.mycompany.app.service.catalog.CatalogSnapshot;
+import com.mycompany.app.service.criteria.ProductCriteria;
+import com.mycompany.app.service.dto.ProductFacetsDTO;
+import com.mycompany.app.service.dto.ProductImportReportDTO;
+import com.mycompany.app.service.dto.ProductRepricingDTO;
+import com.mycompany.app.service.dto.ProductRepricingJobDTO;
+import com.mycompany.app.service.dto.TrendingProductDTO;
 import com.mycompany.app.web.rest.errors.BadRequestAlertException;
+import com.mycompany.app.web.rest.util.KeysetPaginationUtil;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -35,6 +74,22 @@ public class ProductResource {
 
     private static final String ENTITY_NAME = "product";
 
+    public static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+
+    private static final ProductCriteria NO_CRITERIA = new ProductCriteria();
+
+    private static final List<String> KEYSET_SORT_PROPERTIES = List.of("id", "name", "price", "productSize");
+
+    private static final String DEFAULT_PRICE_BREAKS = "10,25,50,100,250";
+
+    private static final int MAX_PRICE_BREAKS = 20;
+
+    private static final String BULK_CSV = "text/csv";
+
+    private static final String BULK_NDJSON = "application/x-ndjson";
+
+    private static final int MAX_TRENDING_SIZE = 50;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +97,40 @@ public class ProductResource {
 
     private final ProductRepository productRepository;
 
-    public ProductResource(ProductService productService, ProductRepository productRepository) {
+    private final ProductImageService productImageService;
+
+    private final ProductImageVariantService productImageVariantService;
+
+    private final ProductQueryService productQueryService;
+
+    private final ProductCatalogService productCatalogService;
+
+    private final ProductImportService productImportService;
+
+    private final ProductRepricingService productRepricingService;
+
+    private final TrendingProductService trendingProductService;
+
+    public ProductResource(
+        ProductService productService,
+        ProductRepository productRepository,
+        ProductImageService productImageService,
+        ProductImageVariantService productImageVariantService,
+        ProductQueryService productQueryService,
+        ProductCatalogService productCatalogService,
+        ProductImportService productImportService,
+        ProductRepricingService productRepricingService,
+        TrendingProductService trendingProductService
+    ) {
         this.productService = productService;
         this.productRepository = productRepository;
+        this.productImageService = productImageService;
+        this.productImageVariantService = productImageVariantService;
+        this.productQueryService = productQueryService;
+        this.productCatalogService = productCatalogService;
+        this.productImportService = productImportService;
+        this.productRepricingService = productRepricingService;
+        this.trendingProductService = trendingProductService;
     }
 
     /**
@@ -66,6 +152,84 @@ public class ProductResource {
             .body(product);
     }
 
+    /**
+     * {@code POST  /products/_bulk} : Create or update products in bulk.
+     * <p>
+     * The body is read as a stream, as CSV with a header line or as newline-delimited JSON. Each row has the
+     * {@code name}, {@code description}, {@code price} and {@code productSize} of a product and the name of
+     * its {@code productCategory}; a row with an {@code id} updates that product. Rows are written in chunks,
+     * so the rows written before a failure stay written.
+     *
+     * @param contentType the type of the body, {@code text/csv} or {@code application/x-ndjson}.
+     * @param body the rows to import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the report of the import,
+     * listing the rows that were not imported.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/_bulk", consumes = { BULK_CSV, BULK_NDJSON })
+    public ResponseEntity<ProductImportReportDTO> importProducts(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+        InputStream body
+    ) throws IOException {
+        log.debug("REST request to import Products as {}", contentType);
+        Charset charset = Optional.ofNullable(contentType.getCharset()).orElse(StandardCharsets.UTF_8);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+            Iterator<ImportRow> rows = MediaType.valueOf(BULK_CSV).includes(contentType)
+                ? new CsvRowReader(reader)
+                : new NdjsonRowReader(reader);
+            return ResponseEntity.ok().body(productImportService.importProducts(rows));
+        }
+    }
+
+    /**
+     * {@code POST  /products/_reprice} : Change the prices of the products of a scope.
+     * <p>
+     * Prices are changed by a percentage or an amount, rounded to cents and never below zero, with set-based
+     * updates committed in chunks: a repricing that fails keeps the prices changed so far.
+     *
+     * @param repricing the price change and the scope of the products to reprice.
+     * @param async whether to return as soon as the repricing has started.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of the repricing,
+     * or with status {@code 202 (Accepted)} and with body its progress, which can then be polled at the {@code Location} URI,
+     * or with status {@code 400 (Bad Request)} if the price change or the scope is invalid.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/_reprice")
+    public ResponseEntity<ProductRepricingJobDTO> repriceProducts(
+        @Valid @RequestBody ProductRepricingDTO repricing,
+        @RequestParam(name = "async", defaultValue = "false") boolean async
+    ) throws URISyntaxException {
+        log.debug("REST request to reprice Products : {}", repricing);
+        if ((repricing.percentage() == null) == (repricing.amount() == null)) {
+            throw new BadRequestAlertException("Either a percentage or an amount is required", ENTITY_NAME, "repricinginvalid");
+        }
+        if (
+            repricing.productCategoryId() == null &&
+            repricing.productSize() == null &&
+            (repricing.ids() == null || repricing.ids().isEmpty())
+        ) {
+            throw new BadRequestAlertException("A category, a size or ids are required", ENTITY_NAME, "repricingscopeempty");
+        }
+        if (!async) {
+            return ResponseEntity.ok().body(productRepricingService.reprice(repricing));
+        }
+        ProductRepricingJobDTO job = productRepricingService.repriceAsync(repricing);
+        return ResponseEntity.accepted().location(new URI("/api/products/_reprice/" + job.id())).body(job);
+    }
+
+    /**
+     * {@code GET  /products/_reprice/:jobId} : get the progress of a repricing.
+     *
+     * @param jobId the id of the repricing.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the progress of the repricing,
+     * or with status {@code 404 (Not Found)} if it is unknown or ended more than an hour ago.
+     */
+    @GetMapping("/_reprice/{jobId}")
+    public ResponseEntity<ProductRepricingJobDTO> getRepricing(@PathVariable("jobId") UUID jobId) {
+        log.debug("REST request to get the progress of repricing : {}", jobId);
+        return ResponseUtil.wrapOrNotFound(productRepricingService.findJob(jobId));
+    }
+
     /**
      * {@code PUT  /products/:id} : Updates an existing product.
      *
@@ -105,7 +269,7 @@ public class ProductResource {
      * @param id the id of the product to save.
      * @param product the product to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated product,
-     * or with status {@code 400 (Bad Request)} if the product is not valid,
+     * or with status {@code 400 (Bad Request)} if the product is not valid or changes the image content type without the image,
      * or with status {@code 404 (Not Found)} if the product is not found,
      * or with status {@code 500 (Internal Server Error)} if the product couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -126,6 +290,14 @@ public class ProductResource {
         if (!productRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        // The content type belongs to the stored image, which other products may share
+        if (product.getImageContentType() != null && product.getImage() == null) {
+            throw new BadRequestAlertException(
+                "The image content type can only be changed with the image",
+                ENTITY_NAME,
+                "imagecontenttype"
+            );
+        }
 
         Optional<Product> result = productService.partialUpdate(product);
 
@@ -137,38 +309,229 @@ public class ProductResource {
 
     /**
      * {@code GET  /products} : get all the products.
+     * <p>
+     * Unfiltered pages sorted by id, name or price are served from the in-memory catalog. The response
+     * carries the catalog version in the {@code X-Catalog-Version} header, which changes whenever a
+     * product or a category does.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
-     * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param after the keyset pagination cursor, empty for the first page; when present the page number is ignored and no
+     * total count is returned.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of products in body.
      */
     @GetMapping("")
     public ResponseEntity<List<Product>> getAllProducts(
+        ProductCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after
     ) {
-        log.debug("REST request to get a page of Products");
-        Page<Product> page;
-        if (eagerload) {
-            page = productService.findAllWithEagerRelationships(pageable);
-        } else {
-            page = productService.findAll(pageable);
+        if (after == null && NO_CRITERIA.equals(criteria)) {
+            Optional<CatalogSnapshot> snapshot = productCatalogService.getSnapshot();
+            Optional<Page<Product>> page = snapshot.flatMap(catalog -> catalog.findPage(pageable));
+            if (page.isPresent()) {
+                log.debug("REST request to get a page of Products from catalog version {}", snapshot.orElseThrow().getVersion());
+                HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    page.orElseThrow()
+                );
+                headers.set(CATALOG_VERSION_HEADER, String.valueOf(snapshot.orElseThrow().getVersion()));
+                return ResponseEntity.ok().headers(headers).body(page.orElseThrow().getContent());
+            }
+        }
+        // Read before the query, so that the data is at least as recent as the version
+        String catalogVersion = String.valueOf(productCatalogService.getVersion());
+        if (after != null) {
+            log.debug("REST request to get a window of Products by criteria: {}", criteria);
+            ScrollPosition position = KeysetPaginationUtil.decodeCursor(
+                after,
+                Product.class,
+                pageable.getSort(),
+                KEYSET_SORT_PROPERTIES,
+                ENTITY_NAME
+            );
+            Window<Product> window = productQueryService.findByCriteria(
+                criteria,
+                position,
+                pageable.getSort(),
+                Limit.of(pageable.getPageSize())
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window
+            );
+            headers.set(CATALOG_VERSION_HEADER, catalogVersion);
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
         }
+        log.debug("REST request to get Products by criteria: {}", criteria);
+
+        Page<Product> page = productQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        headers.set(CATALOG_VERSION_HEADER, catalogVersion);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /products/count} : count all the products.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countProducts(ProductCriteria criteria) {
+        log.debug("REST request to count Products by criteria: {}", criteria);
+        return ResponseEntity.ok().body(productQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /products/facets} : count the products by size, category and price range.
+     *
+     * @param criteria the criteria which the counted entities should match.
+     * @param priceBreaks the ascending bounds of the price ranges.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the counts in body,
+     * or with status {@code 400 (Bad Request)} if the price breaks are not ascending or too many.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsDTO> getProductFacets(
+        ProductCriteria criteria,
+        @RequestParam(name = "priceBreaks", required = false, defaultValue = DEFAULT_PRICE_BREAKS) List<BigDecimal> priceBreaks
+    ) {
+        log.debug("REST request to count Product facets by criteria: {}", criteria);
+        if (priceBreaks.size() > MAX_PRICE_BREAKS) {
+            throw new BadRequestAlertException("Too many price breaks", ENTITY_NAME, "pricebreakstoomany");
+        }
+        for (int i = 1; i < priceBreaks.size(); i++) {
+            if (priceBreaks.get(i - 1).compareTo(priceBreaks.get(i)) >= 0) {
+                throw new BadRequestAlertException("Price breaks must be ascending", ENTITY_NAME, "pricebreaksinvalid");
+            }
+        }
+        return ResponseEntity.ok().body(productQueryService.countFacetsByCriteria(criteria, priceBreaks));
+    }
+
+    /**
+     * {@code GET  /products/trending} : get the products with the most units sold recently, estimated in memory.
+     *
+     * @param window {@code hour} or {@code day}, how fast older sales are forgotten.
+     * @param categoryId the id of the category of the products, all the products if absent.
+     * @param size the most products to get.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the products by descending units in body,
+     * or with status {@code 400 (Bad Request)} if the window or the size is invalid.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingProductDTO>> getTrendingProducts(
+        @RequestParam(name = "window", defaultValue = "hour") String window,
+        @RequestParam(name = "categoryId", required = false) Long categoryId,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        log.debug("REST request to get the trending Products over the last {} of category {}", window, categoryId);
+        if (size < 1 || size > MAX_TRENDING_SIZE) {
+            throw new BadRequestAlertException("Invalid size", ENTITY_NAME, "trendingsizeinvalid");
+        }
+        TrendingProductService.Window trendingWindow;
+        try {
+            trendingWindow = TrendingProductService.Window.valueOf(window.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid window", ENTITY_NAME, "trendingwindowinvalid");
+        }
+        return ResponseEntity.ok().body(trendingProductService.findTrending(trendingWindow, categoryId, size));
+    }
+
     /**
      * {@code GET  /products/:id} : get the "id" product.
      *
+     * <p>
+     * The product is served from the in-memory catalog, with its version in the {@code X-Catalog-Version} header.
+     *
      * @param id the id of the product to retrieve.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the product, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
     public ResponseEntity<Product> getProduct(@PathVariable("id") Long id) {
         log.debug("REST request to get Product : {}", id);
+        HttpHeaders headers = new HttpHeaders();
+        Optional<CatalogSnapshot> snapshot = productCatalogService.getSnapshot();
+        if (snapshot.isPresent()) {
+            headers.set(CATALOG_VERSION_HEADER, String.valueOf(snapshot.orElseThrow().getVersion()));
+            return ResponseUtil.wrapOrNotFound(snapshot.orElseThrow().findProduct(id), headers);
+        }
+        headers.set(CATALOG_VERSION_HEADER, String.valueOf(productCatalogService.getVersion()));
         Optional<Product> product = productService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(product);
+        return ResponseUtil.wrapOrNotFound(product, headers);
+    }
+
+    /**
+     * {@code GET  /products/:id/image} : stream the image of the "id" product.
+     * <p>
+     * The response carries the image hash as a strong {@code ETag}, and a matching {@code If-None-Match}
+     * is answered with {@code 304 (Not Modified)} without reading the image content.
+     *
+     * @param id the id of the product whose image to retrieve.
+     * @param request the current request.
+     * @param response the response to stream the image to.
+     * @throws IOException if the image cannot be written to the response.
+     * @throws ResponseStatusException with status {@code 404 (Not Found)} if the product has no image.
+     */
+    @GetMapping("/{id}/image")
+    public void getProductImage(@PathVariable("id") Long id, ServletWebRequest request, HttpServletResponse response)
+        throws IOException {
+        log.debug("REST request to get the image of Product : {}", id);
+        ProductImageMetadata image = productImageService
+            .findMetadataByProductId(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        writeImage(id, image, request, response);
+    }
+
+    /**
+     * {@code GET  /products/:id/image/:variant} : stream a resized variant of the image of the "id" product.
+     * <p>
+     * Variants are generated in the background after an upload; until then the original image is served.
+     * Caching works as for {@link #getProductImage}.
+     *
+     * @param id the id of the product whose image to retrieve.
+     * @param variant the name of the variant, as configured in {@code application.product-image.variants}.
+     * @param request the current request.
+     * @param response the response to stream the image to.
+     * @throws IOException if the image cannot be written to the response.
+     * @throws ResponseStatusException with status {@code 404 (Not Found)} if the variant is unknown or the product has no image.
+     */
+    @GetMapping("/{id}/image/{variant}")
+    public void getProductImageVariant(
+        @PathVariable("id") Long id,
+        @PathVariable("variant") String variant,
+        ServletWebRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to get the {} image of Product : {}", variant, id);
+        if (!productImageVariantService.isVariant(variant)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        ProductImageMetadata image = productImageService
+            .findVariantMetadataByProductId(id, variant)
+            .or(() -> productImageService.findMetadataByProductId(id))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        writeImage(id, image, request, response);
+    }
+
+    private void writeImage(Long id, ProductImageMetadata image, ServletWebRequest request, HttpServletResponse response)
+        throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        if (request.checkNotModified("\"" + image.hash() + "\"")) {
+            return;
+        }
+        // The headers are only set once the content is found, as the image may have been removed since
+        boolean written = productImageService.writeData(image.hash(), data -> {
+            response.setContentType(data.contentType());
+            response.setContentLengthLong(data.contentLength());
+            try {
+                return response.getOutputStream();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (!written) {
+            log.debug("Image {} of Product {} was removed before being served", image.hash(), id);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
     }
 
     /**
@@ -0,0 +1,48 @@
+package com.mycompany.app.web.rest;
+
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.service.ProductSearchService;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * REST controller for full-text searching {@link com.mycompany.app.domain.Product}s.
+ */
+@RestController
+@RequestMapping("/api/_search")
+public class ProductSearchResource {
+
+    private final Logger log = LoggerFactory.getLogger(ProductSearchResource.class);
+
+    private final ProductSearchService productSearchService;
+
+    public ProductSearchResource(ProductSearchService productSearchService) {
+        this.productSearchService = productSearchService;
+    }
+
+    /**
+     * {@code GET  /_search/products?q=:query} : search the products by name, description and category name.
+     *
+     * @param query the query text; every word must match, the last one as a prefix.
+     * @param pageable the pagination information; results are ordered by relevance.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of matching products in body.
+     */
+    @GetMapping("/products")
+    public ResponseEntity<List<Product>> searchProducts(
+        @RequestParam("q") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        log.debug("REST request to search for a page of Products for query {}", query);
+        Page<Product> page = productSearchService.search(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+}
@@ -1,9 +1,15 @@
 package com.mycompany.app.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.app.domain.ShoppingCart;
 import com.mycompany.app.repository.ShoppingCartRepository;
+import com.mycompany.app.service.ShoppingCartQueryService;
 import com.mycompany.app.service.ShoppingCartService;
+import com.mycompany.app.service.criteria.ShoppingCartCriteria;
+import com.mycompany.app.service.dto.ShoppingCartDTO;
 import com.mycompany.app.web.rest.errors.BadRequestAlertException;
+import com.mycompany.app.web.rest.util.KeysetPaginationUtil;
+import com.mycompany.app.web.rest.util.NdjsonExportUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -14,9 +20,19 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -30,6 +46,8 @@ public class ShoppingCartResource {
 
     private static final String ENTITY_NAME = "shoppingCart";
 
+    private static final List<String> KEYSET_SORT_PROPERTIES = List.of("id", "placedDate", "status", "totalPrice", "paymentMethod");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -37,9 +55,20 @@ public class ShoppingCartResource {
 
     private final ShoppingCartRepository shoppingCartRepository;
 
-    public ShoppingCartResource(ShoppingCartService shoppingCartService, ShoppingCartRepository shoppingCartRepository) {
+    private final ShoppingCartQueryService shoppingCartQueryService;
+
+    private final ObjectMapper objectMapper;
+
+    public ShoppingCartResource(
+        ShoppingCartService shoppingCartService,
+        ShoppingCartRepository shoppingCartRepository,
+        ShoppingCartQueryService shoppingCartQueryService,
+        ObjectMapper objectMapper
+    ) {
         this.shoppingCartService = shoppingCartService;
         this.shoppingCartRepository = shoppingCartRepository;
+        this.shoppingCartQueryService = shoppingCartQueryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -133,12 +162,61 @@ public class ShoppingCartResource {
     /**
      * {@code GET  /shopping-carts} : get all the shoppingCarts.
      *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param after the keyset pagination cursor, empty for the first page; when present the page number is ignored and no
+     * total count is returned.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of shoppingCarts in body.
      */
     @GetMapping("")
-    public List<ShoppingCart> getAllShoppingCarts() {
-        log.debug("REST request to get all ShoppingCarts");
-        return shoppingCartService.findAll();
+    public ResponseEntity<List<ShoppingCartDTO>> getAllShoppingCarts(
+        ShoppingCartCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after
+    ) {
+        if (after != null) {
+            log.debug("REST request to get a window of ShoppingCarts by criteria: {}", criteria);
+            KeysetScrollPosition position = KeysetPaginationUtil.decodeCursor(
+                after,
+                ShoppingCart.class,
+                pageable.getSort(),
+                KEYSET_SORT_PROPERTIES,
+                ENTITY_NAME
+            );
+            Window<ShoppingCartDTO> window = shoppingCartQueryService.findByCriteria(
+                criteria,
+                position,
+                pageable.getSort(),
+                Limit.of(pageable.getPageSize())
+            );
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window
+            );
+            return ResponseEntity.ok().headers(headers).body(window.getContent());
+        }
+        log.debug("REST request to get a page of ShoppingCarts by criteria: {}", criteria);
+        Page<ShoppingCartDTO> page = shoppingCartQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /shopping-carts/_export} : export all the shoppingCarts, one JSON object per line.
+     * <p>
+     * The carts are streamed from the database as the response is written, whatever their number.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the shoppingCarts in id order in body.
+     */
+    @GetMapping(value = "/_export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportShoppingCarts(ShoppingCartCriteria criteria) {
+        log.debug("REST request to export ShoppingCarts by criteria: {}", criteria);
+        return NdjsonExportUtil.exportResponse(
+            objectMapper,
+            "shopping-carts.ndjson",
+            consumer -> shoppingCartQueryService.exportByCriteria(criteria, consumer)
+        );
     }
 
     /**
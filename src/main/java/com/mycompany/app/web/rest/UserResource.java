@@ -10,6 +10,7 @@ import com.mycompany.app.service.dto.AdminUserDTO;
 import com.mycompany.app.web.rest.errors.BadRequestAlertException;
 import com.mycompany.app.web.rest.errors.EmailAlreadyUsedException;
 import com.mycompany.app.web.rest.errors.LoginAlreadyUsedException;
+import com.mycompany.app.web.rest.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import java.net.URI;
@@ -19,9 +20,12 @@ import java.util.Collections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -76,6 +80,8 @@ public class UserResource {
         )
     );
 
+    private static final List<String> KEYSET_SORT_PROPERTIES = List.of("id", "login", "activated", "createdBy");
+
     private final Logger log = LoggerFactory.getLogger(UserResource.class);
 
     @Value("${jhipster.clientApp.name}")
@@ -161,11 +167,32 @@ public class UserResource {
      * {@code GET /admin/users} : get all users with all the details - calling this are only allowed for the administrators.
      *
      * @param pageable the pagination information.
+     * @param after the keyset pagination cursor, empty for the first page; when present the page number is ignored and no
+     * total count is returned.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
      */
     @GetMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public ResponseEntity<List<AdminUserDTO>> getAllUsers(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<AdminUserDTO>> getAllUsers(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after
+    ) {
+        if (after != null) {
+            log.debug("REST request to get a window of User for an admin");
+            ScrollPosition position = KeysetPaginationUtil.decodeCursor(
+                after,
+                User.class,
+                pageable.getSort(),
+                KEYSET_SORT_PROPERTIES,
+                "userManagement"
+            );
+            Window<AdminUserDTO> window = userService.getAllManagedUsers(position, pageable.getSort(), Limit.of(pageable.getPageSize()));
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                window
+            );
+            return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
+        }
         log.debug("REST request to get all User for an admin");
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
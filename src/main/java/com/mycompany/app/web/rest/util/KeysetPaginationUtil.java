@@ -0,0 +1,122 @@
+package com.mycompany.app.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.app.web.rest.errors.BadRequestAlertException;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for keyset (seek) pagination.
+ * <p>
+ * Instead of a page number, the client sends an opaque cursor in the {@code after} parameter: the sort
+ * key values and id of the last element it received. The next page is then selected with a seek
+ * predicate on those values, so it costs the same however deep it is, and no count query is issued.
+ * An empty {@code after} parameter requests the first page.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String ID_PROPERTY = "id";
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+        .build();
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decode a cursor into the position to continue from.
+     *
+     * @param cursor the cursor sent by the client, empty for the first page.
+     * @param entityClass the class of the paginated entity.
+     * @param sort the requested sort.
+     * @param allowedProperties the properties that can be sorted on, which must not be nullable as seek predicates skip nulls.
+     * @param entityName the name of the entity, for error messages.
+     * @return the position after the element designated by the cursor.
+     * @throws BadRequestAlertException if the sort is not allowed or the cursor is invalid or was issued for another sort.
+     */
+    public static KeysetScrollPosition decodeCursor(
+        String cursor,
+        Class<?> entityClass,
+        Sort sort,
+        Collection<String> allowedProperties,
+        String entityName
+    ) {
+        Set<String> properties = new LinkedHashSet<>();
+        sort.forEach(order -> properties.add(order.getProperty()));
+        if (!allowedProperties.containsAll(properties)) {
+            throw new BadRequestAlertException("Keyset pagination is not supported for this sort", entityName, "invalidsort");
+        }
+        if (cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        properties.add(ID_PROPERTY);
+        Map<String, Object> keys;
+        try {
+            keys = JSON_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), new TypeReference<LinkedHashMap<String, Object>>() {});
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadRequestAlertException("Invalid pagination cursor", entityName, "invalidcursor");
+        }
+        if (!keys.keySet().equals(properties)) {
+            throw new BadRequestAlertException("Pagination cursor does not match the requested sort", entityName, "invalidcursor");
+        }
+        // JSON loses the type of the sort key values, restore it from the entity properties
+        keys.replaceAll((property, value) -> {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, property);
+            if (descriptor == null || value == null) {
+                throw new BadRequestAlertException("Invalid pagination cursor", entityName, "invalidcursor");
+            }
+            return JSON_MAPPER.convertValue(value, descriptor.getPropertyType());
+        });
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Generate the pagination headers of a window: a {@code Link} to the next window if there is one.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param window the returned window of elements.
+     * @param <T> the type of the elements.
+     * @return the pagination headers.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            String next = uriBuilder
+                .replaceQueryParam(AFTER_PARAMETER, encodeCursor((KeysetScrollPosition) window.positionAt(window.size() - 1)))
+                .replaceQueryParam("page")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    private static String encodeCursor(KeysetScrollPosition position) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(JSON_MAPPER.writeValueAsBytes(position.getKeys()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode pagination cursor", e);
+        }
+    }
+}
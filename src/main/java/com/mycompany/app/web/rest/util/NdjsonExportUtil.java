@@ -0,0 +1,58 @@
+package com.mycompany.app.web.rest.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Utility class for exports as newline delimited JSON.
+ * <p>
+ * The response body is written by a {@link StreamingResponseBody} once the request handler has returned, one JSON
+ * object per line as each element is exported, so that the elements are never all held in memory. The export has
+ * to open its own transaction, as it runs on another thread than the request.
+ */
+public final class NdjsonExportUtil {
+
+    private NdjsonExportUtil() {}
+
+    /**
+     * Build the response streaming the exported elements.
+     *
+     * @param objectMapper the mapper writing each element.
+     * @param filename the name of the downloaded file.
+     * @param export exports all the elements to the consumer it is given.
+     * @param <T> the type of the elements.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, writing the elements when the body is streamed.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> exportResponse(
+        ObjectMapper objectMapper,
+        String filename,
+        Consumer<Consumer<T>> export
+    ) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            try {
+                export.accept(element -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(element));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+        return ResponseEntity.ok().headers(headers).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
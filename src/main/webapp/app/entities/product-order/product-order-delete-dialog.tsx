@@ -25,7 +25,7 @@ export const ProductOrderDeleteDialog = () => {
   const updateSuccess = useAppSelector(state => state.productOrder.updateSuccess);
 
   const handleClose = () => {
-    navigate('/product-order');
+    navigate('/product-order' + pageLocation.search);
   };
 
   useEffect(() => {
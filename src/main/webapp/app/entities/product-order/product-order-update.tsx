@@ -15,6 +15,9 @@ import { getEntities as getShoppingCarts } from 'app/entities/shopping-cart/shop
 import { IProductOrder } from 'app/shared/model/product-order.model';
 import { getEntity, updateEntity, createEntity, reset } from './product-order.reducer';
 
+// The carts are paged: the most recent ones are offered, along with the cart of the edited order
+const SHOPPING_CART_OPTIONS_SIZE = 100;
+
 export const ProductOrderUpdate = () => {
   const dispatch = useAppDispatch();
 
@@ -24,14 +27,18 @@ export const ProductOrderUpdate = () => {
   const isNew = id === undefined;
 
   const products = useAppSelector(state => state.product.entities);
-  const shoppingCarts = useAppSelector(state => state.shoppingCart.entities);
+  const recentShoppingCarts = useAppSelector(state => state.shoppingCart.entities);
   const productOrderEntity = useAppSelector(state => state.productOrder.entity);
+  const shoppingCarts =
+    !isNew && productOrderEntity?.cart && !recentShoppingCarts.some(it => it.id === productOrderEntity.cart.id)
+      ? [productOrderEntity.cart, ...recentShoppingCarts]
+      : recentShoppingCarts;
   const loading = useAppSelector(state => state.productOrder.loading);
   const updating = useAppSelector(state => state.productOrder.updating);
   const updateSuccess = useAppSelector(state => state.productOrder.updateSuccess);
 
   const handleClose = () => {
-    navigate('/product-order');
+    navigate('/product-order' + location.search);
   };
 
   useEffect(() => {
@@ -42,7 +49,7 @@ export const ProductOrderUpdate = () => {
     }
 
     dispatch(getProducts({}));
-    dispatch(getShoppingCarts({}));
+    dispatch(getShoppingCarts({ page: 0, size: SHOPPING_CART_OPTIONS_SIZE, sort: 'id,desc' }));
   }, []);
 
   useEffect(() => {
@@ -1,7 +1,7 @@
 import React, { useEffect } from 'react';
 import { Link, useParams } from 'react-router-dom';
 import { Button, Row, Col } from 'reactstrap';
-import { Translate, openFile, byteSize } from 'react-jhipster';
+import { Translate } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { useAppDispatch, useAppSelector } from 'app/config/store';
@@ -61,16 +61,15 @@ export const ProductDetail = () => {
             </span>
           </dt>
           <dd>
-            {productEntity.image ? (
+            {productEntity.imageHash ? (
               <div>
-                {productEntity.imageContentType ? (
-                  <a onClick={openFile(productEntity.imageContentType, productEntity.image)}>
-                    <img src={`data:${productEntity.imageContentType};base64,${productEntity.image}`} style={{ maxHeight: '30px' }} />
-                  </a>
-                ) : null}
-                <span>
-                  {productEntity.imageContentType}, {byteSize(productEntity.image)}
-                </span>
+                <a href={`api/products/${productEntity.id}/image`} target="_blank" rel="noopener noreferrer">
+                  <img
+                    src={`api/products/${productEntity.id}/image/thumbnail?v=${productEntity.imageHash}`}
+                    style={{ maxHeight: '30px' }}
+                  />
+                </a>
+                <span>{productEntity.imageContentType}</span>
               </div>
             ) : null}
           </dd>
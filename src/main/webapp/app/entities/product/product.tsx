@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Link, useLocation, useNavigate } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
-import { openFile, byteSize, Translate, getPaginationState, JhiPagination, JhiItemCount } from 'react-jhipster';
+import { Translate, getPaginationState, JhiPagination, JhiItemCount } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { faSort, faSortUp, faSortDown } from '@fortawesome/free-solid-svg-icons';
 import { ASC, DESC, ITEMS_PER_PAGE, SORT } from 'app/shared/util/pagination.constants';
@@ -128,9 +128,8 @@ export const Product = () => {
                   <Translate contentKey="storeApp.product.productSize">Product Size</Translate>{' '}
                   <FontAwesomeIcon icon={getSortIconByFieldName('productSize')} />
                 </th>
-                <th className="hand" onClick={sort('image')}>
-                  <Translate contentKey="storeApp.product.image">Image</Translate>{' '}
-                  <FontAwesomeIcon icon={getSortIconByFieldName('image')} />
+                <th>
+                  <Translate contentKey="storeApp.product.image">Image</Translate>
                 </th>
                 <th>
                   <Translate contentKey="storeApp.product.productCategory">Product Category</Translate> <FontAwesomeIcon icon="sort" />
@@ -153,17 +152,13 @@ export const Product = () => {
                     <Translate contentKey={`storeApp.Size.${product.productSize}`} />
                   </td>
                   <td>
-                    {product.image ? (
+                    {product.imageHash ? (
                       <div>
-                        {product.imageContentType ? (
-                          <a onClick={openFile(product.imageContentType, product.image)}>
-                            <img src={`data:${product.imageContentType};base64,${product.image}`} style={{ maxHeight: '30px' }} />
-                            &nbsp;
-                          </a>
-                        ) : null}
-                        <span>
-                          {product.imageContentType}, {byteSize(product.image)}
-                        </span>
+                        <a href={`api/products/${product.id}/image`} target="_blank" rel="noopener noreferrer">
+                          <img src={`api/products/${product.id}/image/thumbnail?v=${product.imageHash}`} style={{ maxHeight: '30px' }} />
+                          &nbsp;
+                        </a>
+                        <span>{product.imageContentType}</span>
                       </div>
                     ) : null}
                   </td>
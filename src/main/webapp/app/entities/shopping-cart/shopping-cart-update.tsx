@@ -32,7 +32,7 @@ export const ShoppingCartUpdate = () => {
   const paymentMethodValues = Object.keys(PaymentMethod);
 
   const handleClose = () => {
-    navigate('/shopping-cart');
+    navigate('/shopping-cart' + location.search);
   };
 
   useEffect(() => {
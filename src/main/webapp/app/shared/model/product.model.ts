@@ -9,6 +9,7 @@ export interface IProduct {
   productSize?: keyof typeof Size;
   imageContentType?: string | null;
   image?: string | null;
+  imageHash?: string | null;
   productCategory?: IProductCategory;
 }
 
@@ -52,7 +52,6 @@ public class ProductAsserts {
             .satisfies(e -> assertThat(e.getDescription()).as("check description").isEqualTo(actual.getDescription()))
             .satisfies(e -> assertThat(e.getPrice()).as("check price").usingComparator(bigDecimalCompareTo).isEqualTo(actual.getPrice()))
             .satisfies(e -> assertThat(e.getProductSize()).as("check productSize").isEqualTo(actual.getProductSize()))
-            .satisfies(e -> assertThat(e.getImage()).as("check image").isEqualTo(actual.getImage()))
             .satisfies(e -> assertThat(e.getImageContentType()).as("check image contenty type").isEqualTo(actual.getImageContentType()));
     }
 
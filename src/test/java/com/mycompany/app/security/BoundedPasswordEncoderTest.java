@@ -0,0 +1,107 @@
+package com.mycompany.app.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void hashesOnTheDedicatedPool() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 10, meterRegistry);
+
+        String hash = encoder.encode("password");
+
+        assertThat(encoder.matches("password", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.METER_PREFIX + ".hash").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(BoundedPasswordEncoder.METER_PREFIX + ".wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void upgradesWeakerHashes() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 10, meterRegistry);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+    }
+
+    @Test
+    void rejectsPasswordsPastTheQueue() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One password is being hashed and another waits for it, filling the pool and its queue
+            Future<String> hashing = callers.submit(() -> encoder.encode("first"));
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<String> waiting = callers.submit(() -> encoder.encode("second"));
+            while (meterRegistry.get(BoundedPasswordEncoder.METER_PREFIX + ".queue").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(PasswordHashingUnavailableException.class);
+            assertThat(meterRegistry.get(BoundedPasswordEncoder.METER_PREFIX + ".rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(hashing.get(10, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(waiting.get(10, TimeUnit.SECONDS)).isEqualTo("second");
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void rethrowsTheFailuresOfTheEncoder() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 10, meterRegistry);
+
+        assertThatThrownBy(() -> encoder.encode(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
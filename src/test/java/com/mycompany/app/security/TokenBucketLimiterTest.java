@@ -0,0 +1,77 @@
+package com.mycompany.app.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketLimiterTest {
+
+    private static final Duration SECOND = Duration.ofSeconds(1);
+
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+
+    @Test
+    void allowsTheBurstThenRefusesUntilATokenIsBack() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, SECOND, MINUTE, 100);
+
+        assertThat(limiter.tryAcquire("key", 0)).isZero();
+        assertThat(limiter.tryAcquire("key", 0)).isZero();
+        assertThat(limiter.tryAcquire("key", 0)).isZero();
+        assertThat(limiter.tryAcquire("key", 0)).isEqualTo(1000);
+        assertThat(limiter.tryAcquire("key", 1000)).isZero();
+        assertThat(limiter.tryAcquire("other", 1000)).isZero();
+    }
+
+    @Test
+    void doublesTheWaitWithEachRefusal() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, SECOND, Duration.ofSeconds(5), 100);
+        assertThat(limiter.tryAcquire("key", 0)).isZero();
+
+        assertThat(limiter.tryAcquire("key", 0)).isEqualTo(1000);
+        // Attempts during the wait do not make it longer
+        assertThat(limiter.tryAcquire("key", 500)).isEqualTo(500);
+        assertThat(limiter.tryAcquire("key", 1000)).isZero();
+        assertThat(limiter.tryAcquire("key", 1000)).isEqualTo(2000);
+        assertThat(limiter.tryAcquire("key", 3000)).isZero();
+        assertThat(limiter.tryAcquire("key", 3000)).isEqualTo(4000);
+        assertThat(limiter.tryAcquire("key", 7000)).isZero();
+        assertThat(limiter.tryAcquire("key", 7000)).isEqualTo(5000);
+    }
+
+    @Test
+    void forgetsTheWaitsOnceTheBucketIsFull() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, SECOND, MINUTE, 100);
+        limiter.tryAcquire("key", 0);
+        limiter.tryAcquire("key", 0);
+        assertThat(limiter.tryAcquire("key", 0)).isEqualTo(1000);
+        assertThat(limiter.tryAcquire("key", 1000)).isZero();
+        assertThat(limiter.tryAcquire("key", 1000)).isEqualTo(2000);
+
+        // Both tokens are back by then
+        assertThat(limiter.tryAcquire("key", 10_000)).isZero();
+        assertThat(limiter.tryAcquire("key", 10_000)).isZero();
+        assertThat(limiter.tryAcquire("key", 10_000)).isEqualTo(1000);
+    }
+
+    @Test
+    void resetGivesAFullBucket() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, MINUTE, MINUTE, 100);
+        limiter.tryAcquire("key", 0);
+        assertThat(limiter.tryAcquire("key", 0)).isPositive();
+
+        limiter.reset("key");
+
+        assertThat(limiter.tryAcquire("key", 0)).isZero();
+    }
+
+    @Test
+    void keepsABoundedNumberOfKeys() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, MINUTE, MINUTE, 160);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("key-" + i, 0);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(160);
+    }
+}
@@ -1,15 +1,21 @@
 package com.mycompany.app.security.jwt;
 
+import com.mycompany.app.config.ApplicationProperties;
 import com.mycompany.app.config.SecurityConfiguration;
 import com.mycompany.app.config.SecurityJwtConfiguration;
 import com.mycompany.app.config.WebConfigurer;
 import com.mycompany.app.management.SecurityMetersService;
+import com.mycompany.app.security.LoginThrottle;
+import com.mycompany.app.service.IdempotencyService;
+import com.mycompany.app.service.ProductCatalogService;
+import com.mycompany.app.service.RefreshTokenService;
 import com.mycompany.app.web.rest.AuthenticateController;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.annotation.DirtiesContext;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -22,14 +28,17 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
         SecurityMetersService.class,
         AuthenticateController.class,
+        LoginThrottle.class,
         JwtAuthenticationTestUtils.class,
     }
 )
+@MockBean({ ProductCatalogService.class, IdempotencyService.class, RefreshTokenService.class })
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
 public @interface AuthenticationIntegrationTest {
 }
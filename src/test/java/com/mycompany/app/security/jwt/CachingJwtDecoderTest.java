@@ -0,0 +1,205 @@
+package com.mycompany.app.security.jwt;
+
+import static com.mycompany.app.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.app.management.SecurityMetersService;
+import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+class CachingJwtDecoderTest {
+
+    private static final String JWT_KEY =
+        "MDNhOTkyOWUxMDAyMmI2ZGRhNmUzMzdiZDJlYTYwM2E0Mzk1MmQ0ZTZiZjNkMmMzZjIwMDE3OWY0MmNjZWFmMDJhMmFjMjA0YjZiMjFiN2U5YjM4NDYwZTEwNmE3MjQyMTkwMDRlMGQ4MjVlZDg4NzdiMDExY2I2ZTA4OWI1NzU=";
+
+    private static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static final int BENCHMARK_REQUESTS = 20_000;
+
+    private final Logger log = LoggerFactory.getLogger(CachingJwtDecoderTest.class);
+
+    private MeterRegistry meterRegistry;
+
+    private SecurityMetersService securityMetersService;
+
+    private MutableClock clock;
+
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        securityMetersService = new SecurityMetersService(meterRegistry);
+        clock = new MutableClock(NOW);
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void verifiesATokenOnlyOnce() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(expiringIn(Duration.ofMinutes(5)), 10, securityMetersService, clock);
+
+        Jwt first = decoder.decode("token");
+        Jwt second = decoder.decode("token");
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_NAME).tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void neverReturnsATokenPastItsExpiry() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(expiringIn(Duration.ofMinutes(5)), 10, securityMetersService, clock);
+        decoder.decode("token");
+
+        clock.advance(Duration.ofMinutes(5).minusMillis(1));
+        decoder.decode("token");
+        assertThat(verifications).hasValue(1);
+
+        clock.advance(Duration.ofMillis(1));
+        decoder.decode("token");
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void keepsNoMoreThanMaxEntries() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(expiringIn(Duration.ofMinutes(5)), 2, securityMetersService, clock);
+        decoder.decode("first");
+        decoder.decode("second");
+        decoder.decode("third");
+
+        assertThat(decoder.size()).isEqualTo(2);
+        decoder.decode("third");
+        assertThat(verifications).hasValue(4);
+
+        // Once the kept tokens have expired, they make room for new ones
+        clock.advance(Duration.ofMinutes(5));
+        decoder.decode("third");
+        decoder.decode("third");
+        assertThat(decoder.size()).isEqualTo(1);
+        assertThat(verifications).hasValue(5);
+    }
+
+    @Test
+    void doesNotKeepTokensFailingVerification() {
+        JwtDecoder failing = token -> {
+            verifications.incrementAndGet();
+            throw new BadJwtException("Invalid signature");
+        };
+        CachingJwtDecoder decoder = new CachingJwtDecoder(failing, 10, securityMetersService, clock);
+
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+        assertThat(verifications).hasValue(2);
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void doesNotKeepTokensWithoutExpiry() {
+        JwtDecoder withoutExpiry = token -> {
+            verifications.incrementAndGet();
+            return Jwt.withTokenValue(token).header("alg", JWT_ALGORITHM.getName()).subject("user").build();
+        };
+        CachingJwtDecoder decoder = new CachingJwtDecoder(withoutExpiry, 10, securityMetersService, clock);
+
+        decoder.decode("token");
+        decoder.decode("token");
+        assertThat(verifications).hasValue(2);
+    }
+
+    /**
+     * Benchmark of a client sending the same token on every request: reports the time per request of the Nimbus
+     * decoder alone and behind the cache, and checks that the cache is faster.
+     */
+    @Test
+    void cachedTokensAreDecodedFasterThanVerified() {
+        byte[] keyBytes = Base64.from(JWT_KEY).decode();
+        SecretKey key = new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName());
+        JwtDecoder nimbus = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(JWT_ALGORITHM).build();
+        JwtDecoder cached = new CachingJwtDecoder(nimbus, 10, securityMetersService, Clock.systemUTC());
+        String token = JwtAuthenticationTestUtils.createValidToken(JWT_KEY);
+
+        // Warm up both paths before timing them
+        decodeAll(nimbus, token);
+        decodeAll(cached, token);
+        long verifiedNanos = decodeAll(nimbus, token);
+        long cachedNanos = decodeAll(cached, token);
+
+        log.info(
+            "Decoded {} requests: {} ns/request verified, {} ns/request cached",
+            BENCHMARK_REQUESTS,
+            verifiedNanos / BENCHMARK_REQUESTS,
+            cachedNanos / BENCHMARK_REQUESTS
+        );
+        assertThat(cachedNanos).isLessThan(verifiedNanos);
+    }
+
+    private static long decodeAll(JwtDecoder decoder, String token) {
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_REQUESTS; i++) {
+            decoder.decode(token);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private JwtDecoder expiringIn(Duration validity) {
+        return token -> {
+            verifications.incrementAndGet();
+            Instant issuedAt = clock.instant();
+            return Jwt.withTokenValue(token)
+                .header("alg", JWT_ALGORITHM.getName())
+                .subject("user")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(validity))
+                .build();
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
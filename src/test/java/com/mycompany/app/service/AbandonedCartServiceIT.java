@@ -0,0 +1,113 @@
+package com.mycompany.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.User;
+import com.mycompany.app.domain.enumeration.Gender;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import com.mycompany.app.repository.ShoppingCartRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link AbandonedCartService}.
+ * <p>
+ * The carts are cancelled in chunks of 2 in the tests, within the transaction of each test.
+ */
+@IntegrationTest
+@RecordApplicationEvents
+@Transactional
+class AbandonedCartServiceIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private AbandonedCartService abandonedCartService;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private CustomerDetails customerDetails;
+
+    @BeforeEach
+    public void init() {
+        User user = new User();
+        user.setLogin("abandoned-cart-" + RandomStringUtils.randomAlphabetic(5).toLowerCase());
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user.setEmail(user.getLogin() + "@localhost");
+        user.setLangKey("en");
+        em.persist(user);
+        customerDetails = new CustomerDetails()
+            .gender(Gender.OTHER)
+            .phone("0123456789")
+            .addressLine1("1 Main Street")
+            .city("Springfield")
+            .country("Country")
+            .user(user);
+        em.persist(customerDetails);
+    }
+
+    private ShoppingCart persistCart(OrderStatus status, Instant placedDate) {
+        ShoppingCart cart = new ShoppingCart()
+            .placedDate(placedDate)
+            .status(status)
+            .totalPrice(BigDecimal.ZERO)
+            .paymentMethod(PaymentMethod.CREDIT_CARD)
+            .customerDetails(customerDetails);
+        em.persist(cart);
+        return cart;
+    }
+
+    @Test
+    void abandonedCartsAreCancelledInChunks() {
+        Instant old = Instant.now().minus(30, ChronoUnit.DAYS);
+        List<ShoppingCart> abandoned = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            abandoned.add(persistCart(OrderStatus.PENDING, old));
+        }
+        ShoppingCart recent = persistCart(OrderStatus.PENDING, Instant.now());
+        ShoppingCart paid = persistCart(OrderStatus.PAID, old);
+        em.flush();
+
+        assertThat(abandonedCartService.cancelAbandonedCarts()).isGreaterThanOrEqualTo(abandoned.size());
+
+        for (ShoppingCart cart : abandoned) {
+            assertThat(shoppingCartRepository.findById(cart.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        }
+        assertThat(shoppingCartRepository.findById(recent.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(shoppingCartRepository.findById(paid.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(applicationEvents.stream(ShoppingCartStatusChangedEvent.class))
+            .filteredOn(event -> abandoned.stream().anyMatch(cart -> cart.getId().equals(event.shoppingCartId())))
+            .hasSize(abandoned.size())
+            .allMatch(event -> event.previousStatus() == OrderStatus.PENDING && event.status() == OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void cancelledCartsAreNotCancelledAgain() {
+        persistCart(OrderStatus.PENDING, Instant.now().minus(30, ChronoUnit.DAYS));
+        em.flush();
+        abandonedCartService.cancelAbandonedCarts();
+
+        assertThat(abandonedCartService.cancelAbandonedCarts()).isZero();
+    }
+}
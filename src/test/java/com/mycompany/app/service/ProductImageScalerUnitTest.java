@@ -0,0 +1,74 @@
+package com.mycompany.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+/**
+ * Test class for the {@link ProductImageScaler} utility class.
+ */
+class ProductImageScalerUnitTest {
+
+    private static final long MAX_PIXELS = 1_000_000;
+
+    @Test
+    void testScaleOpaqueImageToJpeg() throws IOException {
+        BufferedImage source = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB);
+
+        ProductImageScaler.Rendition rendition = ProductImageScaler.scale(source, 160, 0.85f);
+
+        assertThat(rendition.contentType()).isEqualTo(MediaType.IMAGE_JPEG_VALUE);
+        assertThat(rendition.width()).isEqualTo(160);
+        assertThat(rendition.height()).isEqualTo(80);
+        BufferedImage decoded = ProductImageScaler.decode(rendition.data(), MAX_PIXELS).orElseThrow();
+        assertThat(decoded.getWidth()).isEqualTo(160);
+        assertThat(decoded.getHeight()).isEqualTo(80);
+    }
+
+    @Test
+    void testScaleTransparentImageToPng() throws IOException {
+        BufferedImage source = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+
+        ProductImageScaler.Rendition rendition = ProductImageScaler.scale(source, 160, 0.85f);
+
+        assertThat(rendition.contentType()).isEqualTo(MediaType.IMAGE_PNG_VALUE);
+        assertThat(ProductImageScaler.decode(rendition.data(), MAX_PIXELS).orElseThrow().getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    void testScaleNeverEnlarges() throws IOException {
+        BufferedImage source = new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB);
+
+        ProductImageScaler.Rendition rendition = ProductImageScaler.scale(source, 640, 0.85f);
+
+        assertThat(rendition.width()).isEqualTo(100);
+        assertThat(rendition.height()).isEqualTo(50);
+    }
+
+    @Test
+    void testDecodeUnsupportedFormat() throws IOException {
+        assertThat(ProductImageScaler.decode(new byte[] { 0 }, MAX_PIXELS)).isEmpty();
+    }
+
+    @Test
+    void testDecodeRefusesImagesDeclaringTooManyPixels() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", out);
+        byte[] png = out.toByteArray();
+        // Declare 100000 x 100000 pixels in the IHDR chunk, which follows the 8 bytes of signature and its length and type
+        ByteBuffer header = ByteBuffer.wrap(png);
+        header.putInt(16, 100_000).putInt(20, 100_000);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        header.putInt(29, (int) crc.getValue());
+
+        assertThat(ProductImageScaler.decode(png, MAX_PIXELS)).isEmpty();
+    }
+}
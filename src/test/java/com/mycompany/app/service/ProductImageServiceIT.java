@@ -0,0 +1,105 @@
+package com.mycompany.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.repository.ProductImageMetadata;
+import com.mycompany.app.repository.ProductImageRepository;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link ProductImageService}.
+ */
+@IntegrationTest
+class ProductImageServiceIT {
+
+    private static final byte[] DATA = "concurrently uploaded image".getBytes();
+
+    private static final String HASH = ProductImageService.hash(DATA);
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanup() {
+        productImageRepository.deleteById(HASH);
+    }
+
+    @Test
+    void storeUsesTheImageStoredByAConcurrentUpload() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch inserted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Inserted, but not committed yet, when the other upload looks for the hash
+            Future<?> concurrentUpload = executor.submit(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    productImageRepository.insertDataIfAbsent(HASH, "image/png", DATA);
+                    inserted.countDown();
+                    try {
+                        Thread.sleep(500);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+            );
+            inserted.await();
+
+            String hash = transactionTemplate.execute(status -> productImageService.store(DATA, "image/png"));
+
+            concurrentUpload.get();
+            assertThat(hash).isEqualTo(HASH);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(productImageService.readData(HASH)).hasValue(DATA);
+    }
+
+    @Test
+    void writeDataOfARemovedImageOpensNoStream() {
+        AtomicBoolean opened = new AtomicBoolean();
+
+        boolean written = productImageService.writeData(HASH, metadata -> {
+            opened.set(true);
+            return OutputStream.nullOutputStream();
+        });
+
+        assertThat(written).isFalse();
+        assertThat(opened).isFalse();
+    }
+
+    @Test
+    void writeDataOpensTheStreamFromTheMetadataOfTheImage() {
+        productImageService.store(DATA, "image/png");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<ProductImageMetadata> opened = new ArrayList<>();
+
+        boolean written = productImageService.writeData(HASH, metadata -> {
+            opened.add(metadata);
+            return out;
+        });
+
+        assertThat(written).isTrue();
+        assertThat(opened).containsExactly(new ProductImageMetadata(HASH, "image/png", (long) DATA.length));
+        assertThat(out.toByteArray()).isEqualTo(DATA);
+    }
+}
@@ -0,0 +1,193 @@
+package com.mycompany.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.ShoppingCartOutboxEvent;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.repository.ShoppingCartOutboxEventRepository;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link ShoppingCartOutboxService}.
+ * <p>
+ * The events are written and dispatched within the transaction of each test, which rolls back the outbox, but for
+ * the concurrent dispatchers, which deliver all the events they commit.
+ */
+@IntegrationTest
+@Import(ShoppingCartOutboxServiceIT.RecordingListener.class)
+@Transactional
+class ShoppingCartOutboxServiceIT {
+
+    static class RecordingListener implements OrderLifecycleListener {
+
+        private final List<OrderLifecycleEvent> events = new CopyOnWriteArrayList<>();
+
+        /**
+         * Carts whose events fail, once or always.
+         */
+        private final Set<Long> failingOnce = ConcurrentHashMap.newKeySet();
+
+        private final Set<Long> failing = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Whether the creation of a cart is delivered slowly, so that a change following it is delivered first if
+         * they are delivered in parallel.
+         */
+        private volatile boolean slowCreations;
+
+        @Override
+        public void onOrderLifecycleEvent(OrderLifecycleEvent event) {
+            if (failingOnce.remove(event.shoppingCartId()) || failing.contains(event.shoppingCartId())) {
+                throw new IllegalStateException("Listener failed on cart " + event.shoppingCartId());
+            }
+            if (slowCreations && event.previousStatus() == null) {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+        }
+    }
+
+    @Autowired
+    private ShoppingCartOutboxService shoppingCartOutboxService;
+
+    @Autowired
+    private ShoppingCartOutboxEventRepository shoppingCartOutboxEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void init() {
+        listener.events.clear();
+        listener.failingOnce.clear();
+        listener.failing.clear();
+        listener.slowCreations = false;
+    }
+
+    private void publish(long cartId, OrderStatus previousStatus, OrderStatus status) {
+        applicationEventPublisher.publishEvent(new ShoppingCartStatusChangedEvent(cartId, previousStatus, status));
+    }
+
+    @Test
+    void statusChangesAreWrittenInTheTransaction() {
+        publish(1L, OrderStatus.PENDING, OrderStatus.PAID);
+        publish(2L, OrderStatus.PENDING, null);
+
+        assertThat(shoppingCartOutboxEventRepository.findAll())
+            .extracting(ShoppingCartOutboxEvent::getShoppingCartId, ShoppingCartOutboxEvent::getStatus)
+            .containsExactlyInAnyOrder(tuple(1L, OrderStatus.PAID), tuple(2L, null));
+    }
+
+    @Test
+    void statusChangesAreDeliveredInBatches() {
+        publish(1L, OrderStatus.PENDING, OrderStatus.PAID);
+        publish(2L, OrderStatus.PENDING, OrderStatus.CANCELLED);
+        publish(3L, OrderStatus.PENDING, OrderStatus.PAID);
+
+        // Batches of 2 in the tests
+        assertThat(shoppingCartOutboxService.dispatch()).isEqualTo(3);
+
+        assertThat(listener.events).extracting(OrderLifecycleEvent::shoppingCartId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(shoppingCartOutboxEventRepository.count()).isZero();
+        assertThat(shoppingCartOutboxService.dispatch()).isZero();
+    }
+
+    @Test
+    void failedDeliveryIsRetriedInOrder() {
+        publish(1L, OrderStatus.PENDING, OrderStatus.PAID);
+        publish(1L, OrderStatus.PAID, OrderStatus.COMPLETED);
+        listener.failingOnce.add(1L);
+
+        assertThat(shoppingCartOutboxService.dispatch()).isZero();
+        assertThat(listener.events).isEmpty();
+        assertThat(shoppingCartOutboxEventRepository.findAll()).extracting(ShoppingCartOutboxEvent::getAttempts).contains(1);
+
+        assertThat(shoppingCartOutboxService.dispatch()).isEqualTo(2);
+        assertThat(listener.events).extracting(OrderLifecycleEvent::status).containsExactly(OrderStatus.PAID, OrderStatus.COMPLETED);
+    }
+
+    @Test
+    void failingDeliveryIsDroppedAfterMaxAttempts() {
+        publish(1L, OrderStatus.PENDING, OrderStatus.PAID);
+        publish(2L, OrderStatus.PENDING, OrderStatus.PAID);
+        listener.failing.add(1L);
+
+        assertThat(shoppingCartOutboxService.dispatch()).isEqualTo(1);
+        assertThat(shoppingCartOutboxEventRepository.count()).isEqualTo(1);
+
+        // Dropped at the second attempt in the tests
+        assertThat(shoppingCartOutboxService.dispatch()).isZero();
+        assertThat(shoppingCartOutboxEventRepository.count()).isZero();
+        assertThat(listener.events).extracting(OrderLifecycleEvent::shoppingCartId).containsExactly(2L);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentDispatchersDeliverTheEventsOfACartInOrder() throws Exception {
+        List<OrderStatus> statuses = List.of(OrderStatus.PENDING, OrderStatus.PAID, OrderStatus.COMPLETED, OrderStatus.REFUNDED);
+        List<Long> cartIds = List.of(1L, 2L, 3L);
+        // Committed, so that both dispatchers see them; each cart fills more than a batch
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            cartIds.forEach(cartId -> {
+                for (int i = 0; i < statuses.size(); i++) {
+                    publish(cartId, i == 0 ? null : statuses.get(i - 1), statuses.get(i));
+                }
+            })
+        );
+        listener.slowCreations = true;
+
+        ExecutorService dispatchers = Executors.newFixedThreadPool(2);
+        try {
+            CyclicBarrier start = new CyclicBarrier(2);
+            Callable<Integer> dispatcher = () -> {
+                start.await();
+                int delivered = 0;
+                while (shoppingCartOutboxEventRepository.count() > 0) {
+                    delivered += shoppingCartOutboxService.dispatch();
+                }
+                return delivered;
+            };
+            List<Future<Integer>> results = dispatchers.invokeAll(List.of(dispatcher, dispatcher), 30, TimeUnit.SECONDS);
+            assertThat(results.get(0).get() + results.get(1).get()).isEqualTo(cartIds.size() * statuses.size());
+        } finally {
+            dispatchers.shutdownNow();
+        }
+
+        for (Long cartId : cartIds) {
+            assertThat(listener.events)
+                .filteredOn(event -> event.shoppingCartId().equals(cartId))
+                .extracting(OrderLifecycleEvent::status)
+                .containsExactlyElementsOf(statuses);
+        }
+    }
+}
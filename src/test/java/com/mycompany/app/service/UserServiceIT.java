@@ -6,16 +6,28 @@ import static org.mockito.Mockito.when;
 import com.mycompany.app.IntegrationTest;
 import com.mycompany.app.domain.User;
 import com.mycompany.app.repository.UserRepository;
+import com.mycompany.app.service.dto.AdminUserDTO;
+import jakarta.persistence.EntityManagerFactory;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.transaction.annotation.Transactional;
@@ -49,6 +61,12 @@ class UserServiceIT {
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @MockBean
     private DateTimeProvider dateTimeProvider;
 
@@ -70,6 +88,12 @@ class UserServiceIT {
         auditingHandler.setDateTimeProvider(dateTimeProvider);
     }
 
+    @AfterEach
+    public void clearUserCaches() {
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+    }
+
     @Test
     @Transactional
     void assertThatUserMustExistToResetPassword() {
@@ -178,4 +202,60 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    void assertThatAnUnknownUserIsCachedUntilRegistered() {
+        Cache usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        Cache usersByEmail = cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE);
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(DEFAULT_LOGIN)).isEmpty();
+        assertThat(userRepository.findOneWithAuthoritiesByEmailIgnoreCase(DEFAULT_EMAIL)).isEmpty();
+        assertThat(usersByLogin.get(DEFAULT_LOGIN)).isNotNull();
+        assertThat(usersByLogin.get(DEFAULT_LOGIN).get()).isNull();
+        assertThat(usersByEmail.get(DEFAULT_EMAIL)).isNotNull();
+
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(DEFAULT_LOGIN);
+        userDTO.setEmail(DEFAULT_EMAIL);
+        userDTO.setLangKey(DEFAULT_LANGKEY);
+        userService.registerUser(userDTO, "password");
+
+        assertThat(usersByLogin.get(DEFAULT_LOGIN)).isNull();
+        assertThat(usersByEmail.get(DEFAULT_EMAIL)).isNull();
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(DEFAULT_LOGIN)).isPresent();
+        assertThat(userRepository.findOneWithAuthoritiesByEmailIgnoreCase(DEFAULT_EMAIL)).isPresent();
+    }
+
+    @Test
+    void assertThatConcurrentMissesOfAUserAreLoadedOnce() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // Several rounds, as a round may not overlap the lookups enough to miss concurrently
+            for (int round = 0; round < 20; round++) {
+                String login = "concurrent-miss-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Optional<User>>> lookups = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    lookups.add(
+                        executor.submit(() -> {
+                            start.await();
+                            return userRepository.findOneWithAuthoritiesByLogin(login);
+                        })
+                    );
+                }
+                statistics.clear();
+                start.countDown();
+                for (Future<Optional<User>> lookup : lookups) {
+                    assertThat(lookup.get()).isEmpty();
+                }
+                assertThat(statistics.getQueryExecutionCount()).as("queries of round %d", round).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package com.mycompany.app.service.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CsvRowReaderTest {
+
+    @Test
+    void readQuotedAndAbsentValues() {
+        List<ImportRow> rows = read(
+            "\uFEFFname, price ,description\n" + "Kite,12,\n" + "\"Kite, \"\"red\"\"\",\"\",\"Line one\nline two\"\n" + "\n" + "Boat,5,x\n"
+        );
+
+        assertThat(rows).extracting(ImportRow::line).containsExactly(2L, 3L, 6L);
+        assertThat(rows).extracting(ImportRow::error).containsOnlyNulls();
+        assertThat(rows.get(0).fields()).isEqualTo(fields("name", "Kite", "price", "12", "description", null));
+        assertThat(rows.get(1).fields()).isEqualTo(fields("name", "Kite, \"red\"", "price", "", "description", "Line one\nline two"));
+        assertThat(rows.get(2).fields()).isEqualTo(fields("name", "Boat", "price", "5", "description", "x"));
+    }
+
+    @Test
+    void reportInvalidRecordsAndGoOn() {
+        List<ImportRow> rows = read("name,price\nKite\n\"Kite\"x,1\nBoat,5\n\"Open,1\n");
+
+        assertThat(rows).extracting(ImportRow::line).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(rows.get(0).error()).isEqualTo("Expected 2 values but found 1");
+        assertThat(rows.get(1).error()).isEqualTo("Unexpected character after quoted value");
+        assertThat(rows.get(2).fields()).isEqualTo(fields("name", "Boat", "price", "5"));
+        assertThat(rows.get(3).error()).isEqualTo("Unterminated quoted value");
+    }
+
+    @Test
+    void rejectLongLineAndGoOnWithTheNextRecord() {
+        List<ImportRow> rows = read("name,price\n" + "Kite," + "1".repeat(64 * 1024) + "\nBoat,5\n");
+
+        assertThat(rows).extracting(ImportRow::line).containsExactly(2L, 3L);
+        assertThat(rows.get(0).error()).isEqualTo("Record is longer than 65536 characters");
+        assertThat(rows.get(1).fields()).isEqualTo(fields("name", "Boat", "price", "5"));
+    }
+
+    @Test
+    void skipTheLinesOfAnInvalidQuotedRecord() {
+        String longValue = "x,y\n".repeat(16 * 1024);
+        List<ImportRow> rows = read(
+            "name,price\n" + "\"Kite\",\"" + longValue + "\"\n" + "\"Kite\"x,\"a\nb,c\"\n" + "Boat,5\n"
+        );
+
+        assertThat(rows).extracting(ImportRow::line).containsExactly(2L, 16387L, 16389L);
+        assertThat(rows.get(0).error()).isEqualTo("Record is longer than 65536 characters");
+        assertThat(rows.get(1).error()).isEqualTo("Unexpected character after quoted value");
+        assertThat(rows.get(2).fields()).isEqualTo(fields("name", "Boat", "price", "5"));
+    }
+
+    private static List<ImportRow> read(String csv) {
+        List<ImportRow> rows = new ArrayList<>();
+        new CsvRowReader(new BufferedReader(new StringReader(csv))).forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static Map<String, String> fields(String... namesAndValues) {
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            fields.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return fields;
+    }
+}
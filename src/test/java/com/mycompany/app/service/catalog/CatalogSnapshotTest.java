@@ -0,0 +1,115 @@
+package com.mycompany.app.service.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductCategory;
+import com.mycompany.app.domain.enumeration.Size;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+class CatalogSnapshotTest {
+
+    private ProductCategory toys;
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void init() {
+        toys = new ProductCategory().id(10L).name("Toys");
+        snapshot = CatalogSnapshot.of(
+            1L,
+            List.of(toys),
+            List.of(product(1L, "Train", "20"), product(2L, "Car", "5"), product(3L, "Boat", "20"))
+        );
+    }
+
+    @Test
+    void findPageInEachOrder() {
+        assertThat(ids(snapshot.findPage(PageRequest.of(0, 10)).orElseThrow())).containsExactly(1L, 2L, 3L);
+        assertThat(ids(snapshot.findPage(PageRequest.of(0, 10, Sort.by("name"))).orElseThrow())).containsExactly(3L, 2L, 1L);
+        Sort byPriceDesc = Sort.by(Sort.Direction.DESC, "price", "id");
+        assertThat(ids(snapshot.findPage(PageRequest.of(0, 10, byPriceDesc)).orElseThrow())).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void findPagePaginates() {
+        Page<Product> page = snapshot.findPage(PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "id"))).orElseThrow();
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(ids(page)).containsExactly(1L);
+        assertThat(snapshot.findPage(PageRequest.of(2, 2)).orElseThrow().getContent()).isEmpty();
+    }
+
+    @Test
+    void findPageInUnsupportedOrder() {
+        assertThat(snapshot.findPage(PageRequest.of(0, 10, Sort.by("description")))).isEmpty();
+        assertThat(snapshot.findPage(PageRequest.of(0, 10, Sort.by("price", "name")))).isEmpty();
+        assertThat(snapshot.findPage(PageRequest.of(0, 10, Sort.by(Sort.Order.asc("name").ignoreCase())))).isEmpty();
+    }
+
+    @Test
+    void snapshotHoldsCopies() {
+        Product product = product(4L, "Kite", "1");
+        CatalogSnapshot next = snapshot.withProduct(product);
+        product.setName("Changed");
+
+        assertThat(next.findProduct(4L).orElseThrow().getName()).isEqualTo("Kite");
+        assertThat(next.findProduct(4L).orElseThrow()).isNotSameAs(product);
+    }
+
+    @Test
+    void withProductKeepsPreviousVersion() {
+        CatalogSnapshot next = snapshot.withProduct(product(2L, "Zeppelin", "5"));
+
+        assertThat(next.getVersion()).isEqualTo(2L);
+        assertThat(ids(next.findPage(PageRequest.of(0, 10, Sort.by("name"))).orElseThrow())).containsExactly(3L, 1L, 2L);
+        assertThat(snapshot.findProduct(2L).orElseThrow().getName()).isEqualTo("Car");
+        assertThat(ids(snapshot.findPage(PageRequest.of(0, 10, Sort.by("name"))).orElseThrow())).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void withoutProduct() {
+        CatalogSnapshot next = snapshot.withoutProduct(1L);
+
+        assertThat(next.size()).isEqualTo(2);
+        assertThat(next.findProduct(1L)).isEmpty();
+        assertThat(ids(next.findPage(PageRequest.of(0, 10, Sort.by("price"))).orElseThrow())).containsExactly(2L, 3L);
+        assertThat(next.withoutProduct(1L)).isSameAs(next);
+    }
+
+    @Test
+    void withProductsAddsReplacesAndRemoves() {
+        CatalogSnapshot next = snapshot.withProducts(List.of(1L, 2L, 4L), List.of(product(2L, "Zeppelin", "5"), product(4L, "Kite", "1")));
+
+        assertThat(next.getVersion()).isEqualTo(2L);
+        assertThat(next.findProduct(1L)).isEmpty();
+        assertThat(ids(next.findPage(PageRequest.of(0, 10, Sort.by("name"))).orElseThrow())).containsExactly(3L, 4L, 2L);
+        assertThat(ids(next.findPage(PageRequest.of(0, 10, Sort.by("price"))).orElseThrow())).containsExactly(4L, 2L, 3L);
+        assertThat(snapshot.size()).isEqualTo(3);
+    }
+
+    @Test
+    void withCategoryUpdatesItsProducts() {
+        CatalogSnapshot next = snapshot.withCategory(new ProductCategory().id(10L).name("Games"));
+
+        assertThat(next.findProduct(1L).orElseThrow().getProductCategory().getName()).isEqualTo("Games");
+        assertThat(next.findPage(PageRequest.of(0, 10)).orElseThrow().getContent()).allMatch(product ->
+            "Games".equals(product.getProductCategory().getName())
+        );
+        assertThat(snapshot.findProduct(1L).orElseThrow().getProductCategory().getName()).isEqualTo("Toys");
+    }
+
+    private Product product(Long id, String name, String price) {
+        return new Product().id(id).name(name).price(new BigDecimal(price)).productSize(Size.M).productCategory(toys);
+    }
+
+    private static List<Long> ids(Page<Product> page) {
+        return page.getContent().stream().map(Product::getId).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.mycompany.app.service.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark of reservations of a single hot product by many threads at once, as in a flash sale: twice as many
+ * units are asked for as there are on hand, and some are given up. Reports the rate of reservation attempts, and
+ * checks that no unit is reserved twice nor lost.
+ */
+class StockLedgerContentionTest {
+
+    private static final int THREADS = 8;
+
+    private static final int ATTEMPTS_PER_THREAD = 250_000;
+
+    private static final long ON_HAND = THREADS * ATTEMPTS_PER_THREAD / 2;
+
+    /**
+     * Far below what the ledger sustains, so that the check holds on a loaded build machine.
+     */
+    private static final long MIN_ATTEMPTS_PER_SECOND = 10_000;
+
+    private final Logger log = LoggerFactory.getLogger(StockLedgerContentionTest.class);
+
+    @Test
+    void reserveAHotProductFromManyThreads() throws Exception {
+        StockLedger ledger = new StockLedger();
+        ledger.track(1L, ON_HAND, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(
+                    executor.submit(() -> {
+                        start.await();
+                        int reserved = 0;
+                        for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                            if (ledger.reserve(1L, 1)) {
+                                reserved++;
+                                // Some shoppers give up, making their unit available to the others
+                                if (attempt % 10 == 0) {
+                                    ledger.release(1L, 1);
+                                    reserved--;
+                                }
+                            }
+                        }
+                        return reserved;
+                    })
+                );
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            long reserved = 0;
+            for (Future<Integer> result : results) {
+                reserved += result.get(1, TimeUnit.MINUTES);
+            }
+            long elapsedNanos = System.nanoTime() - begin;
+
+            long attemptsPerSecond = (long) THREADS * ATTEMPTS_PER_THREAD * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsedNanos);
+            log.info("{} threads attempted {} reservations per second of one product", THREADS, attemptsPerSecond);
+            assertThat(reserved).isLessThanOrEqualTo(ON_HAND);
+            assertThat(ledger.findCounts(1L)).contains(new StockLedger.Counts(ON_HAND, reserved, ON_HAND - reserved));
+            assertThat(attemptsPerSecond).isGreaterThan(MIN_ATTEMPTS_PER_SECOND);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
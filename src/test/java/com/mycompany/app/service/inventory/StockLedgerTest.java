@@ -0,0 +1,90 @@
+package com.mycompany.app.service.inventory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StockLedgerTest {
+
+    private StockLedger ledger;
+
+    @BeforeEach
+    void init() {
+        ledger = new StockLedger();
+        ledger.track(1L, 10, 0);
+    }
+
+    @Test
+    void reserveUpToTheAvailableUnits() {
+        assertThat(ledger.reserve(1L, 6)).isTrue();
+        assertThat(ledger.reserve(1L, 5)).isFalse();
+        assertThat(ledger.reserve(1L, 4)).isTrue();
+        assertThat(ledger.reserve(1L, 1)).isFalse();
+
+        assertThat(ledger.findCounts(1L)).contains(new StockLedger.Counts(10, 10, 0));
+    }
+
+    @Test
+    void releaseMakesUnitsAvailableAgain() {
+        ledger.reserve(1L, 10);
+        ledger.release(1L, 4);
+
+        assertThat(ledger.findCounts(1L)).contains(new StockLedger.Counts(10, 6, 4));
+        assertThat(ledger.reserve(1L, 4)).isTrue();
+    }
+
+    @Test
+    void consumeAndSellTakeUnitsOffHand() {
+        ledger.reserve(1L, 3);
+        ledger.consume(1L, 3);
+        assertThat(ledger.findCounts(1L)).contains(new StockLedger.Counts(7, 0, 7));
+
+        ledger.reserve(1L, 5);
+        ledger.sell(1L, 4);
+        assertThat(ledger.findCounts(1L)).contains(new StockLedger.Counts(3, 5, -2));
+        assertThat(ledger.reserve(1L, 1)).isFalse();
+    }
+
+    @Test
+    void setOnHandKeepsReservations() {
+        ledger.reserve(1L, 4);
+
+        assertThat(ledger.setOnHand(1L, 20)).contains(10L);
+        assertThat(ledger.findCounts(1L)).contains(new StockLedger.Counts(20, 4, 16));
+        assertThat(ledger.setOnHand(2L, 5)).isEmpty();
+    }
+
+    @Test
+    void trackWithMoreReservedThanOnHand() {
+        ledger.track(2L, 3, 5);
+
+        assertThat(ledger.findCounts(2L)).contains(new StockLedger.Counts(3, 5, -2));
+        assertThat(ledger.reserve(2L, 1)).isFalse();
+    }
+
+    @Test
+    void untrackedProductsAreNotLimited() {
+        assertThat(ledger.reserve(2L, Integer.MAX_VALUE)).isTrue();
+        assertThat(ledger.findCounts(2L)).isEmpty();
+
+        ledger.untrack(1L);
+        assertThat(ledger.isTracked(1L)).isFalse();
+        assertThat(ledger.reserve(1L, 100)).isTrue();
+    }
+
+    @Test
+    void drainChangesOnce() {
+        ledger.track(2L, 5, 0);
+        assertThat(ledger.drainChanges()).containsOnlyKeys(1L, 2L);
+        assertThat(ledger.drainChanges()).isEmpty();
+
+        ledger.reserve(2L, 1);
+        assertThat(ledger.drainChanges()).containsExactlyEntriesOf(Map.of(2L, new StockLedger.Counts(5, 1, 4)));
+
+        ledger.markChanged(List.of(1L, 3L));
+        assertThat(ledger.drainChanges()).containsOnlyKeys(1L);
+    }
+}
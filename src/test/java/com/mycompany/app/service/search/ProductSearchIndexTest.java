@@ -0,0 +1,82 @@
+package com.mycompany.app.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new ProductSearchIndex();
+        index.index(1L, "Camión de juguete", "Un camión rojo de madera", "Juguetes");
+        index.index(2L, "Wooden train", "A red toy train, compatible with the toy truck", "Toys");
+        index.index(3L, "Rode fiets", "Een fiets voor kinderen", "Speelgoed");
+    }
+
+    @Test
+    void analyzerFoldsAccentsAndDropsStopWords() {
+        assertThat(SearchAnalyzer.analyze("El Camión de la Ñandú-Crème")).containsExactly("camion", "nandu", "creme");
+        assertThat(SearchAnalyzer.analyze("the bike and THE car")).containsExactly("bike", "car");
+    }
+
+    @Test
+    void searchMatchesFoldedTerms() {
+        assertThat(index.search("camion", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+        assertThat(index.search("CAMIÓN", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+    }
+
+    @Test
+    void searchRequiresEveryTerm() {
+        assertThat(index.search("red train ", PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+        assertThat(index.search("red bicycle ", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    void searchMatchesLastTermAsPrefix() {
+        assertThat(index.search("fie", PageRequest.of(0, 10)).getContent()).containsExactly(3L);
+        assertThat(index.search("fie ", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    void searchMatchesCategoryName() {
+        assertThat(index.search("speelgoed", PageRequest.of(0, 10)).getContent()).containsExactly(3L);
+    }
+
+    @Test
+    void searchRanksNameAboveDescription() {
+        index.index(4L, "Toy truck", "A blue truck", "Toys");
+
+        assertThat(index.search("truck", PageRequest.of(0, 10)).getContent()).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void searchPaginates() {
+        index.index(4L, "Toy truck", "A blue truck", "Toys");
+        index.index(5L, "Toy car", null, "Toys");
+
+        Page<Long> page = index.search("toy", PageRequest.of(1, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(index.search("toy", PageRequest.of(2, 2)).getContent()).isEmpty();
+    }
+
+    @Test
+    void indexReplacesAndRemovesProducts() {
+        index.index(1L, "Vrachtwagen", null, null);
+
+        assertThat(index.search("camion", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(index.search("vrachtwagen", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+
+        index.remove(1L);
+
+        assertThat(index.search("vrachtwagen", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.app.service.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DecayingSpaceSavingTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private static final long HOUR_MILLIS = HOUR.toMillis();
+
+    @Test
+    void countsExactlyBelowCapacity() {
+        DecayingSpaceSaving sketch = new DecayingSpaceSaving(3, HOUR, 0);
+        sketch.offer(1, 2, 0);
+        sketch.offer(2, 5, 0);
+        sketch.offer(1, 1, 0);
+
+        assertThat(sketch.top(10, 0))
+            .containsExactly(new DecayingSpaceSaving.Entry(2, 5, 0), new DecayingSpaceSaving.Entry(1, 3, 0));
+        assertThat(sketch.top(1, 0)).extracting(DecayingSpaceSaving.Entry::productId).containsExactly(2L);
+        assertThat(sketch.maxError(0)).isZero();
+    }
+
+    @Test
+    void newProductTakesOverTheSmallestCounter() {
+        DecayingSpaceSaving sketch = new DecayingSpaceSaving(2, HOUR, 0);
+        sketch.offer(1, 10, 0);
+        sketch.offer(2, 3, 0);
+        sketch.offer(3, 1, 0);
+
+        assertThat(sketch.top(10, 0))
+            .containsExactly(new DecayingSpaceSaving.Entry(1, 10, 0), new DecayingSpaceSaving.Entry(3, 4, 3));
+    }
+
+    @Test
+    void heavyHittersAreKeptWithinTheErrorBound() {
+        int capacity = 20;
+        DecayingSpaceSaving sketch = new DecayingSpaceSaving(capacity, HOUR, 0);
+        Map<Long, Long> actual = new HashMap<>();
+        Random random = new Random(42);
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            // Products 0 to 4 sell far more than the 10 000 others
+            long productId = random.nextInt(4) == 0 ? random.nextInt(5) : 5 + random.nextInt(10_000);
+            sketch.offer(productId, 1, 0);
+            actual.merge(productId, 1L, Long::sum);
+            total++;
+        }
+
+        double bound = (double) total / capacity;
+        assertThat(sketch.maxError(0)).isCloseTo(bound, within(1e-6));
+        List<DecayingSpaceSaving.Entry> top = sketch.top(5, 0);
+        assertThat(top).extracting(DecayingSpaceSaving.Entry::productId).containsExactlyInAnyOrder(0L, 1L, 2L, 3L, 4L);
+        for (DecayingSpaceSaving.Entry entry : sketch.top(capacity, 0)) {
+            long units = actual.get(entry.productId());
+            assertThat(entry.count()).isGreaterThanOrEqualTo(units).isLessThanOrEqualTo(units + entry.error());
+            assertThat(entry.error()).isLessThanOrEqualTo(bound);
+        }
+    }
+
+    @Test
+    void salesDecayOverTime() {
+        DecayingSpaceSaving sketch = new DecayingSpaceSaving(2, HOUR, 0);
+        sketch.offer(1, 10, 0);
+        sketch.offer(2, 4, HOUR_MILLIS);
+
+        List<DecayingSpaceSaving.Entry> top = sketch.top(2, HOUR_MILLIS);
+        assertThat(top.get(0).productId()).isEqualTo(2);
+        assertThat(top.get(0).count()).isCloseTo(4, within(1e-9));
+        assertThat(top.get(1).count()).isCloseTo(10 / Math.E, within(1e-9));
+    }
+
+    @Test
+    void weightsAreRescaledInsteadOfOverflowing() {
+        DecayingSpaceSaving sketch = new DecayingSpaceSaving(2, HOUR, 0);
+        sketch.offer(1, 1, 0);
+        // Far beyond the exponent at which the weights would overflow
+        long later = 1000 * HOUR_MILLIS;
+        sketch.offer(2, 3, later);
+        sketch.offer(2, 1, later + HOUR_MILLIS);
+
+        List<DecayingSpaceSaving.Entry> top = sketch.top(2, later + HOUR_MILLIS);
+        assertThat(top.get(0).productId()).isEqualTo(2);
+        assertThat(top.get(0).count()).isCloseTo(3 / Math.E + 1, within(1e-9));
+        assertThat(top.get(1).count()).isZero();
+    }
+}
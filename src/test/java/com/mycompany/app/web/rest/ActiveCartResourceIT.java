@@ -0,0 +1,226 @@
+package com.mycompany.app.web.rest;
+
+import static com.mycompany.app.web.rest.TestUtil.sameNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import com.mycompany.app.service.ActiveCartService;
+import com.mycompany.app.service.dto.ActiveCartLineDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ActiveCartResource} REST controller.
+ * <p>
+ * The writes of the {@link ActiveCartService} join the transaction of each test, which rolls them back.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(ActiveCartResourceIT.LOGIN)
+class ActiveCartResourceIT {
+
+    static final String LOGIN = "active-cart-user";
+
+    private static final String ENTITY_API_URL = "/api/account/cart";
+    private static final String LINE_API_URL = ENTITY_API_URL + "/lines/{productId}";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ActiveCartService activeCartService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restActiveCartMockMvc;
+
+    private CustomerDetails customerDetails;
+
+    private Product shirt;
+
+    private Product socks;
+
+    @BeforeEach
+    public void initTest() {
+        customerDetails = CustomerDetailsResourceIT.createEntity(em);
+        customerDetails.getUser().setLogin(LOGIN);
+        em.persist(customerDetails);
+        shirt = ProductResourceIT.createEntity(em).price(new BigDecimal("10.50"));
+        em.persist(shirt);
+        socks = ProductResourceIT.createEntity(em).price(new BigDecimal("3"));
+        em.persist(socks);
+        em.flush();
+    }
+
+    private ShoppingCart createPendingCart() {
+        return createPendingCart(customerDetails);
+    }
+
+    private ShoppingCart createPendingCart(CustomerDetails customerDetails) {
+        ShoppingCart cart = new ShoppingCart()
+            .placedDate(Instant.now())
+            .status(OrderStatus.PENDING)
+            .totalPrice(new BigDecimal("10.50"))
+            .paymentMethod(PaymentMethod.CREDIT_CARD)
+            .customerDetails(customerDetails);
+        em.persist(cart);
+        em.persist(new ProductOrder().quantity(1).totalPrice(new BigDecimal("10.50")).product(shirt).cart(cart));
+        em.flush();
+        return cart;
+    }
+
+    private ResultActions setLine(Product product, int quantity) throws Exception {
+        return restActiveCartMockMvc.perform(
+            put(LINE_API_URL, product.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsBytes(new ActiveCartLineDTO(quantity)))
+        );
+    }
+
+    private List<ProductOrder> findOrders(ShoppingCart cart) {
+        return em
+            .createQuery("select productOrder from ProductOrder productOrder where productOrder.cart.id = :id", ProductOrder.class)
+            .setParameter("id", cart.getId())
+            .getResultList();
+    }
+
+    @Test
+    @Transactional
+    void setLinesAreWrittenOnFlush() throws Exception {
+        ShoppingCart cart = createPendingCart();
+
+        setLine(socks, 2)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(cart.getId().intValue()))
+            .andExpect(jsonPath("$.lines", hasSize(2)))
+            .andExpect(jsonPath("$.totalPrice").value(sameNumber(new BigDecimal("16.50"))));
+        setLine(shirt, 0).andExpect(status().isOk()).andExpect(jsonPath("$.lines", hasSize(1)));
+        setLine(socks, 3).andExpect(status().isOk()).andExpect(jsonPath("$.totalPrice").value(sameNumber(new BigDecimal("9"))));
+
+        // Nothing is written until the flush
+        assertThat(findOrders(cart)).extracting(ProductOrder::getQuantity).containsExactly(1);
+
+        assertThat(activeCartService.flush()).isPositive();
+        em.flush();
+        em.clear();
+        assertThat(findOrders(cart)).singleElement().satisfies(order -> {
+            assertThat(order.getProduct().getId()).isEqualTo(socks.getId());
+            assertThat(order.getQuantity()).isEqualTo(3);
+            assertThat(order.getTotalPrice()).isEqualByComparingTo("9");
+        });
+        assertThat(em.find(ShoppingCart.class, cart.getId()).getTotalPrice()).isEqualByComparingTo("9");
+    }
+
+    @Test
+    @Transactional
+    void statusChangeWritesTheCart() throws Exception {
+        ShoppingCart cart = createPendingCart();
+        setLine(shirt, 2).andExpect(status().isOk());
+
+        restActiveCartMockMvc
+            .perform(
+                patch("/api/shopping-carts/{id}", cart.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + cart.getId() + ",\"status\":\"PAID\"}")
+            )
+            .andExpect(status().isOk());
+
+        em.flush();
+        em.clear();
+        assertThat(findOrders(cart)).extracting(ProductOrder::getQuantity).containsExactly(2);
+        ShoppingCart paid = em.find(ShoppingCart.class, cart.getId());
+        assertThat(paid.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(paid.getTotalPrice()).isEqualByComparingTo("21.00");
+        restActiveCartMockMvc.perform(get(ENTITY_API_URL)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getActiveCart() throws Exception {
+        ShoppingCart cart = createPendingCart();
+
+        restActiveCartMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(cart.getId().intValue()))
+            .andExpect(jsonPath("$.lines[0].productId").value(shirt.getId().intValue()))
+            .andExpect(jsonPath("$.lines[0].quantity").value(1));
+    }
+
+    @Test
+    @Transactional
+    void setLineWithoutPendingCart() throws Exception {
+        setLine(shirt, 1).andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value("error.nopendingcart"));
+    }
+
+    @Test
+    @Transactional
+    void setLineBeyondMaxLines() throws Exception {
+        createPendingCart();
+        setLine(socks, 1).andExpect(status().isOk());
+        Product hat = ProductResourceIT.createEntity(em);
+        em.persist(hat);
+        setLine(hat, 1).andExpect(status().isOk());
+        Product scarf = ProductResourceIT.createEntity(em);
+        em.persist(scarf);
+        em.flush();
+
+        setLine(scarf, 1).andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value("error.toomanylines"));
+    }
+
+    @Test
+    @Transactional
+    void cartsSpilledToMakeRoomAreWritten() throws Exception {
+        // More customers than the carts held at most: application.active-cart.max-carts is 4 in tests
+        List<CustomerDetails> customers = new ArrayList<>();
+        List<ShoppingCart> carts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            CustomerDetails customer = CustomerDetailsResourceIT.createEntity(em);
+            customer.getUser().setLogin(LOGIN + "-" + i);
+            em.persist(customer);
+            customers.add(customer);
+            carts.add(createPendingCart(customer));
+        }
+
+        for (CustomerDetails customer : customers) {
+            restActiveCartMockMvc
+                .perform(
+                    put(LINE_API_URL, socks.getId())
+                        .with(user(customer.getUser().getLogin()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new ActiveCartLineDTO(2)))
+                )
+                .andExpect(status().isOk());
+        }
+
+        em.flush();
+        em.clear();
+        assertThat(carts).filteredOn(cart -> findOrders(cart).size() == 2).hasSizeGreaterThanOrEqualTo(2);
+        customers.forEach(customer -> activeCartService.releaseCustomer(customer.getId()));
+    }
+}
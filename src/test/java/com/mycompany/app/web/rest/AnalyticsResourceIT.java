@@ -0,0 +1,172 @@
+package com.mycompany.app.web.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.security.AuthoritiesConstants;
+import com.mycompany.app.service.OrderLifecycleEvent;
+import com.mycompany.app.service.SalesRollupService;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link AnalyticsResource} REST controller.
+ * <p>
+ * The status changes are handed to the {@link SalesRollupService} within the transaction of each test, rather than
+ * delivered by the outbox.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@Transactional
+class AnalyticsResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/analytics/sales";
+
+    private static final LocalDate SALES_DATE = LocalDate.of(2001, 2, 3);
+
+    private static final String RANGE = "?from=2001-02-01&to=2001-02-28";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private MockMvc restAnalyticsMockMvc;
+
+    private Product product;
+
+    private Product otherProduct;
+
+    private ShoppingCart cart;
+
+    @BeforeEach
+    public void initTest() {
+        product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        otherProduct = ProductResourceIT.createEntity(em);
+        em.persist(otherProduct);
+        cart = persistCart(OrderStatus.PAID, 2, 1);
+        em.flush();
+    }
+
+    private ShoppingCart persistCart(OrderStatus status, int quantity, int otherQuantity) {
+        ShoppingCart shoppingCart = ShoppingCartResourceIT.createEntity(em)
+            .status(status)
+            .placedDate(SALES_DATE.atTime(10, 0).toInstant(ZoneOffset.UTC));
+        em.persist(shoppingCart);
+        persistLine(shoppingCart, product, quantity);
+        persistLine(shoppingCart, otherProduct, otherQuantity);
+        return shoppingCart;
+    }
+
+    private void persistLine(ShoppingCart shoppingCart, Product lineProduct, int quantity) {
+        em.persist(new ProductOrder().quantity(quantity).totalPrice(new BigDecimal(5 * quantity)).product(lineProduct).cart(shoppingCart));
+    }
+
+    private void deliver(ShoppingCart shoppingCart, OrderStatus previousStatus, OrderStatus status) {
+        salesRollupService.onOrderLifecycleEvent(
+            new OrderLifecycleEvent(null, shoppingCart.getId(), previousStatus, status, Instant.now())
+        );
+    }
+
+    @Test
+    void salesAreCountedOnceWhenPaid() throws Exception {
+        deliver(cart, OrderStatus.PENDING, OrderStatus.PAID);
+        // Delivered again, then completed
+        deliver(cart, OrderStatus.PENDING, OrderStatus.PAID);
+        deliver(cart, OrderStatus.PAID, OrderStatus.COMPLETED);
+
+        restAnalyticsMockMvc
+            .perform(get(ENTITY_API_URL + RANGE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id", contains(product.getId().intValue(), otherProduct.getId().intValue())))
+            .andExpect(jsonPath("$[*].date", contains(SALES_DATE.toString(), SALES_DATE.toString())))
+            .andExpect(jsonPath("$[*].units", contains(2, 1)))
+            .andExpect(jsonPath("$[*].revenue", contains(10.0, 5.0)));
+        restAnalyticsMockMvc
+            .perform(get(ENTITY_API_URL + RANGE + "&groupBy=category"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id", contains(product.getProductCategory().getId().intValue())))
+            .andExpect(jsonPath("$[*].units", contains(3)))
+            .andExpect(jsonPath("$[*].revenue", contains(15.0)));
+    }
+
+    @Test
+    void salesAreTakenOffWhenRefunded() throws Exception {
+        ShoppingCart otherCart = persistCart(OrderStatus.PAID, 1, 0);
+        em.flush();
+        deliver(cart, OrderStatus.PENDING, OrderStatus.PAID);
+        deliver(otherCart, OrderStatus.PENDING, OrderStatus.PAID);
+        deliver(cart, OrderStatus.PAID, OrderStatus.REFUNDED);
+        deliver(cart, OrderStatus.PAID, OrderStatus.REFUNDED);
+
+        restAnalyticsMockMvc
+            .perform(get(ENTITY_API_URL + RANGE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].id", contains(product.getId().intValue())))
+            .andExpect(jsonPath("$[*].units", contains(1)));
+    }
+
+    @Test
+    void pendingCartsAreNotCounted() throws Exception {
+        ShoppingCart pendingCart = persistCart(OrderStatus.PENDING, 1, 1);
+        em.flush();
+        deliver(pendingCart, OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+        restAnalyticsMockMvc.perform(get(ENTITY_API_URL + RANGE)).andExpect(status().isOk()).andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void salesAreRebuiltFromTheOrders() throws Exception {
+        persistCart(OrderStatus.COMPLETED, 3, 0);
+        persistCart(OrderStatus.PENDING, 4, 4);
+        em.flush();
+        // Counted before the rebuild, which must not count it twice
+        deliver(cart, OrderStatus.PENDING, OrderStatus.PAID);
+
+        restAnalyticsMockMvc.perform(post(ENTITY_API_URL + "/rebuild" + RANGE)).andExpect(status().isOk()).andExpect(content().string("2"));
+
+        restAnalyticsMockMvc
+            .perform(get(ENTITY_API_URL + RANGE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].units", contains(5, 1)))
+            .andExpect(jsonPath("$[*].revenue", contains(25.0, 5.0)));
+
+        // Taking a rebuilt cart off
+        deliver(cart, OrderStatus.PAID, OrderStatus.REFUNDED);
+        restAnalyticsMockMvc.perform(get(ENTITY_API_URL + RANGE)).andExpect(jsonPath("$[*].units", contains(3)));
+    }
+
+    @Test
+    void getSalesWithInvalidRange() throws Exception {
+        restAnalyticsMockMvc.perform(get(ENTITY_API_URL + "?from=2001-02-28&to=2001-02-01")).andExpect(status().isBadRequest());
+        restAnalyticsMockMvc.perform(get(ENTITY_API_URL + "?from=2001-01-01&to=2002-01-02")).andExpect(status().isBadRequest());
+        restAnalyticsMockMvc.perform(get(ENTITY_API_URL + RANGE + "&groupBy=customer")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getSalesAsUserIsForbidden() throws Exception {
+        restAnalyticsMockMvc.perform(get(ENTITY_API_URL + RANGE)).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,184 @@
+package com.mycompany.app.web.rest;
+
+import static com.mycompany.app.web.rest.TestUtil.sameNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import com.mycompany.app.repository.ShoppingCartRepository;
+import com.mycompany.app.service.dto.CheckoutDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CheckoutResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(CheckoutResourceIT.LOGIN)
+class CheckoutResourceIT {
+
+    static final String LOGIN = "checkout-user";
+
+    private static final String ENTITY_API_URL = "/api/checkout";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restCheckoutMockMvc;
+
+    private CustomerDetails customerDetails;
+
+    private Product shirt;
+
+    private Product socks;
+
+    @BeforeEach
+    public void initTest() {
+        customerDetails = CustomerDetailsResourceIT.createEntity(em);
+        customerDetails.getUser().setLogin(LOGIN);
+        em.persist(customerDetails);
+        shirt = ProductResourceIT.createEntity(em).price(new BigDecimal("10.50"));
+        em.persist(shirt);
+        socks = ProductResourceIT.createEntity(em).price(new BigDecimal("3"));
+        em.persist(socks);
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void checkout() throws Exception {
+        long databaseSizeBeforeCheckout = shoppingCartRepository.count();
+        CheckoutDTO checkout = new CheckoutDTO(
+            PaymentMethod.CREDIT_CARD,
+            "REF-1",
+            List.of(new CheckoutDTO.Line(shirt.getId(), 2), new CheckoutDTO.Line(socks.getId(), 1), new CheckoutDTO.Line(shirt.getId(), 1))
+        );
+
+        restCheckoutMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.cart.status").value(OrderStatus.PENDING.toString()))
+            .andExpect(jsonPath("$.cart.totalPrice").value(sameNumber(new BigDecimal("34.50"))))
+            .andExpect(jsonPath("$.cart.customerDetails.id").value(customerDetails.getId().intValue()))
+            .andExpect(jsonPath("$.orders", hasSize(2)))
+            .andExpect(jsonPath("$.orders[0].product.id").value(shirt.getId().intValue()))
+            .andExpect(jsonPath("$.orders[0].quantity").value(3))
+            .andExpect(jsonPath("$.orders[0].totalPrice").value(sameNumber(new BigDecimal("31.50"))));
+
+        assertThat(shoppingCartRepository.count()).isEqualTo(databaseSizeBeforeCheckout + 1);
+        em.flush();
+        em.clear();
+        ShoppingCart cart = em
+            .createQuery("select cart from ShoppingCart cart where cart.customerDetails.id = :id", ShoppingCart.class)
+            .setParameter("id", customerDetails.getId())
+            .getSingleResult();
+        assertThat(cart.getTotalPrice()).isEqualByComparingTo("34.50");
+        assertThat(cart.getPaymentReference()).isEqualTo("REF-1");
+        List<ProductOrder> orders = em
+            .createQuery("select productOrder from ProductOrder productOrder where productOrder.cart.id = :id", ProductOrder.class)
+            .setParameter("id", cart.getId())
+            .getResultList();
+        assertThat(orders).extracting(ProductOrder::getQuantity).containsExactlyInAnyOrder(3, 1);
+    }
+
+    @Test
+    @Transactional
+    void checkoutWithUnknownProduct() throws Exception {
+        long databaseSizeBeforeCheckout = shoppingCartRepository.count();
+        CheckoutDTO checkout = new CheckoutDTO(
+            PaymentMethod.CREDIT_CARD,
+            null,
+            List.of(new CheckoutDTO.Line(shirt.getId(), 1), new CheckoutDTO.Line(Long.MAX_VALUE, 1))
+        );
+
+        restCheckoutMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.productnotfound"));
+
+        assertThat(shoppingCartRepository.count()).isEqualTo(databaseSizeBeforeCheckout);
+    }
+
+    @Test
+    @Transactional
+    void checkoutWithInvalidQuantity() throws Exception {
+        CheckoutDTO checkout = new CheckoutDTO(PaymentMethod.CREDIT_CARD, null, List.of(new CheckoutDTO.Line(shirt.getId(), 0)));
+
+        restCheckoutMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void checkoutWithTooLargeQuantity() throws Exception {
+        CheckoutDTO checkout = new CheckoutDTO(
+            PaymentMethod.CREDIT_CARD,
+            null,
+            List.of(new CheckoutDTO.Line(shirt.getId(), CheckoutDTO.Line.MAX_QUANTITY + 1))
+        );
+
+        restCheckoutMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void checkoutWithTooLargeMergedQuantity() throws Exception {
+        long databaseSizeBeforeCheckout = shoppingCartRepository.count();
+        CheckoutDTO checkout = new CheckoutDTO(
+            PaymentMethod.CREDIT_CARD,
+            null,
+            List.of(
+                new CheckoutDTO.Line(shirt.getId(), CheckoutDTO.Line.MAX_QUANTITY),
+                new CheckoutDTO.Line(shirt.getId(), CheckoutDTO.Line.MAX_QUANTITY)
+            )
+        );
+
+        restCheckoutMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.quantitytoolarge"));
+
+        assertThat(shoppingCartRepository.count()).isEqualTo(databaseSizeBeforeCheckout);
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("checkout-stranger")
+    void checkoutWithoutCustomerDetails() throws Exception {
+        CheckoutDTO checkout = new CheckoutDTO(PaymentMethod.CREDIT_CARD, null, List.of(new CheckoutDTO.Line(shirt.getId(), 1)));
+
+        restCheckoutMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.nocustomerdetails"));
+    }
+}
@@ -31,6 +31,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -269,7 +270,36 @@ class CustomerDetailsResourceIT {
             .andExpect(jsonPath("$.[*].addressLine1").value(hasItem(DEFAULT_ADDRESS_LINE_1)))
             .andExpect(jsonPath("$.[*].addressLine2").value(hasItem(DEFAULT_ADDRESS_LINE_2)))
             .andExpect(jsonPath("$.[*].city").value(hasItem(DEFAULT_CITY)))
-            .andExpect(jsonPath("$.[*].country").value(hasItem(DEFAULT_COUNTRY)));
+            .andExpect(jsonPath("$.[*].country").value(hasItem(DEFAULT_COUNTRY)))
+            .andExpect(jsonPath("$.[*].user.login").value(hasItem(customerDetails.getUser().getLogin())))
+            .andExpect(jsonPath("$.[*].carts").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomerDetailsByKeyset() throws Exception {
+        // Cities after the sample data ones, so that these customers come first
+        CustomerDetails first = customerDetailsRepository.saveAndFlush(createEntity(em).city("zzz1"));
+        CustomerDetails second = customerDetailsRepository.saveAndFlush(createEntity(em).city("zzz2"));
+
+        MvcResult result = restCustomerDetailsMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=city,desc&size=1&after="))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andExpect(jsonPath("$.[0].user.login").exists())
+            .andReturn();
+
+        restCustomerDetailsMockMvc
+            .perform(get(TestUtil.nextPageUri(result)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomerDetailsByKeysetWithInvalidSort() throws Exception {
+        restCustomerDetailsMockMvc.perform(get(ENTITY_API_URL + "?sort=addressLine2,asc&after=")).andExpect(status().isBadRequest());
     }
 
     @SuppressWarnings({ "unchecked" })
@@ -0,0 +1,123 @@
+package com.mycompany.app.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CustomerOrderResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(CustomerOrderResourceIT.LOGIN)
+class CustomerOrderResourceIT {
+
+    static final String LOGIN = "orders-user";
+
+    private static final String ENTITY_API_URL = "/api/account/orders";
+
+    private static final int CART_COUNT = 3;
+
+    private static final int LINES_PER_CART = 2;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restCustomerOrderMockMvc;
+
+    private final List<ShoppingCart> carts = new ArrayList<>();
+
+    @BeforeEach
+    public void initTest() {
+        CustomerDetails customerDetails = CustomerDetailsResourceIT.createEntity(em);
+        customerDetails.getUser().setLogin(LOGIN);
+        em.persist(customerDetails);
+        Product product = ProductResourceIT.createEntity(em).price(new BigDecimal("5"));
+        em.persist(product);
+
+        carts.clear();
+        Instant placedDate = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < CART_COUNT; i++) {
+            ShoppingCart cart = new ShoppingCart()
+                .placedDate(placedDate.minus(i, ChronoUnit.DAYS))
+                .status(OrderStatus.COMPLETED)
+                .totalPrice(new BigDecimal("10"))
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .customerDetails(customerDetails);
+            em.persist(cart);
+            for (int j = 0; j < LINES_PER_CART; j++) {
+                em.persist(new ProductOrder().quantity(1).totalPrice(new BigDecimal("5")).product(product).cart(cart));
+            }
+            carts.add(cart);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @Transactional
+    void getCurrentUserOrders() throws Exception {
+        restCustomerOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", String.valueOf(CART_COUNT)))
+            .andExpect(jsonPath("$[*].id", contains(carts.get(0).getId().intValue(), carts.get(1).getId().intValue())))
+            .andExpect(jsonPath("$[0].status").value(OrderStatus.COMPLETED.toString()))
+            .andExpect(jsonPath("$[0].lines.length()").value(LINES_PER_CART))
+            .andExpect(jsonPath("$[0].lines[0].quantity").value(1))
+            .andExpect(jsonPath("$[0].lines[0].product.name").value(ProductResourceIT.createEntity(em).getName()))
+            .andExpect(jsonPath("$[1].lines.length()").value(LINES_PER_CART));
+    }
+
+    @Test
+    @Transactional
+    void getCurrentUserOrdersWithFixedStatementCount() throws Exception {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restCustomerOrderMockMvc.perform(get(ENTITY_API_URL + "?page=0&size=2")).andExpect(status().isOk());
+
+            // The customer id, the page of carts, its count, and the lines of all the carts of the page
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("orders-user-without-details")
+    void getOrdersOfUserWithoutCustomerDetails() throws Exception {
+        restCustomerOrderMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+}
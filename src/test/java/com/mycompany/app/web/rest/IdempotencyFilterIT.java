@@ -0,0 +1,231 @@
+package com.mycompany.app.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import com.mycompany.app.repository.IdempotentRequestRepository;
+import com.mycompany.app.service.IdempotencyKeyReusedException;
+import com.mycompany.app.service.IdempotencyService;
+import com.mycompany.app.service.dto.CheckoutDTO;
+import com.mycompany.app.service.dto.IdempotentResponse;
+import com.mycompany.app.web.filter.IdempotencyFilter;
+import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link IdempotencyFilter} and the {@link IdempotencyService}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(IdempotencyFilterIT.LOGIN)
+class IdempotencyFilterIT {
+
+    static final String LOGIN = "idempotency-user";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotentRequestRepository idempotentRequestRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private ResultActions createCart(String idempotencyKey, ShoppingCart cart) throws Exception {
+        return mockMvc.perform(
+            post("/api/shopping-carts")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsBytes(cart))
+        );
+    }
+
+    @Test
+    @Transactional
+    void createShoppingCartIsReplayed() throws Exception {
+        ShoppingCart cart = ShoppingCartResourceIT.createEntity(em);
+        String idempotencyKey = UUID.randomUUID().toString();
+        long countBefore = TestUtil.findAll(em, ShoppingCart.class).size();
+
+        String created = createCart(idempotencyKey, cart)
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        Long id = om.readTree(created).get("id").asLong();
+
+        createCart(idempotencyKey, cart)
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+            .andExpect(header().string("Location", "/api/shopping-carts/" + id))
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(content().string(created));
+
+        // Read back from the database once dropped from memory
+        Objects.requireNonNull(cacheManager.getCache(IdempotencyService.RESPONSES_CACHE)).clear();
+        createCart(idempotencyKey, cart)
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+            .andExpect(content().string(created));
+
+        assertThat(TestUtil.findAll(em, ShoppingCart.class)).hasSize((int) countBefore + 1);
+    }
+
+    @Test
+    @Transactional
+    void idempotencyKeyReusedForAnotherRequest() throws Exception {
+        ShoppingCart cart = ShoppingCartResourceIT.createEntity(em);
+        String idempotencyKey = UUID.randomUUID().toString();
+        createCart(idempotencyKey, cart).andExpect(status().isCreated());
+
+        createCart(idempotencyKey, cart.paymentReference("other")).andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @Transactional
+    void idempotencyKeyIsScopedByUser() throws Exception {
+        ShoppingCart cart = ShoppingCartResourceIT.createEntity(em);
+        String idempotencyKey = UUID.randomUUID().toString();
+        createCart(idempotencyKey, cart).andExpect(status().isCreated());
+
+        mockMvc
+            .perform(
+                post("/api/shopping-carts")
+                    .with(user("other-user"))
+                    .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(cart))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+    }
+
+    @Test
+    @Transactional
+    void blankIdempotencyKey() throws Exception {
+        createCart(" ", ShoppingCartResourceIT.createEntity(em)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void createProductOrderIsReplayed() throws Exception {
+        ProductOrder productOrder = ProductOrderResourceIT.createEntity(em);
+        String idempotencyKey = UUID.randomUUID().toString();
+        long countBefore = TestUtil.findAll(em, ProductOrder.class).size();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc
+                .perform(
+                    post("/api/product-orders")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(productOrder))
+                )
+                .andExpect(status().isCreated());
+        }
+
+        assertThat(TestUtil.findAll(em, ProductOrder.class)).hasSize((int) countBefore + 1);
+    }
+
+    @Test
+    @Transactional
+    void checkoutIsReplayed() throws Exception {
+        CustomerDetails customerDetails = CustomerDetailsResourceIT.createEntity(em);
+        customerDetails.getUser().setLogin(LOGIN);
+        em.persist(customerDetails);
+        Product product = ProductResourceIT.createEntity(em);
+        em.persist(product);
+        em.flush();
+        CheckoutDTO checkout = new CheckoutDTO(PaymentMethod.CREDIT_CARD, null, List.of(new CheckoutDTO.Line(product.getId(), 1)));
+        String idempotencyKey = UUID.randomUUID().toString();
+        long countBefore = TestUtil.findAll(em, ShoppingCart.class).size();
+
+        String placed = null;
+        for (int i = 0; i < 2; i++) {
+            String body = mockMvc
+                .perform(
+                    post("/api/checkout")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(checkout))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            assertThat(placed == null || placed.equals(body)).isTrue();
+            placed = body;
+        }
+
+        assertThat(TestUtil.findAll(em, ShoppingCart.class)).hasSize((int) countBefore + 1);
+    }
+
+    @Test
+    void duplicateInFlightWaitsForTheResponse() throws Exception {
+        String scope = "idempotency-" + UUID.randomUUID();
+        String idempotencyKey = UUID.randomUUID().toString();
+        IdempotentResponse response = new IdempotentResponse(
+            "hash",
+            201,
+            MediaType.APPLICATION_JSON_VALUE,
+            Map.of("Location", List.of("/api/shopping-carts/1")),
+            "{\"id\":1}".getBytes(StandardCharsets.UTF_8)
+        );
+        try {
+            assertThat(idempotencyService.begin(scope, idempotencyKey, "hash")).isEmpty();
+
+            CompletableFuture<IdempotentResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.begin(scope, idempotencyKey, "hash").orElseThrow()
+            );
+            Thread.sleep(200);
+            assertThat(duplicate).isNotDone();
+
+            idempotencyService.complete(scope, idempotencyKey, response);
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(response);
+            assertThat(idempotencyService.begin(scope, idempotencyKey, "hash")).get().usingRecursiveComparison().isEqualTo(response);
+            assertThatThrownBy(() -> idempotencyService.begin(scope, idempotencyKey, "other")).isInstanceOf(
+                IdempotencyKeyReusedException.class
+            );
+        } finally {
+            Objects.requireNonNull(cacheManager.getCache(IdempotencyService.RESPONSES_CACHE)).clear();
+            idempotentRequestRepository.deleteAll(
+                idempotentRequestRepository.findAll().stream().filter(request -> "hash".equals(request.getRequestHash())).toList()
+            );
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.mycompany.app.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.Inventory;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.domain.enumeration.PaymentMethod;
+import com.mycompany.app.security.AuthoritiesConstants;
+import com.mycompany.app.service.ActiveCartService;
+import com.mycompany.app.service.InventoryService;
+import com.mycompany.app.service.ShoppingCartStatusChangedEvent;
+import com.mycompany.app.service.dto.ActiveCartLineDTO;
+import com.mycompany.app.service.dto.CheckoutDTO;
+import com.mycompany.app.service.dto.InventoryStockDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link InventoryResource} REST controller, and the reservations of the {@link InventoryService}.
+ * <p>
+ * Stock changes and checkout reservations are undone when the transaction of each test rolls back. Status change
+ * events are only handled once a transaction commits, so the tests hand them to the service themselves.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+@WithMockUser(value = InventoryResourceIT.LOGIN, authorities = AuthoritiesConstants.ADMIN)
+class InventoryResourceIT {
+
+    static final String LOGIN = "inventory-user";
+
+    private static final String ENTITY_API_URL = "/api/inventory";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{productId}";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ActiveCartService activeCartService;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restInventoryMockMvc;
+
+    private CustomerDetails customerDetails;
+
+    private Product product;
+
+    @BeforeEach
+    public void initTest() {
+        customerDetails = CustomerDetailsResourceIT.createEntity(em);
+        customerDetails.getUser().setLogin(LOGIN);
+        em.persist(customerDetails);
+        product = ProductResourceIT.createEntity(em).price(new BigDecimal("5"));
+        em.persist(product);
+        em.flush();
+    }
+
+    private ResultActions expectStock(long onHand, long reserved, long available) throws Exception {
+        return restInventoryMockMvc
+            .perform(get(ENTITY_API_URL_ID, product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.productId").value(product.getId().intValue()))
+            .andExpect(jsonPath("$.onHand").value(onHand))
+            .andExpect(jsonPath("$.reserved").value(reserved))
+            .andExpect(jsonPath("$.available").value(available));
+    }
+
+    private ResultActions checkout(int quantity) throws Exception {
+        CheckoutDTO checkout = new CheckoutDTO(PaymentMethod.CREDIT_CARD, null, List.of(new CheckoutDTO.Line(product.getId(), quantity)));
+        return restInventoryMockMvc.perform(
+            post("/api/checkout").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(checkout))
+        );
+    }
+
+    private Long checkoutCartId(int quantity) throws Exception {
+        String body = checkout(quantity).andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        return om.readTree(body).get("cart").get("id").asLong();
+    }
+
+    @Test
+    @Transactional
+    void updateInventory() throws Exception {
+        restInventoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, product.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new InventoryStockDTO(5)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.onHand").value(5))
+            .andExpect(jsonPath("$.available").value(5));
+
+        expectStock(5, 0, 5);
+        em.clear();
+        assertThat(em.find(Inventory.class, product.getId()).getOnHand()).isEqualTo(5);
+    }
+
+    @Test
+    @Transactional
+    void getInventoryOfProductNotStockManaged() throws Exception {
+        restInventoryMockMvc.perform(get(ENTITY_API_URL_ID, product.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void updateInventoryOfUnknownProduct() throws Exception {
+        restInventoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, Long.MAX_VALUE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new InventoryStockDTO(5)))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(LOGIN)
+    void updateInventoryIsForbiddenToUsers() throws Exception {
+        restInventoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, product.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new InventoryStockDTO(5)))
+            )
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    void checkoutReservesUnitsUntilCancelled() throws Exception {
+        inventoryService.setOnHand(product.getId(), 3);
+
+        Long cartId = checkoutCartId(2);
+        expectStock(3, 2, 1);
+        checkout(2).andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value("error.outofstock"));
+        expectStock(3, 2, 1);
+
+        inventoryService.onShoppingCartStatusChanged(
+            new ShoppingCartStatusChangedEvent(cartId, OrderStatus.PENDING, OrderStatus.CANCELLED)
+        );
+        expectStock(3, 0, 3);
+    }
+
+    @Test
+    @Transactional
+    void paidCartTakesUnitsOffHand() throws Exception {
+        inventoryService.setOnHand(product.getId(), 3);
+        Long cartId = checkoutCartId(2);
+
+        inventoryService.onShoppingCartStatusChanged(new ShoppingCartStatusChangedEvent(cartId, OrderStatus.PENDING, OrderStatus.PAID));
+        expectStock(1, 0, 1);
+
+        // Already sold: completing it takes nothing more
+        inventoryService.onShoppingCartStatusChanged(new ShoppingCartStatusChangedEvent(cartId, OrderStatus.PAID, OrderStatus.COMPLETED));
+        expectStock(1, 0, 1);
+    }
+
+    @Test
+    @Transactional
+    void activeCartReservesTheDifference() throws Exception {
+        inventoryService.setOnHand(product.getId(), 2);
+        ShoppingCart cart = new ShoppingCart()
+            .placedDate(Instant.now())
+            .status(OrderStatus.PENDING)
+            .totalPrice(BigDecimal.ZERO)
+            .paymentMethod(PaymentMethod.CREDIT_CARD)
+            .customerDetails(customerDetails);
+        em.persist(cart);
+        em.flush();
+
+        try {
+            setLine(2).andExpect(status().isOk());
+            expectStock(2, 2, 0);
+            setLine(3).andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value("error.outofstock"));
+            setLine(1).andExpect(status().isOk());
+            expectStock(2, 1, 1);
+            setLine(0).andExpect(status().isOk());
+            expectStock(2, 0, 2);
+        } finally {
+            activeCartService.release(cart.getId());
+            inventoryService.release(cart.getId());
+        }
+    }
+
+    private ResultActions setLine(int quantity) throws Exception {
+        return restInventoryMockMvc.perform(
+            put("/api/account/cart/lines/{productId}", product.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsBytes(new ActiveCartLineDTO(quantity)))
+        );
+    }
+
+    @Test
+    @Transactional
+    void statusChangePublishesEvent() throws Exception {
+        Long cartId = checkoutCartId(1);
+
+        restInventoryMockMvc
+            .perform(
+                patch("/api/shopping-carts/{id}", cartId)
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + cartId + ",\"status\":\"CANCELLED\"}")
+            )
+            .andExpect(status().isOk());
+
+        assertThat(applicationEvents.stream(ShoppingCartStatusChangedEvent.class)).containsExactly(
+            new ShoppingCartStatusChangedEvent(cartId, OrderStatus.PENDING, OrderStatus.CANCELLED)
+        );
+    }
+
+    @Test
+    @Transactional
+    void persistAndReconcile() throws Exception {
+        inventoryService.setOnHand(product.getId(), 10);
+        checkoutCartId(2);
+
+        assertThat(inventoryService.persist()).isPositive();
+        em.clear();
+        Inventory inventory = em.find(Inventory.class, product.getId());
+        assertThat(inventory.getOnHand()).isEqualTo(10);
+        assertThat(inventory.getReserved()).isEqualTo(2);
+
+        // Restocked in the table, by other means than the service
+        em
+            .createNativeQuery("update inventory set on_hand = on_hand + 5 where product_id = :id")
+            .setParameter("id", product.getId())
+            .executeUpdate();
+        em.clear();
+        assertThat(inventoryService.reconcile()).isPositive();
+        expectStock(15, 2, 13);
+
+        em.createNativeQuery("delete from inventory where product_id = :id").setParameter("id", product.getId()).executeUpdate();
+        inventoryService.reconcile();
+        restInventoryMockMvc.perform(get(ENTITY_API_URL_ID, product.getId())).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,152 @@
+package com.mycompany.app.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.CustomerDetails;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductCategory;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.User;
+import com.mycompany.app.domain.enumeration.OrderStatus;
+import com.mycompany.app.service.dto.ProductOrderDTO;
+import com.mycompany.app.service.dto.ShoppingCartDTO;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the NDJSON exports of the {@link ShoppingCartResource} and the {@link ProductOrderResource}.
+ * <p>
+ * The exports read the database in their own transaction, on another thread, so the test data is committed and
+ * deleted after each test.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class NdjsonExportIT {
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private TransactionTemplate transactionTemplate;
+
+    private CustomerDetails customerDetails;
+
+    private Product product;
+
+    private ShoppingCart paidCart;
+
+    private ShoppingCart pendingCart;
+
+    private ProductOrder paidOrder;
+
+    private ProductOrder pendingOrder;
+
+    @BeforeEach
+    void commitCarts() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            customerDetails = CustomerDetailsResourceIT.createEntity(em);
+            em.persist(customerDetails);
+            ProductCategory productCategory = ProductCategoryResourceIT.createEntity(em);
+            em.persist(productCategory);
+            product = ProductResourceIT.createEntity(em).productCategory(productCategory);
+            em.persist(product);
+            paidCart = ShoppingCartResourceIT.createEntity(em).customerDetails(customerDetails).status(OrderStatus.PAID);
+            em.persist(paidCart);
+            pendingCart = ShoppingCartResourceIT.createEntity(em).customerDetails(customerDetails).status(OrderStatus.PENDING);
+            em.persist(pendingCart);
+            paidOrder = new ProductOrder().quantity(1).totalPrice(product.getPrice()).product(product).cart(paidCart);
+            em.persist(paidOrder);
+            pendingOrder = new ProductOrder().quantity(2).totalPrice(product.getPrice()).product(product).cart(pendingCart);
+            em.persist(pendingOrder);
+        });
+    }
+
+    @AfterEach
+    void deleteCarts() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.remove(em.find(ProductOrder.class, paidOrder.getId()));
+            em.remove(em.find(ProductOrder.class, pendingOrder.getId()));
+            em.remove(em.find(ShoppingCart.class, paidCart.getId()));
+            em.remove(em.find(ShoppingCart.class, pendingCart.getId()));
+            Product committedProduct = em.find(Product.class, product.getId());
+            ProductCategory productCategory = committedProduct.getProductCategory();
+            em.remove(committedProduct);
+            em.remove(productCategory);
+            CustomerDetails committedCustomerDetails = em.find(CustomerDetails.class, customerDetails.getId());
+            User user = committedCustomerDetails.getUser();
+            em.remove(committedCustomerDetails);
+            em.remove(user);
+        });
+    }
+
+    private List<String> export(String uri) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri)).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .lines()
+            .toList();
+    }
+
+    @Test
+    void exportShoppingCarts() throws Exception {
+        List<String> lines = export("/api/shopping-carts/_export?customerDetailsId.equals=" + customerDetails.getId());
+
+        assertThat(lines).hasSize(2);
+        ShoppingCartDTO paid = om.readValue(lines.get(0), ShoppingCartDTO.class);
+        assertThat(paid.id()).isEqualTo(paidCart.getId());
+        assertThat(paid.status()).isEqualTo(OrderStatus.PAID);
+        assertThat(paid.customerDetails().id()).isEqualTo(customerDetails.getId());
+        assertThat(om.readValue(lines.get(1), ShoppingCartDTO.class).id()).isEqualTo(pendingCart.getId());
+
+        assertThat(export("/api/shopping-carts/_export?status.equals=PENDING&customerDetailsId.equals=" + customerDetails.getId()))
+            .singleElement()
+            .satisfies(line -> assertThat(om.readValue(line, ShoppingCartDTO.class).id()).isEqualTo(pendingCart.getId()));
+    }
+
+    @Test
+    void exportProductOrders() throws Exception {
+        List<String> lines = export("/api/product-orders/_export?status.equals=PAID&customerDetailsId.equals=" + customerDetails.getId());
+
+        assertThat(lines).hasSize(1);
+        ProductOrderDTO order = om.readValue(lines.get(0), ProductOrderDTO.class);
+        assertThat(order.id()).isEqualTo(paidOrder.getId());
+        assertThat(order.product().name()).isEqualTo(product.getName());
+        assertThat(order.cart().id()).isEqualTo(paidCart.getId());
+
+        assertThat(export("/api/product-orders/_export?productId.equals=" + product.getId())).hasSize(2);
+    }
+}
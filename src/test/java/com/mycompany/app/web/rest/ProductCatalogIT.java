@@ -0,0 +1,264 @@
+package com.mycompany.app.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductCategory;
+import com.mycompany.app.domain.enumeration.Size;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link ProductResource} reads served from the in-memory catalog and the response cache.
+ * <p>
+ * The catalog only follows committed changes, so these tests are not transactional and clean up after themselves.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductCatalogIT {
+
+    private static final String ENTITY_API_URL = "/api/products";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private MockMvc restProductMockMvc;
+
+    @Test
+    void getProductsFollowsCommittedChanges() throws Exception {
+        ProductCategory category = om.readValue(
+            restProductMockMvc
+                .perform(
+                    post("/api/product-categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new ProductCategory().name("Cometas")))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ProductCategory.class
+        );
+        Product product = om.readValue(
+            restProductMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            om.writeValueAsBytes(
+                                new Product().name("Cometa").price(BigDecimal.TEN).productSize(Size.L).productCategory(category)
+                            )
+                        )
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Product.class
+        );
+
+        try {
+            MvcResult created = restProductMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Total-Count"))
+                .andExpect(jsonPath("$.[0].id").value(product.getId().intValue()))
+                .andExpect(jsonPath("$.[0].productCategory.name").value("Cometas"))
+                .andReturn();
+            long createdVersion = catalogVersion(created);
+
+            restProductMockMvc
+                .perform(
+                    patch("/api/product-categories/{id}", category.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"id\":" + category.getId() + ",\"name\":\"Juguetes de viento\"}")
+                )
+                .andExpect(status().isOk());
+
+            MvcResult updated = restProductMockMvc
+                .perform(get(ENTITY_API_URL_ID, product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Cometa"))
+                .andExpect(jsonPath("$.productCategory.name").value("Juguetes de viento"))
+                .andReturn();
+            assertThat(catalogVersion(updated)).isGreaterThan(createdVersion);
+        } finally {
+            restProductMockMvc.perform(delete(ENTITY_API_URL_ID, product.getId())).andExpect(status().isNoContent());
+            restProductMockMvc.perform(delete("/api/product-categories/{id}", category.getId())).andExpect(status().isNoContent());
+        }
+
+        restProductMockMvc.perform(get(ENTITY_API_URL_ID, product.getId())).andExpect(status().isNotFound());
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == " + product.getId() + ")]").isEmpty());
+    }
+
+    @Test
+    void getProductsConditionally() throws Exception {
+        MvcResult first = restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Served from the cache
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(header().string("X-Total-Count", first.getResponse().getHeader("X-Total-Count")))
+            .andExpect(header().string(HttpHeaders.LINK, first.getResponse().getHeader(HttpHeaders.LINK)))
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().bytes(first.getResponse().getContentAsByteArray()));
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+
+        ProductCategory category = om.readValue(
+            restProductMockMvc
+                .perform(
+                    post("/api/product-categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new ProductCategory().name("Globos")))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ProductCategory.class
+        );
+        // The first page does not change, so the response still matches
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        Product product = om.readValue(
+            restProductMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                            om.writeValueAsBytes(
+                                new Product().name("Globo").price(BigDecimal.ONE).productSize(Size.S).productCategory(category)
+                            )
+                        )
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Product.class
+        );
+        try {
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.[0].id").value(product.getId().intValue()));
+            restProductMockMvc
+                .perform(get("/api/product-categories/{id}", category.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.name").value("Globos"));
+        } finally {
+            restProductMockMvc.perform(delete(ENTITY_API_URL_ID, product.getId())).andExpect(status().isNoContent());
+            restProductMockMvc.perform(delete("/api/product-categories/{id}", category.getId())).andExpect(status().isNoContent());
+        }
+        restProductMockMvc.perform(get("/api/product-categories/{id}", category.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void repriceProductsAsynchronously() throws Exception {
+        ProductCategory category = createCategory(new ProductCategory().name("Rebajas"));
+        ProductCategory otherCategory = createCategory(new ProductCategory().name("Novedades"));
+        Product product = createProduct(
+            new Product().name("Trompo").price(new BigDecimal("8.00")).productSize(Size.S).productCategory(category)
+        );
+        Product other = createProduct(
+            new Product().name("Yoyo").price(new BigDecimal("8.00")).productSize(Size.S).productCategory(otherCategory)
+        );
+        try {
+            String location = restProductMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/_reprice?async=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":1.5,\"productCategoryId\":" + category.getId() + "}")
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.total").value(1))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.LOCATION);
+
+            // The task executor runs synchronously in tests
+            restProductMockMvc
+                .perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.affected").value(1));
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL_ID, product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(9.5));
+            restProductMockMvc
+                .perform(get(ENTITY_API_URL_ID, other.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(8));
+        } finally {
+            restProductMockMvc.perform(delete(ENTITY_API_URL_ID, product.getId())).andExpect(status().isNoContent());
+            restProductMockMvc.perform(delete(ENTITY_API_URL_ID, other.getId())).andExpect(status().isNoContent());
+            restProductMockMvc.perform(delete("/api/product-categories/{id}", category.getId())).andExpect(status().isNoContent());
+            restProductMockMvc.perform(delete("/api/product-categories/{id}", otherCategory.getId())).andExpect(status().isNoContent());
+        }
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/_reprice/{jobId}", UUID.randomUUID())).andExpect(status().isNotFound());
+    }
+
+    private ProductCategory createCategory(ProductCategory category) throws Exception {
+        return om.readValue(
+            restProductMockMvc
+                .perform(post("/api/product-categories").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(category)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ProductCategory.class
+        );
+    }
+
+    private Product createProduct(Product product) throws Exception {
+        return om.readValue(
+            restProductMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(product)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Product.class
+        );
+    }
+
+    private static long catalogVersion(MvcResult result) {
+        String version = result.getResponse().getHeader(ProductResource.CATALOG_VERSION_HEADER);
+        assertThat(version).isNotNull();
+        return Long.parseLong(version);
+    }
+}
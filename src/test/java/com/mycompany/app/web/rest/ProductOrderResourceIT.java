@@ -4,6 +4,7 @@ import static com.mycompany.app.domain.ProductOrderAsserts.*;
 import static com.mycompany.app.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.mycompany.app.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -14,6 +15,7 @@ import com.mycompany.app.IntegrationTest;
 import com.mycompany.app.domain.Product;
 import com.mycompany.app.domain.ProductOrder;
 import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
 import com.mycompany.app.repository.ProductOrderRepository;
 import com.mycompany.app.service.ProductOrderService;
 import jakarta.persistence.EntityManager;
@@ -33,6 +35,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -225,7 +228,52 @@ class ProductOrderResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(productOrder.getId().intValue())))
             .andExpect(jsonPath("$.[*].quantity").value(hasItem(DEFAULT_QUANTITY)))
-            .andExpect(jsonPath("$.[*].totalPrice").value(hasItem(sameNumber(DEFAULT_TOTAL_PRICE))));
+            .andExpect(jsonPath("$.[*].totalPrice").value(hasItem(sameNumber(DEFAULT_TOTAL_PRICE))))
+            .andExpect(jsonPath("$.[*].product.id").value(hasItem(productOrder.getProduct().getId().intValue())))
+            .andExpect(jsonPath("$.[*].product.name").value(hasItem(productOrder.getProduct().getName())))
+            .andExpect(jsonPath("$.[*].product.price").doesNotExist())
+            .andExpect(jsonPath("$.[*].cart.id").value(hasItem(productOrder.getCart().getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductOrdersByCriteriaOfTheirCart() throws Exception {
+        productOrderRepository.saveAndFlush(productOrder);
+        ShoppingCart cart = productOrder.getCart();
+        String customer = "&customerDetailsId.equals=" + cart.getCustomerDetails().getId();
+
+        restProductOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?status.equals=" + cart.getStatus() + "&placedDate.equals=" + cart.getPlacedDate() + customer))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(productOrder.getId().intValue())));
+
+        OrderStatus otherStatus = cart.getStatus() == OrderStatus.CANCELLED ? OrderStatus.PAID : OrderStatus.CANCELLED;
+        restProductOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?cartId.equals=" + cart.getId() + "&status.equals=" + otherStatus))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllProductOrdersByKeyset() throws Exception {
+        ProductOrder first = productOrderRepository.saveAndFlush(productOrder);
+        ProductOrder second = productOrderRepository.saveAndFlush(createEntity(em).cart(first.getCart()).quantity(UPDATED_QUANTITY));
+
+        MvcResult result = restProductOrderMockMvc
+            .perform(get(ENTITY_API_URL + "?cartId.equals=" + first.getCart().getId() + "&sort=quantity,desc&size=1&after="))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andExpect(jsonPath("$.[0].product.name").exists())
+            .andReturn();
+
+        restProductOrderMockMvc
+            .perform(get(TestUtil.nextPageUri(result)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())));
     }
 
     @SuppressWarnings({ "unchecked" })
@@ -4,6 +4,9 @@ import static com.mycompany.app.domain.ProductAsserts.*;
 import static com.mycompany.app.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.mycompany.app.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -13,15 +16,28 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.app.IntegrationTest;
 import com.mycompany.app.domain.Product;
 import com.mycompany.app.domain.ProductCategory;
+import com.mycompany.app.domain.ProductOrder;
+import com.mycompany.app.domain.ShoppingCart;
+import com.mycompany.app.domain.enumeration.OrderStatus;
 import com.mycompany.app.domain.enumeration.Size;
+import com.mycompany.app.repository.ProductImageRepository;
+import com.mycompany.app.repository.ProductImageVariantRepository;
 import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.service.ProductImageVariantService;
 import com.mycompany.app.service.ProductService;
+import com.mycompany.app.service.ShoppingCartStatusChangedEvent;
+import com.mycompany.app.service.TrendingProductService;
 import jakarta.persistence.EntityManager;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,11 +45,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -53,6 +72,7 @@ class ProductResourceIT {
 
     private static final BigDecimal DEFAULT_PRICE = new BigDecimal(0);
     private static final BigDecimal UPDATED_PRICE = new BigDecimal(1);
+    private static final BigDecimal SMALLER_PRICE = new BigDecimal(0 - 1);
 
     private static final Size DEFAULT_PRODUCT_SIZE = Size.S;
     private static final Size UPDATED_PRODUCT_SIZE = Size.M;
@@ -61,6 +81,8 @@ class ProductResourceIT {
     private static final byte[] UPDATED_IMAGE = TestUtil.createByteArray(1, "1");
     private static final String DEFAULT_IMAGE_CONTENT_TYPE = "image/jpg";
     private static final String UPDATED_IMAGE_CONTENT_TYPE = "image/png";
+    private static final String DEFAULT_IMAGE_HASH = "6e340b9cffb37a989ca544e6bb780a2c78901d3fb33738768511a30617afa01d";
+    private static final String UPDATED_IMAGE_HASH = "4bf5122f344554c53bde2ebb8cd2b7e3d1600ad631c385a5d7cce23c7785459a";
 
     private static final String ENTITY_API_URL = "/api/products";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
@@ -74,6 +96,18 @@ class ProductResourceIT {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private ProductImageVariantRepository productImageVariantRepository;
+
+    @Autowired
+    private ProductImageVariantService productImageVariantService;
+
+    @Autowired
+    private TrendingProductService trendingProductService;
+
     @Mock
     private ProductRepository productRepositoryMock;
 
@@ -237,6 +271,8 @@ class ProductResourceIT {
     void getAllProducts() throws Exception {
         // Initialize the database
         productRepository.saveAndFlush(product);
+        // Image bytes are never loaded back from the database
+        em.detach(product);
 
         // Get all the productList
         restProductMockMvc
@@ -249,7 +285,37 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.[*].price").value(hasItem(sameNumber(DEFAULT_PRICE))))
             .andExpect(jsonPath("$.[*].productSize").value(hasItem(DEFAULT_PRODUCT_SIZE.toString())))
             .andExpect(jsonPath("$.[*].imageContentType").value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].image").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_IMAGE))));
+            .andExpect(jsonPath("$.[*].image").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByKeyset() throws Exception {
+        // Prices above the sample data ones, so that these products come first
+        Product first = productRepository.saveAndFlush(createEntity(em).price(new BigDecimal("1000000002")));
+        Product second = productRepository.saveAndFlush(createEntity(em).price(new BigDecimal("1000000001")));
+        Product third = productRepository.saveAndFlush(createEntity(em).price(new BigDecimal("1000000001")));
+
+        MvcResult result = restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=price,desc&size=2&after="))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andExpect(jsonPath("$.[0].productCategory").exists())
+            .andReturn();
+
+        restProductMockMvc
+            .perform(get(TestUtil.nextPageUri(result)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByKeysetWithInvalidCursor() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?sort=price,desc&after=bm90LWpzb24")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?sort=name,asc&after=eyJpZCI6MX0")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "?sort=description,asc&after=")).andExpect(status().isBadRequest());
     }
 
     @SuppressWarnings({ "unchecked" })
@@ -274,6 +340,8 @@ class ProductResourceIT {
     void getProduct() throws Exception {
         // Initialize the database
         productRepository.saveAndFlush(product);
+        // Image bytes are never loaded back from the database
+        em.detach(product);
 
         // Get the product
         restProductMockMvc
@@ -286,7 +354,662 @@ class ProductResourceIT {
             .andExpect(jsonPath("$.price").value(sameNumber(DEFAULT_PRICE)))
             .andExpect(jsonPath("$.productSize").value(DEFAULT_PRODUCT_SIZE.toString()))
             .andExpect(jsonPath("$.imageContentType").value(DEFAULT_IMAGE_CONTENT_TYPE))
-            .andExpect(jsonPath("$.image").value(Base64.getEncoder().encodeToString(DEFAULT_IMAGE)));
+            .andExpect(jsonPath("$.image").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void createProductStoresImageSeparately() throws Exception {
+        var returnedProduct = om.readValue(
+            restProductMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(product)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.image").doesNotExist())
+                .andExpect(jsonPath("$.imageHash").value(DEFAULT_IMAGE_HASH))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Product.class
+        );
+
+        assertThat(getPersistedProduct(returnedProduct).getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
+        assertThat(productImageRepository.findById(DEFAULT_IMAGE_HASH)).isPresent();
+    }
+
+    @Test
+    @Transactional
+    void getProductImage() throws Exception {
+        Long id = createProductThroughApi();
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", id))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_IMAGE_CONTENT_TYPE))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, DEFAULT_IMAGE.length))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + DEFAULT_IMAGE_HASH + "\""))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getProductImageNotModified() throws Exception {
+        Long id = createProductThroughApi();
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", id).header(HttpHeaders.IF_NONE_MATCH, "\"" + DEFAULT_IMAGE_HASH + "\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + DEFAULT_IMAGE_HASH + "\""))
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @Transactional
+    void getProductImageOfProductWithoutImage() throws Exception {
+        productRepository.saveAndFlush(product.image(null).imageContentType(null));
+
+        restProductMockMvc.perform(get(ENTITY_API_URL_ID + "/image", product.getId())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void productCannotReferenceAMissingImage() {
+        product.image(null).imageHash("0".repeat(64));
+
+        assertThatThrownBy(() -> productRepository.saveAndFlush(product)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @Transactional
+    void updateProductWithoutImageKeepsImage() throws Exception {
+        Long id = createProductThroughApi();
+
+        Product updatedProduct = productRepository.findById(id).orElseThrow();
+        em.detach(updatedProduct);
+        updatedProduct.name(UPDATED_NAME).imageHash(null).imageContentType(null);
+
+        restProductMockMvc
+            .perform(put(ENTITY_API_URL_ID, id).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(updatedProduct)))
+            .andExpect(status().isOk());
+
+        Product persistedProduct = getPersistedProduct(updatedProduct);
+        assertThat(persistedProduct.getImageHash()).isEqualTo(DEFAULT_IMAGE_HASH);
+        assertThat(persistedProduct.getImageContentType()).isEqualTo(DEFAULT_IMAGE_CONTENT_TYPE);
+    }
+
+    @Test
+    @Transactional
+    void updateProductImageReleasesPreviousImage() throws Exception {
+        Long id = createProductThroughApi();
+
+        Product partialUpdatedProduct = new Product().image(UPDATED_IMAGE).imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+        partialUpdatedProduct.setId(id);
+
+        restProductMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, id)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedProduct))
+            )
+            .andExpect(status().isOk());
+
+        em.clear();
+        assertThat(getPersistedProduct(partialUpdatedProduct).getImageHash()).isEqualTo(UPDATED_IMAGE_HASH);
+        assertThat(productImageRepository.findById(DEFAULT_IMAGE_HASH)).isEmpty();
+        assertThat(productImageRepository.findById(UPDATED_IMAGE_HASH)).isPresent();
+    }
+
+    @Test
+    @Transactional
+    void patchProductImageContentTypeWithoutImage() throws Exception {
+        Long id = createProductThroughApi();
+
+        Product partialUpdatedProduct = new Product().imageContentType(UPDATED_IMAGE_CONTENT_TYPE);
+        partialUpdatedProduct.setId(id);
+
+        restProductMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, id)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedProduct))
+            )
+            .andExpect(status().isBadRequest());
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image", id))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_IMAGE_CONTENT_TYPE));
+    }
+
+    @Test
+    @Transactional
+    void getProductImageVariant() throws Exception {
+        product.image(createImage(800, 600)).imageContentType("image/png");
+        Long id = createProductThroughApi();
+        productImageVariantService.generateVariants(productRepository.findById(id).orElseThrow().getImageHash());
+
+        byte[] thumbnail = restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image/thumbnail", id))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertThat(image.getWidth()).isEqualTo(160);
+        assertThat(image.getHeight()).isEqualTo(120);
+    }
+
+    @Test
+    @Transactional
+    void getProductImageVariantBeforeGenerationServesOriginal() throws Exception {
+        Long id = createProductThroughApi();
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/image/medium", id))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_IMAGE_CONTENT_TYPE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + DEFAULT_IMAGE_HASH + "\""))
+            .andExpect(content().bytes(DEFAULT_IMAGE));
+    }
+
+    @Test
+    @Transactional
+    void getUnknownProductImageVariant() throws Exception {
+        Long id = createProductThroughApi();
+
+        restProductMockMvc.perform(get(ENTITY_API_URL_ID + "/image/huge", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void deleteProductReleasesImageVariants() throws Exception {
+        product.image(createImage(320, 240)).imageContentType("image/png");
+        Long id = createProductThroughApi();
+        String hash = productRepository.findById(id).orElseThrow().getImageHash();
+        productImageVariantService.generateVariants(hash);
+        em.flush();
+        List<String> variantHashes = productImageVariantRepository.findHashesBySourceHash(hash);
+        assertThat(variantHashes).hasSize(2);
+
+        restProductMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+
+        em.clear();
+        assertThat(productImageVariantRepository.findHashesBySourceHash(hash)).isEmpty();
+        assertThat(productImageRepository.findAllById(variantHashes)).isEmpty();
+        assertThat(productImageRepository.findById(hash)).isEmpty();
+    }
+
+    private static byte[] createImage(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private Long createProductThroughApi() throws Exception {
+        Long id = om
+            .readValue(
+                restProductMockMvc
+                    .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(product)))
+                    .andExpect(status().isCreated())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(),
+                Product.class
+            )
+            .getId();
+        em.flush();
+        return id;
+    }
+
+    @Test
+    @Transactional
+    void getProductsByIdFiltering() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        Long id = product.getId();
+
+        defaultProductFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultProductFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultProductFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByNameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        // Get all the productList where name equals to
+        defaultProductFiltering("name.equals=" + DEFAULT_NAME, "name.equals=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByNameContainsSomething() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        // Get all the productList where name contains
+        defaultProductFiltering("name.contains=" + DEFAULT_NAME, "name.contains=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByPriceIsEqualToSomething() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        // Get all the productList where price equals to
+        defaultProductFiltering("price.equals=" + DEFAULT_PRICE, "price.equals=" + UPDATED_PRICE);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByPriceIsInShouldWork() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        // Get all the productList where price in
+        defaultProductFiltering("price.in=" + DEFAULT_PRICE + "," + UPDATED_PRICE, "price.in=" + UPDATED_PRICE);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByPriceIsGreaterThanOrEqualToSomething() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        // Get all the productList where price is greater than or equal to
+        defaultProductFiltering("price.greaterThanOrEqual=" + DEFAULT_PRICE, "price.greaterThanOrEqual=" + UPDATED_PRICE);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByPriceIsLessThanSomething() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        // Get all the productList where price is less than
+        defaultProductFiltering("price.lessThan=" + UPDATED_PRICE, "price.lessThan=" + DEFAULT_PRICE);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByPriceIsGreaterThanSomething() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        // Get all the productList where price is greater than
+        defaultProductFiltering("price.greaterThan=" + SMALLER_PRICE, "price.greaterThan=" + DEFAULT_PRICE);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByProductSizeIsEqualToSomething() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        // Get all the productList where productSize equals to
+        defaultProductFiltering("productSize.equals=" + DEFAULT_PRODUCT_SIZE, "productSize.equals=" + UPDATED_PRODUCT_SIZE);
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByProductSizeIsInShouldWork() throws Exception {
+        // Initialize the database
+        productRepository.saveAndFlush(product);
+
+        // Get all the productList where productSize in
+        defaultProductFiltering(
+            "productSize.in=" + DEFAULT_PRODUCT_SIZE + "," + UPDATED_PRODUCT_SIZE,
+            "productSize.in=" + UPDATED_PRODUCT_SIZE
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByProductCategoryIsEqualToSomething() throws Exception {
+        ProductCategory productCategory;
+        if (TestUtil.findAll(em, ProductCategory.class).isEmpty()) {
+            productRepository.saveAndFlush(product);
+            productCategory = ProductCategoryResourceIT.createEntity(em);
+        } else {
+            productCategory = TestUtil.findAll(em, ProductCategory.class).get(0);
+        }
+        em.persist(productCategory);
+        em.flush();
+        product.setProductCategory(productCategory);
+        productRepository.saveAndFlush(product);
+        Long productCategoryId = productCategory.getId();
+        // Get all the productList where productCategory equals to productCategoryId
+        defaultProductShouldBeFound("productCategoryId.equals=" + productCategoryId);
+
+        // Get all the productList where productCategory equals to (productCategoryId + 1)
+        defaultProductShouldNotBeFound("productCategoryId.equals=" + (productCategoryId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductsByKeysetWithFilter() throws Exception {
+        Product first = productRepository.saveAndFlush(createEntity(em).productSize(Size.XL).price(new BigDecimal("1000000002")));
+        productRepository.saveAndFlush(createEntity(em).productSize(Size.S).price(new BigDecimal("1000000001")));
+        Product third = productRepository.saveAndFlush(createEntity(em).productSize(Size.XL).price(new BigDecimal("1000000000")));
+
+        MvcResult result = restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?productSize.equals=XL&sort=price,desc&size=1&after="))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())))
+            .andReturn();
+
+        restProductMockMvc
+            .perform(get(TestUtil.nextPageUri(result)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(jsonPath("$.[0].productCategory.id").exists());
+    }
+
+    @Test
+    @Transactional
+    void getProductFacets() throws Exception {
+        ProductCategory toys = ProductCategoryResourceIT.createEntity(em).name("Toys");
+        ProductCategory shoes = ProductCategoryResourceIT.createEntity(em).name("Shoes");
+        em.persist(toys);
+        em.persist(shoes);
+        // Name unique to this test, so that only these products are counted
+        String name = "facets-" + longCount.incrementAndGet();
+        productRepository.saveAndFlush(createEntity(em).name(name).productCategory(toys).productSize(Size.S).price(new BigDecimal("5")));
+        productRepository.saveAndFlush(createEntity(em).name(name).productCategory(toys).productSize(Size.M).price(new BigDecimal("10")));
+        productRepository.saveAndFlush(createEntity(em).name(name).productCategory(toys).productSize(Size.M).price(new BigDecimal("60")));
+        productRepository.saveAndFlush(createEntity(em).name(name).productCategory(shoes).productSize(Size.M).price(new BigDecimal("99")));
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/facets?name.equals=" + name + "&priceBreaks=10,50"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.total").value(4))
+            .andExpect(jsonPath("$.productSize.S").value(1))
+            .andExpect(jsonPath("$.productSize.M").value(3))
+            .andExpect(jsonPath("$.productSize.XL").value(0))
+            .andExpect(jsonPath("$.productCategory.[0].id").value(toys.getId().intValue()))
+            .andExpect(jsonPath("$.productCategory.[0].name").value("Toys"))
+            .andExpect(jsonPath("$.productCategory.[0].count").value(3))
+            .andExpect(jsonPath("$.productCategory.[1].id").value(shoes.getId().intValue()))
+            .andExpect(jsonPath("$.productCategory.[1].count").value(1))
+            .andExpect(jsonPath("$.price.[*].count").value(contains(1, 1, 2)))
+            .andExpect(jsonPath("$.price.[0].from").doesNotExist())
+            .andExpect(jsonPath("$.price.[0].to").value(10))
+            .andExpect(jsonPath("$.price.[2].from").value(50))
+            .andExpect(jsonPath("$.price.[2].to").doesNotExist());
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/facets?name.equals=" + name + "&productSize.equals=M&priceBreaks=10,50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(3))
+            // Sizes are counted without the filter on the size
+            .andExpect(jsonPath("$.productSize.S").value(1))
+            .andExpect(jsonPath("$.productSize.M").value(3))
+            .andExpect(jsonPath("$.productCategory.[*].count").value(contains(2, 1)))
+            .andExpect(jsonPath("$.price.[*].count").value(contains(0, 1, 2)));
+
+        restProductMockMvc
+            .perform(
+                get(
+                    ENTITY_API_URL +
+                    "/facets?name.equals=" +
+                    name +
+                    "&productCategoryId.equals=" +
+                    shoes.getId() +
+                    "&price.greaterThanOrEqual=50&priceBreaks=10,50"
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.productSize.S").value(0))
+            .andExpect(jsonPath("$.productSize.M").value(1))
+            // Categories are counted without the filter on the category, prices without the filter on the price
+            .andExpect(jsonPath("$.productCategory.[*].id").value(contains(toys.getId().intValue(), shoes.getId().intValue())))
+            .andExpect(jsonPath("$.productCategory.[*].count").value(contains(1, 1)))
+            .andExpect(jsonPath("$.price.[*].count").value(contains(0, 0, 1)));
+    }
+
+    @Test
+    @Transactional
+    void getProductFacetsWithInvalidPriceBreaks() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/facets?priceBreaks=50,10")).andExpect(status().isBadRequest());
+    }
+
+    private void sell(OrderStatus status, int quantity, int otherQuantity, Product product, Product otherProduct) {
+        ShoppingCart cart = ShoppingCartResourceIT.createEntity(em).status(status);
+        em.persist(cart);
+        em.persist(new ProductOrder().quantity(quantity).totalPrice(BigDecimal.ONE).product(product).cart(cart));
+        em.persist(new ProductOrder().quantity(otherQuantity).totalPrice(BigDecimal.ONE).product(otherProduct).cart(cart));
+        em.flush();
+        // Delivered after commit outside of the tests
+        trendingProductService.onShoppingCartStatusChanged(new ShoppingCartStatusChangedEvent(cart.getId(), OrderStatus.PENDING, status));
+    }
+
+    @Test
+    @Transactional
+    void getTrendingProducts() throws Exception {
+        // Category unique to this test, so that only these sales are counted
+        ProductCategory category = ProductCategoryResourceIT.createEntity(em).name("Trending " + longCount.incrementAndGet());
+        em.persist(category);
+        Product kite = productRepository.saveAndFlush(createEntity(em).name("Kite").productCategory(category));
+        Product ball = productRepository.saveAndFlush(createEntity(em).name("Ball").productCategory(category));
+        sell(OrderStatus.PAID, 1, 3, kite, ball);
+        sell(OrderStatus.COMPLETED, 4, 1, kite, ball);
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/trending?window=day&categoryId=" + category.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(kite.getId().intValue(), ball.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(contains("Kite", "Ball")))
+            .andExpect(jsonPath("$.[0].units").value(closeTo(5.0, 0.01)))
+            .andExpect(jsonPath("$.[0].maxOverestimate").value(0.0));
+
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/trending?categoryId=" + category.getId() + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(kite.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getTrendingProductsOfCategoryWithoutSales() throws Exception {
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/trending?categoryId=" + longCount.incrementAndGet()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getTrendingProductsWithInvalidParameters() throws Exception {
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/trending?window=week")).andExpect(status().isBadRequest());
+        restProductMockMvc.perform(get(ENTITY_API_URL + "/trending?size=0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void importProductsFromCsv() throws Exception {
+        String categoryName = "Bulk " + longCount.incrementAndGet();
+        productRepository.saveAndFlush(product.productCategory(em.merge(new ProductCategory().name(categoryName))));
+        String csv =
+            "name,description,price,productSize,productCategory,id\n" +
+            "\"Kite, red\",\"Line one\nline \"\"two\"\"\",12.50,M," + categoryName + ",\n" +
+            "Kite blue,,9,S," + categoryName + ",\n" +
+            "Updated,,3,L," + categoryName + "," + product.getId() + "\n" +
+            "Bad price,,abc,S," + categoryName + ",\n" +
+            "No category,,1,S,Nowhere,\n" +
+            "Unknown id,,1,S," + categoryName + "," + Long.MAX_VALUE + "\n" +
+            "Negative price,,-1,S," + categoryName + ",\n";
+
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.updated").value(1))
+            .andExpect(jsonPath("$.failed").value(4))
+            // Errors are reported up to application.product-import.max-reported-errors, in the order they are found
+            .andExpect(jsonPath("$.errors.[*].line").value(contains(6, 7, 9)))
+            .andExpect(jsonPath("$.errors.[0].message").value("Invalid price: abc"))
+            .andExpect(jsonPath("$.errors.[1].message").value("Unknown productCategory: Nowhere"));
+
+        em.clear();
+        List<Product> imported = productRepository
+            .findAllWithToOneRelationships()
+            .stream()
+            .filter(p -> categoryName.equals(p.getProductCategory().getName()))
+            .toList();
+        assertThat(imported).extracting(Product::getName).containsExactlyInAnyOrder("Kite, red", "Kite blue", "Updated");
+        assertThat(imported)
+            .filteredOn(p -> p.getName().equals("Kite, red"))
+            .singleElement()
+            .satisfies(p -> {
+                assertThat(p.getDescription()).isEqualTo("Line one\nline \"two\"");
+                assertThat(p.getPrice()).isEqualByComparingTo("12.50");
+                assertThat(p.getProductSize()).isEqualTo(Size.M);
+            });
+        Product updated = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(updated.getPrice()).isEqualByComparingTo("3");
+        assertThat(updated.getProductSize()).isEqualTo(Size.L);
+    }
+
+    @Test
+    @Transactional
+    void importProductsFromNdjson() throws Exception {
+        String categoryName = "Bulk " + longCount.incrementAndGet();
+        em.persist(new ProductCategory().name(categoryName));
+        String ndjson =
+            "{\"name\":\"Kite\",\"price\":19.99,\"productSize\":\"XL\",\"productCategory\":\"" + categoryName + "\"}\n" +
+            "\n" +
+            "{\"name\":\"Broken\",\n" +
+            "{\"name\":\"Nested\",\"price\":1,\"productSize\":\"S\",\"productCategory\":{\"name\":\"" + categoryName + "\"}}\n";
+
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL + "/_bulk").contentType("application/x-ndjson").content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(1))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors.[*].line").value(contains(3, 4)));
+
+        assertThat(productRepository.findAll())
+            .filteredOn(p -> p.getName().equals("Kite"))
+            .singleElement()
+            .satisfies(p -> assertThat(p.getPrice()).isEqualByComparingTo("19.99"));
+    }
+
+    @Test
+    @Transactional
+    void repriceProductsOfCategory() throws Exception {
+        ProductCategory category = em.merge(new ProductCategory().name("Reprice " + longCount.incrementAndGet()));
+        ProductCategory otherCategory = em.merge(new ProductCategory().name("Reprice " + longCount.incrementAndGet()));
+        List<Product> repriced = new ArrayList<>();
+        for (String price : List.of("10.00", "19.99", "0.50")) {
+            repriced.add(productRepository.save(createEntity(em).price(new BigDecimal(price)).productCategory(category)));
+        }
+        Product other = productRepository.saveAndFlush(createEntity(em).price(new BigDecimal("10.00")).productCategory(otherCategory));
+
+        restProductMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_reprice")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"percentage\":-10,\"productCategoryId\":" + category.getId() + "}")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.total").value(3))
+            .andExpect(jsonPath("$.affected").value(3))
+            .andExpect(jsonPath("$.durationMs").isNumber());
+
+        em.clear();
+        assertThat(productRepository.findAllById(repriced.stream().map(Product::getId).toList()))
+            .extracting(Product::getPrice)
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactlyInAnyOrder(new BigDecimal("9.00"), new BigDecimal("17.99"), new BigDecimal("0.45"));
+        assertThat(productRepository.findById(other.getId()).orElseThrow().getPrice()).isEqualByComparingTo("10.00");
+
+        restProductMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_reprice")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"amount\":-5,\"productSize\":\"S\",\"ids\":[" + repriced.get(1).getId() + "," + other.getId() + "]}")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(2));
+        em.clear();
+        assertThat(productRepository.findById(repriced.get(1).getId()).orElseThrow().getPrice()).isEqualByComparingTo("12.99");
+        assertThat(productRepository.findById(other.getId()).orElseThrow().getPrice()).isEqualByComparingTo("5.00");
+    }
+
+    @Test
+    @Transactional
+    void repriceProductsWithInvalidRepricing() throws Exception {
+        restProductMockMvc
+            .perform(post(ENTITY_API_URL + "/_reprice").contentType(MediaType.APPLICATION_JSON).content("{\"percentage\":5}"))
+            .andExpect(status().isBadRequest());
+        restProductMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_reprice")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"percentage\":5,\"amount\":1,\"ids\":[1]}")
+            )
+            .andExpect(status().isBadRequest());
+        restProductMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/_reprice").contentType(MediaType.APPLICATION_JSON).content("{\"percentage\":-100,\"ids\":[1]}")
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    private void defaultProductFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultProductShouldBeFound(shouldBeFound);
+        defaultProductShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultProductShouldBeFound(String filter) throws Exception {
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(product.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)))
+            .andExpect(jsonPath("$.[*].price").value(hasItem(sameNumber(DEFAULT_PRICE))))
+            .andExpect(jsonPath("$.[*].productSize").value(hasItem(DEFAULT_PRODUCT_SIZE.toString())));
+
+        // Check, that the count call also returns 1
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultProductShouldNotBeFound(String filter) throws Exception {
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restProductMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
     }
 
     @Test
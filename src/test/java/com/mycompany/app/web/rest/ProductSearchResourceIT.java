@@ -0,0 +1,138 @@
+package com.mycompany.app.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.app.IntegrationTest;
+import com.mycompany.app.domain.Product;
+import com.mycompany.app.domain.ProductCategory;
+import com.mycompany.app.domain.enumeration.Size;
+import com.mycompany.app.repository.ProductCategoryRepository;
+import com.mycompany.app.repository.ProductRepository;
+import com.mycompany.app.service.ProductSearchService;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ProductSearchResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductSearchResourceIT {
+
+    private static final String ENTITY_SEARCH_API_URL = "/api/_search/products";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private MockMvc restProductSearchMockMvc;
+
+    @Test
+    @Transactional
+    void searchProductsRankedByRelevance() throws Exception {
+        ProductCategory category = productCategoryRepository.saveAndFlush(new ProductCategory().name("Juguetes"));
+        Product inName = productRepository.saveAndFlush(newProduct("Camión volquete", "De metal", category));
+        Product inDescription = productRepository.saveAndFlush(newProduct("Grúa", "Se engancha al camión volquete", category));
+        productSearchService.reindex(inName.getId());
+        productSearchService.reindex(inDescription.getId());
+
+        restProductSearchMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?q=camion volq"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[0].id").value(inName.getId().intValue()))
+            .andExpect(jsonPath("$.[0].productCategory.name").value("Juguetes"))
+            .andExpect(jsonPath("$.[1].id").value(inDescription.getId().intValue()));
+
+        restProductSearchMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?q=camion volq&page=1&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().exists(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[0].id").value(inDescription.getId().intValue()));
+    }
+
+    @Test
+    void searchFollowsCommittedChanges() throws Exception {
+        ProductCategory category = om.readValue(
+            restProductSearchMockMvc
+                .perform(
+                    post("/api/product-categories")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new ProductCategory().name("Zapatos")))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ProductCategory.class
+        );
+        Product product = om.readValue(
+            restProductSearchMockMvc
+                .perform(
+                    post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(newProduct("Zapatilla deportiva", null, category)))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Product.class
+        );
+        int id = product.getId().intValue();
+
+        restProductSearchMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?q=zapatilla")).andExpect(jsonPath("$.[*].id").value(hasItem(id)));
+        restProductSearchMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?q=calzado")).andExpect(jsonPath("$.[*].id").value(not(hasItem(id))));
+
+        restProductSearchMockMvc
+            .perform(
+                patch("/api/product-categories/{id}", category.getId())
+                    .contentType("application/merge-patch+json")
+                    .content("{\"id\":" + category.getId() + ",\"name\":\"Calzado\"}")
+            )
+            .andExpect(status().isOk());
+        restProductSearchMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?q=calzado")).andExpect(jsonPath("$.[*].id").value(hasItem(id)));
+
+        restProductSearchMockMvc.perform(delete("/api/products/{id}", id)).andExpect(status().isNoContent());
+        restProductSearchMockMvc.perform(delete("/api/product-categories/{id}", category.getId())).andExpect(status().isNoContent());
+        restProductSearchMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?q=zapatilla"))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(id))));
+    }
+
+    @Test
+    void searchWithoutTerms() throws Exception {
+        restProductSearchMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?q=de la"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    private static Product newProduct(String name, String description, ProductCategory category) {
+        return new Product().name(name).description(description).price(BigDecimal.ONE).productSize(Size.M).productCategory(category);
+    }
+}
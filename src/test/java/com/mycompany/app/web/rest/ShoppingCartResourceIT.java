@@ -4,7 +4,9 @@ import static com.mycompany.app.domain.ShoppingCartAsserts.*;
 import static com.mycompany.app.web.rest.TestUtil.createUpdateProxyForBean;
 import static com.mycompany.app.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -15,6 +17,7 @@ import com.mycompany.app.domain.ShoppingCart;
 import com.mycompany.app.domain.enumeration.OrderStatus;
 import com.mycompany.app.domain.enumeration.PaymentMethod;
 import com.mycompany.app.repository.ShoppingCartRepository;
+import com.mycompany.app.service.ShoppingCartStatusChangedEvent;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -27,7 +30,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -36,6 +42,7 @@ import org.springframework.transaction.annotation.Transactional;
 @IntegrationTest
 @AutoConfigureMockMvc
 @WithMockUser
+@RecordApplicationEvents
 class ShoppingCartResourceIT {
 
     private static final Instant DEFAULT_PLACED_DATE = Instant.ofEpochMilli(0L);
@@ -71,6 +78,9 @@ class ShoppingCartResourceIT {
     @Autowired
     private MockMvc restShoppingCartMockMvc;
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     private ShoppingCart shoppingCart;
 
     /**
@@ -150,6 +160,26 @@ class ShoppingCartResourceIT {
         assertShoppingCartUpdatableFieldsEquals(returnedShoppingCart, getPersistedShoppingCart(returnedShoppingCart));
     }
 
+    @Test
+    @Transactional
+    void createShoppingCartPublishesItsStatus() throws Exception {
+        shoppingCart.setStatus(OrderStatus.PAID);
+
+        var returnedShoppingCart = om.readValue(
+            restShoppingCartMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(shoppingCart)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            ShoppingCart.class
+        );
+
+        assertThat(applicationEvents.stream(ShoppingCartStatusChangedEvent.class)).containsExactly(
+            new ShoppingCartStatusChangedEvent(returnedShoppingCart.getId(), null, OrderStatus.PAID)
+        );
+    }
+
     @Test
     @Transactional
     void createShoppingCartWithExistingId() throws Exception {
@@ -247,7 +277,66 @@ class ShoppingCartResourceIT {
             .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())))
             .andExpect(jsonPath("$.[*].totalPrice").value(hasItem(sameNumber(DEFAULT_TOTAL_PRICE))))
             .andExpect(jsonPath("$.[*].paymentMethod").value(hasItem(DEFAULT_PAYMENT_METHOD.toString())))
-            .andExpect(jsonPath("$.[*].paymentReference").value(hasItem(DEFAULT_PAYMENT_REFERENCE)));
+            .andExpect(jsonPath("$.[*].paymentReference").value(hasItem(DEFAULT_PAYMENT_REFERENCE)))
+            .andExpect(jsonPath("$.[*].customerDetails.id").value(hasItem(shoppingCart.getCustomerDetails().getId().intValue())))
+            .andExpect(jsonPath("$.[*].customerDetails.phone").doesNotExist())
+            .andExpect(jsonPath("$.[*].orders").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllShoppingCartsByCriteria() throws Exception {
+        CustomerDetails customerDetails = CustomerDetailsResourceIT.createEntity(em);
+        em.persist(customerDetails);
+        shoppingCartRepository.saveAndFlush(shoppingCart.customerDetails(customerDetails));
+        String customer = "&customerDetailsId.equals=" + customerDetails.getId();
+
+        restShoppingCartMockMvc
+            .perform(get(ENTITY_API_URL + "?status.equals=" + DEFAULT_STATUS + "&placedDate.lessThan=" + UPDATED_PLACED_DATE + customer))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(shoppingCart.getId().intValue())));
+
+        restShoppingCartMockMvc
+            .perform(get(ENTITY_API_URL + "?status.equals=" + UPDATED_STATUS + customer))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"))
+            .andExpect(jsonPath("$").isEmpty());
+
+        restShoppingCartMockMvc
+            .perform(get(ENTITY_API_URL + "?placedDate.greaterThan=" + DEFAULT_PLACED_DATE + customer))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(shoppingCart.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllShoppingCartsByKeyset() throws Exception {
+        CustomerDetails customerDetails = CustomerDetailsResourceIT.createEntity(em);
+        em.persist(customerDetails);
+        ShoppingCart first = shoppingCartRepository.saveAndFlush(createEntity(em).customerDetails(customerDetails));
+        ShoppingCart second = shoppingCartRepository.saveAndFlush(
+            createEntity(em).customerDetails(customerDetails).placedDate(UPDATED_PLACED_DATE)
+        );
+
+        MvcResult result = restShoppingCartMockMvc
+            .perform(get(ENTITY_API_URL + "?customerDetailsId.equals=" + customerDetails.getId() + "&sort=placedDate,desc&size=1&after="))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(second.getId().intValue()))
+            .andReturn();
+
+        restShoppingCartMockMvc
+            .perform(get(TestUtil.nextPageUri(result)))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllShoppingCartsByKeysetWithInvalidSort() throws Exception {
+        restShoppingCartMockMvc.perform(get(ENTITY_API_URL + "?sort=paymentReference,asc&after=")).andExpect(status().isBadRequest());
     }
 
     @Test
@@ -21,6 +21,8 @@ import org.springframework.cglib.proxy.MethodProxy;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
 
 /**
  * Utility class for testing REST controllers.
@@ -180,6 +182,17 @@ public final class TestUtil {
         return allQuery.getResultList();
     }
 
+    /**
+     * Extracts the URI of the next page from the {@code Link} header of a response.
+     * @param result the result of the request.
+     * @return the URI of the next page.
+     */
+    public static String nextPageUri(MvcResult result) {
+        String link = result.getResponse().getHeader(HttpHeaders.LINK);
+        assertThat(link).isNotNull().endsWith(">; rel=\"next\"");
+        return link.substring(1, link.indexOf('>'));
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T createUpdateProxyForBean(T update, T original) {
         Enhancer e = new Enhancer();
@@ -26,6 +26,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -249,6 +250,27 @@ class UserResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    @Transactional
+    void getAllUsersByKeyset() throws Exception {
+        User first = userRepository.saveAndFlush(user);
+        User second = createEntity(em);
+        second.setLogin("zzz-" + DEFAULT_LOGIN);
+        userRepository.saveAndFlush(second);
+
+        MvcResult result = restUserMockMvc
+            .perform(get("/api/admin/users?sort=login,desc&size=1&after=").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].login").value(second.getLogin()))
+            .andReturn();
+
+        restUserMockMvc
+            .perform(get(TestUtil.nextPageUri(result)).accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].login").value(first.getLogin()));
+    }
+
     @Test
     @Transactional
     void getUser() throws Exception {